@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the driver objects which are only created by the driver from the responses of Cassandra, for the benchmarks without cluster.
+ * The values of a {@code Row} are serialized by the codecs, so they are deserialized for each read, the same as the rows fetched from Cassandra.
+ * The {@code PreparedId} is what {@code BoundStatement} needs from a {@code PreparedStatement} prepared by Cassandra to serialize the bound values.
+ *
+ */
+public final class DriverObjects {
+
+    public static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.V4;
+
+    private static final CodecRegistry codecRegistry = CodecRegistry.DEFAULT_INSTANCE;
+
+    private static final Token.Factory tokenFactory = Token.getFactory("org.apache.cassandra.dht.Murmur3Partitioner");
+
+    private DriverObjects() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param table
+     * @param names
+     * @param types
+     * @return
+     */
+    public static ColumnDefinitions columnDefinitions(final String table, final List<String> names, final List<DataType> types) {
+        final ColumnDefinitions.Definition[] defs = new ColumnDefinitions.Definition[names.size()];
+
+        for (int i = 0, len = defs.length; i < len; i++) {
+            defs[i] = new ColumnDefinitions.Definition("benchmark", table, names.get(i), types.get(i));
+        }
+
+        return new ColumnDefinitions(defs, codecRegistry);
+    }
+
+    /**
+     *
+     * @param columnDefinitions
+     * @param values in the order of the columns.
+     * @return
+     */
+    public static Row row(final ColumnDefinitions columnDefinitions, final Object... values) {
+        final List<ByteBuffer> data = new ArrayList<>(values.length);
+
+        for (int i = 0, len = values.length; i < len; i++) {
+            data.add(values[i] == null ? null : codecRegistry.codecFor(columnDefinitions.getType(i)).serialize(values[i], PROTOCOL_VERSION));
+        }
+
+        return ArrayBackedRow.fromData(columnDefinitions, tokenFactory, PROTOCOL_VERSION, data);
+    }
+
+    /**
+     *
+     * @param variables the bound variables of the statement.
+     * @return
+     */
+    public static PreparedId preparedId(final ColumnDefinitions variables) {
+        final PreparedId.PreparedMetadata boundValuesMetadata = new PreparedId.PreparedMetadata(MD5Digest.wrap(new byte[16]), variables);
+        final PreparedId.PreparedMetadata resultSetMetadata = new PreparedId.PreparedMetadata(null, null);
+
+        return new PreparedId(boundValuesMetadata, resultSetMetadata, null, PROTOCOL_VERSION);
+    }
+}
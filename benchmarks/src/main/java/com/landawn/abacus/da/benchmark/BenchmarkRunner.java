@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks with the specified JMH arguments. The result is written in JSON to {@code results/abacus-da-<version>.json}
+ * if no result file is specified by {@code -rff}, so the results of different versions can be compared.
+ *
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // singleton.
+    }
+
+    public static void main(final String[] args) throws Exception {
+        for (String arg : args) {
+            if ("-rff".equals(arg) || "-h".equals(arg) || "-l".equals(arg) || "-lp".equals(arg)) {
+                Main.main(args);
+                return;
+            }
+        }
+
+        final String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        final File resultFile = new File("results", "abacus-da-" + (version == null ? "SNAPSHOT" : version) + ".json");
+
+        resultFile.getParentFile().mkdirs();
+
+        final String[] newArgs = new String[args.length + 4];
+        System.arraycopy(args, 0, newArgs, 0, args.length);
+        newArgs[args.length] = "-rf";
+        newArgs[args.length + 1] = "json";
+        newArgs[args.length + 2] = "-rff";
+        newArgs[args.length + 3] = resultFile.getPath();
+
+        Main.main(newArgs);
+    }
+}
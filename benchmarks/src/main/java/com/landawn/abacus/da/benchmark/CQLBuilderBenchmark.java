@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.benchmark;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.landawn.abacus.condition.Condition;
+import com.landawn.abacus.condition.ConditionFactory.CF;
+import com.landawn.abacus.da.canssandra.CQLBuilder;
+import com.landawn.abacus.da.canssandra.CQLBuilder.CP;
+import com.landawn.abacus.da.canssandra.CQLBuilder.NAC;
+import com.landawn.abacus.da.canssandra.CQLBuilder.NLC;
+import com.landawn.abacus.da.canssandra.CQLBuilder.NSC;
+import com.landawn.abacus.da.canssandra.CQLBuilder.PSC;
+import com.landawn.abacus.util.N;
+
+/**
+ * The CQL generation of {@code NSC/NAC/NLC/PSC} for select/insert/update/delete with conditions, by entity class or property names,
+ * and {@code cql()} vs {@code pair()}. The builder is chosen by {@code @Param}, so the results of the builders are comparable.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CQLBuilderBenchmark {
+
+    @Param({ "NSC", "NAC", "NLC", "PSC" })
+    private String builder;
+
+    private List<String> selectPropNames;
+
+    private List<String> updatePropNames;
+
+    private Map<String, Object> updateProps;
+
+    private Account account;
+
+    private Condition whereByKey;
+
+    private Condition whereByKeyAndRange;
+
+    @Setup
+    public void setup() {
+        selectPropNames = Arrays.asList("id", "gui", "firstName", "lastName", "status", "lastUpdateTime", "createTime");
+        updatePropNames = Arrays.asList("firstName", "lastName", "status", "lastUpdateTime");
+        updateProps = N.asMap("firstName", (Object) "fn", "lastName", "ln", "status", 1, "lastUpdateTime", new Date());
+
+        account = new Account();
+        account.setId(1001);
+        account.setGui(N.uuid());
+        account.setFirstName("fn");
+        account.setLastName("ln");
+        account.setStatus(1);
+        account.setLastUpdateTime(new Date());
+        account.setCreateTime(new Date());
+
+        whereByKey = CF.eq("id", 1001);
+        whereByKeyAndRange = CF.and(CF.eq("id", 1001), CF.ge("createTime", new Date()), CF.lt("status", 3));
+    }
+
+    @Benchmark
+    public String selectByEntityClass_cql() {
+        return select(Account.class).from(Account.class).where(whereByKeyAndRange).cql();
+    }
+
+    @Benchmark
+    public CP selectByEntityClass_pair() {
+        return select(Account.class).from(Account.class).where(whereByKeyAndRange).pair();
+    }
+
+    @Benchmark
+    public String selectByPropNames_cql() {
+        return select(selectPropNames).from("account").where(whereByKeyAndRange).cql();
+    }
+
+    @Benchmark
+    public CP selectByPropNames_pair() {
+        return select(selectPropNames).from("account").where(whereByKeyAndRange).pair();
+    }
+
+    @Benchmark
+    public String insertByEntityClass_cql() {
+        return insertInto(Account.class).cql();
+    }
+
+    @Benchmark
+    public CP insertByEntity_pair() {
+        return insert(account).into(Account.class).pair();
+    }
+
+    @Benchmark
+    public String insertByPropNames_cql() {
+        return insert(selectPropNames).into("account").cql();
+    }
+
+    @Benchmark
+    public String updateByEntityClass_cql() {
+        return update(Account.class).set(updatePropNames).where(whereByKey).cql();
+    }
+
+    @Benchmark
+    public CP updateByProps_pair() {
+        return update("account").set(updateProps).where(whereByKey).pair();
+    }
+
+    @Benchmark
+    public String deleteByEntityClass_cql() {
+        return deleteFrom(Account.class).where(whereByKey).cql();
+    }
+
+    @Benchmark
+    public CP deleteByTableName_pair() {
+        return deleteFrom("account").where(whereByKeyAndRange).pair();
+    }
+
+    /**
+     * The {@code StringBuilder}s are pooled by {@code Objectory} and shared by threads.
+     *
+     * @return
+     */
+    @Benchmark
+    @Threads(8)
+    public CP selectByEntityClass_pair_8threads() {
+        return select(Account.class).from(Account.class).where(whereByKeyAndRange).pair();
+    }
+
+    private CQLBuilder select(final Class<?> entityClass) {
+        switch (builder) {
+            case "NSC":
+                return NSC.select(entityClass);
+
+            case "NAC":
+                return NAC.select(entityClass);
+
+            case "NLC":
+                return NLC.select(entityClass);
+
+            default:
+                return PSC.select(entityClass);
+        }
+    }
+
+    private CQLBuilder select(final List<String> propNames) {
+        switch (builder) {
+            case "NSC":
+                return NSC.select(propNames);
+
+            case "NAC":
+                return NAC.select(propNames);
+
+            case "NLC":
+                return NLC.select(propNames);
+
+            default:
+                return PSC.select(propNames);
+        }
+    }
+
+    private CQLBuilder insertInto(final Class<?> entityClass) {
+        switch (builder) {
+            case "NSC":
+                return NSC.insertInto(entityClass);
+
+            case "NAC":
+                return NAC.insertInto(entityClass);
+
+            case "NLC":
+                return NLC.insertInto(entityClass);
+
+            default:
+                return PSC.insertInto(entityClass);
+        }
+    }
+
+    private CQLBuilder insert(final Object entity) {
+        switch (builder) {
+            case "NSC":
+                return NSC.insert(entity);
+
+            case "NAC":
+                return NAC.insert(entity);
+
+            case "NLC":
+                return NLC.insert(entity);
+
+            default:
+                return PSC.insert(entity);
+        }
+    }
+
+    private CQLBuilder insert(final List<String> propNames) {
+        switch (builder) {
+            case "NSC":
+                return NSC.insert(propNames);
+
+            case "NAC":
+                return NAC.insert(propNames);
+
+            case "NLC":
+                return NLC.insert(propNames);
+
+            default:
+                return PSC.insert(propNames);
+        }
+    }
+
+    private CQLBuilder update(final Class<?> entityClass) {
+        switch (builder) {
+            case "NSC":
+                return NSC.update(entityClass);
+
+            case "NAC":
+                return NAC.update(entityClass);
+
+            case "NLC":
+                return NLC.update(entityClass);
+
+            default:
+                return PSC.update(entityClass);
+        }
+    }
+
+    private CQLBuilder update(final String tableName) {
+        switch (builder) {
+            case "NSC":
+                return NSC.update(tableName);
+
+            case "NAC":
+                return NAC.update(tableName);
+
+            case "NLC":
+                return NLC.update(tableName);
+
+            default:
+                return PSC.update(tableName);
+        }
+    }
+
+    private CQLBuilder deleteFrom(final Class<?> entityClass) {
+        switch (builder) {
+            case "NSC":
+                return NSC.deleteFrom(entityClass);
+
+            case "NAC":
+                return NAC.deleteFrom(entityClass);
+
+            case "NLC":
+                return NLC.deleteFrom(entityClass);
+
+            default:
+                return PSC.deleteFrom(entityClass);
+        }
+    }
+
+    private CQLBuilder deleteFrom(final String tableName) {
+        switch (builder) {
+            case "NSC":
+                return NSC.deleteFrom(tableName);
+
+            case "NAC":
+                return NAC.deleteFrom(tableName);
+
+            case "NLC":
+                return NLC.deleteFrom(tableName);
+
+            default:
+                return PSC.deleteFrom(tableName);
+        }
+    }
+
+    public static class Account {
+        private long id;
+        private String gui;
+        private String firstName;
+        private String lastName;
+        private int status;
+        private Date lastUpdateTime;
+        private Date createTime;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getGui() {
+            return gui;
+        }
+
+        public void setGui(String gui) {
+            this.gui = gui;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public Date getLastUpdateTime() {
+            return lastUpdateTime;
+        }
+
+        public void setLastUpdateTime(Date lastUpdateTime) {
+            this.lastUpdateTime = lastUpdateTime;
+        }
+
+        public Date getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(Date createTime) {
+            this.createTime = createTime;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DriverObjects;
+import com.landawn.abacus.da.canssandra.CQLBuilder.CP;
+import com.landawn.abacus.da.canssandra.CQLBuilder.NSC;
+import com.landawn.abacus.da.canssandra.CassandraExecutor;
+import com.landawn.abacus.da.canssandra.ResultSet;
+import com.landawn.abacus.util.N;
+
+/**
+ * The entity insert by {@code CassandraExecutor.insert}, where the CQL and {@code PreparedStatement} are created once by the statement template
+ * and only the property values are bound for each call, vs. the CQL generated by {@code CQLBuilder} and parsed for each call.
+ * The statements are prepared by {@code NoClusterSession} and nothing is executed, so only the creation and binding of the statements is measured.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CassandraInsertBenchmark {
+
+    private Cluster cluster;
+
+    private CassandraExecutor cassandraExecutor;
+
+    private Song song;
+
+    @Setup
+    public void setup() {
+        // not connected.
+        cluster = Cluster.builder().addContactPoint("127.0.0.1").withProtocolVersion(DriverObjects.PROTOCOL_VERSION).withoutMetrics().build();
+
+        final Map<String, DataType> columnTypes = new HashMap<>();
+        columnTypes.put("id", DataType.uuid());
+        columnTypes.put("title", DataType.text());
+        columnTypes.put("album", DataType.text());
+        columnTypes.put("artist", DataType.text());
+        columnTypes.put("year", DataType.cint());
+        columnTypes.put("plays", DataType.bigint());
+        columnTypes.put("rating", DataType.cdouble());
+        columnTypes.put("released", DataType.timestamp());
+        columnTypes.put("tags", DataType.set(DataType.text()));
+        columnTypes.put("data", DataType.blob());
+
+        cassandraExecutor = new CassandraExecutor(NoClusterSession.create(cluster, "song", columnTypes));
+
+        song = new Song();
+        song.setId(UUID.randomUUID());
+        song.setTitle("title");
+        song.setAlbum("album");
+        song.setArtist("artist");
+        song.setYear(2013);
+        song.setPlays(1000L);
+        song.setRating(4.5d);
+        song.setReleased(new Date());
+        song.setTags(N.asSet("jazz", "2013"));
+        song.setData(ByteBuffer.wrap(new byte[64]));
+    }
+
+    @TearDown
+    public void tearDown() {
+        cluster.close();
+    }
+
+    @Benchmark
+    public ResultSet insert_template() {
+        return cassandraExecutor.insert(song);
+    }
+
+    @Benchmark
+    public ResultSet insert_cql() {
+        final CP cp = NSC.insert(song).into(Song.class).pair();
+
+        return cassandraExecutor.execute(cp.cql, cp.parameters.toArray());
+    }
+
+    public static class Song {
+        private UUID id;
+        private String title;
+        private String album;
+        private String artist;
+        private int year;
+        private long plays;
+        private double rating;
+        private Date released;
+        private Set<String> tags;
+        private ByteBuffer data;
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getAlbum() {
+            return album;
+        }
+
+        public void setAlbum(String album) {
+            this.album = album;
+        }
+
+        public String getArtist() {
+            return artist;
+        }
+
+        public void setArtist(String artist) {
+            this.artist = artist;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public void setYear(int year) {
+            this.year = year;
+        }
+
+        public long getPlays() {
+            return plays;
+        }
+
+        public void setPlays(long plays) {
+            this.plays = plays;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public void setRating(double rating) {
+            this.rating = rating;
+        }
+
+        public Date getReleased() {
+            return released;
+        }
+
+        public void setReleased(Date released) {
+            this.released = released;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(Set<String> tags) {
+            this.tags = tags;
+        }
+
+        public ByteBuffer getData() {
+            return data;
+        }
+
+        public void setData(ByteBuffer data) {
+            this.data = data;
+        }
+    }
+}
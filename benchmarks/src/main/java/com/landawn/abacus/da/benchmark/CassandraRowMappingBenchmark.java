@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DriverObjects;
+import com.datastax.driver.core.Row;
+import com.landawn.abacus.da.canssandra.CassandraExecutor;
+import com.landawn.abacus.util.N;
+
+/**
+ * The mapping of {@code Row} to entity/{@code Map} by {@code CassandraExecutor.toEntity}. The rows are created by the driver from the serialized values,
+ * with the text/int/bigint/double/timestamp/uuid columns read by typed getters and the set/blob columns read as objects.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CassandraRowMappingBenchmark {
+
+    private static final int ROW_COUNT = 16;
+
+    private Row row;
+
+    private List<Row> rows;
+
+    @Setup
+    public void setup() {
+        final ColumnDefinitions columnDefinitions = DriverObjects.columnDefinitions("song",
+                N.asList("id", "title", "album", "artist", "year", "plays", "rating", "released", "tags", "data"),
+                N.asList(DataType.uuid(), DataType.text(), DataType.text(), DataType.text(), DataType.cint(), DataType.bigint(), DataType.cdouble(),
+                        DataType.timestamp(), DataType.set(DataType.text()), DataType.blob()));
+
+        rows = new ArrayList<>(ROW_COUNT);
+
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows.add(DriverObjects.row(columnDefinitions, UUID.randomUUID(), "title-" + i, "album-" + i, "artist-" + i, 2000 + i, 1000L * i, 4.5d,
+                    new Date(), N.asSet("jazz", "2013"), ByteBuffer.wrap(new byte[64])));
+        }
+
+        row = rows.get(0);
+    }
+
+    @Benchmark
+    public Song toEntity() {
+        return CassandraExecutor.toEntity(Song.class, row);
+    }
+
+    @Benchmark
+    public Song toEntity_rows() {
+        Song song = null;
+
+        for (Row e : rows) {
+            song = CassandraExecutor.toEntity(Song.class, e);
+        }
+
+        return song;
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return CassandraExecutor.toEntity(Map.class, row);
+    }
+
+    public static class Song {
+        private UUID id;
+        private String title;
+        private String album;
+        private String artist;
+        private int year;
+        private long plays;
+        private double rating;
+        private Date released;
+        private Set<String> tags;
+        private ByteBuffer data;
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getAlbum() {
+            return album;
+        }
+
+        public void setAlbum(String album) {
+            this.album = album;
+        }
+
+        public String getArtist() {
+            return artist;
+        }
+
+        public void setArtist(String artist) {
+            this.artist = artist;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public void setYear(int year) {
+            this.year = year;
+        }
+
+        public long getPlays() {
+            return plays;
+        }
+
+        public void setPlays(long plays) {
+            this.plays = plays;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public void setRating(double rating) {
+            this.rating = rating;
+        }
+
+        public Date getReleased() {
+            return released;
+        }
+
+        public void setReleased(Date released) {
+            this.released = released;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(Set<String> tags) {
+            this.tags = tags;
+        }
+
+        public ByteBuffer getData() {
+            return data;
+        }
+
+        public void setData(ByteBuffer data) {
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.landawn.abacus.da.hbase.HBaseExecutor;
+import com.landawn.abacus.util.HBaseColumn;
+import com.landawn.abacus.util.N;
+
+/**
+ * The mapping of {@code Result} to entity by {@code HBaseExecutor.toEntity}. Each row has 7 cells mapped to simple and nested entity properties,
+ * the rest of the {@code cellCount} cells are the versions of a {@code List<HBaseColumn<String>>} property.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HBaseResultMappingBenchmark {
+
+    private static final int ROW_COUNT = 16;
+
+    @Param({ "10", "100", "1000" })
+    private int cellCount;
+
+    private Result result;
+
+    private List<Result> results;
+
+    @Setup
+    public void setup() {
+        results = new ArrayList<>(ROW_COUNT);
+
+        for (int i = 0; i < ROW_COUNT; i++) {
+            results.add(createResult("row-" + i));
+        }
+
+        result = results.get(0);
+    }
+
+    private Result createResult(final String rowKey) {
+        final byte[] row = Bytes.toBytes(rowKey);
+        final long now = System.currentTimeMillis();
+        final List<Cell> cells = new ArrayList<>(cellCount);
+
+        cells.add(cell(row, "name", "firstName", now, "Forrest"));
+        cells.add(cell(row, "name", "middleName", now, "Q"));
+        cells.add(cell(row, "name", "lastName", now, "Gump"));
+        cells.add(cell(row, "email", "", now, "forrest.gump@example.com"));
+        cells.add(cell(row, "status", "", now, 1));
+        cells.add(cell(row, "lastUpdateTime", "", now, new Date(now)));
+        cells.add(cell(row, "createTime", "", now, new Date(now)));
+
+        for (int i = cells.size(); i < cellCount; i++) {
+            cells.add(cell(row, "events", "", now - i, "event-" + i));
+        }
+
+        Collections.sort(cells, CellComparator.getInstance());
+
+        return Result.create(cells);
+    }
+
+    private static Cell cell(final byte[] row, final String family, final String qualifier, final long ts, final Object value) {
+        return new KeyValue(row, Bytes.toBytes(family), Bytes.toBytes(qualifier), ts, Bytes.toBytes(N.stringOf(value)));
+    }
+
+    @Benchmark
+    public Account toEntity() {
+        return HBaseExecutor.toEntity(Account.class, result);
+    }
+
+    @Benchmark
+    public Account toEntity_rows() {
+        Account account = null;
+
+        for (Result row : results) {
+            account = HBaseExecutor.toEntity(Account.class, row);
+        }
+
+        return account;
+    }
+
+    public static class Account {
+        private String id;
+        private Name name;
+        private String email;
+        private int status;
+        private Date lastUpdateTime;
+        private Date createTime;
+        private List<HBaseColumn<String>> events;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public Name getName() {
+            return name;
+        }
+
+        public void setName(Name name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public Date getLastUpdateTime() {
+            return lastUpdateTime;
+        }
+
+        public void setLastUpdateTime(Date lastUpdateTime) {
+            this.lastUpdateTime = lastUpdateTime;
+        }
+
+        public Date getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(Date createTime) {
+            this.createTime = createTime;
+        }
+
+        public List<HBaseColumn<String>> getEvents() {
+            return events;
+        }
+
+        public void setEvents(List<HBaseColumn<String>> events) {
+            this.events = events;
+        }
+    }
+
+    public static class Name {
+        private String firstName;
+        private String middleName;
+        private String lastName;
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getMiddleName() {
+            return middleName;
+        }
+
+        public void setMiddleName(String middleName) {
+            this.middleName = middleName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DriverObjects;
+import com.datastax.driver.core.PreparedId;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+
+/**
+ * A {@code Session} which prepares the {@code INSERT} statements without cluster and executes nothing, so the statements are created and bound
+ * the same way as with a cluster but the execution is not measured. The types of the bound variables are looked up by the column names in the statement.
+ *
+ */
+final class NoClusterSession {
+
+    private NoClusterSession() {
+        // singleton.
+    }
+
+    /**
+     * The {@code Cluster} is not connected. It must be closed by the caller.
+     *
+     * @param cluster
+     * @param table
+     * @param columnTypes
+     * @return
+     */
+    static Session create(final Cluster cluster, final String table, final Map<String, DataType> columnTypes) {
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[] { Session.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "getCluster":
+                        return cluster;
+
+                    case "init":
+                        return proxy;
+
+                    case "prepare":
+                        return prepare(args[0].toString(), table, columnTypes);
+
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+
+                    case "equals":
+                        return proxy == args[0];
+
+                    case "toString":
+                        return NoClusterSession.class.getSimpleName();
+
+                    default:
+                        // execute/executeAsync/close...: nothing is sent to Cassandra.
+                        return method.getReturnType() == boolean.class ? false : null;
+                }
+            }
+        });
+    }
+
+    /**
+     *
+     * @param query {@code INSERT INTO table (column1, column2, ...) VALUES (?, ?, ...)}
+     * @param table
+     * @param columnTypes
+     * @return
+     */
+    private static PreparedStatement prepare(final String query, final String table, final Map<String, DataType> columnTypes) {
+        final String[] columnNames = query.substring(query.indexOf('(') + 1, query.indexOf(')')).split(",");
+        final List<String> names = new ArrayList<>(columnNames.length);
+        final List<DataType> types = new ArrayList<>(columnNames.length);
+
+        for (String columnName : columnNames) {
+            final String name = columnName.trim().replace("\"", "");
+            final DataType type = columnTypes.get(name);
+
+            if (type == null) {
+                throw new IllegalArgumentException("No type specified for column: " + name + " in query: " + query);
+            }
+
+            names.add(name);
+            types.add(type);
+        }
+
+        final ColumnDefinitions variables = DriverObjects.columnDefinitions(table, names, types);
+        final PreparedId preparedId = DriverObjects.preparedId(variables);
+
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        switch (method.getName()) {
+                            case "bind":
+                                final BoundStatement stmt = new BoundStatement((PreparedStatement) proxy);
+                                return args == null || ((Object[]) args[0]).length == 0 ? stmt : stmt.bind((Object[]) args[0]);
+
+                            case "getVariables":
+                                return variables;
+
+                            case "getPreparedId":
+                                return preparedId;
+
+                            case "getCodecRegistry":
+                                return CodecRegistry.DEFAULT_INSTANCE;
+
+                            case "getQueryString":
+                                return query;
+
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+
+                            case "equals":
+                                return proxy == args[0];
+
+                            case "toString":
+                                return query;
+
+                            default:
+                                // the consistency level, retry policy, tracing... are not set.
+                                return method.getReturnType() == boolean.class ? false : (method.getReturnType().isInstance(proxy) ? proxy : null);
+                        }
+                    }
+                });
+    }
+}
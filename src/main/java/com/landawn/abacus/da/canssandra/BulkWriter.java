@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.BusyPoolException;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.OperationTimedOutException;
+import com.datastax.driver.core.exceptions.OverloadedException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.landawn.abacus.da.canssandra.CassandraExecutor.BulkWriteResult;
+import com.landawn.abacus.da.canssandra.CassandraExecutor.BulkWriteSettings;
+import com.landawn.abacus.util.Tuple;
+import com.landawn.abacus.util.Tuple.Tuple2;
+import com.landawn.abacus.util.function.Consumer;
+import com.landawn.abacus.util.function.Function;
+
+/**
+ * Writes the statements created from the input objects by {@code Session.executeAsync} with at most
+ * {@code BulkWriteSettings.maxInFlightPerHost} requests in flight for each (primary replica) host.
+ * Throttled requests, and timed out requests of idempotent statements, are re-executed after an exponential backoff, holding the permit of the host.
+ *
+ */
+final class BulkWriter {
+
+    /** The permits for the statements whose replicas are unknown. */
+    private static final Object UNKNOWN_HOST = new Object();
+
+    private final Session session;
+
+    private final Cluster cluster;
+
+    private final ProtocolVersion protocolVersion;
+
+    private final BulkWriteSettings settings;
+
+    private final Map<Object, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private final AtomicLong succeededCount = new AtomicLong();
+
+    private final AtomicLong retriedCount = new AtomicLong();
+
+    private final List<Tuple2<Object, Throwable>> failures = Collections.synchronizedList(new ArrayList<Tuple2<Object, Throwable>>());
+
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private Consumer<Object> completionListener;
+
+    BulkWriter(final Session session, final BulkWriteSettings settings) {
+        this.session = session;
+        this.cluster = session.getCluster();
+        this.protocolVersion = cluster.getConfiguration().getProtocolOptions().getProtocolVersion();
+        this.settings = settings;
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param iter
+     * @param statementCreator
+     * @return
+     */
+    <T> BulkWriteResult write(final Iterator<? extends T> iter, final Function<? super T, ? extends Statement> statementCreator) {
+        return write(iter, statementCreator, null);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param iter
+     * @param statementCreator
+     * @param completionListener called with the input object when its statement is completed successfully or failed after retries. It can be {@code null}.
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    <T> BulkWriteResult write(final Iterator<? extends T> iter, final Function<? super T, ? extends Statement> statementCreator,
+            final Consumer<? super T> completionListener) {
+        this.completionListener = (Consumer<Object>) completionListener;
+
+        final long startTime = System.currentTimeMillis();
+        long totalCount = 0;
+
+        try {
+            T e = null;
+            Statement stmt = null;
+            Semaphore permits = null;
+
+            while (iter.hasNext()) {
+                e = iter.next();
+                totalCount++;
+
+                try {
+                    stmt = statementCreator.apply(e);
+                } catch (Exception ex) {
+                    failures.add(Tuple.<Object, Throwable> of(e, ex));
+                    continue;
+                }
+
+                permits = getPermits(stmt);
+                permits.acquire();
+
+                execute(e, stmt, permits, 0);
+            }
+
+            // wait until all the requests are completed.
+            for (Semaphore semaphore : hostPermits.values()) {
+                semaphore.acquire(settings.getMaxInFlightPerHost());
+                semaphore.release(settings.getMaxInFlightPerHost());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the in-flight requests", ex);
+        } finally {
+            retryScheduler.shutdownNow();
+        }
+
+        return new BulkWriteResult(totalCount, succeededCount.get(), retriedCount.get(), new ArrayList<>(failures), System.currentTimeMillis() - startTime,
+                latencies);
+    }
+
+    /**
+     * Gets the permits of the primary replica of the statement.
+     *
+     * @param stmt
+     * @return
+     */
+    private Semaphore getPermits(final Statement stmt) {
+        final String keyspace = stmt.getKeyspace();
+        final ByteBuffer routingKey = keyspace == null ? null : stmt.getRoutingKey(protocolVersion, cluster.getConfiguration().getCodecRegistry());
+        Object host = UNKNOWN_HOST;
+
+        if (routingKey != null) {
+            final Set<Host> replicas = cluster.getMetadata().getReplicas(Metadata.quote(keyspace), routingKey);
+
+            if (replicas != null && replicas.size() > 0) {
+                host = replicas.iterator().next();
+            }
+        }
+
+        Semaphore permits = hostPermits.get(host);
+
+        if (permits == null) {
+            permits = new Semaphore(settings.getMaxInFlightPerHost());
+            hostPermits.put(host, permits);
+        }
+
+        return permits;
+    }
+
+    /**
+     *
+     * @param e
+     * @param stmt
+     * @param permits the permit is released when the request is completed successfully or failed after retries.
+     * @param retries
+     */
+    private void execute(final Object e, final Statement stmt, final Semaphore permits, final int retries) {
+        final long startTime = System.nanoTime();
+        final ResultSetFuture future;
+
+        try {
+            future = session.executeAsync(stmt);
+        } catch (Exception ex) {
+            onFailure(e, stmt, permits, retries, ex);
+            return;
+        }
+
+        Futures.addCallback(future, new FutureCallback<com.datastax.driver.core.ResultSet>() {
+            @Override
+            public void onSuccess(com.datastax.driver.core.ResultSet result) {
+                latencies.record(System.nanoTime() - startTime);
+                succeededCount.incrementAndGet();
+                complete(e, permits);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                BulkWriter.this.onFailure(e, stmt, permits, retries, t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     *
+     * @param e
+     * @param stmt
+     * @param permits
+     * @param retries
+     * @param t
+     */
+    private void onFailure(final Object e, final Statement stmt, final Semaphore permits, final int retries, final Throwable t) {
+        if (retries < settings.getMaxRetries() && isRetriable(stmt, t)) {
+            try {
+                retryScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        execute(e, stmt, permits, retries + 1);
+                    }
+                }, getBackoff(retries), TimeUnit.MILLISECONDS);
+
+                retriedCount.incrementAndGet();
+                return;
+            } catch (RejectedExecutionException ex) {
+                // the writer is shutdown.
+            }
+        }
+
+        failures.add(Tuple.<Object, Throwable> of(e, t));
+        complete(e, permits);
+    }
+
+    private void complete(final Object e, final Semaphore permits) {
+        try {
+            if (completionListener != null) {
+                completionListener.accept(e);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Exponential backoff with jitter: a random delay between half and the whole of {@code min(maxBackoff, initialBackoff * 2 ^ retries)}.
+     *
+     * @param retries
+     * @return
+     */
+    private long getBackoff(final int retries) {
+        final long backoff = Math.min(settings.getMaxBackoff(), settings.getInitialBackoff() << Math.min(retries, 30));
+
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Checks if the request is throttled by the driver or server, which means it's not applied.
+     * Or timed out, which is only retriable for the idempotent statement because the write may have been applied.
+     *
+     * @param stmt
+     * @param t
+     * @return
+     */
+    boolean isRetriable(final Statement stmt, final Throwable t) {
+        if (t instanceof OverloadedException || t instanceof BusyPoolException || t instanceof UnavailableException) {
+            return true;
+        }
+
+        return (t instanceof NoHostAvailableException || t instanceof OperationTimedOutException || t instanceof WriteTimeoutException)
+                && stmt.isIdempotentWithDefault(cluster.getConfiguration().getQueryOptions());
+    }
+}
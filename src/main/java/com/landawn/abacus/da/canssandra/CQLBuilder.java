@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import com.landawn.abacus.DirtyMarker;
 import com.landawn.abacus.annotation.Beta;
@@ -137,6 +138,10 @@ public abstract class CQLBuilder {
 
     private static final AtomicInteger activeStringBuilderCounter = new AtomicInteger();
 
+    private static final ThreadLocal<BuilderArena> builderArenas = new ThreadLocal<>();
+
+    private static final int MAX_REUSABLE_BUFFER_CAPACITY = 8192;
+
     static final char[] _SPACE_USING_TIMESTAMP_SPACE = " USING TIMESTAMP ".toCharArray();
 
     static final char[] _SPACE_USING_TTL_SPACE = " USING TTL ".toCharArray();
@@ -262,6 +267,9 @@ public abstract class CQLBuilder {
 
     private StringBuilder sb;
 
+    /** The buffer kept by the builder reused from the thread-local arena, or {@code null} if the builder is not reusable. */
+    private StringBuilder reusableBuffer;
+
     private Class<?> entityClass;
 
     private ImmutableMap<String, Tuple2<String, Boolean>> propColumnNameMap;
@@ -1475,10 +1483,7 @@ public abstract class CQLBuilder {
         try {
             cql = sb.charAt(0) == ' ' ? sb.substring(1) : sb.toString();
         } finally {
-            Objectory.recycle(sb);
-            sb = null;
-
-            activeStringBuilderCounter.decrementAndGet();
+            close();
         }
 
         //    if (logger.isDebugEnabled()) {
@@ -1500,7 +1505,141 @@ public abstract class CQLBuilder {
     public CP pair() {
         final String cql = cql();
 
-        return new CP(cql, parameters);
+        if (reusableBuffer == null) {
+            return new CP(cql, parameters);
+        } else {
+            // the parameters will be cleared when this builder is reused.
+            final CP cp = new CP(cql, new ArrayList<>(parameters));
+            parameters.clear();
+            return cp;
+        }
+    }
+
+    /**
+     * Appends the cql to the specified {@code cqlOutput} and copies the parameters to the specified {@code parameterOutput},
+     * without creating the cql {@code String}, the parameter {@code List} or {@code CP}.
+     * This CQLBuilder will be closed after <code>writeTo(...)</code> is called.
+     *
+     * @param cqlOutput
+     * @param parameterOutput the parameters are copied to it from index 0. It can be {@code null} if there is no parameter.
+     * @return the number of parameters copied to {@code parameterOutput}.
+     * @see #reuseNext()
+     */
+    public int writeTo(final StringBuilder cqlOutput, final Object[] parameterOutput) {
+        N.checkArgNotNull(cqlOutput, "cqlOutput");
+
+        if (sb == null) {
+            throw new RuntimeException("This CQLBuilder has been closed after cql() was called previously");
+        }
+
+        init(true);
+
+        final int parameterCount = parameters.size();
+
+        try {
+            if (parameterCount > (parameterOutput == null ? 0 : parameterOutput.length)) {
+                throw new IllegalArgumentException("The length of parameterOutput is less than the number of parameters: " + parameterCount);
+            }
+
+            cqlOutput.append(sb, sb.charAt(0) == ' ' ? 1 : 0, sb.length());
+
+            for (int i = 0; i < parameterCount; i++) {
+                parameterOutput[i] = parameters.get(i);
+            }
+        } finally {
+            close();
+
+            if (reusableBuffer != null) {
+                parameters.clear();
+            }
+        }
+
+        return parameterCount;
+    }
+
+    /**
+     * The next {@code CQLBuilder} created by the static methods, for example: {@code PSC.select(...)/NSC.update(...)}, in the current thread
+     * will be the one reused from the thread-local arena, instead of a new instance with a {@code StringBuilder} borrowed from the pool.
+     * The reused builder is reset before it's returned. Together with {@link #writeTo(StringBuilder, Object[])},
+     * the cql can be generated on the hot path without allocating the builder, the cql {@code String} or the parameter {@code List}.
+     * <br />
+     * If the reusable builder of the same type is still in use (not closed by {@code cql()/pair()/writeTo(...)}), or it was left open by an exception,
+     * a new instance is created and it replaces the previous one in the arena.
+     *
+     * <pre>
+     * <code>
+     * CQLBuilder.reuseNext();
+     * final int parameterCount = PSC.select("id", "firstName").from("account").where(CF.eq("id", id)).writeTo(cqlBuffer, parameters);
+     * </code>
+     * </pre>
+     */
+    @Beta
+    public static void reuseNext() {
+        BuilderArena arena = builderArenas.get();
+
+        if (arena == null) {
+            arena = new BuilderArena();
+            builderArenas.set(arena);
+        }
+
+        arena.armed = true;
+    }
+
+    static <T extends CQLBuilder> T reuseOrCreate(final Class<T> builderClass, final Supplier<T> creator) {
+        final BuilderArena arena = builderArenas.get();
+
+        if (arena == null || arena.armed == false) {
+            return creator.get();
+        }
+
+        arena.armed = false;
+
+        @SuppressWarnings("unchecked")
+        T instance = (T) arena.builders.get(builderClass);
+
+        // a builder which is not closed may be still in use, or left open by an exception. It's replaced, so the reuse is not blocked forever.
+        if (instance == null || instance.sb != null) {
+            instance = creator.get();
+
+            // the StringBuilder is kept by the reusable builder, instead of being recycled to the pool.
+            instance.reusableBuffer = instance.sb;
+            activeStringBuilderCounter.decrementAndGet();
+
+            arena.builders.put(builderClass, instance);
+        } else {
+            instance.sb = instance.reusableBuffer;
+            instance.sb.setLength(0);
+            instance.parameters.clear();
+        }
+
+        return instance;
+    }
+
+    private void close() {
+        if (reusableBuffer == null) {
+            Objectory.recycle(sb);
+
+            activeStringBuilderCounter.decrementAndGet();
+        } else {
+            if (reusableBuffer.capacity() > MAX_REUSABLE_BUFFER_CAPACITY) {
+                reusableBuffer = new StringBuilder(MAX_REUSABLE_BUFFER_CAPACITY / 8);
+            }
+
+            entityClass = null;
+            propColumnNameMap = null;
+            alias = null;
+            op = null;
+            tableName = null;
+            preselect = null;
+            columnNames = null;
+            columnAliases = null;
+            props = null;
+            propsList = null;
+            hasFromBeenSet = false;
+            isForConditionOnly = false;
+        }
+
+        sb = null;
     }
 
     public <T, E extends Exception> T apply(final Throwables.Function<? super CP, T, E> func) throws E {
@@ -2152,7 +2291,7 @@ public abstract class CQLBuilder {
         }
 
         static SCCB createInstance() {
-            return new SCCB();
+            return reuseOrCreate(SCCB.class, SCCB::new);
         }
 
         /**
@@ -2575,7 +2714,7 @@ public abstract class CQLBuilder {
         }
 
         static ACCB createInstance() {
-            return new ACCB();
+            return reuseOrCreate(ACCB.class, ACCB::new);
         }
 
         /**
@@ -2997,7 +3136,7 @@ public abstract class CQLBuilder {
         }
 
         static LCCB createInstance() {
-            return new LCCB();
+            return reuseOrCreate(LCCB.class, LCCB::new);
         }
 
         /**
@@ -3416,7 +3555,7 @@ public abstract class CQLBuilder {
         }
 
         static PSB createInstance() {
-            return new PSB();
+            return reuseOrCreate(PSB.class, PSB::new);
         }
 
         /**
@@ -3835,7 +3974,7 @@ public abstract class CQLBuilder {
         }
 
         static PSC createInstance() {
-            return new PSC();
+            return reuseOrCreate(PSC.class, PSC::new);
         }
 
         /**
@@ -4254,7 +4393,7 @@ public abstract class CQLBuilder {
         }
 
         static PAC createInstance() {
-            return new PAC();
+            return reuseOrCreate(PAC.class, PAC::new);
         }
 
         /**
@@ -4673,7 +4812,7 @@ public abstract class CQLBuilder {
         }
 
         static PLC createInstance() {
-            return new PLC();
+            return reuseOrCreate(PLC.class, PLC::new);
         }
 
         /**
@@ -5093,7 +5232,7 @@ public abstract class CQLBuilder {
         }
 
         static NSB createInstance() {
-            return new NSB();
+            return reuseOrCreate(NSB.class, NSB::new);
         }
 
         /**
@@ -5513,7 +5652,7 @@ public abstract class CQLBuilder {
         }
 
         static NSC createInstance() {
-            return new NSC();
+            return reuseOrCreate(NSC.class, NSC::new);
         }
 
         /**
@@ -5933,7 +6072,7 @@ public abstract class CQLBuilder {
         }
 
         static NAC createInstance() {
-            return new NAC();
+            return reuseOrCreate(NAC.class, NAC::new);
         }
 
         /**
@@ -6352,7 +6491,7 @@ public abstract class CQLBuilder {
         }
 
         static NLC createInstance() {
-            return new NLC();
+            return reuseOrCreate(NLC.class, NLC::new);
         }
 
         /**
@@ -6754,6 +6893,12 @@ public abstract class CQLBuilder {
         }
     }
 
+    private static final class BuilderArena {
+        private final Map<Class<?>, CQLBuilder> builders = new HashMap<>();
+
+        private boolean armed = false;
+    }
+
     public static final class CP {
         public final String cql;
         public final List<Object> parameters;
@@ -27,11 +27,17 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import com.datastax.driver.core.BatchStatement;
@@ -39,26 +45,46 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.CodecRegistry;
 import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.Metadata;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.TokenRange;
 import com.datastax.driver.core.TupleValue;
 import com.datastax.driver.core.TypeCodec;
 import com.datastax.driver.core.UDTValue;
 import com.datastax.driver.core.UserType;
+import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.exceptions.InvalidTypeException;
 import com.datastax.driver.core.policies.RetryPolicy;
 import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.landawn.abacus.DataSet;
 import com.landawn.abacus.DirtyMarker;
 import com.landawn.abacus.annotation.Beta;
 import com.landawn.abacus.condition.And;
+import com.landawn.abacus.condition.Clause;
 import com.landawn.abacus.condition.Condition;
+import com.landawn.abacus.condition.Criteria;
 import com.landawn.abacus.condition.ConditionFactory.CF;
 import com.landawn.abacus.core.DirtyMarkerUtil;
 import com.landawn.abacus.core.RowDataSet;
@@ -66,13 +92,11 @@ import com.landawn.abacus.da.canssandra.CQLBuilder.CP;
 import com.landawn.abacus.da.canssandra.CQLBuilder.NAC;
 import com.landawn.abacus.da.canssandra.CQLBuilder.NLC;
 import com.landawn.abacus.da.canssandra.CQLBuilder.NSC;
+import com.landawn.abacus.da.canssandra.MetricsListener.Phase;
 import com.landawn.abacus.exception.DuplicatedResultException;
 import com.landawn.abacus.parser.ParserUtil;
 import com.landawn.abacus.parser.ParserUtil.EntityInfo;
 import com.landawn.abacus.parser.ParserUtil.PropInfo;
-import com.landawn.abacus.pool.KeyedObjectPool;
-import com.landawn.abacus.pool.PoolFactory;
-import com.landawn.abacus.pool.PoolableWrapper;
 import com.landawn.abacus.type.Type;
 import com.landawn.abacus.util.AsyncExecutor;
 import com.landawn.abacus.util.ClassUtil;
@@ -82,8 +106,11 @@ import com.landawn.abacus.util.IOUtil;
 import com.landawn.abacus.util.ImmutableList;
 import com.landawn.abacus.util.ImmutableSet;
 import com.landawn.abacus.util.MutableInt;
+import com.landawn.abacus.util.MutableLong;
 import com.landawn.abacus.util.N;
 import com.landawn.abacus.util.NamingPolicy;
+import com.landawn.abacus.util.ObjIterator;
+import com.landawn.abacus.util.OperationType;
 import com.landawn.abacus.util.QueryUtil;
 import com.landawn.abacus.util.Throwables;
 import com.landawn.abacus.util.Tuple;
@@ -100,7 +127,10 @@ import com.landawn.abacus.util.u.OptionalInt;
 import com.landawn.abacus.util.u.OptionalLong;
 import com.landawn.abacus.util.u.OptionalShort;
 import com.landawn.abacus.util.function.BiFunction;
+import com.landawn.abacus.util.function.Consumer;
 import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.IntFunction;
+import com.landawn.abacus.util.function.Supplier;
 import com.landawn.abacus.util.function.ToBooleanFunction;
 import com.landawn.abacus.util.function.ToByteFunction;
 import com.landawn.abacus.util.function.ToCharFunction;
@@ -139,6 +169,8 @@ public final class CassandraExecutor implements Closeable {
 
     static final int POOLABLE_LENGTH = 1024;
 
+    static final int MAX_CACHED_PREPARED_STATEMENT_SIZE = 1024;
+
     private static final Map<String, Class<?>> namedDataType = new HashMap<>();
 
     static {
@@ -179,9 +211,20 @@ public final class CassandraExecutor implements Closeable {
         namedDataType.put("CUSTOM", ByteBuffer.class);
     }
 
-    private final KeyedObjectPool<String, PoolableWrapper<Statement>> stmtPool = PoolFactory.createKeyedObjectPool(1024, 3000);
+    /**
+     * Only {@code PreparedStatement} is cached. A new {@code BoundStatement} is created by {@code PreparedStatement.bind(...)} for each execution.
+     */
+    private final Cache<String, PreparedStatement> preparedStatementCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PREPARED_STATEMENT_SIZE)
+            .recordStats()
+            .build();
 
-    private final KeyedObjectPool<String, PoolableWrapper<PreparedStatement>> preStmtPool = PoolFactory.createKeyedObjectPool(1024, 3000);
+    /**
+     * The CQL templates with {@code PreparedStatement} for entity insert/update and get/delete by ids,
+     * keyed by operation type, entity class and property names, and the key names for get/delete by ids because they can be changed by {@code registerKeys}.
+     * The naming policy is fixed for an executor.
+     */
+    private final Cache<Object, StatementTemplate> statementTemplateCache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PREPARED_STATEMENT_SIZE).build();
 
     private final CQLMapper cqlMapper;
 
@@ -199,6 +242,10 @@ public final class CassandraExecutor implements Closeable {
 
     private final AsyncExecutor asyncExecutor;
 
+    private final EntityCache entityCache;
+
+    private final MetricsListener metricsListener;
+
     public CassandraExecutor(final Session session) {
         this(session, null);
     }
@@ -226,7 +273,25 @@ public final class CassandraExecutor implements Closeable {
     }
 
     public CassandraExecutor(final Session session, final StatementSettings settings, final CQLMapper cqlMapper, final NamingPolicy namingPolicy) {
-        this(session, settings, cqlMapper, namingPolicy, null);
+        this(session, settings, cqlMapper, namingPolicy, null, null);
+    }
+
+    /**
+     * Instantiates a new cassandra executor with a listener to receive the timings of the phases to execute queries,
+     * and an entity cache in front of {@code get/gett} by the full primary key.
+     *
+     * @param session
+     * @param settings
+     * @param cqlMapper
+     * @param namingPolicy
+     * @param metricsListener could be {@code null}.
+     * @param entityCache could be {@code null}. The cached entities are invalidated by the {@code insert/update/delete} methods of this executor.
+     * @see InMemoryMetrics
+     * @see LocalEntityCache
+     */
+    public CassandraExecutor(final Session session, final StatementSettings settings, final CQLMapper cqlMapper, final NamingPolicy namingPolicy,
+            final MetricsListener metricsListener, final EntityCache entityCache) {
+        this(session, settings, cqlMapper, namingPolicy, null, entityCache, metricsListener);
     }
 
     /**
@@ -243,6 +308,11 @@ public final class CassandraExecutor implements Closeable {
     @Deprecated
     public CassandraExecutor(final Session session, final StatementSettings settings, final CQLMapper cqlMapper, final NamingPolicy namingPolicy,
             final AsyncExecutor asyncExecutor) {
+        this(session, settings, cqlMapper, namingPolicy, asyncExecutor, null, null);
+    }
+
+    private CassandraExecutor(final Session session, final StatementSettings settings, final CQLMapper cqlMapper, final NamingPolicy namingPolicy,
+            final AsyncExecutor asyncExecutor, final EntityCache entityCache, final MetricsListener metricsListener) {
         this.cluster = session.getCluster();
         this.session = session;
         this.codecRegistry = cluster.getConfiguration().getCodecRegistry();
@@ -257,12 +327,34 @@ public final class CassandraExecutor implements Closeable {
         this.cqlMapper = cqlMapper;
         this.namingPolicy = namingPolicy == null ? NamingPolicy.LOWER_CASE_WITH_UNDERSCORE : namingPolicy;
         this.asyncExecutor = asyncExecutor == null ? DEFAULT_ASYNC_EXECUTOR : asyncExecutor;
+        this.entityCache = entityCache;
+        this.metricsListener = metricsListener;
     }
 
     AsyncExecutor asyncExecutor() {
         return asyncExecutor;
     }
 
+    /**
+     * The {@code asyncExecutor} of this {@code CassandraExecutor} as an {@code Executor}, to run the callbacks which should not be run by the I/O threads of the driver.
+     *
+     * @return
+     */
+    Executor executor() {
+        return new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                asyncExecutor.execute(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        command.run();
+                        return null;
+                    }
+                });
+            }
+        };
+    }
+
     public Cluster cluster() {
         return cluster;
     }
@@ -271,6 +363,14 @@ public final class CassandraExecutor implements Closeable {
         return session;
     }
 
+    /**
+     *
+     * @return {@code null} if no entity cache is configured.
+     */
+    public EntityCache entityCache() {
+        return entityCache;
+    }
+
     /**
      *
      * @param <T>
@@ -312,7 +412,7 @@ public final class CassandraExecutor implements Closeable {
      * @param entityClass
      * @return
      */
-    private static ImmutableList<String> getKeyNames(final Class<?> entityClass) {
+    static ImmutableList<String> getKeyNames(final Class<?> entityClass) {
         Tuple2<ImmutableList<String>, ImmutableSet<String>> tp = entityKeyNamesMap.get(entityClass);
 
         if (tp == null) {
@@ -360,27 +460,48 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public static DataSet extractData(final Class<?> targetClass, final com.datastax.driver.core.ResultSet resultSet) {
+        return extractData(targetClass, resultSet, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Rows are read one by one by {@code ResultSet.one()} instead of {@code ResultSet.all()}, so the pages already mapped can be released by the driver.
+     * The values of {@code boolean/int/bigint/counter/float/double} columns are read by typed getters into primitive arrays with a {@code null} bitmap,
+     * if no conversion is required by the target class.
+     *
+     * @param targetClass
+     * @param resultSet
+     * @param maxRowCount
+     * @return
+     */
+    private static DataSet extractData(final Class<?> targetClass, final com.datastax.driver.core.ResultSet resultSet, final int maxRowCount) {
         final boolean isEntity = targetClass != null && ClassUtil.isEntity(targetClass);
         final boolean isMap = targetClass != null && Map.class.isAssignableFrom(targetClass);
         final ColumnDefinitions columnDefinitions = resultSet.getColumnDefinitions();
         final int columnCount = columnDefinitions.size();
-        final List<Row> rowList = resultSet.all();
-        final int rowCount = N.isNullOrEmpty(rowList) ? 0 : rowList.size();
+        final int rowCount = Math.min(maxRowCount, resultSet.getAvailableWithoutFetching());
 
         final List<String> columnNameList = new ArrayList<>(columnCount);
         final List<List<Object>> columnList = new ArrayList<>(columnCount);
         final Class<?>[] columnClasses = new Class<?>[columnCount];
+        final PrimitiveColumnList[] primitiveColumns = new PrimitiveColumnList[columnCount];
 
         for (int i = 0; i < columnCount; i++) {
             columnNameList.add(columnDefinitions.getName(i));
-            columnList.add(new ArrayList<>(rowCount));
             columnClasses[i] = isEntity ? ClassUtil.getPropGetMethod(targetClass, columnNameList.get(i)).getReturnType() : (isMap ? Map.class : Object[].class);
+            primitiveColumns[i] = PrimitiveColumnList.of(columnDefinitions.getType(i), isEntity ? columnClasses[i] : null, rowCount);
+            columnList.add(primitiveColumns[i] == null ? new ArrayList<>(rowCount) : primitiveColumns[i]);
         }
 
         Object propValue = null;
+        Row row = null;
 
-        for (Row row : rowList) {
+        for (int cnt = 0; cnt < maxRowCount && (row = resultSet.one()) != null; cnt++) {
             for (int i = 0; i < columnCount; i++) {
+                if (primitiveColumns[i] != null) {
+                    primitiveColumns[i].read(row, i);
+                    continue;
+                }
+
                 propValue = row.getObject(i);
 
                 if (propValue instanceof Row && (columnClasses[i] == null || !columnClasses[i].isAssignableFrom(Row.class))) {
@@ -397,6 +518,26 @@ public final class CassandraExecutor implements Closeable {
         return new RowDataSet(columnNameList, columnList);
     }
 
+    /**
+     * Extracts the rows in the specified {@code resultSet} page by page.
+     * The next page is fetched in background by {@code fetchMoreResults()} while the current page is being extracted,
+     * so only the current page and the prefetched page are held in memory at any time.
+     *
+     * @param targetClass an entity class with getter/setter method or <code>Map.class</code>
+     * @param resultSet
+     * @return a stream of {@code DataSet}, one for each page. The size of each page is bounded by the fetch size of the statement.
+     * @see Statement#setFetchSize(int)
+     * @see StatementSettings#setFetchSize(int)
+     */
+    public static Stream<DataSet> extractPages(final Class<?> targetClass, final com.datastax.driver.core.ResultSet resultSet) {
+        return Stream.of(pageIterator(resultSet, new IntFunction<DataSet>() {
+            @Override
+            public DataSet apply(final int pageSize) {
+                return extractData(targetClass, resultSet, pageSize);
+            }
+        }));
+    }
+
     /**
      *
      * @param rowClass
@@ -473,27 +614,44 @@ public final class CassandraExecutor implements Closeable {
             return (List<T>) resultSet.all();
         }
 
+        return toList(targetClass, resultSet, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Rows are read one by one by {@code ResultSet.one()} instead of {@code ResultSet.all()}, so the pages already mapped can be released by the driver.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param resultSet
+     * @param maxRowCount
+     * @return
+     */
+    private static <T> List<T> toList(final Class<T> targetClass, final com.datastax.driver.core.ResultSet resultSet, final int maxRowCount) {
         final Type<T> targetType = N.typeOf(targetClass);
         final ColumnDefinitions columnDefinitions = resultSet.getColumnDefinitions();
-        final List<Row> rowList = resultSet.all();
-        final List<Object> resultList = new ArrayList<>();
+        final List<Object> resultList = new ArrayList<>(Math.min(maxRowCount, resultSet.getAvailableWithoutFetching()));
+        Row row = null;
 
-        if (targetType.isEntity() || targetType.isMap()) {
-            for (Row row : rowList) {
-                resultList.add(toEntity(targetClass, row, columnDefinitions));
+        if (targetClass.isAssignableFrom(Row.class)) {
+            for (int cnt = 0; cnt < maxRowCount && (row = resultSet.one()) != null; cnt++) {
+                resultList.add(row);
+            }
+        } else if (targetType.isEntity() || targetType.isMap()) {
+            final EntityRowMapper<T> rowMapper = EntityRowMapper.of(targetClass, columnDefinitions);
+
+            for (int cnt = 0; cnt < maxRowCount && (row = resultSet.one()) != null; cnt++) {
+                resultList.add(rowMapper.apply(row));
             }
         } else if (columnDefinitions.size() == 1) {
-            if (rowList.size() > 0) {
-                final Optional<Row> firstNonNull = N.findFirstNonNull(rowList, it -> it.getObject(0) != null);
+            Object propValue = null;
 
-                if (firstNonNull.isPresent() && targetClass.isAssignableFrom(firstNonNull.get().getObject(0).getClass())) {
-                    for (Row row : rowList) {
-                        resultList.add(row.getObject(0));
-                    }
+            for (int cnt = 0; cnt < maxRowCount && (row = resultSet.one()) != null; cnt++) {
+                propValue = row.getObject(0);
+
+                if (propValue == null || targetClass.isAssignableFrom(propValue.getClass())) {
+                    resultList.add(propValue);
                 } else {
-                    for (Row row : rowList) {
-                        resultList.add(N.convert(row.getObject(0), targetClass));
-                    }
+                    resultList.add(N.convert(propValue, targetClass));
                 }
             }
         } else {
@@ -504,6 +662,60 @@ public final class CassandraExecutor implements Closeable {
         return (List<T>) resultList;
     }
 
+    /**
+     * Maps the rows in the specified {@code resultSet} page by page.
+     * The next page is fetched in background by {@code fetchMoreResults()} while the current page is being mapped,
+     * so only the current page and the prefetched page are held in memory at any time.
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method, <code>Map.class</code> or basic single value type(Primitive/String/Date...)
+     * @param resultSet
+     * @return a stream of {@code List}, one for each page. The size of each page is bounded by the fetch size of the statement.
+     * @see Statement#setFetchSize(int)
+     * @see StatementSettings#setFetchSize(int)
+     */
+    public static <T> Stream<List<T>> toPages(final Class<T> targetClass, final com.datastax.driver.core.ResultSet resultSet) {
+        return Stream.of(pageIterator(resultSet, new IntFunction<List<T>>() {
+            @Override
+            public List<T> apply(final int pageSize) {
+                return toList(targetClass, resultSet, pageSize);
+            }
+        }));
+    }
+
+    /**
+     *
+     * @param <R>
+     * @param resultSet
+     * @param pageMapper the size of current page is passed in.
+     * @return
+     */
+    private static <R> ObjIterator<R> pageIterator(final com.datastax.driver.core.ResultSet resultSet, final IntFunction<R> pageMapper) {
+        return new ObjIterator<R>() {
+            @Override
+            public boolean hasNext() {
+                // It only blocks if the prefetching of next page is not completed yet.
+                return resultSet.isExhausted() == false;
+            }
+
+            @Override
+            public R next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                // The rows of next page will be appended to the result set when they're fetched. Only the rows already available are mapped to current page.
+                final int pageSize = resultSet.getAvailableWithoutFetching();
+
+                if (resultSet.isFullyFetched() == false) {
+                    resultSet.fetchMoreResults();
+                }
+
+                return pageMapper.apply(pageSize);
+            }
+        };
+    }
+
     /**
      *
      * @param <T>
@@ -530,83 +742,37 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     static <T> T toEntity(final Class<T> targetClass, final Row row, final ColumnDefinitions columnDefinitions) {
-        final int columnCount = columnDefinitions.size();
-
-        if (Map.class.isAssignableFrom(targetClass)) {
-            final Map<String, Object> map = (Map<String, Object>) N.newInstance(targetClass);
-
-            String propName = null;
-            Object propValue = null;
-
-            for (int i = 0; i < columnCount; i++) {
-                propName = columnDefinitions.getName(i);
-                propValue = row.getObject(i);
-
-                if (propValue instanceof Row) {
-                    map.put(propName, toEntity(Map.class, (Row) propValue));
-                } else {
-                    map.put(propName, propValue);
-                }
-            }
-
-            return (T) map;
-        } else if (ClassUtil.isEntity(targetClass)) {
-            final Map<String, String> column2FieldNameMap = QueryUtil.getColumn2PropNameMap(targetClass);
-            final T entity = N.newInstance(targetClass);
-            final EntityInfo entityInfo = ParserUtil.getEntityInfo(targetClass);
-            PropInfo propInfo = null;
-            String propName = null;
-            Object propValue = null;
-            Class<?> parameterType = null;
-            String fieldName = null;
-
-            for (int i = 0; i < columnCount; i++) {
-                propName = columnDefinitions.getName(i);
-                entityInfo.setPropValue(entity, propName, propValue);
-
-                propInfo = entityInfo.getPropInfo(propName);
-
-                if (propInfo == null && (fieldName = column2FieldNameMap.get(propName)) != null) {
-                    propName = fieldName;
-                    propInfo = entityInfo.getPropInfo(propName);
-                }
-
-                if (propInfo == null) {
-                    if (propName.indexOf(WD._PERIOD) > 0) {
-                        entityInfo.setPropValue(entity, propName, row.getObject(i), true);
-                    }
+        if (Map.class.isAssignableFrom(targetClass) || ClassUtil.isEntity(targetClass)) {
+            return EntityRowMapper.of(targetClass, columnDefinitions).apply(row);
+        } else if (columnDefinitions.size() == 1) {
+            return N.convert(row.getObject(0), targetClass);
+        } else {
+            throw new IllegalArgumentException("Unsupported target type: " + targetClass);
+        }
+    }
 
-                    continue;
-                }
+    /**
+     * The returned function resolves the row mapper by the column definitions of the first row and reuses it for the following rows.
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method or <code>Map.class</code>
+     * @return
+     */
+    static <T> Function<Row, T> toEntityMapper(final Class<T> targetClass) {
+        return new Function<Row, T>() {
+            private volatile EntityRowMapper<T> mapper = null;
 
-                parameterType = propInfo.clazz;
-                propValue = row.getObject(i);
+            @Override
+            public T apply(Row row) {
+                if (mapper == null) {
+                    checkTargetClass(targetClass);
 
-                if (propValue == null || parameterType.isAssignableFrom(propValue.getClass())) {
-                    propInfo.setPropValue(entity, propValue);
-                } else {
-                    if (propValue instanceof Row) {
-                        if (Map.class.isAssignableFrom(parameterType) || ClassUtil.isEntity(parameterType)) {
-                            propInfo.setPropValue(entity, toEntity(parameterType, (Row) propValue));
-                        } else {
-                            propInfo.setPropValue(entity, N.valueOf(parameterType, N.stringOf(toEntity(Map.class, (Row) propValue))));
-                        }
-                    } else {
-                        propInfo.setPropValue(entity, propValue);
-                    }
+                    mapper = EntityRowMapper.of(targetClass, row.getColumnDefinitions());
                 }
-            }
 
-            if (DirtyMarkerUtil.isDirtyMarker(entity.getClass())) {
-                DirtyMarkerUtil.markDirty((DirtyMarker) entity, false);
+                return mapper.apply(row);
             }
-
-            return entity;
-        } else if (columnDefinitions.size() == 1) {
-            return N.convert(row.getObject(0), targetClass);
-        } else {
-            throw new IllegalArgumentException("Unsupported target type: " + targetClass);
-        }
+        };
     }
 
     /**
@@ -638,6 +804,19 @@ public final class CassandraExecutor implements Closeable {
         }
     }
 
+    /**
+     *
+     * @param count
+     * @return an array filled with {@code CF.QME}, which is used to generate the CQL template with ids.
+     */
+    private static Object[] questionMarks(final int count) {
+        final Object[] a = new Object[count];
+
+        Arrays.fill(a, CF.QME);
+
+        return a;
+    }
+
     /**
      * Entity 2 cond.
      *
@@ -697,7 +876,7 @@ public final class CassandraExecutor implements Closeable {
     @SafeVarargs
     public final <T> Optional<T> get(final Class<T> targetClass, final Collection<String> selectPropNames, final Object... ids)
             throws DuplicatedResultException {
-        return get(targetClass, selectPropNames, ids2Cond(targetClass, ids));
+        return Optional.ofNullable(gett(targetClass, selectPropNames, ids));
     }
 
     /**
@@ -756,7 +935,118 @@ public final class CassandraExecutor implements Closeable {
      */
     @SafeVarargs
     public final <T> T gett(final Class<T> targetClass, final Collection<String> selectPropNames, final Object... ids) throws DuplicatedResultException {
-        return gett(targetClass, selectPropNames, ids2Cond(targetClass, ids));
+        if (entityCache != null && N.isNullOrEmpty(selectPropNames) && ClassUtil.isEntity(targetClass) && N.len(ids) == getKeyNames(targetClass).size()) {
+            final T entity = entityCache.get(targetClass, toCacheKey(targetClass, ids), new Callable<Optional<T>>() {
+                @Override
+                public Optional<T> call() {
+                    return Optional.ofNullable(gett(targetClass, prepareGetStatement(targetClass, null, ids)));
+                }
+            }).orElse(null);
+
+            // the cached entity is shared. A copy is returned to the caller, so the nested collections/entities of the cached one can't be modified.
+            return entity == null ? null : entityCache.copy(entity);
+        }
+
+        return gett(targetClass, prepareGetStatement(targetClass, selectPropNames, ids));
+    }
+
+    /**
+     * The ids converted to the types of the key properties, so the same key is cached once for ids in different types, for example: {@code 1} and {@code 1L}.
+     *
+     * @param targetClass
+     * @param ids
+     * @return
+     */
+    private static List<Object> toCacheKey(final Class<?> targetClass, final Object[] ids) {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(targetClass);
+        final List<String> keyNames = getKeyNames(targetClass);
+        final List<Object> key = new ArrayList<>(ids.length);
+        PropInfo propInfo = null;
+
+        for (int i = 0, len = ids.length; i < len; i++) {
+            propInfo = entityInfo.getPropInfo(keyNames.get(i));
+            key.add(propInfo == null ? ids[i] : N.convert(ids[i], propInfo.clazz));
+        }
+
+        return key;
+    }
+
+    /**
+     * Invalidates the cached entities by the key property values of the specified entities.
+     *
+     * @param entities
+     */
+    private void invalidateCache(final Collection<?> entities) {
+        if (entityCache == null || N.isNullOrEmpty(entities)) {
+            return;
+        }
+
+        for (Object entity : entities) {
+            final Class<?> targetClass = entity.getClass();
+
+            if (ClassUtil.isEntity(targetClass)) {
+                final EntityInfo entityInfo = ParserUtil.getEntityInfo(targetClass);
+                final List<String> keyNames = getKeyNames(targetClass);
+                final Object[] ids = new Object[keyNames.size()];
+
+                for (int i = 0, len = ids.length; i < len; i++) {
+                    ids[i] = entityInfo.getPropValue(entity, keyNames.get(i));
+                }
+
+                entityCache.invalidate(targetClass, toCacheKey(targetClass, ids));
+            }
+        }
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param ids
+     */
+    private void invalidateCache(final Class<?> targetClass, final Object[] ids) {
+        if (entityCache != null && ClassUtil.isEntity(targetClass)) {
+            if (N.len(ids) == getKeyNames(targetClass).size()) {
+                entityCache.invalidate(targetClass, toCacheKey(targetClass, ids));
+            } else {
+                entityCache.invalidateAll(targetClass);
+            }
+        }
+    }
+
+    /**
+     * Invalidates all the cached entities of the specified class, for the writes by condition or properties whose keys are unknown.
+     *
+     * @param targetClass
+     */
+    private void invalidateCache(final Class<?> targetClass) {
+        if (entityCache != null) {
+            entityCache.invalidateAll(targetClass);
+        }
+    }
+
+    /**
+     * The statement to query at most 2 records by the specified ids, generated from the CQL template.
+     *
+     * @param targetClass
+     * @param selectPropNames
+     * @param ids
+     * @return
+     */
+    Statement prepareGetStatement(final Class<?> targetClass, final Collection<String> selectPropNames, final Object... ids) {
+        N.checkArgNotNullOrEmpty(ids, "ids");
+
+        final StatementTemplate template = getStatementTemplate(
+                Tuple.of(OperationType.QUERY, targetClass, N.isNullOrEmpty(selectPropNames) ? null : new ArrayList<>(selectPropNames), ids.length,
+                        getKeyNames(targetClass)),
+                null,
+                new Supplier<String>() {
+                    @Override
+                    public String get() {
+                        return buildQuery(targetClass, selectPropNames, ids2Cond(targetClass, questionMarks(ids.length)), 2).cql;
+                    }
+                });
+
+        return convertAndBind(template.preparedStatement, ids.clone());
     }
 
     /**
@@ -788,13 +1078,26 @@ public final class CassandraExecutor implements Closeable {
      */
     public <T> T gett(final Class<T> targetClass, final Collection<String> selectPropNames, final Condition whereCause) throws DuplicatedResultException {
         final CP cp = prepareQuery(targetClass, selectPropNames, whereCause, 2);
-        final ResultSet resultSet = execute(cp);
+
+        return gett(targetClass, prepareStatement(cp.cql, cp.parameters.toArray()));
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param statement
+     * @return
+     * @throws DuplicatedResultException if more than one record found.
+     */
+    private <T> T gett(final Class<T> targetClass, final Statement statement) throws DuplicatedResultException {
+        final ResultSet resultSet = execute(statement);
         final Row row = resultSet.one();
 
         if (row == null) {
             return null;
         } else if (resultSet.isExhausted()) {
-            return toEntity(targetClass, row);
+            return mapToEntity(targetClass, row, resultSet);
         } else {
             throw new DuplicatedResultException();
         }
@@ -806,44 +1109,99 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ResultSet insert(final Object entity) {
-        final CP cp = prepareInsert(entity);
+        final ResultSet resultSet = execute(prepareInsertStatement(entity));
 
-        return execute(cp);
+        invalidateCache(N.asList(entity));
+
+        return resultSet;
     }
 
     /**
+     * The CQL and {@code PreparedStatement} are created once for each entity class and only the property values are bound for each call.
      *
      * @param entity
      * @return
      */
-    private CP prepareInsert(final Object entity) {
+    private Statement prepareInsertStatement(final Object entity) {
         final Class<?> targetClass = entity.getClass();
 
-        switch (namingPolicy) {
-            case LOWER_CASE_WITH_UNDERSCORE:
-                return NSC.insert(entity).into(targetClass).pair();
+        if (!ClassUtil.isEntity(targetClass)) {
+            final CP cp = prepareInsert(entity);
 
-            case UPPER_CASE_WITH_UNDERSCORE:
-                return NAC.insert(entity).into(targetClass).pair();
+            return prepareStatement(cp.cql, cp.parameters.toArray());
+        }
 
-            case LOWER_CAMEL_CASE:
-                return NLC.insert(entity).into(targetClass).pair();
+        final StatementTemplate template = getStatementTemplate(Tuple.of(OperationType.ADD, targetClass), targetClass, new Supplier<String>() {
+            @Override
+            public String get() {
+                final Collection<String> propNames = CQLBuilder.getInsertPropNamesByClass(targetClass, null);
 
-            default:
-                throw new RuntimeException("Unsupported naming policy: " + namingPolicy);
-        }
+                switch (namingPolicy) {
+                    case LOWER_CASE_WITH_UNDERSCORE:
+                        return NSC.insert(propNames).into(targetClass).cql();
+
+                    case UPPER_CASE_WITH_UNDERSCORE:
+                        return NAC.insert(propNames).into(targetClass).cql();
+
+                    case LOWER_CAMEL_CASE:
+                        return NLC.insert(propNames).into(targetClass).cql();
+
+                    default:
+                        throw new RuntimeException("Unsupported naming policy: " + namingPolicy);
+                }
+            }
+        });
+
+        return bind(template, entity);
     }
 
     /**
      *
-     * @param targetClass
+     * @param entity
+     * @return
+     */
+    private CP prepareInsert(final Object entity) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        return onBuilt(buildInsert(entity), startTime);
+    }
+
+    /**
+     *
+     * @param entity
+     * @return
+     */
+    private CP buildInsert(final Object entity) {
+        final Class<?> targetClass = entity.getClass();
+
+        switch (namingPolicy) {
+            case LOWER_CASE_WITH_UNDERSCORE:
+                return NSC.insert(entity).into(targetClass).pair();
+
+            case UPPER_CASE_WITH_UNDERSCORE:
+                return NAC.insert(entity).into(targetClass).pair();
+
+            case LOWER_CAMEL_CASE:
+                return NLC.insert(entity).into(targetClass).pair();
+
+            default:
+                throw new RuntimeException("Unsupported naming policy: " + namingPolicy);
+        }
+    }
+
+    /**
+     *
+     * @param targetClass
      * @param props
      * @return
      */
     public ResultSet insert(final Class<?> targetClass, final Map<String, Object> props) {
         final CP cp = prepareInsert(targetClass, props);
+        final ResultSet resultSet = execute(cp);
+
+        invalidateCache(targetClass);
 
-        return execute(cp);
+        return resultSet;
     }
 
     /**
@@ -853,6 +1211,18 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     private CP prepareInsert(final Class<?> targetClass, final Map<String, Object> props) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        return onBuilt(buildInsert(targetClass, props), startTime);
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param props
+     * @return
+     */
+    private CP buildInsert(final Class<?> targetClass, final Map<String, Object> props) {
         switch (namingPolicy) {
             case LOWER_CASE_WITH_UNDERSCORE:
                 return NSC.insert(props).into(targetClass).pair();
@@ -876,8 +1246,11 @@ public final class CassandraExecutor implements Closeable {
      */
     public ResultSet batchInsert(final Collection<?> entities, final BatchStatement.Type type) {
         final BatchStatement batchStatement = prepareBatchInsertStatement(entities, type);
+        final ResultSet resultSet = execute(batchStatement);
+
+        invalidateCache(entities);
 
-        return execute(batchStatement);
+        return resultSet;
     }
 
     /**
@@ -891,11 +1264,9 @@ public final class CassandraExecutor implements Closeable {
         N.checkArgument(N.notNullOrEmpty(entities), "'entities' can't be null or empty.");
 
         final BatchStatement batchStatement = prepareBatchStatement(type);
-        CP cp = null;
 
         for (Object entity : entities) {
-            cp = prepareInsert(entity);
-            batchStatement.add(prepareStatement(cp.cql, cp.parameters.toArray()));
+            batchStatement.add(prepareInsertStatement(entity));
         }
 
         return batchStatement;
@@ -934,8 +1305,11 @@ public final class CassandraExecutor implements Closeable {
      */
     public ResultSet batchInsert(final Class<?> targetClass, final Collection<? extends Map<String, Object>> propsList, final BatchStatement.Type type) {
         final BatchStatement batchStatement = prepareBatchInsertStatement(targetClass, propsList, type);
+        final ResultSet resultSet = execute(batchStatement);
 
-        return execute(batchStatement);
+        invalidateCache(targetClass);
+
+        return resultSet;
     }
 
     /**
@@ -961,6 +1335,72 @@ public final class CassandraExecutor implements Closeable {
         return batchStatement;
     }
 
+    /**
+     * Inserts the entities with back pressure: at most {@link BulkWriteSettings#getMaxInFlightPerHost()} requests are in flight for each host,
+     * the iteration of {@code entities} is blocked until a permit is available.
+     * The throttled requests, and the timed out requests of idempotent statements, are retried with exponential backoff.
+     *
+     * @param entities
+     * @param bulkWriteSettings
+     * @return the count of succeeded/failed/retried requests, throughput and latency percentiles.
+     */
+    public BulkWriteResult bulkInsert(final Iterator<?> entities, final BulkWriteSettings bulkWriteSettings) {
+        N.checkArgNotNull(entities, "entities");
+        N.checkArgNotNull(bulkWriteSettings, "bulkWriteSettings");
+
+        return new BulkWriter(session, bulkWriteSettings).write(entities, new Function<Object, Statement>() {
+            @Override
+            public Statement apply(final Object entity) {
+                invalidateCache(N.asList(entity));
+
+                return prepareInsertStatement(entity);
+            }
+        }, entityCache == null ? null : new Consumer<Object>() {
+            @Override
+            public void accept(final Object entity) {
+                // again after the insert is completed, for the entities loaded by concurrent get/gett before the insert is applied.
+                invalidateCache(N.asList(entity));
+            }
+        });
+    }
+
+    /**
+     *
+     * @param entities
+     * @param bulkWriteSettings
+     * @return
+     * @see #bulkInsert(Iterator, BulkWriteSettings)
+     */
+    public BulkWriteResult bulkInsert(final Stream<?> entities, final BulkWriteSettings bulkWriteSettings) {
+        N.checkArgNotNull(entities, "entities");
+
+        try {
+            return bulkInsert(entities.iterator(), bulkWriteSettings);
+        } finally {
+            entities.close();
+        }
+    }
+
+    /**
+     * Executes the statements with back pressure.
+     *
+     * @param statements
+     * @param bulkWriteSettings
+     * @return
+     * @see #bulkInsert(Iterator, BulkWriteSettings)
+     */
+    public BulkWriteResult bulkExecute(final Iterator<? extends Statement> statements, final BulkWriteSettings bulkWriteSettings) {
+        N.checkArgNotNull(statements, "statements");
+        N.checkArgNotNull(bulkWriteSettings, "bulkWriteSettings");
+
+        return new BulkWriter(session, bulkWriteSettings).write(statements, new Function<Statement, Statement>() {
+            @Override
+            public Statement apply(final Statement stmt) {
+                return stmt;
+            }
+        });
+    }
+
     /**
      *
      * @param entity
@@ -977,9 +1417,69 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ResultSet update(final Object entity, final Set<String> primaryKeyNames) {
-        final CP cp = prepareUpdate(entity, primaryKeyNames);
+        final ResultSet resultSet = execute(prepareUpdateStatement(entity, primaryKeyNames));
+
+        invalidateCache(N.asList(entity));
+
+        return resultSet;
+    }
+
+    /**
+     * The CQL and {@code PreparedStatement} are created once for each entity class, primary key names and the set of (dirty) properties to update.
+     *
+     * @param entity
+     * @param primaryKeyNames
+     * @return
+     */
+    private Statement prepareUpdateStatement(final Object entity, final Set<String> primaryKeyNames) {
+        N.checkArgument(N.notNullOrEmpty(primaryKeyNames), "'primaryKeyNames' can't be null or empty.");
+
+        final Class<?> targetClass = entity.getClass();
+
+        if (!ClassUtil.isEntity(targetClass)) {
+            final CP cp = prepareUpdate(entity, primaryKeyNames);
 
-        return execute(cp);
+            return prepareStatement(cp.cql, cp.parameters.toArray());
+        }
+
+        final Set<String> dirtyPropNames = DirtyMarkerUtil.isDirtyMarker(targetClass) ? DirtyMarkerUtil.dirtyPropNames((DirtyMarker) entity) : null;
+        final Set<String> updatePropNames = N.isNullOrEmpty(dirtyPropNames) ? null : N.newHashSet(dirtyPropNames);
+
+        final StatementTemplate template = getStatementTemplate(Tuple.of(OperationType.UPDATE, targetClass, N.newHashSet(primaryKeyNames), updatePropNames),
+                targetClass, new Supplier<String>() {
+                    @Override
+                    public String get() {
+                        final List<String> propNames = new ArrayList<>();
+
+                        for (String propName : CQLBuilder.getUpdatePropNamesByClass(targetClass, primaryKeyNames)) {
+                            if (updatePropNames == null || updatePropNames.contains(propName)) {
+                                propNames.add(propName);
+                            }
+                        }
+
+                        final And and = new And();
+
+                        for (String keyName : primaryKeyNames) {
+                            and.add(CF.eq(keyName, CF.QME));
+                        }
+
+                        switch (namingPolicy) {
+                            case LOWER_CASE_WITH_UNDERSCORE:
+                                return NSC.update(targetClass).set(propNames).where(and).cql();
+
+                            case UPPER_CASE_WITH_UNDERSCORE:
+                                return NAC.update(targetClass).set(propNames).where(and).cql();
+
+                            case LOWER_CAMEL_CASE:
+                                return NLC.update(targetClass).set(propNames).where(and).cql();
+
+                            default:
+                                throw new RuntimeException("Unsupported naming policy: " + namingPolicy);
+                        }
+                    }
+                });
+
+        return bind(template, entity);
     }
 
     /**
@@ -989,6 +1489,18 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     private CP prepareUpdate(final Object entity, final Set<String> primaryKeyNames) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        return onBuilt(buildUpdate(entity, primaryKeyNames), startTime);
+    }
+
+    /**
+     *
+     * @param entity
+     * @param primaryKeyNames
+     * @return
+     */
+    private CP buildUpdate(final Object entity, final Set<String> primaryKeyNames) {
         N.checkArgument(N.notNullOrEmpty(primaryKeyNames), "'primaryKeyNames' can't be null or empty.");
 
         final Class<?> targetClass = entity.getClass();
@@ -1025,8 +1537,11 @@ public final class CassandraExecutor implements Closeable {
         N.checkArgument(N.notNullOrEmpty(props), "'props' can't be null or empty.");
 
         final CP cp = prepareUpdate(targetClass, props, whereCause);
+        final ResultSet resultSet = execute(cp);
 
-        return execute(cp);
+        invalidateCache(targetClass);
+
+        return resultSet;
     }
 
     /**
@@ -1037,6 +1552,19 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     private CP prepareUpdate(final Class<?> targetClass, final Map<String, Object> props, final Condition whereCause) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        return onBuilt(buildUpdate(targetClass, props, whereCause), startTime);
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param props
+     * @param whereCause
+     * @return
+     */
+    private CP buildUpdate(final Class<?> targetClass, final Map<String, Object> props, final Condition whereCause) {
         switch (namingPolicy) {
             case LOWER_CASE_WITH_UNDERSCORE:
                 return NSC.update(targetClass).set(props).append(whereCause).pair();
@@ -1075,8 +1603,11 @@ public final class CassandraExecutor implements Closeable {
         N.checkArgument(N.notNullOrEmpty(entities), "'entities' can't be null or empty.");
 
         final BatchStatement batchStatement = prepareBatchUpdateStatement(entities, primaryKeyNames, type);
+        final ResultSet resultSet = execute(batchStatement);
+
+        invalidateCache(entities);
 
-        return execute(batchStatement);
+        return resultSet;
     }
 
     /**
@@ -1094,8 +1625,7 @@ public final class CassandraExecutor implements Closeable {
         final BatchStatement batchStatement = prepareBatchStatement(type);
 
         for (Object entity : entities) {
-            final CP cp = prepareUpdate(entity, primaryKeyNames);
-            batchStatement.add(prepareStatement(cp.cql, cp.parameters.toArray()));
+            batchStatement.add(prepareUpdateStatement(entity, primaryKeyNames));
         }
 
         return batchStatement;
@@ -1112,8 +1642,11 @@ public final class CassandraExecutor implements Closeable {
     public ResultSet batchUpdate(final Class<?> targetClass, final Collection<? extends Map<String, Object>> propsList, final Set<String> primaryKeyNames,
             final BatchStatement.Type type) {
         final BatchStatement batchStatement = prepareBatchUpdateStatement(targetClass, propsList, primaryKeyNames, type);
+        final ResultSet resultSet = execute(batchStatement);
 
-        return execute(batchStatement);
+        invalidateCache(targetClass);
+
+        return resultSet;
     }
 
     /**
@@ -1148,82 +1681,410 @@ public final class CassandraExecutor implements Closeable {
     }
 
     /**
+     * Inserts the specified entities by partition: the entities are grouped by partition key and each group is split into
+     * {@code UNLOGGED} (by default) batches bounded by {@link BatchSettings#getMaxStatementsPerBatch()} and {@link BatchSettings#getMaxBytesPerBatch()}.
+     * The batches are executed concurrently by {@code Session.executeAsync} with at most {@link BatchSettings#getMaxInFlightBatches()} batches in flight.
+     * The partition key is the routing key of the statement, or the values of the partition key columns in the table metadata.
+     * If neither is available, each entity is inserted by a batch of its own.
      *
-     * @param entity
+     * @param entities
+     * @param batchSettings
      * @return
+     * @see #registerKeys(Class, Collection)
      */
-    public ResultSet delete(final Object entity) {
-        return delete(entity, null);
+    public BatchResult batchInsert(final Collection<?> entities, final BatchSettings batchSettings) {
+        N.checkArgument(N.notNullOrEmpty(entities), "'entities' can't be null or empty.");
+        N.checkArgNotNull(batchSettings, "batchSettings");
+
+        final List<Object> entityList = new ArrayList<>(entities);
+        final List<Statement> stmts = new ArrayList<>(entityList.size());
+
+        for (Object entity : entityList) {
+            stmts.add(prepareInsertStatement(entity));
+        }
+
+        final BatchResult batchResult = executeByPartition(entityList, stmts, batchSettings);
+
+        invalidateCache(entityList);
+
+        return batchResult;
     }
 
     /**
+     * Updates the specified entities by partition.
      *
-     * @param entity
-     * @param deletingPropNames
+     * @param entities
+     * @param batchSettings
      * @return
+     * @see #batchInsert(Collection, BatchSettings)
      */
-    public ResultSet delete(final Object entity, final Collection<String> deletingPropNames) {
-        return delete(entity.getClass(), deletingPropNames, entity2Cond(entity));
+    public BatchResult batchUpdate(final Collection<?> entities, final BatchSettings batchSettings) {
+        N.checkArgument(N.notNullOrEmpty(entities), "'entities' can't be null or empty.");
+
+        return batchUpdate(entities, getKeyNameSet(N.firstOrNullIfEmpty(entities).getClass()), batchSettings);
     }
 
     /**
+     * Updates the specified entities by partition.
      *
-     * @param targetClass
-     * @param ids
+     * @param entities
+     * @param primaryKeyNames
+     * @param batchSettings
      * @return
+     * @see #batchInsert(Collection, BatchSettings)
      */
-    @SafeVarargs
-    public final ResultSet delete(final Class<?> targetClass, final Object... ids) {
-        return delete(targetClass, null, ids);
+    public BatchResult batchUpdate(final Collection<?> entities, final Set<String> primaryKeyNames, final BatchSettings batchSettings) {
+        N.checkArgument(N.notNullOrEmpty(entities), "'entities' can't be null or empty.");
+        N.checkArgument(N.notNullOrEmpty(primaryKeyNames), "'primaryKeyNames' can't be null or empty");
+        N.checkArgNotNull(batchSettings, "batchSettings");
+
+        final List<Object> entityList = new ArrayList<>(entities);
+        final List<Statement> stmts = new ArrayList<>(entityList.size());
+
+        for (Object entity : entityList) {
+            stmts.add(prepareUpdateStatement(entity, primaryKeyNames));
+        }
+
+        final BatchResult batchResult = executeByPartition(entityList, stmts, batchSettings);
+
+        invalidateCache(entityList);
+
+        return batchResult;
     }
 
     /**
-     * Delete the specified properties if <code>propNames</code> is not null or empty, otherwise, delete the whole record.
      *
-     * @param targetClass
-     * @param deletingPropNames
-     * @param ids
+     * @param entities
+     * @param stmts
+     * @param batchSettings
      * @return
      */
-    @SafeVarargs
-    public final ResultSet delete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Object... ids) {
-        return delete(targetClass, deletingPropNames, ids2Cond(targetClass, ids));
+    private BatchResult executeByPartition(final List<Object> entities, final List<Statement> stmts, final BatchSettings batchSettings) {
+        final ProtocolVersion protocolVersion = cluster.getConfiguration().getProtocolOptions().getProtocolVersion();
+        final Map<Class<?>, List<String>> partitionKeyPropNamesMap = new HashMap<>();
+        final Map<Object, List<Integer>> partitions = new LinkedHashMap<>();
+        Object partitionKey = null;
+        List<Integer> partition = null;
+
+        for (int i = 0, size = stmts.size(); i < size; i++) {
+            partitionKey = getPartitionKey(entities.get(i), stmts.get(i), protocolVersion, partitionKeyPropNamesMap);
+            partition = partitions.get(partitionKey);
+
+            if (partition == null) {
+                partition = new ArrayList<>();
+                partitions.put(partitionKey, partition);
+            }
+
+            partition.add(i);
+        }
+
+        final int maxStatementsPerBatch = batchSettings.getMaxStatementsPerBatch();
+        final long maxBytesPerBatch = batchSettings.getMaxBytesPerBatch();
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        for (List<Integer> indexes : partitions.values()) {
+            List<Integer> batch = new ArrayList<>();
+            long batchBytes = 0;
+            int stmtBytes = 0;
+
+            for (Integer idx : indexes) {
+                stmtBytes = getSizeInBytes(stmts.get(idx));
+
+                if (batch.size() > 0 && (batch.size() >= maxStatementsPerBatch || batchBytes + stmtBytes > maxBytesPerBatch)) {
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                    batchBytes = 0;
+                }
+
+                batch.add(idx);
+                batchBytes += stmtBytes;
+            }
+
+            batches.add(batch);
+        }
+
+        final Semaphore semaphore = new Semaphore(batchSettings.getMaxInFlightBatches());
+        final List<ResultSetFuture> futures = new ArrayList<>(batches.size());
+
+        try {
+            for (List<Integer> batch : batches) {
+                final BatchStatement batchStatement = prepareBatchStatement(batchSettings.getType());
+
+                for (Integer idx : batch) {
+                    batchStatement.add(stmts.get(idx));
+                }
+
+                semaphore.acquire();
+
+                final ResultSetFuture future = session.executeAsync(batchStatement);
+                future.addListener(semaphore::release, MoreExecutors.directExecutor());
+                futures.add(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            for (ResultSetFuture future : futures) {
+                future.cancel(true);
+            }
+
+            throw new RuntimeException("Interrupted while waiting for the in-flight batches", e);
+        }
+
+        final List<ResultSet> resultSets = new ArrayList<>(batches.size());
+        final List<Tuple2<List<Object>, Throwable>> failures = new ArrayList<>();
+
+        for (int i = 0, size = futures.size(); i < size; i++) {
+            try {
+                resultSets.add(ResultSetImpl.wrap(Uninterruptibles.getUninterruptibly(futures.get(i))));
+            } catch (ExecutionException e) {
+                final List<Object> failedEntities = new ArrayList<>(batches.get(i).size());
+
+                for (Integer idx : batches.get(i)) {
+                    failedEntities.add(entities.get(idx));
+                }
+
+                failures.add(Tuple.of(failedEntities, e.getCause()));
+            }
+        }
+
+        return new BatchResult(batches.size(), resultSets, failures);
     }
 
     /**
+     * Gets the routing key of the statement, or the values of the partition key properties if the routing key can't be computed.
+     * If the partition key of the table is unknown, a key of its own is returned, so the statement is executed by a batch of its own.
      *
-     * @param targetClass
-     * @param whereCause
+     * @param entity
+     * @param stmt
+     * @param protocolVersion
+     * @param partitionKeyPropNamesMap the partition key properties of the entity classes found so far.
      * @return
-     * @see com.landawn.abacus.condition.ConditionFactory
-     * @see com.landawn.abacus.condition.ConditionFactory.CF
      */
-    public ResultSet delete(final Class<?> targetClass, final Condition whereCause) {
-        return delete(targetClass, null, whereCause);
+    private Object getPartitionKey(final Object entity, final Statement stmt, final ProtocolVersion protocolVersion,
+            final Map<Class<?>, List<String>> partitionKeyPropNamesMap) {
+        final ByteBuffer routingKey = stmt.getRoutingKey(protocolVersion, codecRegistry);
+
+        if (routingKey != null) {
+            return routingKey;
+        }
+
+        final Class<?> targetClass = entity.getClass();
+        List<String> partitionKeyPropNames = partitionKeyPropNamesMap.get(targetClass);
+
+        if (partitionKeyPropNames == null) {
+            partitionKeyPropNames = getPartitionKeyPropNames(targetClass);
+            partitionKeyPropNamesMap.put(targetClass, partitionKeyPropNames);
+        }
+
+        if (partitionKeyPropNames.size() == 0) {
+            return new Object();
+        }
+
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(targetClass);
+        final List<Object> partitionKey = new ArrayList<>(partitionKeyPropNames.size());
+
+        for (String propName : partitionKeyPropNames) {
+            partitionKey.add(entityInfo.getPropValue(entity, propName));
+        }
+
+        // the class is part of the key because the same values of different tables are different partitions.
+        partitionKey.add(targetClass);
+
+        return partitionKey;
     }
 
     /**
-     * Delete the specified properties if <code>propNames</code> is not null or empty, otherwise, delete the whole record.
+     * Gets the properties mapped to the partition key columns of the table, in the order of the columns.
      *
      * @param targetClass
-     * @param deletingPropNames
-     * @param whereCause
-     * @return
+     * @return an empty list if the table metadata is not found or any partition key column is not mapped to a property.
      */
-    public ResultSet delete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Condition whereCause) {
-        final CP cp = prepareDelete(targetClass, deletingPropNames, whereCause);
+    List<String> getPartitionKeyPropNames(final Class<?> targetClass) {
+        final TableMetadata tableMetadata;
+
+        try {
+            tableMetadata = getTableMetadata(cluster.getMetadata(), targetClass);
+        } catch (IllegalArgumentException e) {
+            return N.emptyList();
+        }
+
+        final Map<String, Tuple2<String, Boolean>> propColumnNameMap = CQLBuilder.prop2ColumnNameMap(targetClass, namingPolicy);
+        final List<String> propNames = new ArrayList<>();
+
+        for (ColumnMetadata column : tableMetadata.getPartitionKey()) {
+            String propName = null;
+
+            for (Map.Entry<String, Tuple2<String, Boolean>> entry : propColumnNameMap.entrySet()) {
+                if (entry.getValue()._1.equalsIgnoreCase(column.getName())) {
+                    propName = entry.getKey();
+                    break;
+                }
+            }
+
+            if (propName == null) {
+                return N.emptyList();
+            }
+
+            propNames.add(propName);
+        }
 
-        return execute(cp);
+        return propNames;
     }
 
     /**
+     * Gets the column name of the specified property by the naming policy of this executor.
      *
      * @param targetClass
-     * @param deletingPropNames
-     * @param whereCause
-     * @return
+     * @param propName
+     * @return the property name if it's not a property of {@code targetClass}.
+     */
+    String getColumnName(final Class<?> targetClass, final String propName) {
+        final Tuple2<String, Boolean> columnName = CQLBuilder.prop2ColumnNameMap(targetClass, namingPolicy).get(propName);
+
+        return columnName == null ? propName : columnName._1;
+    }
+
+    /**
+     * Gets the size of the serialized values bound to the statement.
+     *
+     * @param stmt
+     * @return
+     */
+    private static int getSizeInBytes(final Statement stmt) {
+        if (stmt instanceof BoundStatement) {
+            final BoundStatement boundStmt = (BoundStatement) stmt;
+            int size = 0;
+            ByteBuffer bytes = null;
+
+            for (int i = 0, len = boundStmt.preparedStatement().getVariables().size(); i < len; i++) {
+                bytes = boundStmt.getBytesUnsafe(i);
+
+                if (bytes != null) {
+                    size += bytes.remaining();
+                }
+            }
+
+            return size;
+        }
+
+        return 0;
+    }
+
+    /**
+     *
+     * @param entity
+     * @return
+     */
+    public ResultSet delete(final Object entity) {
+        return delete(entity, null);
+    }
+
+    /**
+     *
+     * @param entity
+     * @param deletingPropNames
+     * @return
+     */
+    public ResultSet delete(final Object entity, final Collection<String> deletingPropNames) {
+        final CP cp = prepareDelete(entity.getClass(), deletingPropNames, entity2Cond(entity));
+        final ResultSet resultSet = execute(cp);
+
+        invalidateCache(N.asList(entity));
+
+        return resultSet;
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param ids
+     * @return
+     */
+    @SafeVarargs
+    public final ResultSet delete(final Class<?> targetClass, final Object... ids) {
+        return delete(targetClass, null, ids);
+    }
+
+    /**
+     * Delete the specified properties if <code>propNames</code> is not null or empty, otherwise, delete the whole record.
+     *
+     * @param targetClass
+     * @param deletingPropNames
+     * @param ids
+     * @return
+     */
+    @SafeVarargs
+    public final ResultSet delete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Object... ids) {
+        N.checkArgNotNullOrEmpty(ids, "ids");
+
+        final StatementTemplate template = getStatementTemplate(
+                Tuple.of(OperationType.DELETE, targetClass, N.isNullOrEmpty(deletingPropNames) ? null : new ArrayList<>(deletingPropNames), ids.length,
+                        getKeyNames(targetClass)),
+                null,
+                new Supplier<String>() {
+                    @Override
+                    public String get() {
+                        return buildDelete(targetClass, deletingPropNames, ids2Cond(targetClass, questionMarks(ids.length))).cql;
+                    }
+                });
+
+        final ResultSet resultSet = execute(convertAndBind(template.preparedStatement, ids.clone()));
+
+        invalidateCache(targetClass, ids);
+
+        return resultSet;
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param whereCause
+     * @return
+     * @see com.landawn.abacus.condition.ConditionFactory
+     * @see com.landawn.abacus.condition.ConditionFactory.CF
+     */
+    public ResultSet delete(final Class<?> targetClass, final Condition whereCause) {
+        return delete(targetClass, null, whereCause);
+    }
+
+    /**
+     * Delete the specified properties if <code>propNames</code> is not null or empty, otherwise, delete the whole record.
+     *
+     * @param targetClass
+     * @param deletingPropNames
+     * @param whereCause
+     * @return
+     */
+    public ResultSet delete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Condition whereCause) {
+        final CP cp = prepareDelete(targetClass, deletingPropNames, whereCause);
+        final ResultSet resultSet = execute(cp);
+
+        invalidateCache(targetClass);
+
+        return resultSet;
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param deletingPropNames
+     * @param whereCause
+     * @return
      */
     private CP prepareDelete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Condition whereCause) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        return onBuilt(buildDelete(targetClass, deletingPropNames, whereCause), startTime);
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param deletingPropNames
+     * @param whereCause
+     * @return
+     */
+    private CP buildDelete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Condition whereCause) {
         switch (namingPolicy) {
             case LOWER_CASE_WITH_UNDERSCORE:
                 if (N.isNullOrEmpty(deletingPropNames)) {
@@ -1379,6 +2240,42 @@ public final class CassandraExecutor implements Closeable {
         return query(targetClass, cp.cql, cp.parameters.toArray());
     }
 
+    /**
+     * Lists the records page by page. The next page is prefetched in background while the current page is being mapped.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param selectPropNames
+     * @param whereCause
+     * @return
+     * @see #toPages(Class, com.datastax.driver.core.ResultSet)
+     * @see com.landawn.abacus.condition.ConditionFactory
+     * @see com.landawn.abacus.condition.ConditionFactory.CF
+     */
+    public <T> Stream<List<T>> listByPage(final Class<T> targetClass, final Collection<String> selectPropNames, final Condition whereCause) {
+        final CP cp = prepareQuery(targetClass, selectPropNames, whereCause);
+
+        return listByPage(targetClass, cp.cql, cp.parameters.toArray());
+    }
+
+    /**
+     * Queries the records page by page. The next page is prefetched in background while the current page is being extracted.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param selectPropNames
+     * @param whereCause
+     * @return
+     * @see #extractPages(Class, com.datastax.driver.core.ResultSet)
+     * @see com.landawn.abacus.condition.ConditionFactory
+     * @see com.landawn.abacus.condition.ConditionFactory.CF
+     */
+    public <T> Stream<DataSet> queryByPage(final Class<T> targetClass, final Collection<String> selectPropNames, final Condition whereCause) {
+        final CP cp = prepareQuery(targetClass, selectPropNames, whereCause);
+
+        return queryByPage(targetClass, cp.cql, cp.parameters.toArray());
+    }
+
     /**
      * Query for boolean.
      *
@@ -1624,6 +2521,163 @@ public final class CassandraExecutor implements Closeable {
         return stream(targetClass, cp.cql, cp.parameters.toArray());
     }
 
+    /**
+     * Scans the whole table in parallel: the token ring is split into ranges by cluster metadata and each range is queried by
+     * {@code token(partition_key) > ? AND token(partition_key) <= ?} on one of the {@code threadNum} threads.
+     * The order of the records is not guaranteed.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param whereCause additional condition on non-key columns, which will be joined with the token range by {@code AND}. It can be {@code null}.
+     * @param threadNum
+     * @return
+     * @see #streamByTokenRanges(Class, Collection, Condition, int)
+     */
+    public <T> Stream<T> parallelStream(final Class<T> targetClass, final Condition whereCause, final int threadNum) {
+        return parallelStream(targetClass, null, whereCause, threadNum);
+    }
+
+    /**
+     * Scans the whole table in parallel: the token ring is split into ranges by cluster metadata and each range is queried by
+     * {@code token(partition_key) > ? AND token(partition_key) <= ?} on one of the {@code threadNum} threads.
+     * The order of the records is not guaranteed.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param selectPropNames
+     * @param whereCause additional condition on non-key columns, which will be joined with the token range by {@code AND}. It can be {@code null}.
+     * @param threadNum
+     * @return
+     * @see #streamByTokenRanges(Class, Collection, Condition, int)
+     */
+    public <T> Stream<T> parallelStream(final Class<T> targetClass, final Collection<String> selectPropNames, final Condition whereCause,
+            final int threadNum) {
+        N.checkArgPositive(threadNum, "threadNum");
+
+        return Stream.parallelConcat(streamByTokenRanges(targetClass, selectPropNames, whereCause, threadNum), threadNum);
+    }
+
+    /**
+     * Splits the token ring into ranges by cluster metadata and distributes them into {@code partitionCount} streams.
+     * Each stream queries its token ranges one by one, lazily, by {@code token(partition_key) > ? AND token(partition_key) <= ?}.
+     * The streams can be processed by different threads or executors, and they don't overlap with each other.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param selectPropNames
+     * @param whereCause additional condition on non-key columns, which will be joined with the token range by {@code AND}. It can be {@code null}.
+     * @param partitionCount
+     * @return
+     */
+    public <T> List<Stream<T>> streamByTokenRanges(final Class<T> targetClass, final Collection<String> selectPropNames, final Condition whereCause,
+            final int partitionCount) {
+        N.checkArgNotNull(targetClass, "targetClass");
+        N.checkArgPositive(partitionCount, "partitionCount");
+        N.checkArgument(!(whereCause instanceof Criteria || whereCause instanceof Clause),
+                "Only plain condition is supported for token range scan, not Criteria/Clause: %s", whereCause);
+
+        final Metadata metadata = session.getCluster().getMetadata();
+        final TableMetadata tableMetadata = getTableMetadata(metadata, targetClass);
+        final String tokenExpr = "token(" + Stream.of(tableMetadata.getPartitionKey()).map(new Function<ColumnMetadata, String>() {
+            @Override
+            public String apply(ColumnMetadata column) {
+                return Metadata.quote(column.getName());
+            }
+        }).join(", ") + ")";
+
+        final CP boundedCP = prepareQuery(targetClass, selectPropNames,
+                whereCause == null ? CF.expr(tokenExpr + " > ? AND " + tokenExpr + " <= ?") : CF.and(CF.expr(tokenExpr + " > ? AND " + tokenExpr + " <= ?"), whereCause));
+
+        final CP unboundedCP = prepareQuery(targetClass, selectPropNames,
+                whereCause == null ? CF.expr(tokenExpr + " > ?") : CF.and(CF.expr(tokenExpr + " > ?"), whereCause));
+
+        final List<TokenRange> tokenRanges = getTokenRanges(metadata.getTokenRanges(), partitionCount);
+        final List<Stream<T>> result = new ArrayList<>(partitionCount);
+
+        for (int i = 0, len = Math.min(partitionCount, tokenRanges.size()); i < len; i++) {
+            final List<TokenRange> partition = new ArrayList<>(tokenRanges.size() / partitionCount + 1);
+
+            for (int j = i, size = tokenRanges.size(); j < size; j += partitionCount) {
+                partition.add(tokenRanges.get(j));
+            }
+
+            result.add(Stream.of(partition).flatMap(new Function<TokenRange, Stream<T>>() {
+                @Override
+                public Stream<T> apply(TokenRange tokenRange) {
+                    final boolean isUnbounded = isUnbounded(tokenRange);
+                    final CP cp = isUnbounded ? unboundedCP : boundedCP;
+                    final List<Object> parameters = new ArrayList<>(cp.parameters.size() + 2);
+
+                    parameters.add(tokenRange.getStart().getValue());
+
+                    if (!isUnbounded) {
+                        parameters.add(tokenRange.getEnd().getValue());
+                    }
+
+                    parameters.addAll(cp.parameters);
+
+                    return stream(targetClass, prepareStatement(cp.cql, parameters.toArray()));
+                }
+            }));
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @param metadata
+     * @param targetClass
+     * @return
+     */
+    TableMetadata getTableMetadata(final Metadata metadata, final Class<?> targetClass) {
+        final String tableName = CQLBuilder.getTableName(targetClass, namingPolicy);
+        final int idx = tableName.indexOf(WD._PERIOD);
+        final String keyspaceName = idx > 0 ? tableName.substring(0, idx) : session.getLoggedKeyspace();
+        final KeyspaceMetadata keyspaceMetadata = N.isNullOrEmpty(keyspaceName) ? null : metadata.getKeyspace(keyspaceName);
+        final TableMetadata tableMetadata = keyspaceMetadata == null ? null : keyspaceMetadata.getTable(idx > 0 ? tableName.substring(idx + 1) : tableName);
+
+        if (tableMetadata == null) {
+            throw new IllegalArgumentException("No table metadata found for class: " + ClassUtil.getCanonicalClassName(targetClass) + " by table name: "
+                    + tableName + " in keyspace: " + keyspaceName);
+        }
+
+        return tableMetadata;
+    }
+
+    /**
+     * Gets the unwrapped token ranges of the ring. The ranges are split evenly if there are less than {@code minRangeCount} ranges.
+     * The range {@code (t, t]} of a single token ring, which is the whole ring, is always split, so no returned range starts and ends with the same token.
+     *
+     * @param ringRanges
+     * @param minRangeCount
+     * @return
+     */
+    static List<TokenRange> getTokenRanges(final Set<TokenRange> ringRanges, final int minRangeCount) {
+        final int splitCount = ringRanges.size() >= minRangeCount ? 1 : (minRangeCount + ringRanges.size() - 1) / ringRanges.size();
+        final List<TokenRange> tokenRanges = new ArrayList<>(ringRanges.size() * splitCount + 2);
+
+        for (TokenRange ringRange : ringRanges) {
+            final int n = ringRange.getStart().equals(ringRange.getEnd()) ? Math.max(splitCount, 2) : splitCount;
+
+            for (TokenRange range : n > 1 ? ringRange.splitEvenly(n) : N.asList(ringRange)) {
+                tokenRanges.addAll(range.unwrap());
+            }
+        }
+
+        return tokenRanges;
+    }
+
+    /**
+     * The range which ends before its start, with the min token, is the last part of an unwrapped range and is open at the end.
+     *
+     * @param tokenRange an unwrapped range returned by {@link #getTokenRanges(Set, int)}.
+     * @return
+     */
+    static boolean isUnbounded(final TokenRange tokenRange) {
+        return tokenRange.getEnd().compareTo(tokenRange.getStart()) < 0;
+    }
+
     /**
      * Always remember to set "<code>LIMIT 1</code>" in the cql statement for better performance.
      *
@@ -1826,7 +2880,7 @@ public final class CassandraExecutor implements Closeable {
         final ResultSet resultSet = execute(query, parameters);
         final Row row = resultSet.one();
 
-        return row == null ? (Optional<T>) Optional.empty() : Optional.of(toEntity(targetClass, row));
+        return row == null ? (Optional<T>) Optional.empty() : Optional.of(mapToEntity(targetClass, row, resultSet));
     }
 
     /**
@@ -1850,7 +2904,7 @@ public final class CassandraExecutor implements Closeable {
      */
     @SafeVarargs
     public final <T> List<T> list(final Class<T> targetClass, final String query, final Object... parameters) {
-        return toList(targetClass, execute(query, parameters));
+        return mapToList(targetClass, execute(query, parameters));
     }
 
     /**
@@ -1873,7 +2927,57 @@ public final class CassandraExecutor implements Closeable {
      */
     @SafeVarargs
     public final DataSet query(final Class<?> targetClass, final String query, final Object... parameters) {
-        return extractData(targetClass, execute(query, parameters));
+        return mapToDataSet(targetClass, execute(query, parameters));
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method, <code>Map.class</code> or basic single value type(Primitive/String/Date...)
+     * @param query
+     * @param parameters
+     * @return
+     * @see #toPages(Class, com.datastax.driver.core.ResultSet)
+     */
+    @SafeVarargs
+    public final <T> Stream<List<T>> listByPage(final Class<T> targetClass, final String query, final Object... parameters) {
+        return mapToPages(targetClass, execute(query, parameters));
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method, <code>Map.class</code> or basic single value type(Primitive/String/Date...)
+     * @param statement
+     * @return
+     * @see #toPages(Class, com.datastax.driver.core.ResultSet)
+     */
+    public <T> Stream<List<T>> listByPage(final Class<T> targetClass, final Statement statement) {
+        return mapToPages(targetClass, execute(statement));
+    }
+
+    /**
+     *
+     * @param targetClass an entity class with getter/setter method or <code>Map.class</code>
+     * @param query
+     * @param parameters
+     * @return
+     * @see #extractPages(Class, com.datastax.driver.core.ResultSet)
+     */
+    @SafeVarargs
+    public final Stream<DataSet> queryByPage(final Class<?> targetClass, final String query, final Object... parameters) {
+        return extractPages(targetClass, execute(query, parameters));
+    }
+
+    /**
+     *
+     * @param targetClass an entity class with getter/setter method or <code>Map.class</code>
+     * @param statement
+     * @return
+     * @see #extractPages(Class, com.datastax.driver.core.ResultSet)
+     */
+    public Stream<DataSet> queryByPage(final Class<?> targetClass, final Statement statement) {
+        return extractPages(targetClass, execute(statement));
     }
 
     /**
@@ -1886,7 +2990,7 @@ public final class CassandraExecutor implements Closeable {
     public final Stream<Object[]> stream(final String query, final Object... parameters) {
         final MutableInt columnCount = MutableInt.of(0);
 
-        return Stream.of(execute(query, parameters).iterator()).map(new Function<Row, Object[]>() {
+        return mapToStream(execute(query, parameters), new Function<Row, Object[]>() {
             @Override
             public Object[] apply(Row row) {
                 if (columnCount.value() == 0) {
@@ -1922,12 +3026,7 @@ public final class CassandraExecutor implements Closeable {
      */
     @SafeVarargs
     public final <T> Stream<T> stream(final Class<T> targetClass, final String query, final Object... parameters) {
-        return Stream.of(execute(query, parameters).iterator()).map(new Function<Row, T>() {
-            @Override
-            public T apply(Row row) {
-                return toEntity(targetClass, row);
-            }
-        });
+        return mapToStream(execute(query, parameters), toEntityMapper(targetClass));
     }
 
     /**
@@ -1942,7 +3041,7 @@ public final class CassandraExecutor implements Closeable {
     public final <T> Stream<T> stream(final String query, final BiFunction<ColumnDefinitions, Row, T> rowMapper, final Object... parameters) {
         N.checkArgNotNull(rowMapper, "rowMapper");
 
-        return Stream.of(execute(query, parameters).iterator()).map(new Function<Row, T>() {
+        return mapToStream(execute(query, parameters), new Function<Row, T>() {
             private volatile ColumnDefinitions cds = null;
 
             @Override
@@ -1964,12 +3063,7 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public <T> Stream<T> stream(final Class<T> targetClass, final Statement statement) {
-        return Stream.of(execute(statement).iterator()).map(new Function<Row, T>() {
-            @Override
-            public T apply(Row row) {
-                return toEntity(targetClass, row);
-            }
-        });
+        return mapToStream(execute(statement), toEntityMapper(targetClass));
     }
 
     /**
@@ -1983,7 +3077,7 @@ public final class CassandraExecutor implements Closeable {
     public <T> Stream<T> stream(final Statement statement, final BiFunction<ColumnDefinitions, Row, T> rowMapper) {
         N.checkArgNotNull(rowMapper, "rowMapper");
 
-        return Stream.of(execute(statement).iterator()).map(new Function<Row, T>() {
+        return mapToStream(execute(statement), new Function<Row, T>() {
             private volatile ColumnDefinitions cds = null;
 
             @Override
@@ -2009,6 +3103,18 @@ public final class CassandraExecutor implements Closeable {
         return prepareQuery(targetClass, selectPropNames, whereCause, 0);
     }
 
+    /**
+     *
+     * @param targetClass
+     * @param whereCause
+     * @return
+     */
+    Statement prepareQueryStatement(final Class<?> targetClass, final Condition whereCause) {
+        final CP cp = prepareQuery(targetClass, null, whereCause);
+
+        return prepareStatement(cp.cql, cp.parameters.toArray());
+    }
+
     /**
      *
      * @param <T>
@@ -2019,6 +3125,21 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     private <T> CP prepareQuery(final Class<T> targetClass, final Collection<String> selectPropNames, final Condition whereCause, final int count) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        return onBuilt(buildQuery(targetClass, selectPropNames, whereCause, count), startTime);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param selectPropNames
+     * @param whereCause
+     * @param count
+     * @return
+     */
+    private <T> CP buildQuery(final Class<T> targetClass, final Collection<String> selectPropNames, final Condition whereCause, final int count) {
         CQLBuilder cqlBuilder = null;
 
         switch (namingPolicy) {
@@ -2075,7 +3196,7 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ResultSet execute(final String query) {
-        return ResultSetImpl.wrap(session.execute(prepareStatement(query)));
+        return ResultSetImpl.wrap(doExecute(prepareStatement(query), settings));
     }
 
     /**
@@ -2086,7 +3207,7 @@ public final class CassandraExecutor implements Closeable {
      */
     @SafeVarargs
     public final ResultSet execute(final String query, final Object... parameters) {
-        return ResultSetImpl.wrap(session.execute(prepareStatement(query, parameters)));
+        return ResultSetImpl.wrap(doExecute(prepareStatement(query, parameters), settings));
     }
 
     /**
@@ -2095,7 +3216,335 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ResultSet execute(final Statement statement) {
-        return ResultSetImpl.wrap(session.execute(statement));
+        return ResultSetImpl.wrap(doExecute(statement, settings));
+    }
+
+    /**
+     * Executes the statement with the specified settings, instead of the settings of this executor.
+     * The consistency/serial consistency/retry policy/tracing/fetch size/idempotence in the specified settings are set to the statement.
+     *
+     * @param statement
+     * @param statementSettings
+     * @return
+     */
+    public ResultSet execute(final Statement statement, final StatementSettings statementSettings) {
+        N.checkArgNotNull(statementSettings, "statementSettings");
+
+        return ResultSetImpl.wrap(doExecute(applySettings(statement, statementSettings), statementSettings));
+    }
+
+    /**
+     * Executes the statement speculatively if it's idempotent and speculative execution is enabled by the settings.
+     *
+     * @param statement
+     * @param statementSettings
+     * @return
+     */
+    private com.datastax.driver.core.ResultSet doExecute(final Statement statement, final StatementSettings statementSettings) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        try {
+            final com.datastax.driver.core.ResultSet resultSet = isSpeculative(statement, statementSettings)
+                    ? Uninterruptibles.getUninterruptibly(SpeculativeExecution.execute(session, statement, statementSettings.getSpeculativeExecutionDelay(),
+                            statementSettings.getMaxSpeculativeExecutions()))
+                    : session.execute(statement);
+
+            if (metricsListener != null) {
+                onExecuted(statement, startTime);
+            }
+
+            return resultSet;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof DriverException) {
+                // copy the exception to include the stack trace of current thread.
+                throw ((DriverException) cause).copy();
+            }
+
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+        }
+    }
+
+    /**
+     *
+     * @param statement
+     * @return
+     */
+    ListenableFuture<com.datastax.driver.core.ResultSet> doExecuteAsync(final Statement statement) {
+        return doExecuteAsync(statement, settings);
+    }
+
+    /**
+     *
+     * @param statement
+     * @param statementSettings
+     * @return
+     */
+    private ListenableFuture<com.datastax.driver.core.ResultSet> doExecuteAsync(final Statement statement, final StatementSettings statementSettings) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+        final ListenableFuture<com.datastax.driver.core.ResultSet> future = isSpeculative(statement, statementSettings)
+                ? SpeculativeExecution.execute(session, statement, statementSettings.getSpeculativeExecutionDelay(),
+                        statementSettings.getMaxSpeculativeExecutions())
+                : session.executeAsync(statement);
+
+        if (metricsListener != null) {
+            Futures.addCallback(future, new FutureCallback<com.datastax.driver.core.ResultSet>() {
+                @Override
+                public void onSuccess(final com.datastax.driver.core.ResultSet resultSet) {
+                    onExecuted(statement, startTime);
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    // only the successful executions are recorded.
+                }
+            }, MoreExecutors.directExecutor());
+        }
+
+        return future;
+    }
+
+    /**
+     * Records the execution time and the first page received.
+     *
+     * @param statement
+     * @param startTime
+     */
+    private void onExecuted(final Statement statement, final long startTime) {
+        final String cql = cqlOf(statement);
+
+        metricsListener.onPhase(cql, Phase.EXECUTE, System.nanoTime() - startTime);
+        metricsListener.onPageFetched(cql);
+    }
+
+    /**
+     * Records the mapping time, the rows mapped and the following pages fetched during the mapping.
+     *
+     * @param resultSet
+     * @param rowCount
+     * @param mapTime
+     */
+    private void onMapped(final com.datastax.driver.core.ResultSet resultSet, final int rowCount, final long mapTime) {
+        final String cql = cqlOf(resultSet.getExecutionInfo().getStatement());
+
+        metricsListener.onPhase(cql, Phase.MAP, mapTime);
+        metricsListener.onRowsMapped(cql, rowCount);
+
+        for (int i = 1, pageCount = resultSet.getAllExecutionInfo().size(); i < pageCount; i++) {
+            metricsListener.onPageFetched(cql);
+        }
+    }
+
+    /**
+     * The key of the statement for {@code MetricsListener}.
+     *
+     * @param statement
+     * @return the query string of the {@code PreparedStatement} or {@code RegularStatement}, or the class name for other statements, for example: {@code BatchStatement}.
+     */
+    static String cqlOf(final Statement statement) {
+        if (statement instanceof BoundStatement) {
+            return ((BoundStatement) statement).preparedStatement().getQueryString();
+        } else if (statement instanceof RegularStatement) {
+            return ((RegularStatement) statement).getQueryString();
+        } else {
+            return statement == null ? null : statement.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param resultSet
+     * @return
+     */
+    private <T> List<T> mapToList(final Class<T> targetClass, final com.datastax.driver.core.ResultSet resultSet) {
+        if (metricsListener == null) {
+            return toList(targetClass, resultSet);
+        }
+
+        final long startTime = System.nanoTime();
+        final List<T> result = toList(targetClass, resultSet);
+
+        onMapped(resultSet, result.size(), System.nanoTime() - startTime);
+
+        return result;
+    }
+
+    /**
+     *
+     * @param targetClass
+     * @param resultSet
+     * @return
+     */
+    private DataSet mapToDataSet(final Class<?> targetClass, final com.datastax.driver.core.ResultSet resultSet) {
+        if (metricsListener == null) {
+            return extractData(targetClass, resultSet);
+        }
+
+        final long startTime = System.nanoTime();
+        final DataSet result = extractData(targetClass, resultSet);
+
+        onMapped(resultSet, result.size(), System.nanoTime() - startTime);
+
+        return result;
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param row
+     * @param resultSet
+     * @return
+     */
+    private <T> T mapToEntity(final Class<T> targetClass, final Row row, final com.datastax.driver.core.ResultSet resultSet) {
+        if (metricsListener == null) {
+            return toEntity(targetClass, row);
+        }
+
+        final long startTime = System.nanoTime();
+        final T result = toEntity(targetClass, row);
+
+        onMapped(resultSet, 1, System.nanoTime() - startTime);
+
+        return result;
+    }
+
+    /**
+     * The rows are mapped lazily, so the mapping time and the rows mapped are recorded when the returned stream is closed.
+     *
+     * @param <T>
+     * @param resultSet
+     * @param rowMapper
+     * @return
+     */
+    private <T> Stream<T> mapToStream(final com.datastax.driver.core.ResultSet resultSet, final Function<Row, T> rowMapper) {
+        if (metricsListener == null) {
+            return Stream.of(resultSet.iterator()).map(rowMapper);
+        }
+
+        final MutableLong mapTime = MutableLong.of(0);
+        final MutableInt rowCount = MutableInt.of(0);
+
+        return Stream.of(resultSet.iterator()).map(new Function<Row, T>() {
+            @Override
+            public T apply(final Row row) {
+                final long startTime = System.nanoTime();
+                final T result = rowMapper.apply(row);
+
+                mapTime.add(System.nanoTime() - startTime);
+                rowCount.increment();
+
+                return result;
+            }
+        }).onClose(new Runnable() {
+            @Override
+            public void run() {
+                onMapped(resultSet, rowCount.value(), mapTime.value());
+            }
+        });
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param resultSet
+     * @return
+     * @see #toPages(Class, com.datastax.driver.core.ResultSet)
+     */
+    private <T> Stream<List<T>> mapToPages(final Class<T> targetClass, final com.datastax.driver.core.ResultSet resultSet) {
+        if (metricsListener == null) {
+            return toPages(targetClass, resultSet);
+        }
+
+        return Stream.of(pageIterator(resultSet, new IntFunction<List<T>>() {
+            private boolean isFollowingPage = false;
+
+            @Override
+            public List<T> apply(final int pageSize) {
+                final long startTime = System.nanoTime();
+                final List<T> page = toList(targetClass, resultSet, pageSize);
+
+                onPageMapped(resultSet, pageSize, System.nanoTime() - startTime, isFollowingPage);
+                isFollowingPage = true;
+
+                return page;
+            }
+        }));
+    }
+
+    /**
+     * Records the mapping time and the rows mapped of a page, and the page fetched if it's not the first page.
+     *
+     * @param resultSet
+     * @param rowCount
+     * @param mapTime
+     * @param isFollowingPage
+     */
+    private void onPageMapped(final com.datastax.driver.core.ResultSet resultSet, final int rowCount, final long mapTime, final boolean isFollowingPage) {
+        final String cql = cqlOf(resultSet.getExecutionInfo().getStatement());
+
+        metricsListener.onPhase(cql, Phase.MAP, mapTime);
+        metricsListener.onRowsMapped(cql, rowCount);
+
+        // the first page is recorded by the execution.
+        if (isFollowingPage) {
+            metricsListener.onPageFetched(cql);
+        }
+    }
+
+    /**
+     *
+     * @param statement
+     * @param statementSettings
+     * @return
+     */
+    private boolean isSpeculative(final Statement statement, final StatementSettings statementSettings) {
+        if (statementSettings == null || statementSettings.getMaxSpeculativeExecutions() <= 0) {
+            return false;
+        }
+
+        final Boolean idempotent = statement.isIdempotent();
+
+        return idempotent == null ? cluster.getConfiguration().getQueryOptions().getDefaultIdempotence() : idempotent.booleanValue();
+    }
+
+    /**
+     *
+     * @param statement
+     * @param statementSettings
+     * @return
+     */
+    private static Statement applySettings(final Statement statement, final StatementSettings statementSettings) {
+        if (statementSettings.getConsistency() != null) {
+            statement.setConsistencyLevel(statementSettings.getConsistency());
+        }
+
+        if (statementSettings.getSerialConsistency() != null) {
+            statement.setSerialConsistencyLevel(statementSettings.getSerialConsistency());
+        }
+
+        if (statementSettings.getRetryPolicy() != null) {
+            statement.setRetryPolicy(statementSettings.getRetryPolicy());
+        }
+
+        if (statementSettings.isTraceQuery()) {
+            statement.enableTracing();
+        }
+
+        if (statementSettings.getFetchSize() > 0) {
+            statement.setFetchSize(statementSettings.getFetchSize());
+        }
+
+        if (statementSettings.getIdempotent() != null) {
+            statement.setIdempotent(statementSettings.getIdempotent());
+        }
+
+        return statement;
     }
 
     /**
@@ -2234,9 +3683,9 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ContinuableFuture<ResultSet> asyncInsert(final Object entity) {
-        final CP cp = prepareInsert(entity);
+        final List<Object> entities = N.asList(entity);
 
-        return asyncExecute(cp);
+        return asyncWrite(prepareInsertStatement(entity), () -> invalidateCache(entities));
     }
 
     /**
@@ -2248,7 +3697,7 @@ public final class CassandraExecutor implements Closeable {
     public ContinuableFuture<ResultSet> asyncInsert(final Class<?> targetClass, final Map<String, Object> props) {
         final CP cp = prepareInsert(targetClass, props);
 
-        return asyncExecute(cp);
+        return asyncWrite(cp, () -> invalidateCache(targetClass));
     }
 
     /**
@@ -2261,7 +3710,7 @@ public final class CassandraExecutor implements Closeable {
     public ContinuableFuture<ResultSet> asyncBatchInsert(final Collection<?> entities, final BatchStatement.Type type) {
         final BatchStatement batchStatement = prepareBatchInsertStatement(entities, type);
 
-        return asyncExecute(batchStatement);
+        return asyncWrite(batchStatement, () -> invalidateCache(entities));
     }
 
     /**
@@ -2276,7 +3725,7 @@ public final class CassandraExecutor implements Closeable {
             final BatchStatement.Type type) {
         final BatchStatement batchStatement = prepareBatchInsertStatement(targetClass, propsList, type);
 
-        return asyncExecute(batchStatement);
+        return asyncWrite(batchStatement, () -> invalidateCache(targetClass));
     }
 
     /**
@@ -2295,9 +3744,9 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ContinuableFuture<ResultSet> asyncUpdate(final Object entity, final Set<String> primaryKeyNames) {
-        final CP cp = prepareUpdate(entity, primaryKeyNames);
+        final List<Object> entities = N.asList(entity);
 
-        return asyncExecute(cp);
+        return asyncWrite(prepareUpdateStatement(entity, primaryKeyNames), () -> invalidateCache(entities));
     }
 
     /**
@@ -2310,7 +3759,7 @@ public final class CassandraExecutor implements Closeable {
     public ContinuableFuture<ResultSet> asyncUpdate(final Class<?> targetClass, final Map<String, Object> props, final Condition whereCause) {
         final CP cp = prepareUpdate(targetClass, props, whereCause);
 
-        return asyncExecute(cp);
+        return asyncWrite(cp, () -> invalidateCache(targetClass));
     }
 
     /**
@@ -2337,8 +3786,7 @@ public final class CassandraExecutor implements Closeable {
     public ContinuableFuture<ResultSet> asyncBatchUpdate(final Collection<?> entities, final Set<String> primaryKeyNames, final BatchStatement.Type type) {
         final BatchStatement batchStatement = prepareBatchUpdateStatement(entities, primaryKeyNames, type);
 
-        return asyncExecute(batchStatement);
-
+        return asyncWrite(batchStatement, () -> invalidateCache(entities));
     }
 
     /**
@@ -2354,7 +3802,7 @@ public final class CassandraExecutor implements Closeable {
             final Set<String> primaryKeyNames, final BatchStatement.Type type) {
         final BatchStatement batchStatement = prepareBatchUpdateStatement(targetClass, propsList, primaryKeyNames, type);
 
-        return asyncExecute(batchStatement);
+        return asyncWrite(batchStatement, () -> invalidateCache(targetClass));
     }
 
     /**
@@ -2373,7 +3821,10 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ContinuableFuture<ResultSet> asyncDelete(final Object entity, final Collection<String> deletingPropNames) {
-        return asyncDelete(entity.getClass(), deletingPropNames, entity2Cond(entity));
+        final CP cp = prepareDelete(entity.getClass(), deletingPropNames, entity2Cond(entity));
+        final List<Object> entities = N.asList(entity);
+
+        return asyncWrite(cp, () -> invalidateCache(entities));
     }
 
     /**
@@ -2397,7 +3848,9 @@ public final class CassandraExecutor implements Closeable {
      */
     @SafeVarargs
     public final ContinuableFuture<ResultSet> asyncDelete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Object... ids) {
-        return asyncDelete(targetClass, deletingPropNames, ids2Cond(targetClass, ids));
+        final CP cp = prepareDelete(targetClass, deletingPropNames, ids2Cond(targetClass, ids));
+
+        return asyncWrite(cp, () -> invalidateCache(targetClass, ids));
     }
 
     /**
@@ -2421,7 +3874,7 @@ public final class CassandraExecutor implements Closeable {
     public ContinuableFuture<ResultSet> asyncDelete(final Class<?> targetClass, final Collection<String> deletingPropNames, final Condition whereCause) {
         final CP cp = prepareDelete(targetClass, deletingPropNames, whereCause);
 
-        return asyncExecute(cp);
+        return asyncWrite(cp, () -> invalidateCache(targetClass));
     }
 
     /**
@@ -2997,7 +4450,7 @@ public final class CassandraExecutor implements Closeable {
             public Optional<T> apply(final ResultSet resultSet) throws RuntimeException {
                 final Row row = resultSet.one();
 
-                return row == null ? (Optional<T>) Optional.empty() : Optional.of(toEntity(targetClass, row));
+                return row == null ? (Optional<T>) Optional.empty() : Optional.of(mapToEntity(targetClass, row, resultSet));
             }
         });
     }
@@ -3026,7 +4479,7 @@ public final class CassandraExecutor implements Closeable {
         return asyncExecute(query, parameters).map(new Throwables.Function<ResultSet, List<T>, RuntimeException>() {
             @Override
             public List<T> apply(final ResultSet resultSet) throws RuntimeException {
-                return toList(targetClass, resultSet);
+                return mapToList(targetClass, resultSet);
             }
         });
     }
@@ -3054,7 +4507,46 @@ public final class CassandraExecutor implements Closeable {
         return asyncExecute(query, parameters).map(new Throwables.Function<ResultSet, DataSet, RuntimeException>() {
             @Override
             public DataSet apply(final ResultSet resultSet) throws RuntimeException {
-                return extractData(targetClass, resultSet);
+                return mapToDataSet(targetClass, resultSet);
+            }
+        });
+    }
+
+    /**
+     * The first page is fetched asynchronously. The following pages are prefetched in background while the current page is being mapped.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param query
+     * @param parameters
+     * @return
+     * @see #toPages(Class, com.datastax.driver.core.ResultSet)
+     */
+    @SafeVarargs
+    public final <T> ContinuableFuture<Stream<List<T>>> asyncListByPage(final Class<T> targetClass, final String query, final Object... parameters) {
+        return asyncExecute(query, parameters).map(new Throwables.Function<ResultSet, Stream<List<T>>, RuntimeException>() {
+            @Override
+            public Stream<List<T>> apply(final ResultSet resultSet) throws RuntimeException {
+                return toPages(targetClass, resultSet);
+            }
+        });
+    }
+
+    /**
+     * The first page is fetched asynchronously. The following pages are prefetched in background while the current page is being extracted.
+     *
+     * @param targetClass
+     * @param query
+     * @param parameters
+     * @return
+     * @see #extractPages(Class, com.datastax.driver.core.ResultSet)
+     */
+    @SafeVarargs
+    public final ContinuableFuture<Stream<DataSet>> asyncQueryByPage(final Class<?> targetClass, final String query, final Object... parameters) {
+        return asyncExecute(query, parameters).map(new Throwables.Function<ResultSet, Stream<DataSet>, RuntimeException>() {
+            @Override
+            public Stream<DataSet> apply(final ResultSet resultSet) throws RuntimeException {
+                return extractPages(targetClass, resultSet);
             }
         });
     }
@@ -3113,12 +4605,7 @@ public final class CassandraExecutor implements Closeable {
         return asyncExecute(query, parameters).map(new Throwables.Function<ResultSet, Stream<T>, RuntimeException>() {
             @Override
             public Stream<T> apply(final ResultSet resultSet) throws RuntimeException {
-                return Stream.of(resultSet.iterator()).map(new Function<Row, T>() {
-                    @Override
-                    public T apply(Row row) {
-                        return toEntity(targetClass, row);
-                    }
-                });
+                return Stream.of(resultSet.iterator()).map(toEntityMapper(targetClass));
             }
         });
     }
@@ -3157,25 +4644,151 @@ public final class CassandraExecutor implements Closeable {
         return asyncExecute(statement).map(new Throwables.Function<ResultSet, Stream<T>, RuntimeException>() {
             @Override
             public Stream<T> apply(final ResultSet resultSet) throws RuntimeException {
-                return Stream.of(resultSet.iterator()).map(new Function<Row, T>() {
-                    @Override
-                    public T apply(Row row) {
-                        return toEntity(targetClass, row);
-                    }
-                });
+                return Stream.of(resultSet.iterator()).map(toEntityMapper(targetClass));
             }
         });
     }
 
-    public <T> ContinuableFuture<Stream<T>> asyncStream(final Statement statement, final BiFunction<ColumnDefinitions, Row, T> rowMapper) {
-        return asyncExecute(statement).map(new Throwables.Function<ResultSet, Stream<T>, RuntimeException>() {
-            @Override
-            public Stream<T> apply(final ResultSet resultSet) throws RuntimeException {
-                return Stream.of(resultSet.iterator()).map(new Function<Row, T>() {
-                    private volatile ColumnDefinitions cds = null;
-
-                    @Override
-                    public T apply(Row row) {
+    /**
+     * Creates a {@code GetCoalescer} to execute the concurrent gets by the full primary key of the specified entity class together:
+     * the gets received within {@code maxDelay} milliseconds, or up to {@code maxBatchSize} gets, are deduplicated and read by concurrent async queries,
+     * or by one {@code IN} query for the keys in the same partition. The {@code GetCoalescer} should be shared by the callers.
+     * The entities are not shared: the callers getting the same key in a batch receive their own copies.
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method.
+     * @param maxBatchSize
+     * @param maxDelay in milliseconds
+     * @return
+     */
+    public <T> GetCoalescer<T> newGetCoalescer(final Class<T> targetClass, final int maxBatchSize, final long maxDelay) {
+        N.checkArgument(ClassUtil.isEntity(targetClass), "%s is not an entity class with getter/setter methods", targetClass);
+        N.checkArgPositive(maxBatchSize, "maxBatchSize");
+        N.checkArgNotNegative(maxDelay, "maxDelay");
+
+        return new GetCoalescer<>(this, targetClass, maxBatchSize, maxDelay);
+    }
+
+    /**
+     * Reads the result page by page without blocking: the rows of a page are mapped and passed to {@code pageConsumer} on the executor of this
+     * {@code CassandraExecutor}, and the next page is requested by {@code fetchMoreResults()} only after {@code pageConsumer} returns {@code true}.
+     * No thread is blocked waiting for a page, including the I/O threads of the driver.
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method, <code>Map.class</code> or basic single value type(Primitive/String/Date...)
+     * @param statement
+     * @param pageConsumer returns {@code false} to stop reading the following pages.
+     * @return a future which is completed after the last page is consumed, or reading is stopped by {@code pageConsumer},
+     *         or completed exceptionally if the query or {@code pageConsumer} fails.
+     * @see #asyncForEachPage(Class, Statement, Executor, Throwables.Predicate)
+     */
+    public <T> ContinuableFuture<Void> asyncForEachPage(final Class<T> targetClass, final Statement statement,
+            final Throwables.Predicate<? super List<T>, ? extends Exception> pageConsumer) {
+        return asyncForEachPage(targetClass, statement, executor(), pageConsumer);
+    }
+
+    /**
+     * Reads the result page by page without blocking: the rows of a page are mapped and passed to {@code pageConsumer} on the specified {@code executor},
+     * and the next page is requested by {@code fetchMoreResults()} only after {@code pageConsumer} returns {@code true}.
+     * The size of a page is bounded by the fetch size of the statement.
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method, <code>Map.class</code> or basic single value type(Primitive/String/Date...)
+     * @param statement
+     * @param executor the executor to map the rows and run {@code pageConsumer}. It should not be the I/O threads of the driver if {@code pageConsumer} may block.
+     * @param pageConsumer returns {@code false} to stop reading the following pages.
+     * @return a future which is completed after the last page is consumed, or reading is stopped by {@code pageConsumer},
+     *         or completed exceptionally if the query or {@code pageConsumer} fails.
+     * @see Statement#setFetchSize(int)
+     */
+    public <T> ContinuableFuture<Void> asyncForEachPage(final Class<T> targetClass, final Statement statement, final Executor executor,
+            final Throwables.Predicate<? super List<T>, ? extends Exception> pageConsumer) {
+        N.checkArgNotNull(targetClass, "targetClass");
+        N.checkArgNotNull(executor, "executor");
+        N.checkArgNotNull(pageConsumer, "pageConsumer");
+
+        final SettableFuture<Void> result = SettableFuture.create();
+
+        readPageOnComplete(doExecuteAsync(statement, settings), targetClass, executor, pageConsumer, result);
+
+        return ContinuableFuture.wrap(result);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param future
+     * @param targetClass
+     * @param executor
+     * @param pageConsumer
+     * @param result
+     */
+    private <T> void readPageOnComplete(final ListenableFuture<com.datastax.driver.core.ResultSet> future, final Class<T> targetClass,
+            final Executor executor, final Throwables.Predicate<? super List<T>, ? extends Exception> pageConsumer, final SettableFuture<Void> result) {
+        Futures.addCallback(future, new FutureCallback<com.datastax.driver.core.ResultSet>() {
+            @Override
+            public void onSuccess(final com.datastax.driver.core.ResultSet resultSet) {
+                try {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            readPage(resultSet, targetClass, executor, pageConsumer, result);
+                        }
+                    });
+                } catch (Throwable e) {
+                    result.setException(e);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                result.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Only the rows available without fetching are read, so {@code ResultSet.one()} never blocks here.
+     *
+     * @param <T>
+     * @param resultSet
+     * @param targetClass
+     * @param executor
+     * @param pageConsumer
+     * @param result
+     */
+    private <T> void readPage(final com.datastax.driver.core.ResultSet resultSet, final Class<T> targetClass, final Executor executor,
+            final Throwables.Predicate<? super List<T>, ? extends Exception> pageConsumer, final SettableFuture<Void> result) {
+        try {
+            final int pageSize = resultSet.getAvailableWithoutFetching();
+            final long startTime = metricsListener == null ? 0 : System.nanoTime();
+            final List<T> page = pageSize > 0 ? toList(targetClass, resultSet, pageSize) : null;
+
+            if (metricsListener != null) {
+                onPageMapped(resultSet, pageSize, System.nanoTime() - startTime, resultSet.getAllExecutionInfo().size() > 1);
+            }
+
+            if (page != null && !pageConsumer.test(page)) {
+                result.set(null);
+            } else if (resultSet.isFullyFetched()) {
+                result.set(null);
+            } else {
+                readPageOnComplete(resultSet.fetchMoreResults(), targetClass, executor, pageConsumer, result);
+            }
+        } catch (Throwable e) {
+            result.setException(e);
+        }
+    }
+
+    public <T> ContinuableFuture<Stream<T>> asyncStream(final Statement statement, final BiFunction<ColumnDefinitions, Row, T> rowMapper) {
+        return asyncExecute(statement).map(new Throwables.Function<ResultSet, Stream<T>, RuntimeException>() {
+            @Override
+            public Stream<T> apply(final ResultSet resultSet) throws RuntimeException {
+                return Stream.of(resultSet.iterator()).map(new Function<Row, T>() {
+                    private volatile ColumnDefinitions cds = null;
+
+                    @Override
+                    public T apply(Row row) {
                         if (cds == null) {
                             cds = row.getColumnDefinitions();
                         }
@@ -3196,6 +4809,41 @@ public final class CassandraExecutor implements Closeable {
         return asyncExecute(cp.cql, cp.parameters.toArray());
     }
 
+    /**
+     * Executes the write and invalidates the cached entities when it's submitted and again when it's completed,
+     * because the entities loaded by concurrent {@code get/gett} before the write is applied are stale.
+     *
+     * @param statement
+     * @param invalidation
+     * @return
+     */
+    private ContinuableFuture<ResultSet> asyncWrite(final Statement statement, final Runnable invalidation) {
+        invalidation.run();
+
+        return invalidateOnCompletion(doExecuteAsync(statement), invalidation);
+    }
+
+    /**
+     *
+     * @param cp
+     * @param invalidation
+     * @return
+     * @see #asyncWrite(Statement, Runnable)
+     */
+    private ContinuableFuture<ResultSet> asyncWrite(final CP cp, final Runnable invalidation) {
+        invalidation.run();
+
+        return invalidateOnCompletion(session.executeAsync(cp.cql, cp.parameters.toArray()), invalidation);
+    }
+
+    private ContinuableFuture<ResultSet> invalidateOnCompletion(final ListenableFuture<com.datastax.driver.core.ResultSet> future, final Runnable invalidation) {
+        if (entityCache != null) {
+            future.addListener(invalidation, MoreExecutors.directExecutor());
+        }
+
+        return ContinuableFuture.wrap(future).map(ResultSetImpl::wrap);
+    }
+
     /**
      *
      * @param query
@@ -3222,7 +4870,21 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     public ContinuableFuture<ResultSet> asyncExecute(final Statement statement) {
-        return ContinuableFuture.wrap(session.executeAsync(statement)).map(ResultSetImpl::wrap);
+        return ContinuableFuture.wrap(doExecuteAsync(statement, settings)).map(ResultSetImpl::wrap);
+    }
+
+    /**
+     * Executes the statement asynchronously with the specified settings, instead of the settings of this executor.
+     *
+     * @param statement
+     * @param statementSettings
+     * @return
+     * @see #execute(Statement, StatementSettings)
+     */
+    public ContinuableFuture<ResultSet> asyncExecute(final Statement statement, final StatementSettings statementSettings) {
+        N.checkArgNotNull(statementSettings, "statementSettings");
+
+        return ContinuableFuture.wrap(doExecuteAsync(applySettings(statement, statementSettings), statementSettings)).map(ResultSetImpl::wrap);
     }
 
     /**
@@ -3261,27 +4923,7 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     private Statement prepareStatement(final String query) {
-        Statement stmt = null;
-
-        if (query.length() <= POOLABLE_LENGTH) {
-            PoolableWrapper<Statement> wrapper = stmtPool.get(query);
-
-            if (wrapper != null) {
-                stmt = wrapper.value();
-            }
-        }
-
-        if (stmt == null) {
-            final ParsedCql parseCql = parseCql(query);
-            final String cql = parseCql.getParameterizedCql();
-            stmt = bind(prepare(cql));
-
-            if (query.length() <= POOLABLE_LENGTH) {
-                stmtPool.put(query, PoolableWrapper.of(stmt));
-            }
-        }
-
-        return stmt;
+        return bind(getPreparedStatement(query, null));
     }
 
     /**
@@ -3296,31 +4938,14 @@ public final class CassandraExecutor implements Closeable {
         }
 
         final ParsedCql parseCql = parseCql(query);
-        final String cql = parseCql.getParameterizedCql();
-        PreparedStatement preStmt = null;
-
-        if (query.length() <= POOLABLE_LENGTH) {
-            PoolableWrapper<PreparedStatement> wrapper = preStmtPool.get(query);
-            if (wrapper != null && wrapper.value() != null) {
-                preStmt = wrapper.value();
-            }
-        }
-
-        if (preStmt == null) {
-            preStmt = prepare(cql);
-
-            if (query.length() <= POOLABLE_LENGTH) {
-                preStmtPool.put(query, PoolableWrapper.of(preStmt));
-            }
-        }
-
+        final PreparedStatement preStmt = getPreparedStatement(query, parseCql);
         final ColumnDefinitions columnDefinitions = preStmt.getVariables();
         final int parameterCount = columnDefinitions.size();
         DataType colType = null;
         Class<?> javaClass = null;
 
         if (parameterCount == 0) {
-            return preStmt.bind();
+            return bind(preStmt);
         } else if (N.isNullOrEmpty(parameters)) {
             throw new IllegalArgumentException("Null or empty parameters for parameterized query: " + query);
         }
@@ -3387,6 +5012,143 @@ public final class CassandraExecutor implements Closeable {
             }
         }
 
+        return convertAndBind(preStmt, values);
+    }
+
+    /**
+     * Gets the {@code PreparedStatement} from cache or prepares it if it's not cached yet.
+     * The statement for the same query is only prepared once even if it's requested by multiple threads at the same time.
+     *
+     * @param query
+     * @param parsedCql it will be parsed from {@code query} if it's {@code null}.
+     * @return
+     */
+    private PreparedStatement getPreparedStatement(final String query, final ParsedCql parsedCql) {
+        return getPreparedStatement(query, parsedCql, metricsListener != null);
+    }
+
+    /**
+     *
+     * @param query
+     * @param parsedCql
+     * @param recordCacheAccess {@code false} if the access is recorded by the caller, for example, by the lookup of statement templates.
+     * @return
+     */
+    private PreparedStatement getPreparedStatement(final String query, final ParsedCql parsedCql, final boolean recordCacheAccess) {
+        if (query.length() > POOLABLE_LENGTH) {
+            // not cached, so it's not recorded as a cache access.
+            return prepare((parsedCql == null ? parseCql(query) : parsedCql).getParameterizedCql());
+        }
+
+        if (recordCacheAccess) {
+            final PreparedStatement preStmt = preparedStatementCache.getIfPresent(query);
+
+            metricsListener.onStatementCacheAccess(preStmt == null ? query : preStmt.getQueryString(), preStmt != null);
+
+            if (preStmt != null) {
+                return preStmt;
+            }
+        }
+
+        try {
+            return preparedStatementCache.get(query, () -> prepare((parsedCql == null ? parseCql(query) : parsedCql).getParameterizedCql()));
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Records the time to generate the CQL by {@code CQLBuilder} for the calls which don't use statement template, where the CQL is generated for each call.
+     *
+     * @param cp
+     * @param startTime
+     * @return
+     */
+    private CP onBuilt(final CP cp, final long startTime) {
+        if (metricsListener != null) {
+            metricsListener.onPhase(cp.cql, Phase.BUILD, System.nanoTime() - startTime);
+        }
+
+        return cp;
+    }
+
+    /**
+     * Gets the statement template for the specified key, or creates it by the CQL generated by {@code cqlSupplier} if it's not cached yet.
+     * The CQL and {@code PreparedStatement} for the same entity class, operation and property names never change for an executor,
+     * so only the values are extracted and bound for each call after the first one.
+     *
+     * @param key
+     * @param entityClass the class of the entity whose property values will be bound, or {@code null} if the parameters are bound by position.
+     * @param cqlSupplier
+     * @return
+     */
+    private StatementTemplate getStatementTemplate(final Object key, final Class<?> entityClass, final Supplier<String> cqlSupplier) {
+        StatementTemplate template = statementTemplateCache.getIfPresent(key);
+
+        if (template == null) {
+            final long startTime = metricsListener == null ? 0 : System.nanoTime();
+            final String cql = cqlSupplier.get();
+            final long buildTime = metricsListener == null ? 0 : System.nanoTime() - startTime;
+            final ParsedCql parsedCql = parseCql(cql);
+            final PropInfo[] propInfos = entityClass == null ? null : new PropInfo[parsedCql.getParameterCount()];
+
+            if (propInfos != null) {
+                final EntityInfo entityInfo = ParserUtil.getEntityInfo(entityClass);
+
+                for (int i = 0, len = propInfos.length; i < len; i++) {
+                    propInfos[i] = entityInfo.getPropInfo(parsedCql.getNamedParameters().get(i));
+                }
+            }
+
+            // the access is recorded once for the lookup of the template, not again for the PreparedStatement.
+            template = new StatementTemplate(getPreparedStatement(cql, parsedCql, false), propInfos);
+
+            statementTemplateCache.put(key, template);
+
+            if (metricsListener != null) {
+                metricsListener.onPhase(parsedCql.getParameterizedCql(), Phase.BUILD, buildTime);
+                metricsListener.onStatementCacheAccess(parsedCql.getParameterizedCql(), false);
+            }
+        } else if (metricsListener != null) {
+            metricsListener.onStatementCacheAccess(template.preparedStatement.getQueryString(), true);
+        }
+
+        return template;
+    }
+
+    /**
+     *
+     * @param template
+     * @param entity
+     * @return
+     */
+    private Statement bind(final StatementTemplate template, final Object entity) {
+        final PropInfo[] propInfos = template.propInfos;
+        final Object[] values = new Object[propInfos.length];
+
+        for (int i = 0, len = propInfos.length; i < len; i++) {
+            values[i] = propInfos[i].getPropValue(entity);
+        }
+
+        return convertAndBind(template.preparedStatement, values);
+    }
+
+    /**
+     * Converts the values to the java types of the bound variables if necessary and binds them to a new {@code BoundStatement}.
+     *
+     * @param preStmt
+     * @param values
+     * @return
+     */
+    private BoundStatement convertAndBind(final PreparedStatement preStmt, final Object[] values) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+        final ColumnDefinitions columnDefinitions = preStmt.getVariables();
+        final int parameterCount = columnDefinitions.size();
+        DataType colType = null;
+        Class<?> javaClass = null;
+
         for (int i = 0; i < parameterCount; i++) {
             colType = columnDefinitions.getType(i);
             javaClass = namedDataType.get(colType.getName().name());
@@ -3405,7 +5167,31 @@ public final class CassandraExecutor implements Closeable {
             }
         }
 
-        return bind(preStmt, values.length == parameterCount ? values : N.copyOfRange(values, 0, parameterCount));
+        final BoundStatement stmt = bind(preStmt, values.length == parameterCount ? values : N.copyOfRange(values, 0, parameterCount));
+
+        if (metricsListener != null) {
+            metricsListener.onPhase(preStmt.getQueryString(), Phase.BIND, System.nanoTime() - startTime);
+        }
+
+        return stmt;
+    }
+
+    /**
+     * Returns the hit/miss/load/eviction statistics of the cached {@code PreparedStatement}s.
+     *
+     * @return
+     */
+    public CacheStats preparedStatementCacheStats() {
+        return preparedStatementCache.stats();
+    }
+
+    /**
+     * Returns the approximate number of cached {@code PreparedStatement}s.
+     *
+     * @return
+     */
+    public long preparedStatementCacheSize() {
+        return preparedStatementCache.size();
     }
 
     /**
@@ -3414,8 +5200,14 @@ public final class CassandraExecutor implements Closeable {
      * @return
      */
     private PreparedStatement prepare(final String query) {
+        final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
         PreparedStatement preStat = session.prepare(query);
 
+        if (metricsListener != null) {
+            metricsListener.onPhase(query, Phase.PREPARE, System.nanoTime() - startTime);
+        }
+
         if (settings != null) {
             if (settings.getConsistency() != null) {
                 preStat.setConsistencyLevel(settings.getConsistency());
@@ -3434,6 +5226,10 @@ public final class CassandraExecutor implements Closeable {
             } else {
                 preStat.disableTracing();
             }
+
+            if (settings.getIdempotent() != null) {
+                preStat.setIdempotent(settings.getIdempotent());
+            }
         }
 
         return preStat;
@@ -3483,7 +5279,13 @@ public final class CassandraExecutor implements Closeable {
         }
 
         if (parsedCql == null) {
+            final long startTime = metricsListener == null ? 0 : System.nanoTime();
+
             parsedCql = ParsedCql.parse(cql, null);
+
+            if (metricsListener != null) {
+                metricsListener.onPhase(parsedCql.getParameterizedCql(), Phase.PARSE, System.nanoTime() - startTime);
+            }
         }
 
         return parsedCql;
@@ -3523,6 +5325,7 @@ public final class CassandraExecutor implements Closeable {
      *
      * @author haiyangl
      * @param <T>
+     * @see EntityUDTCodec to generate the codec for an entity class from the metadata of the user type.
      */
     public abstract static class UDTCodec<T> extends TypeCodec<T> {
 
@@ -3631,72 +5434,603 @@ public final class CassandraExecutor implements Closeable {
     }
 
     /**
-     * The Class StatementSettings.
+     * The {@code PreparedStatement} generated for an entity operation, with the properties to bind in the order of the bound variables.
      */
-    public static final class StatementSettings {
+    private static final class StatementTemplate {
 
-        /** The consistency. */
-        private ConsistencyLevel consistency;
+        /** The prepared statement. */
+        private final PreparedStatement preparedStatement;
 
-        /** The serial consistency. */
-        private ConsistencyLevel serialConsistency;
+        /** The properties to bind, or {@code null} if the parameters are bound by position. */
+        private final PropInfo[] propInfos;
 
-        /** The trace query. */
-        private boolean traceQuery;
+        StatementTemplate(final PreparedStatement preparedStatement, final PropInfo[] propInfos) {
+            this.preparedStatement = preparedStatement;
+            this.propInfos = propInfos;
+        }
+    }
 
-        /** The retry policy. */
-        private RetryPolicy retryPolicy;
+    /**
+     * The settings for the batches executed by partition.
+     *
+     * @see CassandraExecutor#batchInsert(Collection, BatchSettings)
+     * @see CassandraExecutor#batchUpdate(Collection, BatchSettings)
+     */
+    public static final class BatchSettings {
 
-        /** The fetch size. */
-        private int fetchSize;
+        /** The default max statements per batch. */
+        public static final int DEFAULT_MAX_STATEMENTS_PER_BATCH = 100;
+
+        /** Same as the default {@code batch_size_warn_threshold_in_kb} of Cassandra: 5KB. */
+        public static final long DEFAULT_MAX_BYTES_PER_BATCH = 5 * 1024;
+
+        /** The default max in-flight batches. */
+        public static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 16;
+
+        /** The batch type. */
+        private BatchStatement.Type type = BatchStatement.Type.UNLOGGED;
+
+        /** The max statements per batch. */
+        private int maxStatementsPerBatch = DEFAULT_MAX_STATEMENTS_PER_BATCH;
+
+        /** The max bytes per batch. */
+        private long maxBytesPerBatch = DEFAULT_MAX_BYTES_PER_BATCH;
+
+        /** The max in-flight batches. */
+        private int maxInFlightBatches = DEFAULT_MAX_IN_FLIGHT_BATCHES;
 
         /**
-         * Instantiates a new statement settings.
+         * Instantiates a new batch settings.
          */
-        public StatementSettings() {
+        public BatchSettings() {
         }
 
         /**
-         * Instantiates a new statement settings.
          *
-         * @param consistency
-         * @param serialConsistency
-         * @param traceQuery
-         * @param retryPolicy
-         * @param fetchSize
+         * @return
          */
-        public StatementSettings(ConsistencyLevel consistency, ConsistencyLevel serialConsistency, boolean traceQuery, RetryPolicy retryPolicy, int fetchSize) {
-            this.consistency = consistency;
-            this.serialConsistency = serialConsistency;
-            this.traceQuery = traceQuery;
-            this.retryPolicy = retryPolicy;
-            this.fetchSize = fetchSize;
+        public static BatchSettings create() {
+            return new BatchSettings();
         }
 
         /**
+         * Gets the batch type.
          *
          * @return
          */
-        public static StatementSettings create() {
-            return new StatementSettings();
+        public BatchStatement.Type getType() {
+            return type;
         }
 
         /**
-         * Gets the consistency.
+         * Sets the batch type. Default is {@code UNLOGGED}.
          *
+         * @param type
          * @return
          */
-        public ConsistencyLevel getConsistency() {
-            return consistency;
+        public BatchSettings setType(BatchStatement.Type type) {
+            N.checkArgNotNull(type, "type");
+
+            this.type = type;
+
+            return this;
         }
 
         /**
-         * Sets the consistency.
+         * Gets the max statements per batch.
          *
-         * @param consistency
          * @return
          */
-        public StatementSettings setConsistency(ConsistencyLevel consistency) {
+        public int getMaxStatementsPerBatch() {
+            return maxStatementsPerBatch;
+        }
+
+        /**
+         * Sets the max statements per batch.
+         *
+         * @param maxStatementsPerBatch
+         * @return
+         */
+        public BatchSettings setMaxStatementsPerBatch(int maxStatementsPerBatch) {
+            N.checkArgPositive(maxStatementsPerBatch, "maxStatementsPerBatch");
+
+            this.maxStatementsPerBatch = maxStatementsPerBatch;
+
+            return this;
+        }
+
+        /**
+         * Gets the max bytes per batch.
+         *
+         * @return
+         */
+        public long getMaxBytesPerBatch() {
+            return maxBytesPerBatch;
+        }
+
+        /**
+         * Sets the max size in bytes of the values bound in one batch. A statement is always added to an empty batch even if it's bigger than this size.
+         *
+         * @param maxBytesPerBatch
+         * @return
+         */
+        public BatchSettings setMaxBytesPerBatch(long maxBytesPerBatch) {
+            N.checkArgPositive(maxBytesPerBatch, "maxBytesPerBatch");
+
+            this.maxBytesPerBatch = maxBytesPerBatch;
+
+            return this;
+        }
+
+        /**
+         * Gets the max in-flight batches.
+         *
+         * @return
+         */
+        public int getMaxInFlightBatches() {
+            return maxInFlightBatches;
+        }
+
+        /**
+         * Sets the max number of batches executed concurrently.
+         *
+         * @param maxInFlightBatches
+         * @return
+         */
+        public BatchSettings setMaxInFlightBatches(int maxInFlightBatches) {
+            N.checkArgPositive(maxInFlightBatches, "maxInFlightBatches");
+
+            this.maxInFlightBatches = maxInFlightBatches;
+
+            return this;
+        }
+
+        /**
+         *
+         * @return
+         */
+        @Override
+        public String toString() {
+            return "{" + "type=" + N.toString(type) + ", " + "maxStatementsPerBatch=" + N.toString(maxStatementsPerBatch) + ", " + "maxBytesPerBatch="
+                    + N.toString(maxBytesPerBatch) + ", " + "maxInFlightBatches=" + N.toString(maxInFlightBatches) + "}";
+        }
+    }
+
+    /**
+     * The aggregated result of the batches executed by partition.
+     *
+     * @see CassandraExecutor#batchInsert(Collection, BatchSettings)
+     * @see CassandraExecutor#batchUpdate(Collection, BatchSettings)
+     */
+    public static final class BatchResult {
+
+        /** The batch count. */
+        private final int batchCount;
+
+        /** The result sets of the succeeded batches. */
+        private final List<ResultSet> resultSets;
+
+        /** The entities in the failed batches and the cause. */
+        private final List<Tuple2<List<Object>, Throwable>> failures;
+
+        BatchResult(final int batchCount, final List<ResultSet> resultSets, final List<Tuple2<List<Object>, Throwable>> failures) {
+            this.batchCount = batchCount;
+            this.resultSets = resultSets;
+            this.failures = failures;
+        }
+
+        /**
+         * Gets the number of batches executed.
+         *
+         * @return
+         */
+        public int getBatchCount() {
+            return batchCount;
+        }
+
+        /**
+         * Gets the result sets of the succeeded batches.
+         *
+         * @return
+         */
+        public List<ResultSet> getResultSets() {
+            return resultSets;
+        }
+
+        /**
+         * Gets the entities in each failed batch and the cause of the failure.
+         *
+         * @return
+         */
+        public List<Tuple2<List<Object>, Throwable>> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Checks if all the batches are executed successfully.
+         *
+         * @return true, if no batch failed
+         */
+        public boolean isAllSucceeded() {
+            return failures.isEmpty();
+        }
+
+        /**
+         *
+         * @return
+         */
+        @Override
+        public String toString() {
+            return "{" + "batchCount=" + batchCount + ", " + "succeeded=" + resultSets.size() + ", " + "failed=" + failures.size() + "}";
+        }
+    }
+
+    /**
+     * The settings for bulk write.
+     *
+     * @see CassandraExecutor#bulkInsert(Iterator, BulkWriteSettings)
+     */
+    public static final class BulkWriteSettings {
+
+        /** The default max in-flight requests per host. */
+        public static final int DEFAULT_MAX_IN_FLIGHT_PER_HOST = 256;
+
+        /** The default max retries. */
+        public static final int DEFAULT_MAX_RETRIES = 5;
+
+        /** The default initial backoff in milliseconds. */
+        public static final long DEFAULT_INITIAL_BACKOFF = 100;
+
+        /** The default max backoff in milliseconds. */
+        public static final long DEFAULT_MAX_BACKOFF = 10 * 1000;
+
+        /** The max in-flight requests per host. */
+        private int maxInFlightPerHost = DEFAULT_MAX_IN_FLIGHT_PER_HOST;
+
+        /** The max retries. */
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+
+        /** The initial backoff in milliseconds. */
+        private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+
+        /** The max backoff in milliseconds. */
+        private long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+        /**
+         * Instantiates a new bulk write settings.
+         */
+        public BulkWriteSettings() {
+        }
+
+        /**
+         *
+         * @return
+         */
+        public static BulkWriteSettings create() {
+            return new BulkWriteSettings();
+        }
+
+        /**
+         * Gets the max in-flight requests per host.
+         *
+         * @return
+         */
+        public int getMaxInFlightPerHost() {
+            return maxInFlightPerHost;
+        }
+
+        /**
+         * Sets the max in-flight requests per host. It should be less than the max requests per connection * connections per host of the driver pool.
+         *
+         * @param maxInFlightPerHost
+         * @return
+         * @see com.datastax.driver.core.PoolingOptions
+         */
+        public BulkWriteSettings setMaxInFlightPerHost(int maxInFlightPerHost) {
+            N.checkArgPositive(maxInFlightPerHost, "maxInFlightPerHost");
+
+            this.maxInFlightPerHost = maxInFlightPerHost;
+
+            return this;
+        }
+
+        /**
+         * Gets the max retries.
+         *
+         * @return
+         */
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        /**
+         * Sets the max retries for the throttled requests and the timed out requests of idempotent statements.
+         *
+         * @param maxRetries
+         * @return
+         */
+        public BulkWriteSettings setMaxRetries(int maxRetries) {
+            N.checkArgNotNegative(maxRetries, "maxRetries");
+
+            this.maxRetries = maxRetries;
+
+            return this;
+        }
+
+        /**
+         * Gets the initial backoff in milliseconds.
+         *
+         * @return
+         */
+        public long getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        /**
+         * Sets the initial backoff in milliseconds. It's doubled for each retry, up to {@code maxBackoff}.
+         *
+         * @param initialBackoff
+         * @return
+         */
+        public BulkWriteSettings setInitialBackoff(long initialBackoff) {
+            N.checkArgNotNegative(initialBackoff, "initialBackoff");
+
+            this.initialBackoff = initialBackoff;
+
+            return this;
+        }
+
+        /**
+         * Gets the max backoff in milliseconds.
+         *
+         * @return
+         */
+        public long getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        /**
+         * Sets the max backoff in milliseconds.
+         *
+         * @param maxBackoff
+         * @return
+         */
+        public BulkWriteSettings setMaxBackoff(long maxBackoff) {
+            N.checkArgNotNegative(maxBackoff, "maxBackoff");
+
+            this.maxBackoff = maxBackoff;
+
+            return this;
+        }
+
+        /**
+         *
+         * @return
+         */
+        @Override
+        public String toString() {
+            return "{" + "maxInFlightPerHost=" + N.toString(maxInFlightPerHost) + ", " + "maxRetries=" + N.toString(maxRetries) + ", " + "initialBackoff="
+                    + N.toString(initialBackoff) + ", " + "maxBackoff=" + N.toString(maxBackoff) + "}";
+        }
+    }
+
+    /**
+     * The result of bulk write.
+     *
+     * @see CassandraExecutor#bulkInsert(Iterator, BulkWriteSettings)
+     */
+    public static final class BulkWriteResult {
+
+        /** The total count. */
+        private final long totalCount;
+
+        /** The succeeded count. */
+        private final long succeededCount;
+
+        /** The retried count. */
+        private final long retriedCount;
+
+        /** The failed objects and the cause. */
+        private final List<Tuple2<Object, Throwable>> failures;
+
+        /** The elapsed time in milliseconds. */
+        private final long elapsedTime;
+
+        /** The latencies in nanoseconds. */
+        private final LatencyHistogram latencies;
+
+        BulkWriteResult(final long totalCount, final long succeededCount, final long retriedCount, final List<Tuple2<Object, Throwable>> failures,
+                final long elapsedTime, final LatencyHistogram latencies) {
+            this.totalCount = totalCount;
+            this.succeededCount = succeededCount;
+            this.retriedCount = retriedCount;
+            this.failures = failures;
+            this.elapsedTime = elapsedTime;
+            this.latencies = latencies;
+        }
+
+        /**
+         * Gets the total count of the input objects.
+         *
+         * @return
+         */
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        /**
+         * Gets the succeeded count.
+         *
+         * @return
+         */
+        public long getSucceededCount() {
+            return succeededCount;
+        }
+
+        /**
+         * Gets the failed count.
+         *
+         * @return
+         */
+        public long getFailedCount() {
+            return failures.size();
+        }
+
+        /**
+         * Gets the number of retries executed.
+         *
+         * @return
+         */
+        public long getRetriedCount() {
+            return retriedCount;
+        }
+
+        /**
+         * Gets the failed objects and the cause of the last failure.
+         *
+         * @return
+         */
+        public List<Tuple2<Object, Throwable>> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Gets the elapsed time in milliseconds.
+         *
+         * @return
+         */
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+
+        /**
+         * Gets the succeeded requests per second.
+         *
+         * @return
+         */
+        public double getThroughput() {
+            return elapsedTime == 0 ? 0 : succeededCount * 1000d / elapsedTime;
+        }
+
+        /**
+         * Gets the latency of the succeeded requests at the specified percentile, in milliseconds, with about 3% precision.
+         * The latency is measured from the request is sent to the response is received, excluding the time waiting for permit or backoff.
+         *
+         * @param percentile from 0 to 100. For example: 50, 99, 99.9
+         * @return
+         */
+        public double getLatency(final double percentile) {
+            return latencies.percentile(percentile) / 1000_000d;
+        }
+
+        /**
+         * Gets the max latency of the succeeded requests in milliseconds.
+         *
+         * @return
+         */
+        public double getMaxLatency() {
+            return latencies.max() / 1000_000d;
+        }
+
+        /**
+         * Gets the mean latency of the succeeded requests in milliseconds.
+         *
+         * @return
+         */
+        public double getMeanLatency() {
+            return latencies.mean() / 1000_000d;
+        }
+
+        /**
+         *
+         * @return
+         */
+        @Override
+        public String toString() {
+            return "{" + "totalCount=" + totalCount + ", " + "succeededCount=" + succeededCount + ", " + "failedCount=" + failures.size() + ", "
+                    + "retriedCount=" + retriedCount + ", " + "elapsedTime=" + elapsedTime + ", " + "throughput=" + String.format("%.1f", getThroughput())
+                    + ", " + "latency(ms)={mean=" + String.format("%.3f", getMeanLatency()) + ", p50=" + String.format("%.3f", getLatency(50)) + ", p95="
+                    + String.format("%.3f", getLatency(95)) + ", p99=" + String.format("%.3f", getLatency(99)) + ", p999="
+                    + String.format("%.3f", getLatency(99.9)) + ", max=" + String.format("%.3f", getMaxLatency()) + "}}";
+        }
+    }
+
+    /**
+     * The Class StatementSettings.
+     */
+    public static final class StatementSettings {
+
+        /** The consistency. */
+        private ConsistencyLevel consistency;
+
+        /** The serial consistency. */
+        private ConsistencyLevel serialConsistency;
+
+        /** The trace query. */
+        private boolean traceQuery;
+
+        /** The retry policy. */
+        private RetryPolicy retryPolicy;
+
+        /** The fetch size. */
+        private int fetchSize;
+
+        /** The idempotence of statements. {@code null} means the default idempotence of the cluster. */
+        private Boolean idempotent;
+
+        /** The delay in milliseconds before a speculative execution is started. */
+        private long speculativeExecutionDelay;
+
+        /** The max speculative executions. 0 means speculative execution is disabled. */
+        private int maxSpeculativeExecutions;
+
+        /**
+         * Instantiates a new statement settings.
+         */
+        public StatementSettings() {
+        }
+
+        /**
+         * Instantiates a new statement settings.
+         *
+         * @param consistency
+         * @param serialConsistency
+         * @param traceQuery
+         * @param retryPolicy
+         * @param fetchSize
+         */
+        public StatementSettings(ConsistencyLevel consistency, ConsistencyLevel serialConsistency, boolean traceQuery, RetryPolicy retryPolicy, int fetchSize) {
+            this.consistency = consistency;
+            this.serialConsistency = serialConsistency;
+            this.traceQuery = traceQuery;
+            this.retryPolicy = retryPolicy;
+            this.fetchSize = fetchSize;
+        }
+
+        /**
+         *
+         * @return
+         */
+        public static StatementSettings create() {
+            return new StatementSettings();
+        }
+
+        /**
+         * Gets the consistency.
+         *
+         * @return
+         */
+        public ConsistencyLevel getConsistency() {
+            return consistency;
+        }
+
+        /**
+         * Sets the consistency.
+         *
+         * @param consistency
+         * @return
+         */
+        public StatementSettings setConsistency(ConsistencyLevel consistency) {
             this.consistency = consistency;
 
             return this;
@@ -3786,6 +6120,65 @@ public final class CassandraExecutor implements Closeable {
             return this;
         }
 
+        /**
+         * Gets the idempotence of statements.
+         *
+         * @return {@code null} if it's not set.
+         */
+        public Boolean getIdempotent() {
+            return idempotent;
+        }
+
+        /**
+         * Sets the idempotence of the prepared statements. Only idempotent statements are executed speculatively or retried on timeout by the driver.
+         *
+         * @param idempotent {@code null} to use the default idempotence of the cluster.
+         * @return
+         * @see com.datastax.driver.core.QueryOptions#setDefaultIdempotence(boolean)
+         */
+        public StatementSettings setIdempotent(Boolean idempotent) {
+            this.idempotent = idempotent;
+
+            return this;
+        }
+
+        /**
+         * Gets the delay in milliseconds before a speculative execution is started.
+         *
+         * @return
+         */
+        public long getSpeculativeExecutionDelay() {
+            return speculativeExecutionDelay;
+        }
+
+        /**
+         * Gets the max speculative executions.
+         *
+         * @return
+         */
+        public int getMaxSpeculativeExecutions() {
+            return maxSpeculativeExecutions;
+        }
+
+        /**
+         * Executes the idempotent statements speculatively: if there is no response after {@code delay} milliseconds,
+         * the statement is executed again, on the next host of the query plan, up to {@code maxSpeculativeExecutions} times.
+         * The first response wins and the other executions are cancelled.
+         *
+         * @param delay in milliseconds.
+         * @param maxSpeculativeExecutions the max number of executions in addition to the first one. 0 to disable speculative execution.
+         * @return
+         */
+        public StatementSettings setSpeculativeExecution(long delay, int maxSpeculativeExecutions) {
+            N.checkArgNotNegative(delay, "delay");
+            N.checkArgNotNegative(maxSpeculativeExecutions, "maxSpeculativeExecutions");
+
+            this.speculativeExecutionDelay = delay;
+            this.maxSpeculativeExecutions = maxSpeculativeExecutions;
+
+            return this;
+        }
+
         /**
          *
          * @return
@@ -3798,6 +6191,9 @@ public final class CassandraExecutor implements Closeable {
             copy.traceQuery = this.traceQuery;
             copy.retryPolicy = this.retryPolicy;
             copy.fetchSize = this.fetchSize;
+            copy.idempotent = this.idempotent;
+            copy.speculativeExecutionDelay = this.speculativeExecutionDelay;
+            copy.maxSpeculativeExecutions = this.maxSpeculativeExecutions;
 
             return copy;
         }
@@ -3814,6 +6210,9 @@ public final class CassandraExecutor implements Closeable {
             h = 31 * h + N.hashCode(traceQuery);
             h = 31 * h + N.hashCode(retryPolicy);
             h = 31 * h + N.hashCode(fetchSize);
+            h = 31 * h + N.hashCode(idempotent);
+            h = 31 * h + N.hashCode(speculativeExecutionDelay);
+            h = 31 * h + N.hashCode(maxSpeculativeExecutions);
 
             return h;
         }
@@ -3833,7 +6232,9 @@ public final class CassandraExecutor implements Closeable {
                 StatementSettings other = (StatementSettings) obj;
 
                 if (N.equals(consistency, other.consistency) && N.equals(serialConsistency, other.serialConsistency) && N.equals(traceQuery, other.traceQuery)
-                        && N.equals(retryPolicy, other.retryPolicy) && N.equals(fetchSize, other.fetchSize)) {
+                        && N.equals(retryPolicy, other.retryPolicy) && N.equals(fetchSize, other.fetchSize) && N.equals(idempotent, other.idempotent)
+                        && N.equals(speculativeExecutionDelay, other.speculativeExecutionDelay)
+                        && N.equals(maxSpeculativeExecutions, other.maxSpeculativeExecutions)) {
 
                     return true;
                 }
@@ -3849,7 +6250,9 @@ public final class CassandraExecutor implements Closeable {
         @Override
         public String toString() {
             return "{" + "consistency=" + N.toString(consistency) + ", " + "serialConsistency=" + N.toString(serialConsistency) + ", " + "traceQuery="
-                    + N.toString(traceQuery) + ", " + "retryPolicy=" + N.toString(retryPolicy) + ", " + "fetchSize=" + N.toString(fetchSize) + "}";
+                    + N.toString(traceQuery) + ", " + "retryPolicy=" + N.toString(retryPolicy) + ", " + "fetchSize=" + N.toString(fetchSize) + ", "
+                    + "idempotent=" + N.toString(idempotent) + ", " + "speculativeExecutionDelay=" + N.toString(speculativeExecutionDelay) + ", "
+                    + "maxSpeculativeExecutions=" + N.toString(maxSpeculativeExecutions) + "}";
         }
     }
 }
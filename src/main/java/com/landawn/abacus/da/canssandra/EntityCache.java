@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import com.google.common.cache.CacheStats;
+import com.landawn.abacus.util.u.Optional;
+
+/**
+ * The cache of the entities read by {@code CassandraExecutor.get/gett} by the full primary key, in front of the database.
+ * The cached entities are invalidated by the {@code insert/update/delete} methods of the same {@code CassandraExecutor}: by the keys of the entities
+ * or ids if they're specified, otherwise all the cached entities of the class. The entities are invalidated after the writes are completed,
+ * and also when the async/bulk writes are submitted.
+ * The writes by other clients, or by the CQL/statements executed directly, are only visible after the cached entities expire.
+ * The cached entities are shared by all the callers, so {@code get/gett} returns the copy of the cached entity created by {@link #copy(Object)}.
+ *
+ * @see LocalEntityCache
+ */
+public interface EntityCache {
+
+    /**
+     * Returns the cached entity, or loads it by {@code loader} if it's not cached. The entity is loaded once for concurrent calls with the same key:
+     * the other callers wait for the loading to complete.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param ids the values of the key properties, converted to the types of the key properties.
+     * @param loader
+     * @return an empty {@code Optional} if there is no record found by the specified ids. The absent result may also be cached.
+     */
+    <T> Optional<T> get(Class<T> targetClass, List<Object> ids, Callable<Optional<T>> loader);
+
+    /**
+     * Invalidates the cached entity. The entity being loaded when it's invalidated, which may be read before the write, must not be cached or returned.
+     *
+     * @param targetClass
+     * @param ids the values of the key properties, converted to the types of the key properties.
+     */
+    void invalidate(Class<?> targetClass, List<Object> ids);
+
+    /**
+     * Invalidates all the cached entities of the specified class, including the ones being loaded.
+     *
+     * @param targetClass
+     */
+    void invalidateAll(Class<?> targetClass);
+
+    /**
+     * Invalidates all the cached entities.
+     */
+    void invalidateAll();
+
+    /**
+     * Copies the cached entity for each {@code get/gett}, so the changes by one caller are not visible to the others.
+     * By default, the entity is copied property by property, including the {@code ByteBuffer}, collections, dates and nested UDT entities, without serialization.
+     * Override it to return the cached entity itself if the entities are only read, or to copy them in a cheaper way.
+     *
+     * @param <T>
+     * @param entity the cached entity, not {@code null}.
+     * @return
+     */
+    default <T> T copy(final T entity) {
+        return EntityCopier.copy(entity);
+    }
+
+    /**
+     * Returns the hit/miss/load/eviction statistics.
+     *
+     * @return
+     */
+    CacheStats stats();
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.datastax.driver.core.TupleValue;
+import com.datastax.driver.core.UDTValue;
+import com.landawn.abacus.DirtyMarker;
+import com.landawn.abacus.core.DirtyMarkerUtil;
+import com.landawn.abacus.parser.ParserUtil;
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.N;
+
+/**
+ * Copies the entities read from Cassandra property by property, without serialization. The mutable values of the Cassandra types are copied:
+ * {@code ByteBuffer}(blob), {@code Date}(timestamp), arrays, {@code List/Set/Map}, {@code UDTValue/TupleValue} and the nested entities mapped from UDT.
+ * The other values, for example: {@code String}, numbers, {@code UUID}, {@code InetAddress} and {@code LocalDate}, are immutable and shared.
+ *
+ */
+final class EntityCopier {
+
+    private EntityCopier() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param entity
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(final T entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        final Class<T> cls = (Class<T>) entity.getClass();
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(cls);
+        final T copy = N.newInstance(cls);
+
+        for (PropInfo propInfo : entityInfo.propInfoList) {
+            propInfo.setPropValue(copy, copyValue(propInfo.getPropValue(entity)));
+        }
+
+        if (copy instanceof DirtyMarker) {
+            DirtyMarkerUtil.markDirty((DirtyMarker) copy, false);
+        }
+
+        return copy;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Object copyValue(final Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof ByteBuffer) {
+            final ByteBuffer bytes = (ByteBuffer) value;
+            final ByteBuffer copy = ByteBuffer.allocate(bytes.remaining());
+            copy.put(bytes.duplicate());
+            copy.flip();
+
+            return copy;
+        } else if (value instanceof Date) {
+            return ((Date) value).clone();
+        } else if (value instanceof List) {
+            return copyElements((Collection<?>) value, new ArrayList<>(((List<?>) value).size()));
+        } else if (value instanceof SortedSet) {
+            return copyElements((Collection<?>) value, new TreeSet<>(((SortedSet) value).comparator()));
+        } else if (value instanceof Set) {
+            return copyElements((Collection<?>) value, new LinkedHashSet<>(N.initHashCapacity(((Set<?>) value).size())));
+        } else if (value instanceof Map) {
+            final Map<Object, Object> copy = value instanceof SortedMap ? new TreeMap<>(((SortedMap) value).comparator())
+                    : new LinkedHashMap<>(N.initHashCapacity(((Map<?, ?>) value).size()));
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+            }
+
+            return copy;
+        } else if (value instanceof UDTValue) {
+            final UDTValue udtValue = (UDTValue) value;
+            final UDTValue copy = udtValue.getType().newValue();
+
+            for (int i = 0, size = udtValue.getType().size(); i < size; i++) {
+                copy.setBytesUnsafe(i, (ByteBuffer) copyValue(udtValue.getBytesUnsafe(i)));
+            }
+
+            return copy;
+        } else if (value instanceof TupleValue) {
+            final TupleValue tupleValue = (TupleValue) value;
+            final TupleValue copy = tupleValue.getType().newValue();
+
+            for (int i = 0, size = tupleValue.getType().getComponentTypes().size(); i < size; i++) {
+                copy.setBytesUnsafe(i, (ByteBuffer) copyValue(tupleValue.getBytesUnsafe(i)));
+            }
+
+            return copy;
+        } else if (value.getClass().isArray()) {
+            final int len = Array.getLength(value);
+            final Object copy = Array.newInstance(value.getClass().getComponentType(), len);
+
+            for (int i = 0; i < len; i++) {
+                Array.set(copy, i, copyValue(Array.get(value, i)));
+            }
+
+            return copy;
+        } else if (ClassUtil.isEntity(value.getClass())) {
+            return copy(value);
+        } else {
+            return value;
+        }
+    }
+
+    private static <C extends Collection<Object>> C copyElements(final Collection<?> c, final C copy) {
+        for (Object element : c) {
+            copy.add(copyValue(element));
+        }
+
+        return copy;
+    }
+}
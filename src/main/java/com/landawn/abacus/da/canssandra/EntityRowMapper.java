@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.landawn.abacus.DirtyMarker;
+import com.landawn.abacus.core.DirtyMarkerUtil;
+import com.landawn.abacus.parser.ParserUtil;
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Objectory;
+import com.landawn.abacus.util.QueryUtil;
+import com.landawn.abacus.util.Tuple;
+import com.landawn.abacus.util.Tuple.Tuple2;
+import com.landawn.abacus.util.WD;
+import com.landawn.abacus.util.function.Function;
+
+/**
+ * Maps {@code Row} to entity or {@code Map} by column index.
+ * The column -> property/typed getter resolution is done only once for each pair of target class and column definitions,
+ * instead of being looked up by column name for each cell.
+ *
+ * @param <T>
+ */
+final class EntityRowMapper<T> implements Function<Row, T> {
+
+    static final int MAX_POOL_SIZE = 1024;
+
+    private static final Map<Tuple2<Class<?>, String>, EntityRowMapper<?>> pool = new ConcurrentHashMap<>();
+
+    private static final int READ_OBJECT = 0;
+    private static final int READ_BOOLEAN = 1;
+    private static final int READ_BYTE = 2;
+    private static final int READ_SHORT = 3;
+    private static final int READ_INT = 4;
+    private static final int READ_LONG = 5;
+    private static final int READ_FLOAT = 6;
+    private static final int READ_DOUBLE = 7;
+    private static final int READ_STRING = 8;
+    private static final int READ_UUID = 9;
+    private static final int READ_TIMESTAMP = 10;
+
+    private final Class<T> targetClass;
+
+    private final boolean isMap;
+
+    private final EntityInfo entityInfo;
+
+    private final boolean isDirtyMarker;
+
+    private final int columnCount;
+
+    private final String[] columnNames;
+
+    private final PropInfo[] propInfos;
+
+    private final int[] readers;
+
+    private final boolean[] nullables;
+
+    private EntityRowMapper(final Class<T> targetClass, final ColumnDefinitions columnDefinitions) {
+        this.targetClass = targetClass;
+        this.isMap = Map.class.isAssignableFrom(targetClass);
+        this.entityInfo = isMap ? null : ParserUtil.getEntityInfo(targetClass);
+        this.isDirtyMarker = isMap ? false : DirtyMarkerUtil.isDirtyMarker(targetClass);
+        this.columnCount = columnDefinitions.size();
+        this.columnNames = new String[columnCount];
+        this.propInfos = new PropInfo[columnCount];
+        this.readers = new int[columnCount];
+        this.nullables = new boolean[columnCount];
+
+        final Map<String, String> column2FieldNameMap = isMap ? null : QueryUtil.getColumn2PropNameMap(targetClass);
+        PropInfo propInfo = null;
+        String fieldName = null;
+
+        for (int i = 0; i < columnCount; i++) {
+            columnNames[i] = columnDefinitions.getName(i);
+
+            if (isMap) {
+                readers[i] = READ_OBJECT;
+                continue;
+            }
+
+            propInfo = entityInfo.getPropInfo(columnNames[i]);
+
+            if (propInfo == null && (fieldName = column2FieldNameMap.get(columnNames[i])) != null) {
+                propInfo = entityInfo.getPropInfo(fieldName);
+            }
+
+            propInfos[i] = propInfo;
+            readers[i] = propInfo == null ? READ_OBJECT : getReader(columnDefinitions.getType(i), propInfo.clazz);
+            nullables[i] = propInfo == null || propInfo.clazz.isPrimitive() == false;
+        }
+    }
+
+    /**
+     * Gets the mapper for the specified target class and column definitions.
+     *
+     * @param <T>
+     * @param targetClass an entity class with getter/setter method or <code>Map.class</code>
+     * @param columnDefinitions
+     * @return
+     */
+    static <T> EntityRowMapper<T> of(final Class<T> targetClass, final ColumnDefinitions columnDefinitions) {
+        final Tuple2<Class<?>, String> key = Tuple.<Class<?>, String> of(targetClass, signatureOf(columnDefinitions));
+        EntityRowMapper<T> mapper = (EntityRowMapper<T>) pool.get(key);
+
+        if (mapper == null) {
+            mapper = new EntityRowMapper<>(targetClass, columnDefinitions);
+
+            if (pool.size() < MAX_POOL_SIZE) {
+                pool.put(key, mapper);
+            }
+        }
+
+        return mapper;
+    }
+
+    /**
+     *
+     * @param columnDefinitions
+     * @return
+     */
+    private static String signatureOf(final ColumnDefinitions columnDefinitions) {
+        final StringBuilder sb = Objectory.createStringBuilder();
+
+        try {
+            for (int i = 0, len = columnDefinitions.size(); i < len; i++) {
+                if (i > 0) {
+                    sb.append(WD._COMMA);
+                }
+
+                sb.append(columnDefinitions.getName(i)).append(WD._SPACE).append(columnDefinitions.getType(i));
+            }
+
+            return sb.toString();
+        } finally {
+            Objectory.recycle(sb);
+        }
+    }
+
+    /**
+     * Typed getter is only used when the value can be set to the property without conversion.
+     *
+     * @param dataType
+     * @param propClass
+     * @return
+     */
+    private static int getReader(final DataType dataType, final Class<?> propClass) {
+        switch (dataType.getName()) {
+            case BOOLEAN:
+                return propClass == boolean.class || propClass == Boolean.class ? READ_BOOLEAN : READ_OBJECT;
+
+            case TINYINT:
+                return propClass == byte.class || propClass == Byte.class ? READ_BYTE : READ_OBJECT;
+
+            case SMALLINT:
+                return propClass == short.class || propClass == Short.class ? READ_SHORT : READ_OBJECT;
+
+            case INT:
+                return propClass == int.class || propClass == Integer.class ? READ_INT : READ_OBJECT;
+
+            case BIGINT:
+            case COUNTER:
+                return propClass == long.class || propClass == Long.class ? READ_LONG : READ_OBJECT;
+
+            case FLOAT:
+                return propClass == float.class || propClass == Float.class ? READ_FLOAT : READ_OBJECT;
+
+            case DOUBLE:
+                return propClass == double.class || propClass == Double.class ? READ_DOUBLE : READ_OBJECT;
+
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+                return propClass == String.class ? READ_STRING : READ_OBJECT;
+
+            case UUID:
+            case TIMEUUID:
+                return propClass == UUID.class ? READ_UUID : READ_OBJECT;
+
+            case TIMESTAMP:
+                return propClass == Date.class ? READ_TIMESTAMP : READ_OBJECT;
+
+            default:
+                return READ_OBJECT;
+        }
+    }
+
+    /**
+     *
+     * @param row
+     * @return
+     */
+    @Override
+    public T apply(final Row row) {
+        return isMap ? toMap(row) : toEntity(row);
+    }
+
+    /**
+     *
+     * @param row
+     * @return
+     */
+    private T toMap(final Row row) {
+        final Map<String, Object> map = (Map<String, Object>) N.newInstance(targetClass);
+        Object propValue = null;
+
+        for (int i = 0; i < columnCount; i++) {
+            propValue = row.getObject(i);
+
+            if (propValue instanceof Row) {
+                map.put(columnNames[i], CassandraExecutor.toEntity(Map.class, (Row) propValue));
+            } else {
+                map.put(columnNames[i], propValue);
+            }
+        }
+
+        return (T) map;
+    }
+
+    /**
+     *
+     * @param row
+     * @return
+     */
+    private T toEntity(final Row row) {
+        final T entity = N.newInstance(targetClass);
+        PropInfo propInfo = null;
+        Object propValue = null;
+
+        for (int i = 0; i < columnCount; i++) {
+            propInfo = propInfos[i];
+
+            if (propInfo == null) {
+                if (columnNames[i].indexOf(WD._PERIOD) > 0) {
+                    entityInfo.setPropValue(entity, columnNames[i], row.getObject(i), true);
+                }
+
+                continue;
+            }
+
+            if (nullables[i] && readers[i] != READ_OBJECT && row.isNull(i)) {
+                propInfo.setPropValue(entity, null);
+                continue;
+            }
+
+            switch (readers[i]) {
+                case READ_BOOLEAN:
+                    propInfo.setPropValue(entity, row.getBool(i));
+                    break;
+
+                case READ_BYTE:
+                    propInfo.setPropValue(entity, row.getByte(i));
+                    break;
+
+                case READ_SHORT:
+                    propInfo.setPropValue(entity, row.getShort(i));
+                    break;
+
+                case READ_INT:
+                    propInfo.setPropValue(entity, row.getInt(i));
+                    break;
+
+                case READ_LONG:
+                    propInfo.setPropValue(entity, row.getLong(i));
+                    break;
+
+                case READ_FLOAT:
+                    propInfo.setPropValue(entity, row.getFloat(i));
+                    break;
+
+                case READ_DOUBLE:
+                    propInfo.setPropValue(entity, row.getDouble(i));
+                    break;
+
+                case READ_STRING:
+                    propInfo.setPropValue(entity, row.getString(i));
+                    break;
+
+                case READ_UUID:
+                    propInfo.setPropValue(entity, row.getUUID(i));
+                    break;
+
+                case READ_TIMESTAMP:
+                    propInfo.setPropValue(entity, row.getTimestamp(i));
+                    break;
+
+                default:
+                    propValue = row.getObject(i);
+
+                    if (propValue instanceof Row && propInfo.clazz.isAssignableFrom(Row.class) == false) {
+                        if (Map.class.isAssignableFrom(propInfo.clazz) || ClassUtil.isEntity(propInfo.clazz)) {
+                            propInfo.setPropValue(entity, CassandraExecutor.toEntity(propInfo.clazz, (Row) propValue));
+                        } else {
+                            propInfo.setPropValue(entity, N.valueOf(propInfo.clazz, N.stringOf(CassandraExecutor.toEntity(Map.class, (Row) propValue))));
+                        }
+                    } else {
+                        propInfo.setPropValue(entity, propValue);
+                    }
+            }
+        }
+
+        if (isDirtyMarker) {
+            DirtyMarkerUtil.markDirty((DirtyMarker) entity, false);
+        }
+
+        return entity;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.UserType;
+import com.datastax.driver.core.exceptions.CodecNotFoundException;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.TypeToken;
+import com.landawn.abacus.DirtyMarker;
+import com.landawn.abacus.core.DirtyMarkerUtil;
+import com.landawn.abacus.parser.ParserUtil;
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.QueryUtil;
+
+/**
+ * The codec between a user defined type and an entity class, generated from the metadata of the user type.
+ * The field -> property and field codec bindings are resolved once when the codec is created. The entity is encoded/decoded
+ * field by field directly from/to the {@code ByteBuffer} in the format of UDT, without intermediate {@code UDTValue}.
+ *
+ * <pre>
+ * <code>
+ *     codecRegistry.register(EntityUDTCodec.of(cluster, "simplex", "address", Address.class));
+ * </code>
+ * </pre>
+ *
+ * A field is mapped to the property with the same name (case insensitive) or column name. The fields without property are written as {@code null}.
+ * The field codec is looked up in the {@code CodecRegistry} by the field type and property class. The nested user types mapped to entity classes are generated
+ * recursively, otherwise the default codec of the field type is used and the values are converted by {@code N.convert}.
+ *
+ * @param <T>
+ * @see CassandraExecutor.UDTCodec
+ */
+public final class EntityUDTCodec<T> extends TypeCodec<T> {
+
+    private final Class<T> javaType;
+
+    private final boolean isDirtyMarker;
+
+    private final int fieldCount;
+
+    private final PropInfo[] propInfos;
+
+    private final TypeCodec<Object>[] codecs;
+
+    /** The classes to convert the values to, before encoding, if the codec of the field doesn't accept the property class. */
+    private final Class<?>[] codecJavaTypes;
+
+    @SuppressWarnings("unchecked")
+    EntityUDTCodec(final UserType userType, final Class<T> javaType, final CodecRegistry codecRegistry) {
+        super(userType, javaType);
+
+        N.checkArgument(ClassUtil.isEntity(javaType), "%s is not an entity class with getter/setter methods", javaType);
+
+        this.javaType = javaType;
+        this.isDirtyMarker = DirtyMarkerUtil.isDirtyMarker(javaType);
+        this.fieldCount = userType.size();
+        this.propInfos = new PropInfo[fieldCount];
+        this.codecs = new TypeCodec[fieldCount];
+        this.codecJavaTypes = new Class<?>[fieldCount];
+
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(javaType);
+        final Map<String, String> column2FieldNameMap = QueryUtil.getColumn2PropNameMap(javaType);
+        int i = 0;
+        String fieldName = null;
+        PropInfo propInfo = null;
+
+        for (UserType.Field field : userType) {
+            propInfo = entityInfo.getPropInfo(field.getName());
+
+            if (propInfo == null && (fieldName = column2FieldNameMap.get(field.getName())) != null) {
+                propInfo = entityInfo.getPropInfo(fieldName);
+            }
+
+            propInfos[i] = propInfo;
+
+            if (propInfo != null) {
+                codecs[i] = (TypeCodec<Object>) codecFor(field.getType(), propInfo.clazz, codecRegistry);
+
+                final Class<?> codecJavaType = codecs[i].getJavaType().getRawType();
+
+                codecJavaTypes[i] = codecJavaType.isAssignableFrom(Primitives.wrap(propInfo.clazz)) ? null : codecJavaType;
+            }
+
+            i++;
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param cluster
+     * @param keySpace
+     * @param userType
+     * @param javaType an entity class with getter/setter methods.
+     * @return
+     */
+    public static <T> EntityUDTCodec<T> of(final Cluster cluster, final String keySpace, final String userType, final Class<T> javaType) {
+        return of(cluster.getMetadata().getKeyspace(keySpace).getUserType(userType), javaType, cluster.getConfiguration().getCodecRegistry());
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param userType
+     * @param javaType an entity class with getter/setter methods.
+     * @param codecRegistry to look up the codecs of the fields.
+     * @return
+     */
+    public static <T> EntityUDTCodec<T> of(final UserType userType, final Class<T> javaType, final CodecRegistry codecRegistry) {
+        N.checkArgNotNull(userType, "userType");
+        N.checkArgNotNull(javaType, "javaType");
+        N.checkArgNotNull(codecRegistry, "codecRegistry");
+
+        return new EntityUDTCodec<>(userType, javaType, codecRegistry);
+    }
+
+    /**
+     *
+     * @param fieldType
+     * @param propClass
+     * @param codecRegistry
+     * @return
+     */
+    private static TypeCodec<?> codecFor(final DataType fieldType, final Class<?> propClass, final CodecRegistry codecRegistry) {
+        try {
+            return codecRegistry.codecFor(fieldType, TypeToken.of(Primitives.wrap(propClass)));
+        } catch (CodecNotFoundException e) {
+            if (fieldType instanceof UserType && ClassUtil.isEntity(propClass)) {
+                return new EntityUDTCodec<>((UserType) fieldType, propClass, codecRegistry);
+            }
+
+            return codecRegistry.codecFor(fieldType);
+        }
+    }
+
+    /**
+     * The fields are written in the order of the user type: the length of the field value in an {@code int} ({@code -1} for {@code null}),
+     * followed by the bytes of the field value.
+     *
+     * @param value
+     * @param protocolVersion
+     * @return
+     * @throws InvalidTypeException
+     */
+    @Override
+    public ByteBuffer serialize(final T value, final ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (value == null) {
+            return null;
+        }
+
+        final ByteBuffer[] elements = new ByteBuffer[fieldCount];
+        int size = 0;
+        Object propValue = null;
+
+        for (int i = 0; i < fieldCount; i++) {
+            if (propInfos[i] != null && (propValue = propInfos[i].getPropValue(value)) != null) {
+                elements[i] = codecs[i].serialize(codecJavaTypes[i] == null ? propValue : N.convert(propValue, codecJavaTypes[i]), protocolVersion);
+            }
+
+            size += 4 + (elements[i] == null ? 0 : elements[i].remaining());
+        }
+
+        final ByteBuffer result = ByteBuffer.allocate(size);
+
+        for (ByteBuffer element : elements) {
+            if (element == null) {
+                result.putInt(-1);
+            } else {
+                result.putInt(element.remaining());
+                result.put(element.duplicate());
+            }
+        }
+
+        result.flip();
+
+        return result;
+    }
+
+    /**
+     * The fields missing at the end of the bytes, added to the user type after the value is written, are {@code null}.
+     *
+     * @param bytes
+     * @param protocolVersion
+     * @return
+     * @throws InvalidTypeException
+     */
+    @Override
+    public T deserialize(final ByteBuffer bytes, final ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (bytes == null || bytes.remaining() == 0) {
+            return null;
+        }
+
+        final ByteBuffer input = bytes.duplicate();
+        final T entity = N.newInstance(javaType);
+        Object propValue = null;
+
+        try {
+            for (int i = 0, size = 0; i < fieldCount && input.hasRemaining(); i++) {
+                size = input.getInt();
+
+                if (size < 0) {
+                    continue;
+                }
+
+                if (propInfos[i] != null) {
+                    final ByteBuffer element = input.slice();
+                    element.limit(size);
+
+                    if ((propValue = codecs[i].deserialize(element, protocolVersion)) != null) {
+                        propInfos[i].setPropValue(entity, codecJavaTypes[i] == null ? propValue : N.convert(propValue, propInfos[i].clazz));
+                    }
+                }
+
+                input.position(input.position() + size);
+            }
+        } catch (RuntimeException e) {
+            if (e instanceof InvalidTypeException) {
+                throw e;
+            }
+
+            throw new InvalidTypeException("Failed to deserialize the value of user type " + getCqlType() + " to " + ClassUtil.getCanonicalClassName(javaType),
+                    e);
+        }
+
+        if (isDirtyMarker) {
+            DirtyMarkerUtil.markDirty((DirtyMarker) entity, false);
+        }
+
+        return entity;
+    }
+
+    /**
+     *
+     * @param value
+     * @return
+     * @throws InvalidTypeException
+     */
+    @Override
+    public T parse(final String value) throws InvalidTypeException {
+        return N.isNullOrEmpty(value) ? null : N.fromJSON(javaType, value);
+    }
+
+    /**
+     *
+     * @param value
+     * @return
+     * @throws InvalidTypeException
+     */
+    @Override
+    public String format(final T value) throws InvalidTypeException {
+        return value == null ? null : N.toJSON(value);
+    }
+}
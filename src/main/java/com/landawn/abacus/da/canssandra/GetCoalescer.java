@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.landawn.abacus.condition.And;
+import com.landawn.abacus.condition.ConditionFactory.CF;
+import com.landawn.abacus.exception.DuplicatedResultException;
+import com.landawn.abacus.parser.ParserUtil;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.ContinuableFuture;
+import com.landawn.abacus.util.ImmutableList;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.u.Optional;
+
+/**
+ * Coalesces the concurrent gets by primary key of the same entity class: the requests received within {@code maxDelay} milliseconds,
+ * or up to {@code maxBatchSize} requests, are executed together:
+ * <li>The requests for the same key share one read. Each of them gets its own copy of the entity.</li>
+ * <li>The keys in the same partition, which only differ in the last (clustering) key column, are read by one {@code IN} query.</li>
+ * <li>The other keys are read by concurrent async queries, routed to the replicas by the token-aware policy of the driver.</li>
+ * <br />
+ * The rows are mapped to entities and the results are dispatched to the futures returned to the callers by the executor of {@code CassandraExecutor},
+ * not the I/O threads of the driver.
+ *
+ * @param <T>
+ * @see CassandraExecutor#newGetCoalescer(Class, int, long)
+ */
+public final class GetCoalescer<T> {
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "cassandra-get-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final CassandraExecutor cassandraExecutor;
+
+    private final Class<T> targetClass;
+
+    private final ImmutableList<String> keyNames;
+
+    private final PropInfo[] keyPropInfos;
+
+    /** Maps the rows and completes the futures. */
+    private final Executor callbackExecutor;
+
+    /** The count of partition key columns if the keys can be read by {@code IN} on the last key column, otherwise 0. */
+    private final int partitionKeyCount;
+
+    /** The column name of the last key, to resolve which keys the rows read by {@code IN} belong to. */
+    private final String lastKeyColumnName;
+
+    private final int maxBatchSize;
+
+    private final long maxDelay;
+
+    private List<Request<T>> pendingRequests;
+
+    GetCoalescer(final CassandraExecutor cassandraExecutor, final Class<T> targetClass, final int maxBatchSize, final long maxDelay) {
+        this.cassandraExecutor = cassandraExecutor;
+        this.targetClass = targetClass;
+        this.keyNames = CassandraExecutor.getKeyNames(targetClass);
+        this.keyPropInfos = new PropInfo[keyNames.size()];
+        this.callbackExecutor = cassandraExecutor.executor();
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+
+        for (int i = 0, len = keyNames.size(); i < len; i++) {
+            keyPropInfos[i] = ParserUtil.getEntityInfo(targetClass).getPropInfo(keyNames.get(i));
+        }
+
+        // the key names must be the partition key columns, in the same order, followed by one clustering column.
+        final List<String> partitionKeyPropNames = cassandraExecutor.getPartitionKeyPropNames(targetClass);
+        final int tmp = partitionKeyPropNames.size();
+
+        this.partitionKeyCount = tmp > 0 && tmp == keyNames.size() - 1 && keyNames.subList(0, tmp).equals(partitionKeyPropNames) ? tmp : 0;
+        this.lastKeyColumnName = partitionKeyCount > 0 ? cassandraExecutor.getColumnName(targetClass, keyNames.get(partitionKeyCount)) : null;
+    }
+
+    /**
+     *
+     * @param ids the values of all the key columns, in the order of the key names of the target class.
+     * @return
+     */
+    public ContinuableFuture<Optional<T>> get(final Object... ids) {
+        N.checkArgNotNullOrEmpty(ids, "ids");
+        N.checkArgument(ids.length == keyNames.size(), "The number: %s of input ids doesn't match the key names: %s", ids.length, keyNames);
+
+        final Object[] keyValues = new Object[ids.length];
+
+        for (int i = 0, len = ids.length; i < len; i++) {
+            keyValues[i] = keyPropInfos[i] == null ? ids[i] : N.convert(ids[i], keyPropInfos[i].clazz);
+        }
+
+        final Request<T> request = new Request<>(keyValues);
+        List<Request<T>> batch = null;
+
+        synchronized (this) {
+            if (pendingRequests == null) {
+                pendingRequests = new ArrayList<>(maxBatchSize);
+
+                final List<Request<T>> requests = pendingRequests;
+
+                scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        flushIfPending(requests);
+                    }
+                }, maxDelay, TimeUnit.MILLISECONDS);
+            }
+
+            pendingRequests.add(request);
+
+            if (pendingRequests.size() >= maxBatchSize) {
+                batch = pendingRequests;
+                pendingRequests = null;
+            }
+        }
+
+        if (batch != null) {
+            flush(batch);
+        }
+
+        return ContinuableFuture.wrap(request.future);
+    }
+
+    /**
+     * Called by the scheduler after the delay. The batch may have been flushed by the caller who filled it up.
+     *
+     * @param batch
+     */
+    private void flushIfPending(final List<Request<T>> batch) {
+        synchronized (this) {
+            if (pendingRequests != batch) {
+                return;
+            }
+
+            pendingRequests = null;
+        }
+
+        flush(batch);
+    }
+
+    private void flush(final List<Request<T>> batch) {
+        final Map<List<Object>, List<Request<T>>> requestMap = new LinkedHashMap<>();
+
+        for (Request<T> request : batch) {
+            List<Request<T>> requests = requestMap.get(request.key);
+
+            if (requests == null) {
+                requests = new ArrayList<>(1);
+                requestMap.put(request.key, requests);
+            }
+
+            requests.add(request);
+        }
+
+        if (partitionKeyCount > 0) {
+            final Map<List<Object>, List<List<Object>>> partitions = new LinkedHashMap<>();
+
+            for (List<Object> key : requestMap.keySet()) {
+                final List<Object> partitionKey = key.subList(0, partitionKeyCount);
+                List<List<Object>> keys = partitions.get(partitionKey);
+
+                if (keys == null) {
+                    keys = new ArrayList<>(1);
+                    partitions.put(partitionKey, keys);
+                }
+
+                keys.add(key);
+            }
+
+            for (Map.Entry<List<Object>, List<List<Object>>> entry : partitions.entrySet()) {
+                if (entry.getValue().size() == 1) {
+                    read(entry.getValue().get(0), requestMap);
+                } else {
+                    readByIn(entry.getKey(), entry.getValue(), requestMap);
+                }
+            }
+        } else {
+            for (List<Object> key : requestMap.keySet()) {
+                read(key, requestMap);
+            }
+        }
+    }
+
+    private void read(final List<Object> key, final Map<List<Object>, List<Request<T>>> requestMap) {
+        final List<Request<T>> requests = requestMap.get(key);
+
+        try {
+            final Statement stmt = cassandraExecutor.prepareGetStatement(targetClass, null, key.toArray());
+
+            Futures.addCallback(cassandraExecutor.doExecuteAsync(stmt), new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(final ResultSet resultSet) {
+                    try {
+                        final Row row = resultSet.one();
+
+                        if (row != null && resultSet.getAvailableWithoutFetching() > 0) {
+                            completeExceptionally(requests, new DuplicatedResultException());
+                        } else {
+                            complete(requests, row == null ? null : CassandraExecutor.toEntity(targetClass, row));
+                        }
+                    } catch (Throwable e) {
+                        // otherwise the error is swallowed by the callback executor, and the callers wait forever.
+                        completeExceptionally(requests, e);
+                    }
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    completeExceptionally(requests, t);
+                }
+            }, callbackExecutor);
+        } catch (Throwable e) {
+            completeExceptionally(requests, e);
+        }
+    }
+
+    private void readByIn(final List<Object> partitionKey, final List<List<Object>> keys, final Map<List<Object>, List<Request<T>>> requestMap) {
+        final String lastKeyName = keyNames.get(partitionKeyCount);
+        final PropInfo lastKeyPropInfo = keyPropInfos[partitionKeyCount];
+        final String lastKeyColumnName = this.lastKeyColumnName;
+        final Map<Object, List<Request<T>>> lastKeyRequestMap = new HashMap<>(N.initHashCapacity(keys.size()));
+        final List<Object> lastKeyValues = new ArrayList<>(keys.size());
+
+        for (List<Object> key : keys) {
+            lastKeyValues.add(key.get(partitionKeyCount));
+            lastKeyRequestMap.put(key.get(partitionKeyCount), requestMap.get(key));
+        }
+
+        try {
+            final And and = new And();
+
+            for (int i = 0; i < partitionKeyCount; i++) {
+                and.add(CF.eq(keyNames.get(i), partitionKey.get(i)));
+            }
+
+            and.add(CF.in(lastKeyName, lastKeyValues));
+
+            final Statement stmt = cassandraExecutor.prepareQueryStatement(targetClass, and);
+
+            // at most one row for each key, so all the rows are in the first page.
+            stmt.setFetchSize(Math.max(stmt.getFetchSize(), keys.size() + 1));
+
+            Futures.addCallback(cassandraExecutor.doExecuteAsync(stmt), new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(final ResultSet resultSet) {
+                    try {
+                        Row row = null;
+                        Object lastKeyValue = null;
+                        List<Request<T>> requests = null;
+
+                        for (int i = 0, len = resultSet.getAvailableWithoutFetching(); i < len; i++) {
+                            row = resultSet.one();
+                            // resolved from the row by column name, the last key may not be a property of the entity.
+                            lastKeyValue = row.getObject(lastKeyColumnName);
+                            requests = removeRequests(lastKeyRequestMap, lastKeyPropInfo, lastKeyValue);
+
+                            if (requests != null) {
+                                complete(requests, CassandraExecutor.toEntity(targetClass, row));
+                            }
+                        }
+
+                        for (List<Request<T>> notFound : lastKeyRequestMap.values()) {
+                            complete(notFound, null);
+                        }
+                    } catch (Throwable e) {
+                        // otherwise the error is swallowed by the callback executor, and the callers wait forever. The completed requests are not changed.
+                        for (List<Request<T>> requests : lastKeyRequestMap.values()) {
+                            completeExceptionally(requests, e);
+                        }
+                    }
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    for (List<Request<T>> requests : lastKeyRequestMap.values()) {
+                        completeExceptionally(requests, t);
+                    }
+                }
+            }, callbackExecutor);
+        } catch (Throwable e) {
+            for (List<Request<T>> requests : lastKeyRequestMap.values()) {
+                completeExceptionally(requests, e);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param lastKeyRequestMap
+     * @param lastKeyPropInfo
+     * @param lastKeyValue the value read from the row.
+     * @return
+     */
+    private static <T> List<Request<T>> removeRequests(final Map<Object, List<Request<T>>> lastKeyRequestMap, final PropInfo lastKeyPropInfo,
+            final Object lastKeyValue) {
+        if (lastKeyValue == null) {
+            return null;
+        } else if (lastKeyPropInfo != null) {
+            // the key values of the requests are converted to the type of the key property.
+            return lastKeyRequestMap.remove(N.convert(lastKeyValue, lastKeyPropInfo.clazz));
+        }
+
+        List<Request<T>> requests = lastKeyRequestMap.remove(lastKeyValue);
+
+        if (requests == null) {
+            // the key values of the requests are not converted if the last key is not a property of the entity.
+            for (Object key : lastKeyRequestMap.keySet()) {
+                if (key != null && N.equals(N.convert(key, lastKeyValue.getClass()), lastKeyValue)) {
+                    requests = lastKeyRequestMap.remove(key);
+                    break;
+                }
+            }
+        }
+
+        return requests;
+    }
+
+    /**
+     * The requests for the same key share one read, but each of them gets its own entity: the first one gets the entity mapped from the row,
+     * and the others get copies, so the changes by one caller are not visible to the others.
+     *
+     * @param <T>
+     * @param requests
+     * @param entity
+     */
+    private static <T> void complete(final List<Request<T>> requests, final T entity) {
+        for (int i = 0, size = requests.size(); i < size; i++) {
+            requests.get(i).future.set(Optional.ofNullable(i == 0 || entity == null ? entity : EntityCopier.copy(entity)));
+        }
+    }
+
+    private static <T> void completeExceptionally(final List<Request<T>> requests, final Throwable e) {
+        for (Request<T> request : requests) {
+            request.future.setException(e);
+        }
+    }
+
+    private static final class Request<T> {
+        private final List<Object> key;
+
+        private final SettableFuture<Optional<T>> future = SettableFuture.create();
+
+        Request(final Object[] keyValues) {
+            this.key = Arrays.asList(keyValues);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * Records the metrics received by {@code MetricsListener} in memory: a histogram of the elapsed time for each phase of each statement template,
+ * and the counts of rows mapped, pages fetched and statement cache hits/misses. The metrics can be read by {@link #snapshot()}, or by JMX
+ * after {@link #registerMBean(String)} is called.
+ * <br />
+ * At most {@code maxQueryCount} statement templates are recorded separately. The metrics of the other statements are aggregated in {@link #OTHERS}.
+ *
+ */
+public final class InMemoryMetrics implements MetricsListener, InMemoryMetrics.InMemoryMetricsMXBean {
+
+    /** The key of the aggregated metrics for the statements after {@code maxQueryCount} statements are recorded. */
+    public static final String OTHERS = "<others>";
+
+    public static final int DEFAULT_MAX_QUERY_COUNT = 1000;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final Map<String, QueryMetrics> queryMetricsMap = new ConcurrentHashMap<>();
+
+    private final int maxQueryCount;
+
+    public InMemoryMetrics() {
+        this(DEFAULT_MAX_QUERY_COUNT);
+    }
+
+    /**
+     *
+     * @param maxQueryCount the max number of statement templates recorded separately.
+     */
+    public InMemoryMetrics(final int maxQueryCount) {
+        N.checkArgPositive(maxQueryCount, "maxQueryCount");
+
+        this.maxQueryCount = maxQueryCount;
+    }
+
+    @Override
+    public void onPhase(final String cql, final Phase phase, final long elapsedTime) {
+        getQueryMetrics(cql).getHistogram(phase).record(elapsedTime);
+    }
+
+    @Override
+    public void onRowsMapped(final String cql, final int rowCount) {
+        getQueryMetrics(cql).rowCount.add(rowCount);
+    }
+
+    @Override
+    public void onPageFetched(final String cql) {
+        getQueryMetrics(cql).pageCount.increment();
+    }
+
+    @Override
+    public void onStatementCacheAccess(final String cql, final boolean hit) {
+        if (hit) {
+            getQueryMetrics(cql).cacheHitCount.increment();
+        } else {
+            getQueryMetrics(cql).cacheMissCount.increment();
+        }
+    }
+
+    private QueryMetrics getQueryMetrics(final String cql) {
+        final String key = cql == null ? OTHERS : cql;
+        QueryMetrics queryMetrics = queryMetricsMap.get(key);
+
+        if (queryMetrics == null) {
+            if (queryMetricsMap.size() >= maxQueryCount && !OTHERS.equals(key)) {
+                return getQueryMetrics(OTHERS);
+            }
+
+            queryMetrics = queryMetricsMap.computeIfAbsent(key, k -> new QueryMetrics());
+        }
+
+        return queryMetrics;
+    }
+
+    /**
+     * Returns the metrics of the recorded statements, sorted by the total execution time, from the highest to the lowest.
+     *
+     * @return
+     */
+    public List<QueryStats> snapshot() {
+        final List<QueryStats> result = new ArrayList<>(queryMetricsMap.size());
+
+        for (Map.Entry<String, QueryMetrics> entry : queryMetricsMap.entrySet()) {
+            result.add(entry.getValue().toStats(entry.getKey()));
+        }
+
+        Collections.sort(result, new Comparator<QueryStats>() {
+            @Override
+            public int compare(final QueryStats a, final QueryStats b) {
+                return Double.compare(b.getTotalExecutionMillis(), a.getTotalExecutionMillis());
+            }
+        });
+
+        return result;
+    }
+
+    @Override
+    public List<QueryStats> getQueryStats() {
+        return snapshot();
+    }
+
+    @Override
+    public int getQueryCount() {
+        return queryMetricsMap.size();
+    }
+
+    @Override
+    public long getStatementCacheHitCount() {
+        long sum = 0;
+
+        for (QueryMetrics queryMetrics : queryMetricsMap.values()) {
+            sum += queryMetrics.cacheHitCount.sum();
+        }
+
+        return sum;
+    }
+
+    @Override
+    public long getStatementCacheMissCount() {
+        long sum = 0;
+
+        for (QueryMetrics queryMetrics : queryMetricsMap.values()) {
+            sum += queryMetrics.cacheMissCount.sum();
+        }
+
+        return sum;
+    }
+
+    @Override
+    public void reset() {
+        queryMetricsMap.clear();
+    }
+
+    /**
+     * Registers this instance to the platform {@code MBeanServer} with name: {@code com.landawn.abacus.da.canssandra:type=InMemoryMetrics,name=...}.
+     *
+     * @param name
+     * @return
+     */
+    public ObjectName registerMBean(final String name) {
+        try {
+            final ObjectName objectName = new ObjectName("com.landawn.abacus.da.canssandra:type=InMemoryMetrics,name=" + ObjectName.quote(name));
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+            return objectName;
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to register MBean: " + name, e);
+        }
+    }
+
+    /**
+     *
+     * @param objectName returned by {@link #registerMBean(String)}.
+     */
+    public void unregisterMBean(final ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to unregister MBean: " + objectName, e);
+        }
+    }
+
+    /**
+     * The management interface exposed by JMX.
+     */
+    public static interface InMemoryMetricsMXBean {
+
+        List<QueryStats> getQueryStats();
+
+        int getQueryCount();
+
+        long getStatementCacheHitCount();
+
+        long getStatementCacheMissCount();
+
+        void reset();
+    }
+
+    private static final class QueryMetrics {
+        /** The histograms of phases are created on first use: the statements are only built/parsed/prepared once if they're cached. */
+        private final AtomicReferenceArray<LatencyHistogram> histograms = new AtomicReferenceArray<>(PHASES.length);
+
+        private final LongAdder rowCount = new LongAdder();
+
+        private final LongAdder pageCount = new LongAdder();
+
+        private final LongAdder cacheHitCount = new LongAdder();
+
+        private final LongAdder cacheMissCount = new LongAdder();
+
+        LatencyHistogram getHistogram(final Phase phase) {
+            LatencyHistogram histogram = histograms.get(phase.ordinal());
+
+            if (histogram == null) {
+                histograms.compareAndSet(phase.ordinal(), null, new LatencyHistogram());
+                histogram = histograms.get(phase.ordinal());
+            }
+
+            return histogram;
+        }
+
+        QueryStats toStats(final String cql) {
+            final List<PhaseStats> phaseStats = new ArrayList<>(PHASES.length);
+            LatencyHistogram histogram = null;
+
+            for (Phase phase : PHASES) {
+                if ((histogram = histograms.get(phase.ordinal())) != null) {
+                    phaseStats.add(new PhaseStats(phase.name(), histogram.count(), histogram.mean() / 1000_000, histogram.percentile(50) / 1000_000d,
+                            histogram.percentile(99) / 1000_000d, histogram.max() / 1000_000d));
+                }
+            }
+
+            return new QueryStats(cql, rowCount.sum(), pageCount.sum(), cacheHitCount.sum(), cacheMissCount.sum(), phaseStats);
+        }
+    }
+
+    /**
+     * The metrics of a statement template.
+     */
+    public static final class QueryStats {
+
+        private final String cql;
+
+        private final long rowCount;
+
+        private final long pageCount;
+
+        private final long cacheHitCount;
+
+        private final long cacheMissCount;
+
+        private final List<PhaseStats> phaseStats;
+
+        QueryStats(final String cql, final long rowCount, final long pageCount, final long cacheHitCount, final long cacheMissCount,
+                final List<PhaseStats> phaseStats) {
+            this.cql = cql;
+            this.rowCount = rowCount;
+            this.pageCount = pageCount;
+            this.cacheHitCount = cacheHitCount;
+            this.cacheMissCount = cacheMissCount;
+            this.phaseStats = phaseStats;
+        }
+
+        public String getCql() {
+            return cql;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public long getPageCount() {
+            return pageCount;
+        }
+
+        public long getCacheHitCount() {
+            return cacheHitCount;
+        }
+
+        public long getCacheMissCount() {
+            return cacheMissCount;
+        }
+
+        /**
+         *
+         * @return the stats of the phases recorded.
+         */
+        public List<PhaseStats> getPhaseStats() {
+            return phaseStats;
+        }
+
+        /**
+         *
+         * @return the number of executions multiplied by the mean execution time.
+         */
+        public double getTotalExecutionMillis() {
+            for (PhaseStats e : phaseStats) {
+                if (Phase.EXECUTE.name().equals(e.getPhase())) {
+                    return e.getCount() * e.getMeanMillis();
+                }
+            }
+
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "{cql=" + cql + ", rowCount=" + rowCount + ", pageCount=" + pageCount + ", cacheHitCount=" + cacheHitCount + ", cacheMissCount="
+                    + cacheMissCount + ", phaseStats=" + phaseStats + "}";
+        }
+    }
+
+    /**
+     * The elapsed time of a phase, in milliseconds.
+     */
+    public static final class PhaseStats {
+
+        private final String phase;
+
+        private final long count;
+
+        private final double meanMillis;
+
+        private final double p50Millis;
+
+        private final double p99Millis;
+
+        private final double maxMillis;
+
+        PhaseStats(final String phase, final long count, final double meanMillis, final double p50Millis, final double p99Millis, final double maxMillis) {
+            this.phase = phase;
+            this.count = count;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "{phase=" + phase + ", count=" + count + ", mean=" + String.format("%.3f", meanMillis) + ", p50=" + String.format("%.3f", p50Millis)
+                    + ", p99=" + String.format("%.3f", p99Millis) + ", max=" + String.format("%.3f", maxMillis) + "}";
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram with log-linear buckets, like HdrHistogram: values are grouped by their highest bit and then linearly by the next 5 bits,
+ * so the recorded value is accurate within about 3% and the memory used is fixed, no matter how many values are recorded.
+ *
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = Long.SIZE - SUB_BUCKET_BITS + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT * SUB_BUCKET_COUNT);
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final LongAdder totalValue = new LongAdder();
+
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     *
+     * @param value negative value is recorded as 0.
+     */
+    void record(final long value) {
+        final long v = value < 0 ? 0 : value;
+
+        counts.incrementAndGet(indexOf(v));
+        totalCount.increment();
+        totalValue.add(v);
+
+        long max = maxValue.get();
+
+        while (v > max && maxValue.compareAndSet(max, v) == false) {
+            max = maxValue.get();
+        }
+    }
+
+    long count() {
+        return totalCount.sum();
+    }
+
+    long max() {
+        return maxValue.get();
+    }
+
+    double mean() {
+        final long count = totalCount.sum();
+
+        return count == 0 ? 0 : ((double) totalValue.sum()) / count;
+    }
+
+    /**
+     *
+     * @param percentile from 0 to 100.
+     * @return the highest value in the bucket where the percentile falls in, or 0 if no value is recorded.
+     */
+    long percentile(final double percentile) {
+        final long count = totalCount.sum();
+
+        if (count == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long sum = 0;
+
+        for (int i = 0, len = counts.length(); i < len; i++) {
+            sum += counts.get(i);
+
+            if (sum >= target) {
+                return Math.min(highestValueOf(i), maxValue.get());
+            }
+        }
+
+        return maxValue.get();
+    }
+
+    void reset() {
+        for (int i = 0, len = counts.length(); i < len; i++) {
+            counts.set(i, 0);
+        }
+
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.set(0);
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    static long highestValueOf(final int index) {
+        final int bucket = index / SUB_BUCKET_COUNT;
+        final int subBucket = index % SUB_BUCKET_COUNT;
+
+        if (bucket == 0) {
+            return subBucket;
+        }
+
+        final long highestValue = ((long) (subBucket + SUB_BUCKET_COUNT + 1) << (bucket - 1)) - 1;
+
+        return highestValue < 0 ? Long.MAX_VALUE : highestValue;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Tuple;
+import com.landawn.abacus.util.Tuple.Tuple2;
+import com.landawn.abacus.util.u.Optional;
+
+/**
+ * An {@code EntityCache} in local memory, bounded by size and expired after the specified time to live since the entity is loaded.
+ * Concurrent loading of the same key is executed once by {@code Cache.get(key, loader)} of Guava.
+ * <br />
+ * {@code Cache.invalidate} of Guava doesn't stop the loading in progress, which may have read the record before the write and store it after the invalidation.
+ * So each cached entity is stamped with the generation of its key when the loading starts, the generation is increased by the invalidation,
+ * and the entity loaded with an older generation is dropped instead of being returned.
+ *
+ */
+public final class LocalEntityCache implements EntityCache {
+
+    /** The generations of the keys are striped by the hash of the keys, so the memory is bounded. An invalidation may drop the entities of other keys in the same stripe. */
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Tuple2<Class<?>, List<Object>>, Entry> cache;
+
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final Map<Class<?>, AtomicLong> classGenerations = new ConcurrentHashMap<>();
+
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    /**
+     *
+     * @param maximumSize the max number of cached entities.
+     * @param timeToLive in milliseconds, since the entity is loaded.
+     */
+    public LocalEntityCache(final long maximumSize, final long timeToLive) {
+        this(CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     *
+     * @param cacheBuilder to configure the eviction, for example: {@code maximumWeight/expireAfterAccess/softValues}. Statistics are always recorded.
+     */
+    public LocalEntityCache(final CacheBuilder<Object, Object> cacheBuilder) {
+        N.checkArgNotNull(cacheBuilder, "cacheBuilder");
+
+        this.cache = cacheBuilder.recordStats().build();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<T> get(final Class<T> targetClass, final List<Object> ids, final Callable<Optional<T>> loader) {
+        final Tuple2<Class<?>, List<Object>> key = Tuple.<Class<?>, List<Object>> of(targetClass, ids);
+        final Entry entry;
+
+        try {
+            entry = cache.get(key, new Callable<Entry>() {
+                @Override
+                public Entry call() throws Exception {
+                    // the generation is read before the record is read by the loader.
+                    final long generation = generationOf(key);
+
+                    return new Entry(generation, loader.call());
+                }
+            });
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        if (entry.generation == generationOf(key)) {
+            return (Optional<T>) entry.value;
+        }
+
+        // the key is invalidated after the loading started. The entity may be stale, so it's dropped and read again without caching.
+        cache.asMap().remove(key, entry);
+
+        try {
+            return loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void invalidate(final Class<?> targetClass, final List<Object> ids) {
+        final Tuple2<Class<?>, List<Object>> key = Tuple.<Class<?>, List<Object>> of(targetClass, ids);
+
+        keyGenerations.incrementAndGet(stripeOf(key));
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll(final Class<?> targetClass) {
+        classGenerationOf(targetClass).incrementAndGet();
+
+        final Iterator<Tuple2<Class<?>, List<Object>>> iter = cache.asMap().keySet().iterator();
+
+        while (iter.hasNext()) {
+            if (iter.next()._1.equals(targetClass)) {
+                iter.remove();
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        globalGeneration.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the approximate number of cached entities.
+     *
+     * @return
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * The generations only increase, so the sum is changed if any of them is increased.
+     *
+     * @param key
+     * @return
+     */
+    private long generationOf(final Tuple2<Class<?>, List<Object>> key) {
+        return keyGenerations.get(stripeOf(key)) + classGenerationOf(key._1).get() + globalGeneration.get();
+    }
+
+    private AtomicLong classGenerationOf(final Class<?> targetClass) {
+        AtomicLong generation = classGenerations.get(targetClass);
+
+        if (generation == null) {
+            generation = classGenerations.computeIfAbsent(targetClass, k -> new AtomicLong());
+        }
+
+        return generation;
+    }
+
+    private static int stripeOf(final Tuple2<Class<?>, List<Object>> key) {
+        final int h = key.hashCode();
+
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * The loaded entity and the generation of its key when the loading started. It's compared by identity to remove the stale one.
+     */
+    private static final class Entry {
+        final long generation;
+
+        final Optional<?> value;
+
+        Entry(final long generation, final Optional<?> value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+/**
+ * Receives the timings of the phases to execute a query by {@code CassandraExecutor}, for the statement template identified by its CQL.
+ * The methods are called by the threads executing the queries (including the I/O threads of the driver for async queries),
+ * so they should be fast, thread safe and never throw exception.
+ *
+ * @see InMemoryMetrics
+ * @see CassandraExecutor#CassandraExecutor(com.datastax.driver.core.Session, CassandraExecutor.StatementSettings, CQLMapper,
+ *      com.landawn.abacus.util.NamingPolicy, MetricsListener, EntityCache)
+ */
+public interface MetricsListener {
+
+    /**
+     *
+     * @param cql the CQL of the statement template, or the query string of the statement.
+     * @param phase
+     * @param elapsedTime in nanoseconds.
+     */
+    void onPhase(String cql, Phase phase, long elapsedTime);
+
+    /**
+     *
+     * @param cql
+     * @param rowCount the number of rows mapped to entities/{@code Map}/{@code DataSet}.
+     */
+    void onRowsMapped(String cql, int rowCount);
+
+    /**
+     * Called for each page received from the server.
+     *
+     * @param cql
+     */
+    void onPageFetched(String cql);
+
+    /**
+     * Called once for each lookup in the cache of {@code PreparedStatement} or statement template.
+     * The queries too long to be cached are prepared without the lookup, so they're not recorded.
+     *
+     * @param cql
+     * @param hit
+     */
+    void onStatementCacheAccess(String cql, boolean hit);
+
+    /**
+     * The phases to execute a query.
+     */
+    public static enum Phase {
+        /**
+         * Generating the CQL by {@code CQLBuilder}: for each call of the methods by entity/{@code Map}/{@code Condition},
+         * or once when the statement template of get/insert/delete by ids or entities is created.
+         */
+        BUILD,
+        /** Parsing the named parameters in the CQL. */
+        PARSE,
+        /** Preparing the statement on the server. */
+        PREPARE,
+        /** Converting and binding the parameters. */
+        BIND,
+        /** Executing the statement and receiving the first page. */
+        EXECUTE,
+        /** Mapping the rows to entities/{@code Map}/{@code DataSet}, including fetching the following pages if the rows are read synchronously. */
+        MAP;
+    }
+}
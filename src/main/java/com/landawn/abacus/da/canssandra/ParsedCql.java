@@ -18,10 +18,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
-import com.landawn.abacus.pool.KeyedObjectPool;
-import com.landawn.abacus.pool.PoolFactory;
-import com.landawn.abacus.pool.PoolableWrapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.landawn.abacus.util.N;
 import com.landawn.abacus.util.Objectory;
 import com.landawn.abacus.util.SQLParser;
@@ -34,7 +37,7 @@ import com.landawn.abacus.util.WD;
  */
 public final class ParsedCql {
 
-    private static final int EVICT_TIME = 60 * 1000;
+    private static final int MAX_CACHE_SIZE = 10000;
 
     private static final int LIVE_TIME = 24 * 60 * 60 * 1000;
 
@@ -42,7 +45,16 @@ public final class ParsedCql {
 
     private static final Set<String> namedCQLPrefixSet = N.asSet(WD.INSERT, WD.SELECT, WD.UPDATE, WD.DELETE);
 
-    private static final KeyedObjectPool<String, PoolableWrapper<ParsedCql>> pool = PoolFactory.createKeyedObjectPool(10000, EVICT_TIME);
+    /**
+     * The cache is split into segments which are locked separately, so the threads parsing different CQLs don't block each other,
+     * and a CQL is only parsed once even if it's requested by multiple threads at the same time.
+     */
+    private static final Cache<String, ParsedCql> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .expireAfterWrite(LIVE_TIME, TimeUnit.MILLISECONDS)
+            .expireAfterAccess(MAX_IDLE_TIME, TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
 
     private static final String PREFIX_OF_NAMED_PARAMETER = ":";
 
@@ -121,20 +133,32 @@ public final class ParsedCql {
      * @param attrs
      * @return
      */
-    public static ParsedCql parse(String cql, Map<String, String> attrs) {
-        ParsedCql result = null;
-        PoolableWrapper<ParsedCql> w = pool.get(cql);
-
-        if ((w == null) || (w.value() == null)) {
-            synchronized (pool) {
-                result = new ParsedCql(cql, attrs);
-                pool.put(cql, PoolableWrapper.of(result, LIVE_TIME, MAX_IDLE_TIME));
-            }
-        } else {
-            result = w.value();
+    public static ParsedCql parse(final String cql, final Map<String, String> attrs) {
+        try {
+            return cache.get(cql, () -> new ParsedCql(cql, attrs));
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         }
+    }
 
-        return result;
+    /**
+     * Returns the hit/miss/load/eviction statistics of the cached {@code ParsedCql}s.
+     *
+     * @return
+     */
+    public static CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the approximate number of cached {@code ParsedCql}s.
+     *
+     * @return
+     */
+    public static long cacheSize() {
+        return cache.size();
     }
 
     public String cql() {
@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+/**
+ * A column of {@code DataSet} stored in a primitive array, with a bitmap for the {@code null} values.
+ * The values are read by the typed getters of {@code Row} and only boxed when they're accessed by {@code get(int)}.
+ * The list is switched to a boxed {@code ArrayList} on the first modification which can't be stored in the primitive array,
+ * for example: set/add a value of different type, or remove an element.
+ *
+ */
+final class PrimitiveColumnList extends AbstractList<Object> implements RandomAccess {
+
+    private static final int TYPE_BOOLEAN = 1;
+    private static final int TYPE_INT = 2;
+    private static final int TYPE_LONG = 3;
+    private static final int TYPE_FLOAT = 4;
+    private static final int TYPE_DOUBLE = 5;
+
+    private final int type;
+
+    private final BitSet nulls = new BitSet();
+
+    private boolean[] booleans;
+
+    private int[] ints;
+
+    private long[] longs;
+
+    private float[] floats;
+
+    private double[] doubles;
+
+    private int size;
+
+    /** The boxed elements, after the list is inflated. */
+    private List<Object> boxed;
+
+    private PrimitiveColumnList(final int type, final int initialCapacity) {
+        this.type = type;
+
+        final int capacity = Math.max(initialCapacity, 10);
+
+        switch (type) {
+            case TYPE_BOOLEAN:
+                booleans = new boolean[capacity];
+                break;
+
+            case TYPE_INT:
+                ints = new int[capacity];
+                break;
+
+            case TYPE_LONG:
+                longs = new long[capacity];
+                break;
+
+            case TYPE_FLOAT:
+                floats = new float[capacity];
+                break;
+
+            default:
+                doubles = new double[capacity];
+        }
+    }
+
+    /**
+     *
+     * @param dataType
+     * @param columnClass the class of the column in the target entity, or {@code null}/{@code Object.class} if there is no target entity class.
+     * @param initialCapacity
+     * @return {@code null} if the values of the column can't be stored in a primitive array without conversion.
+     */
+    static PrimitiveColumnList of(final DataType dataType, final Class<?> columnClass, final int initialCapacity) {
+        final int type = typeOf(dataType);
+
+        if (type == 0 || !(columnClass == null || columnClass == Object.class || columnClass == primitiveClassOf(type)
+                || columnClass == wrapperClassOf(type))) {
+            return null;
+        }
+
+        return new PrimitiveColumnList(type, initialCapacity);
+    }
+
+    private static int typeOf(final DataType dataType) {
+        switch (dataType.getName()) {
+            case BOOLEAN:
+                return TYPE_BOOLEAN;
+
+            case INT:
+                return TYPE_INT;
+
+            case BIGINT:
+            case COUNTER:
+                return TYPE_LONG;
+
+            case FLOAT:
+                return TYPE_FLOAT;
+
+            case DOUBLE:
+                return TYPE_DOUBLE;
+
+            default:
+                return 0;
+        }
+    }
+
+    private static Class<?> primitiveClassOf(final int type) {
+        switch (type) {
+            case TYPE_BOOLEAN:
+                return boolean.class;
+
+            case TYPE_INT:
+                return int.class;
+
+            case TYPE_LONG:
+                return long.class;
+
+            case TYPE_FLOAT:
+                return float.class;
+
+            default:
+                return double.class;
+        }
+    }
+
+    private static Class<?> wrapperClassOf(final int type) {
+        switch (type) {
+            case TYPE_BOOLEAN:
+                return Boolean.class;
+
+            case TYPE_INT:
+                return Integer.class;
+
+            case TYPE_LONG:
+                return Long.class;
+
+            case TYPE_FLOAT:
+                return Float.class;
+
+            default:
+                return Double.class;
+        }
+    }
+
+    /**
+     * Reads the value at the specified column index of the row by the typed getter and appends it to this list.
+     *
+     * @param row
+     * @param columnIndex
+     */
+    void read(final Row row, final int columnIndex) {
+        if (boxed != null) {
+            boxed.add(row.getObject(columnIndex));
+            return;
+        }
+
+        ensureCapacity(size + 1);
+
+        if (row.isNull(columnIndex)) {
+            nulls.set(size);
+        } else {
+            switch (type) {
+                case TYPE_BOOLEAN:
+                    booleans[size] = row.getBool(columnIndex);
+                    break;
+
+                case TYPE_INT:
+                    ints[size] = row.getInt(columnIndex);
+                    break;
+
+                case TYPE_LONG:
+                    longs[size] = row.getLong(columnIndex);
+                    break;
+
+                case TYPE_FLOAT:
+                    floats[size] = row.getFloat(columnIndex);
+                    break;
+
+                default:
+                    doubles[size] = row.getDouble(columnIndex);
+            }
+        }
+
+        size++;
+    }
+
+    @Override
+    public Object get(final int index) {
+        if (boxed != null) {
+            return boxed.get(index);
+        }
+
+        rangeCheck(index);
+
+        if (nulls.get(index)) {
+            return null;
+        }
+
+        switch (type) {
+            case TYPE_BOOLEAN:
+                return booleans[index];
+
+            case TYPE_INT:
+                return ints[index];
+
+            case TYPE_LONG:
+                return longs[index];
+
+            case TYPE_FLOAT:
+                return floats[index];
+
+            default:
+                return doubles[index];
+        }
+    }
+
+    @Override
+    public Object set(final int index, final Object element) {
+        if (boxed == null && (element == null || element.getClass() == wrapperClassOf(type))) {
+            final Object oldValue = get(index);
+
+            store(index, element);
+
+            return oldValue;
+        }
+
+        inflate();
+
+        return boxed.set(index, element);
+    }
+
+    @Override
+    public void add(final int index, final Object element) {
+        if (boxed == null && index == size && (element == null || element.getClass() == wrapperClassOf(type))) {
+            ensureCapacity(size + 1);
+            store(size++, element);
+            modCount++;
+            return;
+        }
+
+        inflate();
+
+        boxed.add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public Object remove(final int index) {
+        inflate();
+
+        modCount++;
+
+        return boxed.remove(index);
+    }
+
+    @Override
+    public int size() {
+        return boxed == null ? size : boxed.size();
+    }
+
+    private void store(final int index, final Object element) {
+        if (element == null) {
+            nulls.set(index);
+            return;
+        }
+
+        nulls.clear(index);
+
+        switch (type) {
+            case TYPE_BOOLEAN:
+                booleans[index] = (Boolean) element;
+                break;
+
+            case TYPE_INT:
+                ints[index] = (Integer) element;
+                break;
+
+            case TYPE_LONG:
+                longs[index] = (Long) element;
+                break;
+
+            case TYPE_FLOAT:
+                floats[index] = (Float) element;
+                break;
+
+            default:
+                doubles[index] = (Double) element;
+        }
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        switch (type) {
+            case TYPE_BOOLEAN:
+                if (minCapacity > booleans.length) {
+                    booleans = Arrays.copyOf(booleans, newCapacity(booleans.length, minCapacity));
+                }
+
+                break;
+
+            case TYPE_INT:
+                if (minCapacity > ints.length) {
+                    ints = Arrays.copyOf(ints, newCapacity(ints.length, minCapacity));
+                }
+
+                break;
+
+            case TYPE_LONG:
+                if (minCapacity > longs.length) {
+                    longs = Arrays.copyOf(longs, newCapacity(longs.length, minCapacity));
+                }
+
+                break;
+
+            case TYPE_FLOAT:
+                if (minCapacity > floats.length) {
+                    floats = Arrays.copyOf(floats, newCapacity(floats.length, minCapacity));
+                }
+
+                break;
+
+            default:
+                if (minCapacity > doubles.length) {
+                    doubles = Arrays.copyOf(doubles, newCapacity(doubles.length, minCapacity));
+                }
+        }
+    }
+
+    private static int newCapacity(final int oldCapacity, final int minCapacity) {
+        final long newCapacity = oldCapacity + (oldCapacity >> 1) + 1L;
+
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(newCapacity, minCapacity));
+    }
+
+    private void inflate() {
+        if (boxed != null) {
+            return;
+        }
+
+        final List<Object> list = new ArrayList<>(Math.max(10, size + (size >> 1)));
+
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+
+        boxed = list;
+        booleans = null;
+        ints = null;
+        longs = null;
+        floats = null;
+        doubles = null;
+        nulls.clear();
+        size = 0;
+    }
+
+    private void rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.landawn.abacus.da.canssandra;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Executes an idempotent statement and starts another execution of the same statement if there is no response after the delay,
+ * up to {@code maxSpeculativeExecutions} times. The first successful response wins, the other executions are cancelled and the executions not started yet are unscheduled.
+ * A new query plan is created by the load balancing policy for each execution, so the executions race different replicas
+ * if the policy shuffles them, for example: {@code TokenAwarePolicy} with {@code shuffleReplicas = true}.
+ *
+ */
+final class SpeculativeExecution {
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "cassandra-speculative-execution");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private SpeculativeExecution() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param session
+     * @param statement
+     * @param delay in milliseconds
+     * @param maxSpeculativeExecutions the max number of executions started in addition to the first one.
+     * @return
+     */
+    static ListenableFuture<ResultSet> execute(final Session session, final Statement statement, final long delay, final int maxSpeculativeExecutions) {
+        final SettableFuture<ResultSet> result = SettableFuture.create();
+        final List<ResultSetFuture> executions = new CopyOnWriteArrayList<>();
+        final List<ScheduledFuture<?>> scheduledExecutions = new CopyOnWriteArrayList<>();
+        final AtomicInteger inFlightCount = new AtomicInteger();
+
+        final Runnable cancelAll = new Runnable() {
+            @Override
+            public void run() {
+                for (ScheduledFuture<?> scheduledExecution : scheduledExecutions) {
+                    scheduledExecution.cancel(false);
+                }
+
+                for (ResultSetFuture execution : executions) {
+                    execution.cancel(true);
+                }
+            }
+        };
+
+        result.addListener(cancelAll, MoreExecutors.directExecutor());
+
+        start(session, statement, result, executions, inFlightCount);
+
+        for (int i = 1; i <= maxSpeculativeExecutions && result.isDone() == false; i++) {
+            final ScheduledFuture<?> scheduledExecution = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    start(session, statement, result, executions, inFlightCount);
+                }
+            }, delay * i, TimeUnit.MILLISECONDS);
+
+            scheduledExecutions.add(scheduledExecution);
+
+            // the result may be completed while the execution is being scheduled.
+            if (result.isDone()) {
+                scheduledExecution.cancel(false);
+            }
+        }
+
+        return result;
+    }
+
+    private static void start(final Session session, final Statement statement, final SettableFuture<ResultSet> result,
+            final List<ResultSetFuture> executions, final AtomicInteger inFlightCount) {
+        if (result.isDone()) {
+            return;
+        }
+
+        inFlightCount.incrementAndGet();
+
+        final ResultSetFuture execution;
+
+        try {
+            execution = session.executeAsync(statement);
+        } catch (Exception e) {
+            if (inFlightCount.decrementAndGet() == 0) {
+                result.setException(e);
+            }
+
+            return;
+        }
+
+        executions.add(execution);
+
+        // the result may be completed while the execution is being added.
+        if (result.isDone()) {
+            execution.cancel(true);
+            return;
+        }
+
+        Futures.addCallback(execution, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet rs) {
+                result.set(rs);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // the error is reported if there is no other execution in flight. Errors are retried by the retry policy of the driver, not here.
+                if (inFlightCount.decrementAndGet() == 0) {
+                    result.setException(t);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.util.AsyncExecutor;
+import com.landawn.abacus.util.ContinuableFuture;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.stream.ObjIteratorEx;
+
+/**
+ * Scans a table with the scanner caching tuned by the row size and RPC latency. The first rows are read by a sampling scanner in one RPC,
+ * and the size and latency of the sample are used to set the caching (rows per RPC) and max result size of the scanner which reads the rest of the rows,
+ * starting after the last sampled row. The rows are handed over in batches of one RPC: the next batch is fetched from the scanner
+ * by the {@code AsyncExecutor} while the rows of current one are mapped, and the rows of a batch can be mapped to entities by multiple threads.
+ * The results are always returned in the order of the scan.
+ *
+ */
+final class AdaptiveScan {
+
+    static final int MIN_CACHING = 16;
+
+    static final int MAX_CACHING = 10000;
+
+    static final int DEFAULT_CACHING = 100;
+
+    /** The target size in bytes of the rows returned by a scanner RPC, which is the default max result size of scanner RPC. */
+    static final long TARGET_RPC_BYTES = 2L * 1024 * 1024;
+
+    /** The target latency of a scanner RPC, which bounds the time of mapping thread waiting for the next batch. */
+    static final long TARGET_RPC_NANOS = 100L * 1000 * 1000;
+
+    /** The min number of rows mapped by each thread if the rows are mapped in parallel. */
+    static final int MIN_ROWS_PER_MAPPER = 64;
+
+    private AdaptiveScan() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param hbaseExecutor
+     * @param tableName
+     * @param scan the batch or partial results are not supported because a row could be split into multiple {@code Result}s.
+     * @param targetClass
+     * @param mapThreadNum
+     * @param asyncExecutor
+     * @return
+     */
+    static <T> ObjIteratorEx<T> iterate(final HBaseExecutor hbaseExecutor, final String tableName, final Scan scan, final Class<T> targetClass,
+            final int mapThreadNum, final AsyncExecutor asyncExecutor) {
+        if (scan.getBatch() > 0 || scan.getAllowPartialResults()) {
+            throw new IllegalArgumentException("Batch or partial results is not supported by adaptive scan");
+        }
+
+        return new AdaptiveIterator<>(hbaseExecutor.getTable(tableName), scan, targetClass, mapThreadNum, asyncExecutor);
+    }
+
+    /**
+     * Gets the scanner caching: the number of rows which can be returned by one RPC within the target size and latency,
+     * estimated by the rows read by the sampling RPC.
+     *
+     * @param rows the number of sampled rows.
+     * @param bytes the size of sampled rows.
+     * @param elapsedNanos the time to read the sampled rows by one RPC, including opening the scanner.
+     * @return
+     */
+    static int scannerCaching(final int rows, final long bytes, final long elapsedNanos) {
+        if (rows == 0) {
+            return DEFAULT_CACHING;
+        }
+
+        final double bytesPerRow = Math.max(1d, (double) bytes / rows);
+        final double nanosPerRow = Math.max(1d, (double) elapsedNanos / rows);
+        final double target = Math.min(TARGET_RPC_BYTES / bytesPerRow, TARGET_RPC_NANOS / nanosPerRow);
+
+        return (int) Math.max(MIN_CACHING, Math.min(MAX_CACHING, target));
+    }
+
+    static long sizeOf(final Result result) {
+        long size = 0;
+
+        for (Cell cell : result.rawCells()) {
+            size += cell.getRowLength() + cell.getFamilyLength() + cell.getQualifierLength() + cell.getValueLength() + 8;
+        }
+
+        return size;
+    }
+
+    static <T> T getUninterruptibly(final ContinuableFuture<T> future) {
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+
+                    if (cause instanceof IOException) {
+                        throw new UncheckedIOException((IOException) cause);
+                    }
+
+                    throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The rows fetched for a batch.
+     */
+    static final class Batch {
+        final List<Result> results;
+
+        final boolean isLast;
+
+        final int nextBatchSize;
+
+        Batch(final List<Result> results, final boolean isLast, final int nextBatchSize) {
+            this.results = results;
+            this.isLast = isLast;
+            this.nextBatchSize = nextBatchSize;
+        }
+    }
+
+    static final class AdaptiveIterator<T> extends ObjIteratorEx<T> {
+        /** Opened for this iterator only. */
+        private final Table table;
+
+        private final Scan scan;
+
+        private final Class<T> targetClass;
+
+        private final int mapThreadNum;
+
+        private final AsyncExecutor asyncExecutor;
+
+        /** Guards the scanners, which are used by one fetch at a time and closed by the consuming thread. */
+        private final Object scannerLock = new Object();
+
+        /** The scan of the rows after the sampled ones, with the caching and max result size estimated by the sample. */
+        private Scan restScan = null;
+
+        /** Opened by the first fetch after the sample, so the rows of all the following batches are read by the same scanner. */
+        private ResultScanner scanner = null;
+
+        private Iterator<T> iter = Collections.<T> emptyIterator();
+
+        private ContinuableFuture<Batch> nextBatchFuture = null;
+
+        /** The number of rows can be returned if the limit is set on the scan. */
+        private int remaining;
+
+        private boolean isInitialized = false;
+
+        private volatile boolean isClosed = false;
+
+        AdaptiveIterator(final Table table, final Scan scan, final Class<T> targetClass, final int mapThreadNum, final AsyncExecutor asyncExecutor) {
+            this.table = table;
+            this.scan = scan;
+            this.targetClass = targetClass;
+            this.mapThreadNum = mapThreadNum;
+            this.asyncExecutor = asyncExecutor;
+            this.remaining = scan.getLimit() > 0 ? scan.getLimit() : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (isInitialized == false) {
+                isInitialized = true;
+                nextBatchFuture = sample(Math.min(scan.getCaching() > 0 ? Math.min(scan.getCaching(), MAX_CACHING) : DEFAULT_CACHING, remaining));
+            }
+
+            while (iter.hasNext() == false) {
+                if (isClosed || nextBatchFuture == null) {
+                    return false;
+                }
+
+                final Batch batch = getUninterruptibly(nextBatchFuture);
+                final List<Result> results = batch.results.size() > remaining ? batch.results.subList(0, remaining) : batch.results;
+
+                remaining -= results.size();
+
+                // prefetch the next batch before the current one is mapped.
+                nextBatchFuture = batch.isLast || remaining <= 0 ? null : fetch(Math.min(batch.nextBatchSize, remaining));
+
+                iter = map(results).iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+
+            return iter.next();
+        }
+
+        @Override
+        public void close() {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+            nextBatchFuture = null;
+
+            // waits for the running fetch, which stops after the row it's reading.
+            synchronized (scannerLock) {
+                try {
+                    IOUtil.closeQuietly(scanner);
+                } finally {
+                    IOUtil.closeQuietly(table);
+                }
+            }
+        }
+
+        /**
+         * Reads the first rows by a scanner which returns all of them by one RPC, and prepares the scan of the rest rows by the size and latency of the sample.
+         *
+         * @param sampleSize
+         * @return
+         */
+        private ContinuableFuture<Batch> sample(final int sampleSize) {
+            return asyncExecutor.execute(new Callable<Batch>() {
+                @Override
+                public Batch call() throws Exception {
+                    final List<Result> results = new ArrayList<>(sampleSize);
+                    long bytes = 0;
+
+                    synchronized (scannerLock) {
+                        if (isClosed) {
+                            return new Batch(results, true, sampleSize);
+                        }
+
+                        final Scan sampleScan = new Scan(scan).setCaching(sampleSize).setLimit(sampleSize);
+                        final long startTime = System.nanoTime();
+                        final ResultScanner sampleScanner = table.getScanner(sampleScan);
+                        long elapsedNanos = 0;
+
+                        try {
+                            Result result = null;
+
+                            while (results.size() < sampleSize && !isClosed && (result = sampleScanner.next()) != null) {
+                                results.add(result);
+                                bytes += sizeOf(result);
+                            }
+
+                            elapsedNanos = System.nanoTime() - startTime;
+                        } finally {
+                            IOUtil.closeQuietly(sampleScanner);
+                        }
+
+                        if (results.size() < sampleSize) {
+                            return new Batch(results, true, sampleSize);
+                        }
+
+                        final int caching = scannerCaching(results.size(), bytes, elapsedNanos);
+
+                        restScan = new Scan(scan).withStartRow(results.get(results.size() - 1).getRow(), false).setCaching(caching);
+
+                        if (scan.getMaxResultSize() <= 0) {
+                            restScan.setMaxResultSize(TARGET_RPC_BYTES);
+                        }
+
+                        if (scan.getLimit() > 0) {
+                            restScan.setLimit(scan.getLimit() - results.size());
+                        }
+
+                        return new Batch(results, false, caching);
+                    }
+                }
+            });
+        }
+
+        /**
+         *
+         * @param batchSize the max number of rows to fetch, which is the caching of the scanner.
+         * @return
+         */
+        private ContinuableFuture<Batch> fetch(final int batchSize) {
+            return asyncExecutor.execute(new Callable<Batch>() {
+                @Override
+                public Batch call() throws Exception {
+                    final List<Result> results = new ArrayList<>(batchSize);
+
+                    synchronized (scannerLock) {
+                        if (isClosed) {
+                            return new Batch(results, true, batchSize);
+                        }
+
+                        if (scanner == null) {
+                            scanner = table.getScanner(restScan);
+                        }
+
+                        Result result = null;
+
+                        while (results.size() < batchSize && !isClosed && (result = scanner.next()) != null) {
+                            results.add(result);
+                        }
+                    }
+
+                    return new Batch(results, results.size() < batchSize, batchSize);
+                }
+            });
+        }
+
+        private List<T> map(final List<Result> results) {
+            if (mapThreadNum <= 1 || results.size() < MIN_ROWS_PER_MAPPER * 2) {
+                return HBaseExecutor.toList(targetClass, results);
+            }
+
+            final int mapperNum = Math.min(mapThreadNum, results.size() / MIN_ROWS_PER_MAPPER);
+            final int sliceSize = (results.size() + mapperNum - 1) / mapperNum;
+            final List<ContinuableFuture<List<T>>> futures = new ArrayList<>(mapperNum);
+
+            // the last slice is mapped by current thread.
+            for (int from = 0; from < results.size() - sliceSize; from += sliceSize) {
+                final List<Result> slice = results.subList(from, from + sliceSize);
+
+                futures.add(asyncExecutor.execute(new Callable<List<T>>() {
+                    @Override
+                    public List<T> call() throws Exception {
+                        return HBaseExecutor.toList(targetClass, slice);
+                    }
+                }));
+            }
+
+            final List<T> lastSlice = HBaseExecutor.toList(targetClass, results.subList(futures.size() * sliceSize, results.size()));
+            final List<T> entities = new ArrayList<>(results.size());
+
+            for (ContinuableFuture<List<T>> future : futures) {
+                entities.addAll(getUninterruptibly(future));
+            }
+
+            entities.addAll(lastSlice);
+
+            return entities;
+        }
+    }
+}
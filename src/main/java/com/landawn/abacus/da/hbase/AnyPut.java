@@ -316,7 +316,7 @@ public final class AnyPut extends AnyMutation<AnyPut> {
                     "Row key property is required to create AnyPut instance. But no row key property found in class: " + ClassUtil.getCanonicalClassName(cls));
         }
 
-        final AnyPut anyPut = new AnyPut(ClassUtil.<Object> getPropValue(entity, rowKeyGetMethod));
+        final AnyPut anyPut = new AnyPut(HBaseExecutor.toRowKeyBytes(cls, ClassUtil.<Object> getPropValue(entity, rowKeyGetMethod)));
         final boolean annotatedByDefaultColumnFamily = entityInfo.isAnnotationPresent(ColumnFamily.class);
 
         PropInfo columnPropInfo = null;
@@ -326,6 +326,8 @@ public final class AnyPut extends AnyMutation<AnyPut> {
         Object propValue = null;
         Tuple3<String, String, Boolean> tp = null;
         String columnName = null;
+        HBaseValueCodec codec = null;
+        HBaseValueCodec columnCodec = null;
 
         for (PropInfo propInfo : selectPropInfos) {
             if (rowKeyGetMethod != null && propInfo.getMethod.equals(rowKeyGetMethod)) {
@@ -339,6 +341,7 @@ public final class AnyPut extends AnyMutation<AnyPut> {
             }
 
             tp = classFamilyColumnNameMap.get(propInfo.name);
+            codec = HBaseExecutor.getValueCodec(entityInfo, propInfo, HBaseValueCodec.STRING);
             columnName = tp._3 || annotatedByDefaultColumnFamily || propInfo.isAnnotationPresent(ColumnFamily.class) ? tp._2 : HBaseExecutor.EMPTY_QULIFIER;
 
             if (propInfo.jsonXmlType.isEntity() && tp._3 == false) {
@@ -361,12 +364,13 @@ public final class AnyPut extends AnyMutation<AnyPut> {
                     }
 
                     propEntityTP = propEntityFamilyColumnNameMap.get(columnPropInfo.name);
+                    columnCodec = HBaseExecutor.getValueCodec(propEntityInfo, columnPropInfo, codec);
 
                     if (columnPropInfo.jsonXmlType.isMap() && columnPropInfo.jsonXmlType.getParameterTypes()[1].clazz().equals(HBaseColumn.class)) {
                         columnMap = (Map<Long, HBaseColumn<?>>) propValue;
 
                         for (HBaseColumn<?> e : columnMap.values()) {
-                            anyPut.addColumn(tp._1, propEntityTP._2, e.version(), e.value());
+                            anyPut.addColumn(tp._1, propEntityTP._2, e.version(), columnCodec.encode(e.value()));
 
                         }
                     } else if (columnPropInfo.jsonXmlType.isCollection()
@@ -374,35 +378,35 @@ public final class AnyPut extends AnyMutation<AnyPut> {
                         columnColl = (Collection<HBaseColumn<?>>) propValue;
 
                         for (HBaseColumn<?> e : columnColl) {
-                            anyPut.addColumn(tp._1, propEntityTP._2, e.version(), e.value());
+                            anyPut.addColumn(tp._1, propEntityTP._2, e.version(), columnCodec.encode(e.value()));
 
                         }
                     } else if (columnPropInfo.jsonXmlType.clazz().equals(HBaseColumn.class)) {
                         column = (HBaseColumn<?>) propValue;
-                        anyPut.addColumn(tp._1, propEntityTP._2, column.version(), column.value());
+                        anyPut.addColumn(tp._1, propEntityTP._2, column.version(), columnCodec.encode(column.value()));
                     } else {
-                        anyPut.addColumn(tp._1, propEntityTP._2, propValue);
+                        anyPut.addColumn(tp._1, propEntityTP._2, columnCodec.encode(propValue));
                     }
                 }
             } else if (propInfo.jsonXmlType.isMap() && propInfo.jsonXmlType.getParameterTypes()[1].clazz().equals(HBaseColumn.class)) {
                 columnMap = (Map<Long, HBaseColumn<?>>) propValue;
 
                 for (HBaseColumn<?> e : columnMap.values()) {
-                    anyPut.addColumn(tp._1, columnName, e.version(), e.value());
+                    anyPut.addColumn(tp._1, columnName, e.version(), codec.encode(e.value()));
 
                 }
             } else if (propInfo.jsonXmlType.isCollection() && propInfo.jsonXmlType.getParameterTypes()[0].clazz().equals(HBaseColumn.class)) {
                 columnColl = (Collection<HBaseColumn<?>>) propValue;
 
                 for (HBaseColumn<?> e : columnColl) {
-                    anyPut.addColumn(tp._1, columnName, e.version(), e.value());
+                    anyPut.addColumn(tp._1, columnName, e.version(), codec.encode(e.value()));
 
                 }
             } else if (propInfo.jsonXmlType.clazz().equals(HBaseColumn.class)) {
                 column = (HBaseColumn<?>) propValue;
-                anyPut.addColumn(tp._1, columnName, column.version(), column.value());
+                anyPut.addColumn(tp._1, columnName, column.version(), codec.encode(column.value()));
             } else {
-                anyPut.addColumn(tp._1, columnName, propValue);
+                anyPut.addColumn(tp._1, columnName, codec.encode(propValue));
             }
         }
 
@@ -14,12 +14,24 @@
 
 package com.landawn.abacus.da.hbase;
 
+import static com.landawn.abacus.da.hbase.HBaseExecutor.toFamilyQualifierBytes;
+import static com.landawn.abacus.da.hbase.HBaseExecutor.toRowKeyBytes;
+
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
+import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
 import org.apache.hadoop.hbase.client.Append;
+import org.apache.hadoop.hbase.client.AsyncConnection;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Durability;
 import org.apache.hadoop.hbase.client.Get;
@@ -37,10 +49,17 @@ import com.google.protobuf.Service;
 import com.landawn.abacus.exception.UncheckedIOException;
 import com.landawn.abacus.util.AsyncExecutor;
 import com.landawn.abacus.util.ContinuableFuture;
+import com.landawn.abacus.util.IOUtil;
 import com.landawn.abacus.util.stream.Stream;
 
 /**
  * Asynchronous <code>HBaseExecutor</code>.
+ * <br />
+ * The get/exists/put/delete/mutate operations are executed by the non-blocking {@code AsyncTable} of an {@code AsyncConnection},
+ * which is created asynchronously from the configuration of the {@code Connection} of {@code HBaseExecutor} at the first time it's used.
+ * No thread is blocked while the connection is being created or the requests are in flight. The lists of results are mapped to entities
+ * by the {@code AsyncExecutor} when the requests are completed, not by the I/O threads of the client.
+ * The scan and coprocessor operations are still executed by the {@code AsyncExecutor}.
  *
  * @author Haiyang Li
  * @see <a href="http://hbase.apache.org/devapidocs/index.html">http://hbase.apache.org/devapidocs/index.html</a>
@@ -53,15 +72,132 @@ public final class AsyncHBaseExecutor {
 
     private final AsyncExecutor asyncExecutor;
 
+    private final Map<String, AsyncTable<AdvancedScanResultConsumer>> asyncTablePool = new ConcurrentHashMap<>();
+
+    /** Maps the results to entities. */
+    private final Executor mappingExecutor;
+
+    private volatile CompletableFuture<AsyncConnection> asyncConnFuture;
+
     AsyncHBaseExecutor(final HBaseExecutor hbaseExecutor, final AsyncExecutor asyncExecutor) {
         this.hbaseExecutor = hbaseExecutor;
         this.asyncExecutor = asyncExecutor;
+        this.mappingExecutor = new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                asyncExecutor.execute(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        command.run();
+                        return null;
+                    }
+                });
+            }
+        };
     }
 
     public HBaseExecutor sync() {
         return hbaseExecutor;
     }
 
+    /**
+     * Gets the {@code AsyncConnection} created from the configuration of {@code hbaseExecutor.connection()}, which is closed when {@code HBaseExecutor} is closed.
+     *
+     * @return
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    public AsyncConnection asyncConnection() throws UncheckedIOException {
+        try {
+            return asyncConnectionFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while creating AsyncConnection", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Starts creating the {@code AsyncConnection} at the first call, without waiting for it. It will be created again by the next call if it's failed.
+     *
+     * @return
+     */
+    private CompletableFuture<AsyncConnection> asyncConnectionFuture() {
+        CompletableFuture<AsyncConnection> result = asyncConnFuture;
+
+        if (result == null) {
+            synchronized (asyncTablePool) {
+                result = asyncConnFuture;
+
+                if (result == null) {
+                    final CompletableFuture<AsyncConnection> future = ConnectionFactory
+                            .createAsyncConnection(hbaseExecutor.connection().getConfiguration());
+
+                    future.whenComplete((conn, e) -> {
+                        if (e != null) {
+                            synchronized (asyncTablePool) {
+                                if (asyncConnFuture == future) {
+                                    asyncConnFuture = null;
+                                }
+                            }
+                        }
+                    });
+
+                    result = asyncConnFuture = future;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    CompletableFuture<AsyncTable<AdvancedScanResultConsumer>> table(final String tableName) {
+        final AsyncTable<AdvancedScanResultConsumer> table = asyncTablePool.get(tableName);
+
+        if (table != null) {
+            return CompletableFuture.completedFuture(table);
+        }
+
+        return asyncConnectionFuture().thenApply(conn -> {
+            AsyncTable<AdvancedScanResultConsumer> result = asyncTablePool.get(tableName);
+
+            if (result == null) {
+                result = conn.getTable(hbaseExecutor.tableName(tableName));
+                asyncTablePool.put(tableName, result);
+            }
+
+            return result;
+        });
+    }
+
+    void close() throws IOException {
+        final CompletableFuture<AsyncConnection> future;
+
+        synchronized (asyncTablePool) {
+            asyncTablePool.clear();
+
+            future = asyncConnFuture;
+            asyncConnFuture = null;
+        }
+
+        if (future != null) {
+            if (future.isDone()) {
+                if (future.isCompletedExceptionally() == false) {
+                    future.join().close();
+                }
+            } else {
+                // the connection is closed after it's created.
+                future.thenAccept(conn -> IOUtil.closeQuietly(conn));
+            }
+        }
+    }
+
     /**
      *
      * @param tableName
@@ -69,12 +205,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Boolean> exists(final String tableName, final Get get) {
-        return asyncExecutor.execute(new Callable<Boolean>() {
-            @Override
-            public Boolean call() throws Exception {
-                return hbaseExecutor.exists(tableName, get);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.exists(get)));
     }
 
     /**
@@ -84,12 +215,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<List<Boolean>> exists(final String tableName, final List<Get> gets) {
-        return asyncExecutor.execute(new Callable<List<Boolean>>() {
-            @Override
-            public List<Boolean> call() throws Exception {
-                return hbaseExecutor.exists(tableName, gets);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.existsAll(gets)));
     }
 
     /**
@@ -107,12 +233,7 @@ public final class AsyncHBaseExecutor {
      */
     @Deprecated
     public ContinuableFuture<List<Boolean>> existsAll(final String tableName, final List<Get> gets) {
-        return asyncExecutor.execute(new Callable<List<Boolean>>() {
-            @Override
-            public List<Boolean> call() throws Exception {
-                return hbaseExecutor.existsAll(tableName, gets);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.existsAll(gets)));
     }
 
     /**
@@ -122,12 +243,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Boolean> exists(final String tableName, final AnyGet anyGet) {
-        return asyncExecutor.execute(new Callable<Boolean>() {
-            @Override
-            public Boolean call() throws Exception {
-                return hbaseExecutor.exists(tableName, anyGet);
-            }
-        });
+        return exists(tableName, anyGet.val());
     }
 
     /**
@@ -137,12 +253,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<List<Boolean>> exists(final String tableName, final Collection<AnyGet> anyGets) {
-        return asyncExecutor.execute(new Callable<List<Boolean>>() {
-            @Override
-            public List<Boolean> call() throws Exception {
-                return hbaseExecutor.exists(tableName, anyGets);
-            }
-        });
+        return exists(tableName, AnyGet.toGet(anyGets));
     }
 
     /**
@@ -155,12 +266,7 @@ public final class AsyncHBaseExecutor {
      */
     @Deprecated
     public ContinuableFuture<List<Boolean>> existsAll(final String tableName, final Collection<AnyGet> anyGets) {
-        return asyncExecutor.execute(new Callable<List<Boolean>>() {
-            @Override
-            public List<Boolean> call() throws Exception {
-                return hbaseExecutor.existsAll(tableName, anyGets);
-            }
-        });
+        return existsAll(tableName, AnyGet.toGet(anyGets));
     }
 
     /**
@@ -170,12 +276,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Result> get(final String tableName, final Get get) {
-        return asyncExecutor.execute(new Callable<Result>() {
-            @Override
-            public Result call() throws Exception {
-                return hbaseExecutor.get(tableName, get);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.get(get)));
     }
 
     /**
@@ -185,12 +286,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<List<Result>> get(final String tableName, final List<Get> gets) {
-        return asyncExecutor.execute(new Callable<List<Result>>() {
-            @Override
-            public List<Result> call() throws Exception {
-                return hbaseExecutor.get(tableName, gets);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.getAll(gets)));
     }
 
     /**
@@ -200,12 +296,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Result> get(final String tableName, final AnyGet anyGet) {
-        return asyncExecutor.execute(new Callable<Result>() {
-            @Override
-            public Result call() throws Exception {
-                return hbaseExecutor.get(tableName, anyGet);
-            }
-        });
+        return get(tableName, anyGet.val());
     }
 
     /**
@@ -215,12 +306,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<List<Result>> get(final String tableName, final Collection<AnyGet> anyGets) {
-        return asyncExecutor.execute(new Callable<List<Result>>() {
-            @Override
-            public List<Result> call() throws Exception {
-                return hbaseExecutor.get(tableName, anyGets);
-            }
-        });
+        return get(tableName, AnyGet.toGet(anyGets));
     }
 
     /**
@@ -232,12 +318,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public <T> ContinuableFuture<T> get(final Class<T> targetClass, final String tableName, final Get get) {
-        return asyncExecutor.execute(new Callable<T>() {
-            @Override
-            public T call() throws Exception {
-                return hbaseExecutor.get(targetClass, tableName, get);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.get(get)).thenApply(result -> HBaseExecutor.toEntity(targetClass, result)));
     }
 
     /**
@@ -249,12 +330,8 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public <T> ContinuableFuture<List<T>> get(final Class<T> targetClass, final String tableName, final List<Get> gets) {
-        return asyncExecutor.execute(new Callable<List<T>>() {
-            @Override
-            public List<T> call() throws Exception {
-                return hbaseExecutor.get(targetClass, tableName, gets);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.getAll(gets))
+                .thenApplyAsync(results -> HBaseExecutor.toList(targetClass, results), mappingExecutor));
     }
 
     /**
@@ -266,12 +343,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public <T> ContinuableFuture<T> get(final Class<T> targetClass, final String tableName, final AnyGet anyGet) {
-        return asyncExecutor.execute(new Callable<T>() {
-            @Override
-            public T call() throws Exception {
-                return hbaseExecutor.get(targetClass, tableName, anyGet);
-            }
-        });
+        return get(targetClass, tableName, anyGet.val());
     }
 
     /**
@@ -283,12 +355,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public <T> ContinuableFuture<List<T>> get(final Class<T> targetClass, final String tableName, final Collection<AnyGet> anyGets) {
-        return asyncExecutor.execute(new Callable<List<T>>() {
-            @Override
-            public List<T> call() throws Exception {
-                return hbaseExecutor.get(targetClass, tableName, anyGets);
-            }
-        });
+        return get(targetClass, tableName, AnyGet.toGet(anyGets));
     }
 
     /**
@@ -494,14 +561,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> put(final String tableName, final Put put) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.put(tableName, put);
-
-                return null;
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.put(put)));
     }
 
     /**
@@ -511,14 +571,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> put(final String tableName, final List<Put> puts) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.put(tableName, puts);
-
-                return null;
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.putAll(puts)));
     }
 
     /**
@@ -528,14 +581,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> put(final String tableName, final AnyPut anyPut) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.put(tableName, anyPut);
-
-                return null;
-            }
-        });
+        return put(tableName, anyPut.val());
     }
 
     /**
@@ -545,14 +591,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> put(final String tableName, final Collection<AnyPut> anyPuts) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.put(tableName, anyPuts);
-
-                return null;
-            }
-        });
+        return put(tableName, AnyPut.toPut(anyPuts));
     }
 
     /**
@@ -562,14 +601,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> delete(final String tableName, final Delete delete) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.delete(tableName, delete);
-
-                return null;
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.delete(delete)));
     }
 
     /**
@@ -579,14 +611,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> delete(final String tableName, final List<Delete> deletes) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.delete(tableName, deletes);
-
-                return null;
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.deleteAll(deletes)));
     }
 
     /**
@@ -596,14 +621,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> delete(final String tableName, final AnyDelete anyDelete) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.delete(tableName, anyDelete);
-
-                return null;
-            }
-        });
+        return delete(tableName, anyDelete.val());
     }
 
     /**
@@ -613,25 +631,11 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> delete(final String tableName, final Collection<AnyDelete> anyDeletes) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.delete(tableName, anyDeletes);
-
-                return null;
-            }
-        });
+        return delete(tableName, AnyDelete.toDelete(anyDeletes));
     }
 
     public ContinuableFuture<Void> mutateRow(final String tableName, final AnyRowMutations rm) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.mutateRow(tableName, rm);
-
-                return null;
-            }
-        });
+        return mutateRow(tableName, rm.val());
     }
 
     /**
@@ -641,23 +645,11 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Void> mutateRow(final String tableName, final RowMutations rm) {
-        return asyncExecutor.execute(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                hbaseExecutor.mutateRow(tableName, rm);
-
-                return null;
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.mutateRow(rm)));
     }
 
     public ContinuableFuture<Result> append(final String tableName, final AnyAppend append) {
-        return asyncExecutor.execute(new Callable<Result>() {
-            @Override
-            public Result call() throws Exception {
-                return hbaseExecutor.append(tableName, append);
-            }
-        });
+        return append(tableName, append.val());
     }
 
     /**
@@ -667,21 +659,11 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Result> append(final String tableName, final Append append) {
-        return asyncExecutor.execute(new Callable<Result>() {
-            @Override
-            public Result call() throws Exception {
-                return hbaseExecutor.append(tableName, append);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.append(append)));
     }
 
     public ContinuableFuture<Result> increment(final String tableName, final AnyIncrement increment) {
-        return asyncExecutor.execute(new Callable<Result>() {
-            @Override
-            public Result call() throws Exception {
-                return hbaseExecutor.increment(tableName, increment);
-            }
-        });
+        return increment(tableName, increment.val());
     }
 
     /**
@@ -691,12 +673,7 @@ public final class AsyncHBaseExecutor {
      * @return
      */
     public ContinuableFuture<Result> increment(final String tableName, final Increment increment) {
-        return asyncExecutor.execute(new Callable<Result>() {
-            @Override
-            public Result call() throws Exception {
-                return hbaseExecutor.increment(tableName, increment);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.increment(increment)));
     }
 
     /**
@@ -711,12 +688,7 @@ public final class AsyncHBaseExecutor {
      */
     public ContinuableFuture<Long> incrementColumnValue(final String tableName, final Object rowKey, final String family, final String qualifier,
             final long amount) {
-        return asyncExecutor.execute(new Callable<Long>() {
-            @Override
-            public Long call() throws Exception {
-                return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount);
-            }
-        });
+        return incrementColumnValue(tableName, rowKey, toFamilyQualifierBytes(family), toFamilyQualifierBytes(qualifier), amount);
     }
 
     /**
@@ -732,12 +704,7 @@ public final class AsyncHBaseExecutor {
      */
     public ContinuableFuture<Long> incrementColumnValue(final String tableName, final Object rowKey, final String family, final String qualifier,
             final long amount, final Durability durability) {
-        return asyncExecutor.execute(new Callable<Long>() {
-            @Override
-            public Long call() throws Exception {
-                return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount, durability);
-            }
-        });
+        return incrementColumnValue(tableName, rowKey, toFamilyQualifierBytes(family), toFamilyQualifierBytes(qualifier), amount, durability);
     }
 
     /**
@@ -752,12 +719,7 @@ public final class AsyncHBaseExecutor {
      */
     public ContinuableFuture<Long> incrementColumnValue(final String tableName, final Object rowKey, final byte[] family, final byte[] qualifier,
             final long amount) {
-        return asyncExecutor.execute(new Callable<Long>() {
-            @Override
-            public Long call() throws Exception {
-                return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount);
-            }
-        });
+        return ContinuableFuture.wrap(table(tableName).thenCompose(table -> table.incrementColumnValue(toRowKeyBytes(rowKey), family, qualifier, amount)));
     }
 
     /**
@@ -773,12 +735,8 @@ public final class AsyncHBaseExecutor {
      */
     public ContinuableFuture<Long> incrementColumnValue(final String tableName, final Object rowKey, final byte[] family, final byte[] qualifier,
             final long amount, final Durability durability) {
-        return asyncExecutor.execute(new Callable<Long>() {
-            @Override
-            public Long call() throws Exception {
-                return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount, durability);
-            }
-        });
+        return ContinuableFuture
+                .wrap(table(tableName).thenCompose(table -> table.incrementColumnValue(toRowKeyBytes(rowKey), family, qualifier, amount, durability)));
     }
 
     /**
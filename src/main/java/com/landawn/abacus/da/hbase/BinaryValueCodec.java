@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.N;
+
+/**
+ * Encodes the numbers, booleans, chars and dates by {@code Bytes.toBytes(int/long/double/...)}:
+ * <li>{@code boolean/byte}: 1 byte, {@code short/char}: 2 bytes, {@code int/float}: 4 bytes, {@code long/double}: 8 bytes.</li>
+ * <li>{@code BigDecimal/BigInteger}: by {@code Bytes.toBytes(BigDecimal)/BigInteger.toByteArray()}.</li>
+ * <li>{@code java.util.Date/java.sql.Date/Time/Timestamp/Calendar/GregorianCalendar}: the milliseconds as {@code long}. The nanos of {@code Timestamp} are dropped.</li>
+ * <li>{@code String/byte[]}: as {@code StringValueCodec}. {@code ByteBuffer}: the remaining bytes.
+ * Other types are encoded as the UTF-8 bytes of their String representation.</li>
+ * <br />
+ * Numbers are sorted by the bytes only if they're not negative.
+ *
+ * @see HBaseValueCodec#BINARY
+ */
+public class BinaryValueCodec implements HBaseValueCodec {
+
+    @Override
+    public byte[] encode(final Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        final Class<?> cls = value.getClass();
+
+        if (cls.equals(String.class)) {
+            return Bytes.toBytes((String) value);
+        } else if (cls.equals(byte[].class)) {
+            return (byte[]) value;
+        } else if (cls.equals(Integer.class)) {
+            return Bytes.toBytes(((Integer) value).intValue());
+        } else if (cls.equals(Long.class)) {
+            return Bytes.toBytes(((Long) value).longValue());
+        } else if (cls.equals(Double.class)) {
+            return Bytes.toBytes(((Double) value).doubleValue());
+        } else if (cls.equals(Float.class)) {
+            return Bytes.toBytes(((Float) value).floatValue());
+        } else if (cls.equals(Boolean.class)) {
+            return Bytes.toBytes(((Boolean) value).booleanValue());
+        } else if (cls.equals(Short.class)) {
+            return Bytes.toBytes(((Short) value).shortValue());
+        } else if (cls.equals(Byte.class)) {
+            return new byte[] { ((Byte) value).byteValue() };
+        } else if (cls.equals(Character.class)) {
+            return Bytes.toBytes((short) ((Character) value).charValue());
+        } else if (cls.equals(BigDecimal.class)) {
+            return Bytes.toBytes((BigDecimal) value);
+        } else if (cls.equals(BigInteger.class)) {
+            return ((BigInteger) value).toByteArray();
+        } else if (cls.equals(Date.class) || cls.equals(java.sql.Date.class) || cls.equals(Time.class) || cls.equals(Timestamp.class)) {
+            return Bytes.toBytes(((Date) value).getTime());
+        } else if (cls.equals(Calendar.class) || cls.equals(GregorianCalendar.class)) {
+            return Bytes.toBytes(((Calendar) value).getTimeInMillis());
+        } else if (value instanceof ByteBuffer) {
+            return HBaseExecutor.toBytes((ByteBuffer) value);
+        } else {
+            return Bytes.toBytes(N.stringOf(value));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T decode(final byte[] bytes, final int offset, final int len, final Type<T> type) {
+        final Class<?> cls = type.clazz();
+
+        if (cls.equals(String.class)) {
+            return (T) Bytes.toString(bytes, offset, len);
+        } else if (cls.equals(byte[].class)) {
+            return (T) Bytes.copy(bytes, offset, len);
+        } else if (len == 0) {
+            return type.defaultValue();
+        } else if (cls.equals(int.class) || cls.equals(Integer.class)) {
+            return (T) Integer.valueOf(Bytes.toInt(bytes, offset, len));
+        } else if (cls.equals(long.class) || cls.equals(Long.class)) {
+            return (T) Long.valueOf(Bytes.toLong(bytes, offset, len));
+        } else if (cls.equals(double.class) || cls.equals(Double.class)) {
+            checkLength(len, Bytes.SIZEOF_DOUBLE, type);
+            return (T) Double.valueOf(Bytes.toDouble(bytes, offset));
+        } else if (cls.equals(float.class) || cls.equals(Float.class)) {
+            checkLength(len, Bytes.SIZEOF_FLOAT, type);
+            return (T) Float.valueOf(Bytes.toFloat(bytes, offset));
+        } else if (cls.equals(boolean.class) || cls.equals(Boolean.class)) {
+            checkLength(len, Bytes.SIZEOF_BOOLEAN, type);
+            return (T) Boolean.valueOf(bytes[offset] != 0);
+        } else if (cls.equals(short.class) || cls.equals(Short.class)) {
+            return (T) Short.valueOf(Bytes.toShort(bytes, offset, len));
+        } else if (cls.equals(byte.class) || cls.equals(Byte.class)) {
+            checkLength(len, Bytes.SIZEOF_BYTE, type);
+            return (T) Byte.valueOf(bytes[offset]);
+        } else if (cls.equals(char.class) || cls.equals(Character.class)) {
+            return (T) Character.valueOf((char) Bytes.toShort(bytes, offset, len));
+        } else if (cls.equals(BigDecimal.class)) {
+            return (T) Bytes.toBigDecimal(bytes, offset, len);
+        } else if (cls.equals(BigInteger.class)) {
+            return (T) new BigInteger(Bytes.copy(bytes, offset, len));
+        } else if (cls.equals(Date.class)) {
+            return (T) new Date(Bytes.toLong(bytes, offset, len));
+        } else if (cls.equals(java.sql.Date.class)) {
+            return (T) new java.sql.Date(Bytes.toLong(bytes, offset, len));
+        } else if (cls.equals(Time.class)) {
+            return (T) new Time(Bytes.toLong(bytes, offset, len));
+        } else if (cls.equals(Timestamp.class)) {
+            return (T) new Timestamp(Bytes.toLong(bytes, offset, len));
+        } else if (cls.equals(Calendar.class) || cls.equals(GregorianCalendar.class)) {
+            final Calendar calendar = new GregorianCalendar();
+            calendar.setTimeInMillis(Bytes.toLong(bytes, offset, len));
+            return (T) calendar;
+        } else if (cls.equals(ByteBuffer.class)) {
+            return (T) ByteBuffer.wrap(Bytes.copy(bytes, offset, len));
+        } else {
+            return type.valueOf(Bytes.toString(bytes, offset, len));
+        }
+    }
+
+    private static void checkLength(final int len, final int expectedLen, final Type<?> type) {
+        if (len != expectedLen) {
+            throw new IllegalArgumentException("Can't decode " + len + " bytes to " + type.name() + ". " + expectedLen + " bytes are expected");
+        }
+    }
+}
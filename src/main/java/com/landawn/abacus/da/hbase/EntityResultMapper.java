@@ -0,0 +1,467 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.landawn.abacus.DirtyMarker;
+import com.landawn.abacus.core.DirtyMarkerUtil;
+import com.landawn.abacus.parser.ParserUtil;
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.HBaseColumn;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Tuple.Tuple2;
+
+/**
+ * Maps the cells of a {@code Result} to an entity by the mapping compiled once for the entity class.
+ * The family and qualifier of each cell are matched against byte-keyed lookup tables without being decoded to {@code String},
+ * and the properties are set through the accessors cached in {@code PropInfo}.
+ *
+ * @param <T>
+ */
+final class EntityResultMapper<T> {
+
+    private static final Map<Class<?>, EntityResultMapper<?>> pool = new ConcurrentHashMap<>();
+
+    /** The column mapped to an unknown property, which is ignored. */
+    private static final ColumnMapping IGNORED = new ColumnMapping() {
+        @Override
+        void map(final Object entity, final Cell cell, final Row row) {
+            // ignore.
+        }
+    };
+
+    private final Class<T> entityClass;
+
+    private final Method rowKeySetMethod;
+
+    private final Type<?> rowKeyType;
+
+    /** The length of the salt prefixed to the row key, which is {@code 1} if the row keys are salted, otherwise {@code 0}. */
+    private final int rowKeySaltLength;
+
+    private final boolean isDirtyMarker;
+
+    private final BytesMap<FamilyMapping> familyMap;
+
+    /** The number of the {@code HBaseColumn} collection/map properties, which are created for each row. */
+    private final AtomicInteger containerCount = new AtomicInteger();
+
+    private EntityResultMapper(final Class<T> entityClass) {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(entityClass);
+        final Map<String, Map<String, Tuple2<String, Boolean>>> familyFieldNameMap = HBaseExecutor.getFamilyColumnFieldNameMap(entityClass)._1;
+
+        this.entityClass = entityClass;
+        this.rowKeySetMethod = HBaseExecutor.getRowKeySetMethod(entityClass);
+        this.rowKeyType = rowKeySetMethod == null ? null : N.typeOf(rowKeySetMethod.getParameterTypes()[0]);
+        this.rowKeySaltLength = HBaseExecutor.getRowKeySaltBuckets(entityClass) > 0 ? 1 : 0;
+        this.isDirtyMarker = DirtyMarkerUtil.isDirtyMarker(entityClass);
+
+        final Map<String, FamilyMapping> familyMappings = new HashMap<>(familyFieldNameMap.size());
+
+        for (Map.Entry<String, Map<String, Tuple2<String, Boolean>>> familyEntry : familyFieldNameMap.entrySet()) {
+            final Map<String, ColumnMapping> columnMappings = new HashMap<>(familyEntry.getValue().size());
+            final Map<String, NestedEntityMapping> nestedEntityMappings = new HashMap<>();
+
+            for (Map.Entry<String, Tuple2<String, Boolean>> columnEntry : familyEntry.getValue().entrySet()) {
+                final PropInfo propInfo = entityInfo.getPropInfo(columnEntry.getValue()._1);
+
+                if (propInfo == null) {
+                    columnMappings.put(columnEntry.getKey(), IGNORED);
+                    continue;
+                }
+
+                final HBaseValueCodec codec = HBaseExecutor.getValueCodec(entityInfo, propInfo, HBaseValueCodec.STRING);
+
+                if (propInfo.jsonXmlType.isEntity() && columnEntry.getValue()._2 == false) {
+                    NestedEntityMapping nestedEntityMapping = nestedEntityMappings.get(propInfo.name);
+
+                    if (nestedEntityMapping == null) {
+                        nestedEntityMapping = new NestedEntityMapping(propInfo, codec);
+                        nestedEntityMappings.put(propInfo.name, nestedEntityMapping);
+                    }
+
+                    columnMappings.put(columnEntry.getKey(), nestedEntityMapping);
+                } else {
+                    columnMappings.put(columnEntry.getKey(), new PropMapping(null, propInfo, codec));
+                }
+            }
+
+            familyMappings.put(familyEntry.getKey(), new FamilyMapping(columnMappings));
+        }
+
+        this.familyMap = new BytesMap<>(familyMappings);
+    }
+
+    /**
+     * Gets the mapper compiled for the specified entity class.
+     *
+     * @param <T>
+     * @param entityClass
+     * @return
+     */
+    static <T> EntityResultMapper<T> of(final Class<T> entityClass) {
+        @SuppressWarnings("unchecked")
+        EntityResultMapper<T> mapper = (EntityResultMapper<T>) pool.get(entityClass);
+
+        if (mapper == null) {
+            mapper = new EntityResultMapper<>(entityClass);
+            pool.put(entityClass, mapper);
+        }
+
+        return mapper;
+    }
+
+    /**
+     * Removes the mapper compiled for the specified entity class, which is compiled again with the changed row key property or salt.
+     *
+     * @param entityClass
+     */
+    static void remove(final Class<?> entityClass) {
+        pool.remove(entityClass);
+    }
+
+    /**
+     *
+     * @param result
+     * @return {@code null} if the specified {@code result} is empty.
+     */
+    T map(final Result result) {
+        final Cell[] cells = result.rawCells();
+
+        if (cells == null || cells.length == 0) {
+            return null;
+        }
+
+        final T entity = N.newInstance(entityClass);
+
+        if (rowKeyType != null) {
+            final Cell rowCell = cells[0];
+
+            ClassUtil.setPropValue(entity, rowKeySetMethod, rowKeyType.valueOf(HBaseExecutor.toRowKeyString(rowCell.getRowArray(),
+                    rowCell.getRowOffset() + rowKeySaltLength, rowCell.getRowLength() - rowKeySaltLength)));
+        }
+
+        final Row row = new Row();
+        FamilyMapping familyMapping = null;
+        ColumnMapping columnMapping = null;
+
+        for (Cell cell : cells) {
+            familyMapping = familyMap.get(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength());
+
+            // ignore unknown column family.
+            if (familyMapping == null) {
+                continue;
+            }
+
+            columnMapping = familyMapping.get(cell);
+
+            // ignore the unknown column:
+            if (columnMapping == null) {
+                continue;
+            }
+
+            columnMapping.map(entity, cell, row);
+        }
+
+        if (isDirtyMarker) {
+            DirtyMarkerUtil.markDirty((DirtyMarker) entity, false);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Maps the columns of a family to the properties.
+     */
+    static final class FamilyMapping {
+        private final BytesMap<ColumnMapping> columnMap;
+
+        /** The mapping of empty qualifier, which is also used for the qualifiers not found in {@code columnMap}. */
+        private final ColumnMapping defaultMapping;
+
+        FamilyMapping(final Map<String, ColumnMapping> columnMappings) {
+            this.columnMap = new BytesMap<>(columnMappings);
+            this.defaultMapping = columnMappings.get(HBaseExecutor.EMPTY_QULIFIER);
+        }
+
+        ColumnMapping get(final Cell cell) {
+            final ColumnMapping columnMapping = columnMap.get(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+
+            return columnMapping == null ? defaultMapping : columnMapping;
+        }
+    }
+
+    abstract static class ColumnMapping {
+        abstract void map(Object entity, Cell cell, Row row);
+    }
+
+    /**
+     * Maps the qualifiers of a family to the properties of an entity typed property.
+     */
+    final class NestedEntityMapping extends ColumnMapping {
+        private final PropInfo propInfo;
+
+        private final Class<?> propEntityClass;
+
+        private final EntityInfo propEntityInfo;
+
+        private final HBaseValueCodec codec;
+
+        private final BytesMap<ColumnMapping> columnMap;
+
+        /** The qualifiers resolved by {@code EntityInfo.getPropInfo(String)}, which are not in {@code columnMap}. */
+        private final Map<String, ColumnMapping> resolvedColumnMap = new ConcurrentHashMap<>();
+
+        NestedEntityMapping(final PropInfo propInfo, final HBaseValueCodec codec) {
+            this.propInfo = propInfo;
+            this.propEntityClass = propInfo.jsonXmlType.clazz();
+            this.propEntityInfo = ParserUtil.getEntityInfo(propEntityClass);
+            this.codec = codec;
+
+            final Map<String, String> propEntityColumnFieldNameMap = HBaseExecutor.getFamilyColumnFieldNameMap(propEntityClass)._2;
+            final Map<String, ColumnMapping> columnMappings = new HashMap<>(propEntityColumnFieldNameMap.size());
+
+            for (Map.Entry<String, String> entry : propEntityColumnFieldNameMap.entrySet()) {
+                final ColumnMapping columnMapping = resolve(entry.getValue());
+
+                if (columnMapping != null) {
+                    columnMappings.put(entry.getKey(), columnMapping);
+                }
+            }
+
+            this.columnMap = new BytesMap<>(columnMappings);
+        }
+
+        @Override
+        void map(final Object entity, final Cell cell, final Row row) {
+            ColumnMapping columnMapping = columnMap.get(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+
+            if (columnMapping == null) {
+                final String qualifier = HBaseExecutor.getQualifierString(cell);
+
+                columnMapping = resolvedColumnMap.get(qualifier);
+
+                if (columnMapping == null) {
+                    columnMapping = resolve(qualifier);
+
+                    // ignore the unknown property.
+                    if (columnMapping == null) {
+                        return;
+                    }
+
+                    resolvedColumnMap.put(qualifier, columnMapping);
+                }
+            }
+
+            Object propEntity = propInfo.getPropValue(entity);
+
+            if (propEntity == null) {
+                propEntity = N.newInstance(propEntityClass);
+
+                propInfo.setPropValue(entity, propEntity);
+            }
+
+            columnMapping.map(propEntity, cell, row);
+        }
+
+        private ColumnMapping resolve(final String propName) {
+            final PropInfo columnPropInfo = propEntityInfo.getPropInfo(propName);
+
+            return columnPropInfo == null ? null
+                    : new PropMapping(propInfo, columnPropInfo, HBaseExecutor.getValueCodec(propEntityInfo, columnPropInfo, codec));
+        }
+    }
+
+    /**
+     * Maps a column to a property, which can be a {@code HBaseColumn} or a collection/map of {@code HBaseColumn}.
+     */
+    final class PropMapping extends ColumnMapping {
+        private static final int VALUE = 0;
+        private static final int COLUMN = 1;
+        private static final int COLUMN_COLLECTION = 2;
+        private static final int COLUMN_MAP = 3;
+
+        private final PropInfo propInfo;
+
+        private final HBaseValueCodec codec;
+
+        private final int kind;
+
+        private final Type<?> valueType;
+
+        /** The index of the collection/map created for each row. */
+        private final int containerIndex;
+
+        PropMapping(final PropInfo parentPropInfo, final PropInfo propInfo, final HBaseValueCodec codec) {
+            this.propInfo = propInfo;
+            this.codec = codec;
+
+            final Type<?> propType = propInfo.jsonXmlType;
+
+            if (propType.isMap() && propType.getParameterTypes()[1].clazz().equals(HBaseColumn.class)) {
+                kind = COLUMN_MAP;
+                valueType = propType.getParameterTypes()[1].getElementType();
+            } else if (propType.isCollection() && propType.getParameterTypes()[0].clazz().equals(HBaseColumn.class)) {
+                kind = COLUMN_COLLECTION;
+                valueType = propType.getParameterTypes()[0].getElementType();
+            } else if (propType.clazz().equals(HBaseColumn.class)) {
+                kind = COLUMN;
+                valueType = propType.getParameterTypes()[0];
+            } else {
+                kind = VALUE;
+                valueType = propType;
+            }
+
+            containerIndex = kind == COLUMN_MAP || kind == COLUMN_COLLECTION ? containerCount.getAndIncrement() : -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void map(final Object entity, final Cell cell, final Row row) {
+            final Object value = HBaseExecutor.getValue(cell, valueType, codec);
+
+            switch (kind) {
+                case VALUE:
+                    propInfo.setPropValue(entity, value);
+                    break;
+
+                case COLUMN:
+                    propInfo.setPropValue(entity, HBaseColumn.valueOf(value, cell.getTimestamp()));
+                    break;
+
+                case COLUMN_COLLECTION: {
+                    Collection<HBaseColumn<?>> columnColl = (Collection<HBaseColumn<?>>) row.getContainer(containerIndex);
+
+                    if (columnColl == null) {
+                        columnColl = (Collection<HBaseColumn<?>>) N.newInstance(propInfo.jsonXmlType.clazz());
+                        propInfo.setPropValue(entity, columnColl);
+                        row.setContainer(containerIndex, columnColl);
+                    }
+
+                    columnColl.add(HBaseColumn.valueOf(value, cell.getTimestamp()));
+                    break;
+                }
+
+                default: {
+                    Map<Long, HBaseColumn<?>> columnMap = (Map<Long, HBaseColumn<?>>) row.getContainer(containerIndex);
+
+                    if (columnMap == null) {
+                        columnMap = (Map<Long, HBaseColumn<?>>) N.newInstance(propInfo.jsonXmlType.clazz());
+                        propInfo.setPropValue(entity, columnMap);
+                        row.setContainer(containerIndex, columnMap);
+                    }
+
+                    final HBaseColumn<?> column = HBaseColumn.valueOf(value, cell.getTimestamp());
+                    columnMap.put(column.version(), column);
+                }
+            }
+        }
+    }
+
+    /**
+     * The collections/maps of {@code HBaseColumn} created for the row being mapped.
+     */
+    final class Row {
+        private Object[] containers;
+
+        Object getContainer(final int index) {
+            return containers == null || index >= containers.length ? null : containers[index];
+        }
+
+        void setContainer(final int index, final Object container) {
+            if (containers == null) {
+                containers = new Object[Math.max(index + 1, containerCount.get())];
+            } else if (index >= containers.length) {
+                containers = Arrays.copyOf(containers, Math.max(index + 1, containerCount.get()));
+            }
+
+            containers[index] = container;
+        }
+    }
+
+    /**
+     * An immutable open addressing hash map keyed by the bytes of family/qualifier names,
+     * which are looked up by the array/offset/length of the cell without copying.
+     *
+     * @param <V>
+     */
+    static final class BytesMap<V> {
+        private final byte[][] keys;
+
+        private final Object[] values;
+
+        private final int mask;
+
+        BytesMap(final Map<String, V> map) {
+            int capacity = 2;
+
+            while (capacity < map.size() * 2) {
+                capacity <<= 1;
+            }
+
+            this.keys = new byte[capacity][];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+
+            for (Map.Entry<String, V> entry : map.entrySet()) {
+                final byte[] key = HBaseExecutor.toFamilyQualifierBytes(entry.getKey());
+                int index = hash(key, 0, key.length) & mask;
+
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = key;
+                values[index] = entry.getValue();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(final byte[] bytes, final int offset, final int len) {
+            int index = hash(bytes, offset, len) & mask;
+            byte[] key = null;
+
+            while ((key = keys[index]) != null) {
+                if (Bytes.equals(key, 0, key.length, bytes, offset, len)) {
+                    return (V) values[index];
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            return null;
+        }
+
+        private static int hash(final byte[] bytes, final int offset, final int len) {
+            final int h = Bytes.hashCode(bytes, offset, len);
+
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -32,12 +32,15 @@ import org.apache.hadoop.hbase.CellScanner;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Append;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Durability;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Increment;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.RowMutations;
@@ -46,13 +49,14 @@ import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.client.coprocessor.Batch;
 import org.apache.hadoop.hbase.ipc.CoprocessorRpcChannel;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
 
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
 import com.google.protobuf.Service;
-import com.landawn.abacus.DirtyMarker;
-import com.landawn.abacus.core.DirtyMarkerUtil;
 import com.landawn.abacus.da.hbase.annotation.ColumnFamily;
+import com.landawn.abacus.da.hbase.annotation.SaltedRowKey;
+import com.landawn.abacus.da.hbase.annotation.ValueCodec;
 import com.landawn.abacus.exception.UncheckedIOException;
 import com.landawn.abacus.parser.ParserUtil;
 import com.landawn.abacus.parser.ParserUtil.EntityInfo;
@@ -132,10 +136,22 @@ public final class HBaseExecutor implements Closeable {
     static final AsyncExecutor DEFAULT_ASYNC_EXECUTOR = new AsyncExecutor(Math.max(64, Math.min(IOUtil.CPU_CORES * 8, IOUtil.MAX_MEMORY_IN_MB / 1024) * 32),
             Math.max(256, (IOUtil.MAX_MEMORY_IN_MB / 1024) * 64), 180L, TimeUnit.SECONDS);
 
+    /** The min number of results buffered for each region by parallel scan. */
+    static final int DEFAULT_SCAN_BUFFER_SIZE = 256;
+
     private static final Map<String, byte[]> familyQualifierBytesPool = new ConcurrentHashMap<>();
 
+    private static final Map<Class<? extends HBaseValueCodec>, HBaseValueCodec> valueCodecPool = new ConcurrentHashMap<>();
+
+    static {
+        valueCodecPool.put(StringValueCodec.class, HBaseValueCodec.STRING);
+        valueCodecPool.put(BinaryValueCodec.class, HBaseValueCodec.BINARY);
+    }
+
     private static final Map<Class<?>, Method> classRowkeySetMethodPool = new ConcurrentHashMap<>();
 
+    private static final Map<Class<?>, Integer> classRowKeySaltBucketsPool = new ConcurrentHashMap<>();
+
     private static final Map<Class<?>, Map<NamingPolicy, Map<String, Tuple3<String, String, Boolean>>>> classFamilyColumnNamePool = new ConcurrentHashMap<>();
     private static final Map<Class<?>, Tuple2<Map<String, Map<String, Tuple2<String, Boolean>>>, Map<String, String>>> classFamilyColumnFieldNamePool = new ConcurrentHashMap<>();
 
@@ -143,13 +159,36 @@ public final class HBaseExecutor implements Closeable {
 
     private final Connection conn;
 
+    private final AsyncExecutor asyncExecutor;
+
     private final AsyncHBaseExecutor asyncHBaseExecutor;
 
+    private final long writeBufferSize;
+
+    private final long writeBufferPeriodicFlushTimeoutMs;
+
+    private final Map<String, TableName> tableNamePool = new ConcurrentHashMap<>();
+
+    private final Map<String, BufferedMutator> mutatorPool = new ConcurrentHashMap<>();
+
     public HBaseExecutor(final Connection conn) {
         this(conn, DEFAULT_ASYNC_EXECUTOR);
     }
 
     public HBaseExecutor(final Connection conn, final AsyncExecutor asyncExecutor) {
+        this(conn, asyncExecutor, -1, -1);
+    }
+
+    /**
+     *
+     * @param conn
+     * @param asyncExecutor
+     * @param writeBufferSize the write buffer size in bytes of the {@code BufferedMutator} used by {@code bufferedPut/bufferedDelete}.
+     *        The value of {@code hbase.client.write.buffer} is used if it's not positive.
+     * @param writeBufferPeriodicFlushTimeoutMs the max time in milliseconds the mutations can stay in the write buffer before they're flushed.
+     *        The value of {@code hbase.client.write.buffer.periodicflush.timeout.ms} is used if it's negative. {@code 0} to disable the periodic flush.
+     */
+    public HBaseExecutor(final Connection conn, final AsyncExecutor asyncExecutor, final long writeBufferSize, final long writeBufferPeriodicFlushTimeoutMs) {
         try {
             admin = conn.getAdmin();
         } catch (IOException e) {
@@ -157,6 +196,9 @@ public final class HBaseExecutor implements Closeable {
         }
 
         this.conn = conn;
+        this.asyncExecutor = asyncExecutor;
+        this.writeBufferSize = writeBufferSize;
+        this.writeBufferPeriodicFlushTimeoutMs = writeBufferPeriodicFlushTimeoutMs;
 
         this.asyncHBaseExecutor = new AsyncHBaseExecutor(this, asyncExecutor);
     }
@@ -205,6 +247,42 @@ public final class HBaseExecutor implements Closeable {
 
         classFamilyColumnNamePool.remove(cls);
         classFamilyColumnFieldNamePool.remove(cls);
+        EntityResultMapper.remove(cls);
+    }
+
+    /**
+     * The row keys of the specified entity class will be salted by a prefix byte: {@code hash(row key) % buckets}.
+     * The registered salt overrides the one annotated by {@code @SaltedRowKey}.
+     *
+     * @param cls entity classes with getter/setter methods
+     * @param buckets the number of buckets, from 2 to 256.
+     * @see SaltedRowKey
+     */
+    public static void registerRowKeySalt(final Class<?> cls, final int buckets) {
+        N.checkArgNotNull(cls, "cls");
+        RowKeySalting.checkBuckets(buckets);
+
+        classRowKeySaltBucketsPool.put(cls, buckets);
+
+        EntityResultMapper.remove(cls);
+    }
+
+    /**
+     * Gets the number of salt buckets of the row keys.
+     *
+     * @param targetClass
+     * @return {@code 0} if the row keys of the specified class are not salted.
+     */
+    static int getRowKeySaltBuckets(final Class<?> targetClass) {
+        Integer buckets = classRowKeySaltBucketsPool.get(targetClass);
+
+        if (buckets == null) {
+            final SaltedRowKey saltedRowKeyAnno = targetClass.getAnnotation(SaltedRowKey.class);
+            buckets = saltedRowKeyAnno == null ? 0 : RowKeySalting.checkBuckets(saltedRowKeyAnno.buckets());
+            classRowKeySaltBucketsPool.put(targetClass, buckets);
+        }
+
+        return buckets;
     }
 
     /**
@@ -284,7 +362,7 @@ public final class HBaseExecutor implements Closeable {
         return classFamilyColumnNameMap;
     }
 
-    private static Tuple2<Map<String, Map<String, Tuple2<String, Boolean>>>, Map<String, String>> getFamilyColumnFieldNameMap(final Class<?> entityClass) {
+    static Tuple2<Map<String, Map<String, Tuple2<String, Boolean>>>, Map<String, String>> getFamilyColumnFieldNameMap(final Class<?> entityClass) {
         Tuple2<Map<String, Map<String, Tuple2<String, Boolean>>>, Map<String, String>> familyColumnFieldNameMapTP = classFamilyColumnFieldNamePool
                 .get(entityClass);
 
@@ -354,6 +432,35 @@ public final class HBaseExecutor implements Closeable {
         return N.checkArgNotNullOrEmpty(defaultColumnFamilyAnno.value(), "Column Family can't be null or empty");
     }
 
+    /**
+     * Gets the codec annotated on the property, or on the entity class, or the specified {@code defaultCodec}.
+     *
+     * @param entityInfo
+     * @param propInfo
+     * @param defaultCodec the codec of the parent property for the properties of an entity typed property, otherwise {@code HBaseValueCodec.STRING}.
+     * @return
+     */
+    static HBaseValueCodec getValueCodec(final EntityInfo entityInfo, final PropInfo propInfo, final HBaseValueCodec defaultCodec) {
+        ValueCodec valueCodecAnno = propInfo.getAnnotation(ValueCodec.class);
+
+        if (valueCodecAnno == null) {
+            valueCodecAnno = entityInfo.getAnnotation(ValueCodec.class);
+        }
+
+        return valueCodecAnno == null ? defaultCodec : getValueCodec(valueCodecAnno.value());
+    }
+
+    private static HBaseValueCodec getValueCodec(final Class<? extends HBaseValueCodec> codecClass) {
+        HBaseValueCodec codec = valueCodecPool.get(codecClass);
+
+        if (codec == null) {
+            codec = N.newInstance(codecClass);
+            valueCodecPool.put(codecClass, codec);
+        }
+
+        return codec;
+    }
+
     /**
      *
      * @param <T>
@@ -380,11 +487,7 @@ public final class HBaseExecutor implements Closeable {
         }
 
         final Type<T> targetType = N.typeOf(targetClass);
-
-        final EntityInfo entityInfo = targetType.isEntity() ? ParserUtil.getEntityInfo(targetClass) : null;
-        final Method rowKeySetMethod = targetType.isEntity() ? getRowKeySetMethod(targetClass) : null;
-        final Type<?> rowKeyType = rowKeySetMethod == null ? null : N.typeOf(rowKeySetMethod.getParameterTypes()[0]);
-        final Map<String, Map<String, Tuple2<String, Boolean>>> familyFieldNameMap = targetType.isEntity() ? getFamilyColumnFieldNameMap(targetClass)._1 : null;
+        final EntityResultMapper<T> entityMapper = targetType.isEntity() ? EntityResultMapper.of(targetClass) : null;
 
         final List<T> resultList = new ArrayList<>();
 
@@ -395,7 +498,7 @@ public final class HBaseExecutor implements Closeable {
             Result result = null;
 
             while (count-- > 0 && (result = resultScanner.next()) != null) {
-                resultList.add(toValue(targetType, targetClass, entityInfo, rowKeySetMethod, rowKeyType, familyFieldNameMap, result));
+                resultList.add(toValue(targetType, entityMapper, result));
             }
 
         } catch (IOException e) {
@@ -414,11 +517,7 @@ public final class HBaseExecutor implements Closeable {
      */
     static <T> List<T> toList(final Class<T> targetClass, final List<Result> results) {
         final Type<T> targetType = N.typeOf(targetClass);
-
-        final EntityInfo entityInfo = targetType.isEntity() ? ParserUtil.getEntityInfo(targetClass) : null;
-        final Method rowKeySetMethod = targetType.isEntity() ? getRowKeySetMethod(targetClass) : null;
-        final Type<?> rowKeyType = rowKeySetMethod == null ? null : N.typeOf(rowKeySetMethod.getParameterTypes()[0]);
-        final Map<String, Map<String, Tuple2<String, Boolean>>> familyFieldNameMap = targetType.isEntity() ? getFamilyColumnFieldNameMap(targetClass)._1 : null;
+        final EntityResultMapper<T> entityMapper = targetType.isEntity() ? EntityResultMapper.of(targetClass) : null;
 
         final List<T> resultList = new ArrayList<>(results.size());
 
@@ -428,7 +527,7 @@ public final class HBaseExecutor implements Closeable {
                     continue;
                 }
 
-                resultList.add(toValue(targetType, targetClass, entityInfo, rowKeySetMethod, rowKeyType, familyFieldNameMap, result));
+                resultList.add(toValue(targetType, entityMapper, result));
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -448,13 +547,22 @@ public final class HBaseExecutor implements Closeable {
         final Type<T> targetType = N.typeOf(targetClass);
 
         try {
-            return toValue(targetType, targetClass, result);
+            return toValue(targetType, targetType.isEntity() ? EntityResultMapper.of(targetClass) : null, result);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    private static <T> T toValue(final Type<T> type, final Class<T> targetClass, final Result result) throws IOException {
+    /**
+     *
+     * @param <T>
+     * @param type
+     * @param entityMapper the mapper compiled for the entity class, or {@code null} if {@code type} is not an entity type.
+     * @param result
+     * @return
+     * @throws IOException
+     */
+    private static <T> T toValue(final Type<T> type, final EntityResultMapper<T> entityMapper, final Result result) throws IOException {
         if (type.isMap()) {
             throw new IllegalArgumentException("Map is not supported");
         }
@@ -463,339 +571,8 @@ public final class HBaseExecutor implements Closeable {
             return type.defaultValue();
         }
 
-        if (type.isEntity()) {
-            final EntityInfo entityInfo = ParserUtil.getEntityInfo(targetClass);
-            final Method rowKeySetMethod = getRowKeySetMethod(targetClass);
-            final Type<?> rowKeyType = rowKeySetMethod == null ? null : N.typeOf(rowKeySetMethod.getParameterTypes()[0]);
-            final Map<String, Map<String, Tuple2<String, Boolean>>> familyFieldNameMap = getFamilyColumnFieldNameMap(targetClass)._1;
-
-            return toValue(type, targetClass, entityInfo, rowKeySetMethod, rowKeyType, familyFieldNameMap, result);
-        } else {
-            final CellScanner cellScanner = result.cellScanner();
-
-            if (cellScanner.advance() == false) {
-                return type.defaultValue();
-            }
-
-            final Cell cell = cellScanner.current();
-
-            T value = type.valueOf(getValueString(cell));
-
-            if (cellScanner.advance()) {
-                throw new IllegalArgumentException("Can't covert result with columns: " + getFamilyString(cell) + ":" + getQualifierString(cell) + " to class: "
-                        + ClassUtil.getCanonicalClassName(type.clazz()));
-            }
-
-            return value;
-        }
-    }
-
-    @SuppressWarnings("null")
-    private static <T> T toValue(final Type<T> type, final Class<T> targetClass, final EntityInfo entityInfo, final Method rowKeySetMethod,
-            final Type<?> rowKeyType, final Map<String, Map<String, Tuple2<String, Boolean>>> familyFieldNameMap, final Result result) throws IOException {
-        if (type.isMap()) {
-            throw new IllegalArgumentException("Map is not supported");
-        }
-
-        if (result.isEmpty() || result.advance() == false) {
-            return type.defaultValue();
-        }
-
-        if (type.isEntity()) {
-            final T entity = N.newInstance(targetClass);
-            final CellScanner cellScanner = result.cellScanner();
-
-            Map<String, Map<String, Type<?>>> familyColumnValueTypeMap = null;
-            Map<String, Map<String, Collection<HBaseColumn<?>>>> familyColumnCollectionMap = null;
-            Map<String, Map<String, Map<Long, HBaseColumn<?>>>> familyColumnMapMap = null;
-
-            Object rowKey = null;
-            String family = null;
-            String qualifier = null;
-            String fieldName = null;
-            PropInfo familyPropInfo = null;
-            PropInfo columnPropInfo = null;
-            Type<?> columnValueType = null;
-            Map<String, Tuple2<String, Boolean>> familyTPMap = null;
-            Tuple2<String, Boolean> familyTP = null;
-
-            Map<String, Type<?>> columnValueTypeMap = null;
-            Collection<HBaseColumn<?>> columnColl = null;
-            Map<String, Collection<HBaseColumn<?>>> columnCollectionMap = null;
-            Map<Long, HBaseColumn<?>> columnMap = null;
-            Map<String, Map<Long, HBaseColumn<?>>> columnMapMap = null;
-            HBaseColumn<?> column = null;
-
-            while (cellScanner.advance()) {
-                final Cell cell = cellScanner.current();
-
-                if (rowKeyType != null && rowKey == null) {
-                    rowKey = rowKeyType.valueOf(getRowKeyString(cell));
-                    ClassUtil.setPropValue(entity, rowKeySetMethod, rowKey);
-                }
-
-                family = getFamilyString(cell);
-                qualifier = getQualifierString(cell);
-
-                // .....................................................................................
-                columnMapMap = familyColumnMapMap == null ? null : familyColumnMapMap.get(family);
-
-                if (N.notNullOrEmpty(columnMapMap)) {
-                    columnMap = columnMapMap.get(qualifier);
-
-                    if (N.notNullOrEmpty(columnMap)) {
-                        columnValueType = familyColumnValueTypeMap.get(family).get(qualifier);
-                        column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-                        columnMapMap.put(qualifier, columnMap);
-
-                        continue;
-                    }
-                }
-
-                // .....................................................................................
-                columnCollectionMap = familyColumnCollectionMap == null ? null : familyColumnCollectionMap.get(family);
-
-                if (N.notNullOrEmpty(columnCollectionMap)) {
-                    columnColl = columnCollectionMap.get(qualifier);
-
-                    if (N.notNullOrEmpty(columnColl)) {
-                        columnValueType = familyColumnValueTypeMap.get(family).get(qualifier);
-                        column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-                        columnColl.add(column);
-
-                        continue;
-                    }
-                }
-
-                // .....................................................................................
-                familyTPMap = familyFieldNameMap.get(family);
-
-                // ignore unknown column family.
-                if (familyTPMap == null) {
-                    continue;
-                }
-
-                familyTP = familyTPMap.get(qualifier);
-
-                if (familyTP == null) {
-                    familyTP = familyTPMap.get(EMPTY_QULIFIER);
-                }
-
-                // ignore the unknown column:
-                if (familyTP == null) {
-                    continue;
-                }
-
-                fieldName = familyTP._1;
-                familyPropInfo = entityInfo.getPropInfo(fieldName);
-
-                // ignore the unknown field/property:
-                if (familyPropInfo == null) {
-                    continue;
-                }
-
-                if (familyPropInfo.jsonXmlType.isEntity() && (familyTPMap == null || familyTP._2 == false)) {
-                    final Class<?> propEntityClass = familyPropInfo.jsonXmlType.clazz();
-                    final Map<String, String> propEntityColumnFieldNameMap = getFamilyColumnFieldNameMap(propEntityClass)._2;
-                    final EntityInfo propEntityInfo = ParserUtil.getEntityInfo(propEntityClass);
-                    Object propEntity = familyPropInfo.getPropValue(entity);
-
-                    if (propEntity == null) {
-                        propEntity = N.newInstance(propEntityClass);
-
-                        familyPropInfo.setPropValue(entity, propEntity);
-                    }
-
-                    columnPropInfo = propEntityInfo.getPropInfo(propEntityColumnFieldNameMap.getOrDefault(qualifier, qualifier));
-
-                    // ignore the unknown property.
-                    if (columnPropInfo == null) {
-                        continue;
-                    }
-
-                    if (columnPropInfo.jsonXmlType.isMap() && columnPropInfo.jsonXmlType.getParameterTypes()[1].clazz().equals(HBaseColumn.class)) {
-                        columnValueType = columnPropInfo.jsonXmlType.getParameterTypes()[1].getElementType();
-
-                        if (familyColumnValueTypeMap == null) {
-                            familyColumnValueTypeMap = new HashMap<>();
-                        } else {
-                            columnValueTypeMap = familyColumnValueTypeMap.get(family);
-                        }
-
-                        if (columnValueTypeMap == null) {
-                            columnValueTypeMap = new HashMap<>();
-                            familyColumnValueTypeMap.put(family, columnValueTypeMap);
-                        }
-
-                        columnValueTypeMap.put(qualifier, columnValueType);
-                        columnMap = (Map<Long, HBaseColumn<?>>) N.newInstance(columnPropInfo.jsonXmlType.clazz());
-                        columnPropInfo.setPropValue(propEntity, columnMap);
-
-                        if (columnMapMap == null) {
-                            if (familyColumnMapMap == null) {
-                                familyColumnMapMap = new HashMap<>();
-                            }
-
-                            columnMapMap = new HashMap<>();
-                            familyColumnMapMap.put(family, columnMapMap);
-                        }
-
-                        columnMapMap.put(qualifier, columnMap);
-
-                        column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-                        columnMap.put(column.version(), column);
-                    } else if (columnPropInfo.jsonXmlType.isCollection()
-                            && columnPropInfo.jsonXmlType.getParameterTypes()[0].clazz().equals(HBaseColumn.class)) {
-                        columnValueType = columnPropInfo.jsonXmlType.getParameterTypes()[0].getElementType();
-
-                        if (familyColumnValueTypeMap == null) {
-                            familyColumnValueTypeMap = new HashMap<>();
-                        } else {
-                            columnValueTypeMap = familyColumnValueTypeMap.get(family);
-                        }
-
-                        if (columnValueTypeMap == null) {
-                            columnValueTypeMap = new HashMap<>();
-                            familyColumnValueTypeMap.put(family, columnValueTypeMap);
-                        }
-
-                        columnValueTypeMap.put(qualifier, columnValueType);
-                        columnColl = (Collection<HBaseColumn<?>>) N.newInstance(columnPropInfo.jsonXmlType.clazz());
-                        columnPropInfo.setPropValue(propEntity, columnColl);
-
-                        if (columnCollectionMap == null) {
-                            if (familyColumnCollectionMap == null) {
-                                familyColumnCollectionMap = new HashMap<>();
-                            }
-
-                            columnCollectionMap = new HashMap<>();
-                            familyColumnCollectionMap.put(family, columnCollectionMap);
-                        }
-
-                        columnCollectionMap.put(qualifier, columnColl);
-
-                        column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-                        columnColl.add(column);
-                    } else if (columnPropInfo.jsonXmlType.clazz().equals(HBaseColumn.class)) {
-                        if (familyColumnValueTypeMap == null) {
-                            familyColumnValueTypeMap = new HashMap<>();
-                        } else {
-                            columnValueTypeMap = familyColumnValueTypeMap.get(family);
-                        }
-
-                        if (columnValueTypeMap == null) {
-                            columnValueTypeMap = new HashMap<>();
-                            familyColumnValueTypeMap.put(family, columnValueTypeMap);
-                        }
-
-                        columnValueType = columnValueTypeMap.get(qualifier);
-
-                        if (columnValueType == null) {
-                            columnValueType = columnPropInfo.jsonXmlType.getParameterTypes()[0];
-                            columnValueTypeMap.put(qualifier, columnValueType);
-                        }
-
-                        column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-
-                        columnPropInfo.setPropValue(propEntity, column);
-                    } else {
-                        columnPropInfo.setPropValue(propEntity, columnPropInfo.jsonXmlType.valueOf(getValueString(cell)));
-                    }
-
-                } else if (familyPropInfo.jsonXmlType.isMap() && familyPropInfo.jsonXmlType.getParameterTypes()[1].clazz().equals(HBaseColumn.class)) {
-                    columnValueType = familyPropInfo.jsonXmlType.getParameterTypes()[1].getElementType();
-
-                    if (familyColumnValueTypeMap == null) {
-                        familyColumnValueTypeMap = new HashMap<>();
-                    } else {
-                        columnValueTypeMap = familyColumnValueTypeMap.get(family);
-                    }
-
-                    if (columnValueTypeMap == null) {
-                        columnValueTypeMap = new HashMap<>();
-                        familyColumnValueTypeMap.put(family, columnValueTypeMap);
-                    }
-
-                    columnValueTypeMap.put(qualifier, columnValueType);
-                    columnMap = (Map<Long, HBaseColumn<?>>) N.newInstance(familyPropInfo.jsonXmlType.clazz());
-                    familyPropInfo.setPropValue(entity, columnMap);
-
-                    if (columnMapMap == null) {
-                        if (familyColumnMapMap == null) {
-                            familyColumnMapMap = new HashMap<>();
-                        }
-
-                        columnMapMap = new HashMap<>();
-                        familyColumnMapMap.put(family, columnMapMap);
-                    }
-
-                    columnMapMap.put(qualifier, columnMap);
-
-                    column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-                    columnMap.put(column.version(), column);
-                } else if (familyPropInfo.jsonXmlType.isCollection() && familyPropInfo.jsonXmlType.getParameterTypes()[0].clazz().equals(HBaseColumn.class)) {
-                    columnValueType = familyPropInfo.jsonXmlType.getParameterTypes()[0].getElementType();
-
-                    if (familyColumnValueTypeMap == null) {
-                        familyColumnValueTypeMap = new HashMap<>();
-                    } else {
-                        columnValueTypeMap = familyColumnValueTypeMap.get(family);
-                    }
-
-                    if (columnValueTypeMap == null) {
-                        columnValueTypeMap = new HashMap<>();
-                        familyColumnValueTypeMap.put(family, columnValueTypeMap);
-                    }
-
-                    columnValueTypeMap.put(qualifier, columnValueType);
-                    columnColl = (Collection<HBaseColumn<?>>) N.newInstance(familyPropInfo.jsonXmlType.clazz());
-                    familyPropInfo.setPropValue(entity, columnColl);
-
-                    if (columnCollectionMap == null) {
-                        if (familyColumnCollectionMap == null) {
-                            familyColumnCollectionMap = new HashMap<>();
-                        }
-
-                        columnCollectionMap = new HashMap<>();
-                        familyColumnCollectionMap.put(family, columnCollectionMap);
-                    }
-
-                    columnCollectionMap.put(qualifier, columnColl);
-
-                    column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-                    columnColl.add(column);
-                } else if (familyPropInfo.jsonXmlType.clazz().equals(HBaseColumn.class)) {
-                    if (familyColumnValueTypeMap == null) {
-                        familyColumnValueTypeMap = new HashMap<>();
-                    } else {
-                        columnValueTypeMap = familyColumnValueTypeMap.get(family);
-                    }
-
-                    if (columnValueTypeMap == null) {
-                        columnValueTypeMap = new HashMap<>();
-                        familyColumnValueTypeMap.put(family, columnValueTypeMap);
-                    }
-
-                    columnValueType = columnValueTypeMap.get(qualifier);
-
-                    if (columnValueType == null) {
-                        columnValueType = familyPropInfo.jsonXmlType.getParameterTypes()[0];
-                        columnValueTypeMap.put(qualifier, columnValueType);
-                    }
-
-                    column = HBaseColumn.valueOf(columnValueType.valueOf(getValueString(cell)), cell.getTimestamp());
-
-                    familyPropInfo.setPropValue(entity, column);
-                } else {
-                    familyPropInfo.setPropValue(entity, familyPropInfo.jsonXmlType.valueOf(getValueString(cell)));
-                }
-            }
-
-            if (DirtyMarkerUtil.isDirtyMarker(entity.getClass())) {
-                DirtyMarkerUtil.markDirty((DirtyMarker) entity, false);
-            }
-
-            return entity;
+        if (entityMapper != null) {
+            return entityMapper.map(result);
         } else {
             final CellScanner cellScanner = result.cellScanner();
 
@@ -935,7 +712,7 @@ public final class HBaseExecutor implements Closeable {
     }
 
     /**
-     * Gets the table.
+     * Gets a new {@code Table}, which should be closed by the caller.
      *
      * @param tableName
      * @return
@@ -943,12 +720,62 @@ public final class HBaseExecutor implements Closeable {
      */
     public Table getTable(final String tableName) throws UncheckedIOException {
         try {
-            return conn.getTable(TableName.valueOf(tableName));
+            return conn.getTable(tableName(tableName));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    TableName tableName(final String tableName) {
+        TableName result = tableNamePool.get(tableName);
+
+        if (result == null) {
+            result = TableName.valueOf(tableName);
+            tableNamePool.put(tableName, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the {@code BufferedMutator} shared by {@code bufferedPut/bufferedDelete}, which is flushed and closed when this executor is closed.
+     *
+     * @param tableName
+     * @return
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    BufferedMutator mutator(final String tableName) throws UncheckedIOException {
+        BufferedMutator mutator = mutatorPool.get(tableName);
+
+        if (mutator == null) {
+            synchronized (mutatorPool) {
+                mutator = mutatorPool.get(tableName);
+
+                if (mutator == null) {
+                    final BufferedMutatorParams params = new BufferedMutatorParams(tableName(tableName));
+
+                    if (writeBufferSize > 0) {
+                        params.writeBufferSize(writeBufferSize);
+                    }
+
+                    if (writeBufferPeriodicFlushTimeoutMs >= 0) {
+                        params.setWriteBufferPeriodicFlushTimeoutMs(writeBufferPeriodicFlushTimeoutMs);
+                    }
+
+                    try {
+                        mutator = conn.getBufferedMutator(params);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+
+                    mutatorPool.put(tableName, mutator);
+                }
+            }
+        }
+
+        return mutator;
+    }
+
     @SuppressWarnings("rawtypes")
     private final Map<Class<?>, HBaseMapper> mapperPool = new ConcurrentHashMap<>();
 
@@ -1253,6 +1080,114 @@ public final class HBaseExecutor implements Closeable {
         return toList(targetClass, get(tableName, anyGets));
     }
 
+    /**
+     * Groups the specified {@code gets} by the region servers hosting the rows, splits each group into chunks with at most {@code chunkSize} gets,
+     * and gets the chunks by at most {@code threadNum} threads at the same time, instead of sending all the gets by one multi-get.
+     * <br />
+     * If {@code ordered} is {@code true}, the results are returned in the order of the specified {@code gets}.
+     * Otherwise the results are returned chunk by chunk in the order the chunks are completed.
+     *
+     * @param tableName
+     * @param gets
+     * @param chunkSize the max number of gets sent to a region server by one multi-get.
+     * @param threadNum the max number of chunks sent at the same time.
+     * @param ordered
+     * @return
+     */
+    public Stream<Result> parallelGet(final String tableName, final List<Get> gets, final int chunkSize, final int threadNum, final boolean ordered) {
+        N.checkArgNotNull(tableName, "tableName");
+        N.checkArgNotNull(gets, "gets");
+        N.checkArgPositive(chunkSize, "chunkSize");
+        N.checkArgPositive(threadNum, "threadNum");
+
+        if (gets.size() == 0) {
+            return Stream.empty();
+        }
+
+        final ObjIteratorEx<Result> lazyIter = ObjIteratorEx.of(new Supplier<ObjIteratorEx<Result>>() {
+            private ObjIteratorEx<Result> internalIter = null;
+
+            @Override
+            public ObjIteratorEx<Result> get() {
+                if (internalIter == null) {
+                    RegionLocator regionLocator = null;
+                    List<int[]> chunks = null;
+
+                    try {
+                        regionLocator = conn.getRegionLocator(tableName(tableName));
+                        chunks = ParallelGet.split(regionLocator, gets, chunkSize);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        IOUtil.closeQuietly(regionLocator);
+                    }
+
+                    internalIter = ParallelGet.iterate(HBaseExecutor.this, tableName, gets, chunks, threadNum, ordered, asyncExecutor);
+                }
+
+                return internalIter;
+            }
+        });
+
+        return Stream.of(lazyIter).onClose(new Runnable() {
+            @Override
+            public void run() {
+                lazyIter.close();
+            }
+        });
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param anyGets
+     * @param chunkSize
+     * @param threadNum
+     * @param ordered
+     * @return
+     * @see #parallelGet(String, List, int, int, boolean)
+     */
+    public Stream<Result> parallelGet(final String tableName, final Collection<AnyGet> anyGets, final int chunkSize, final int threadNum,
+            final boolean ordered) {
+        return parallelGet(tableName, AnyGet.toGet(anyGets), chunkSize, threadNum, ordered);
+    }
+
+    /**
+     * The empty results of the rows not found are skipped.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param tableName
+     * @param gets
+     * @param chunkSize
+     * @param threadNum
+     * @param ordered
+     * @return
+     * @see #parallelGet(String, List, int, int, boolean)
+     */
+    public <T> Stream<T> parallelGet(final Class<T> targetClass, final String tableName, final List<Get> gets, final int chunkSize, final int threadNum,
+            final boolean ordered) {
+        return parallelGet(tableName, gets, chunkSize, threadNum, ordered).filter(it -> !it.isEmpty()).map(toEntity(targetClass));
+    }
+
+    /**
+     * The empty results of the rows not found are skipped.
+     *
+     * @param <T>
+     * @param targetClass
+     * @param tableName
+     * @param anyGets
+     * @param chunkSize
+     * @param threadNum
+     * @param ordered
+     * @return
+     * @see #parallelGet(String, List, int, int, boolean)
+     */
+    public <T> Stream<T> parallelGet(final Class<T> targetClass, final String tableName, final Collection<AnyGet> anyGets, final int chunkSize,
+            final int threadNum, final boolean ordered) {
+        return parallelGet(targetClass, tableName, AnyGet.toGet(anyGets), chunkSize, threadNum, ordered);
+    }
+
     /**
      *
      * @param tableName
@@ -1385,12 +1320,169 @@ public final class HBaseExecutor implements Closeable {
      * @param <T>
      * @param targetClass
      * @param tableName
-     * @param family
-     * @param qualifier
+     * @param family
+     * @param qualifier
+     * @return
+     */
+    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final String family, final String qualifier) {
+        return scan(tableName, family, qualifier).map(toEntity(targetClass));
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param tableName
+     * @param family
+     * @return
+     */
+    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final byte[] family) {
+        return scan(tableName, family).map(toEntity(targetClass));
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param tableName
+     * @param family
+     * @param qualifier
+     * @return
+     */
+    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final byte[] family, final byte[] qualifier) {
+        return scan(tableName, family, qualifier).map(toEntity(targetClass));
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param tableName
+     * @param anyScan
+     * @return
+     */
+    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final AnyScan anyScan) {
+        return scan(tableName, anyScan).map(toEntity(targetClass));
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param tableName
+     * @param scan
+     * @return
+     */
+    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final Scan scan) {
+        return scan(tableName, scan).map(toEntity(targetClass));
+    }
+
+    /**
+     * Splits the range of the specified {@code scan} along the region boundaries of the table, by {@code RegionLocator}.
+     * Each returned scan covers the part of the range in one region, in the order of the specified {@code scan}.
+     *
+     * @param tableName
+     * @param scan
+     * @return
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    public List<Scan> splitByRegions(final String tableName, final Scan scan) throws UncheckedIOException {
+        N.checkArgNotNull(tableName, "tableName");
+        N.checkArgNotNull(scan, "scan");
+
+        RegionLocator regionLocator = null;
+
+        try {
+            regionLocator = conn.getRegionLocator(tableName(tableName));
+
+            final Pair<byte[][], byte[][]> startEndKeys = regionLocator.getStartEndKeys();
+
+            return ParallelScan.split(scan, startEndKeys.getFirst(), startEndKeys.getSecond());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            IOUtil.closeQuietly(regionLocator);
+        }
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param anyScan
+     * @param threadNum
+     * @param ordered
+     * @return
+     * @see #parallelScan(String, Scan, int, boolean)
+     */
+    public Stream<Result> parallelScan(final String tableName, final AnyScan anyScan, final int threadNum, final boolean ordered) {
+        return parallelScan(tableName, anyScan.val(), threadNum, ordered);
+    }
+
+    /**
+     * Splits the range of the specified {@code scan} along the region boundaries and scans the regions by at most {@code threadNum} scanners at the same time.
+     * If {@code ordered} is {@code true}, the results are returned in the same order as {@code scan(tableName, scan)}:
+     * the scanners are started in the order of the regions and the results of the following regions are buffered until the previous regions are consumed.
+     * Otherwise the results are returned in the order they're received, which has higher throughput.
+     * <br />
+     * If the limit of the scan is set, it's applied to each region and the merged results, so the results may be different from
+     * {@code scan(tableName, scan)} if {@code ordered} is {@code false}.
+     *
+     * @param tableName
+     * @param scan
+     * @param threadNum the max number of regions scanned at the same time.
+     * @param ordered
+     * @return
+     * @see #splitByRegions(String, Scan)
+     */
+    public Stream<Result> parallelScan(final String tableName, final Scan scan, final int threadNum, final boolean ordered) {
+        N.checkArgNotNull(tableName, "tableName");
+        N.checkArgNotNull(scan, "scan");
+        N.checkArgPositive(threadNum, "threadNum");
+
+        final List<Scan> scans = splitByRegions(tableName, scan);
+
+        if (threadNum == 1 || scans.size() <= 1) {
+            return scan(tableName, scan);
+        }
+
+        final int bufferSize = Math.max(scan.getCaching(), DEFAULT_SCAN_BUFFER_SIZE);
+
+        final ObjIteratorEx<Result> lazyIter = ObjIteratorEx.of(new Supplier<ObjIteratorEx<Result>>() {
+            private ObjIteratorEx<Result> internalIter = null;
+
+            @Override
+            public ObjIteratorEx<Result> get() {
+                if (internalIter == null) {
+                    internalIter = ParallelScan.iterate(HBaseExecutor.this, tableName, scans, threadNum, bufferSize, ordered, asyncExecutor);
+                }
+
+                return internalIter;
+            }
+        });
+
+        final Stream<Result> stream = Stream.of(lazyIter).onClose(new Runnable() {
+            @Override
+            public void run() {
+                lazyIter.close();
+            }
+        });
+
+        return scan.getLimit() > 0 ? stream.limit(scan.getLimit()) : stream;
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param tableName
+     * @param anyScan
+     * @param threadNum
+     * @param ordered
      * @return
+     * @see #parallelScan(String, Scan, int, boolean)
      */
-    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final String family, final String qualifier) {
-        return scan(tableName, family, qualifier).map(toEntity(targetClass));
+    public <T> Stream<T> parallelScan(final Class<T> targetClass, final String tableName, final AnyScan anyScan, final int threadNum, final boolean ordered) {
+        return parallelScan(tableName, anyScan, threadNum, ordered).map(toEntity(targetClass));
     }
 
     /**
@@ -1398,24 +1490,56 @@ public final class HBaseExecutor implements Closeable {
      * @param <T>
      * @param targetClass
      * @param tableName
-     * @param family
+     * @param scan
+     * @param threadNum
+     * @param ordered
      * @return
+     * @see #parallelScan(String, Scan, int, boolean)
      */
-    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final byte[] family) {
-        return scan(tableName, family).map(toEntity(targetClass));
+    public <T> Stream<T> parallelScan(final Class<T> targetClass, final String tableName, final Scan scan, final int threadNum, final boolean ordered) {
+        return parallelScan(tableName, scan, threadNum, ordered).map(toEntity(targetClass));
     }
 
     /**
+     * Scans the rows with salted row keys by one scan for each bucket and merges the results in the order of the row keys without the salt.
+     * The start/stop rows of the specified {@code scan} are not salted. The bucket scans are opened at the same time and prefetch their rows asynchronously.
      *
-     * @param <T>
-     * @param targetClass
      * @param tableName
-     * @param family
-     * @param qualifier
+     * @param scan
+     * @param buckets
      * @return
+     * @see RowKeySalting
      */
-    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final byte[] family, final byte[] qualifier) {
-        return scan(tableName, family, qualifier).map(toEntity(targetClass));
+    Stream<Result> saltedScan(final String tableName, final Scan scan, final int buckets) {
+        final List<Scan> bucketScans;
+
+        try {
+            bucketScans = RowKeySalting.split(scan, buckets);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final ObjIteratorEx<Result> lazyIter = ObjIteratorEx.of(new Supplier<ObjIteratorEx<Result>>() {
+            private ObjIteratorEx<Result> internalIter = null;
+
+            @Override
+            public ObjIteratorEx<Result> get() {
+                if (internalIter == null) {
+                    internalIter = RowKeySalting.iterate(HBaseExecutor.this, tableName, bucketScans, scan.isReversed(), asyncExecutor);
+                }
+
+                return internalIter;
+            }
+        });
+
+        final Stream<Result> stream = Stream.of(lazyIter).onClose(new Runnable() {
+            @Override
+            public void run() {
+                lazyIter.close();
+            }
+        });
+
+        return scan.getLimit() > 0 ? stream.limit(scan.getLimit()) : stream;
     }
 
     /**
@@ -1424,22 +1548,55 @@ public final class HBaseExecutor implements Closeable {
      * @param targetClass
      * @param tableName
      * @param anyScan
+     * @param mapThreadNum
      * @return
+     * @see #adaptiveScan(Class, String, Scan, int)
      */
-    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final AnyScan anyScan) {
-        return scan(tableName, anyScan).map(toEntity(targetClass));
+    public <T> Stream<T> adaptiveScan(final Class<T> targetClass, final String tableName, final AnyScan anyScan, final int mapThreadNum) {
+        return adaptiveScan(targetClass, tableName, anyScan.val(), mapThreadNum);
     }
 
     /**
+     * Scans the rows and maps them to the entities of {@code targetClass} batch by batch.
+     * The first rows, as many as the caching of the specified {@code scan}, are sampled by one RPC. The caching and max result size of the scanner
+     * which reads the rest of the rows are set by the size and latency of the sample, and each batch is the rows returned by one RPC.
+     * The next batch is fetched from the scanner in background while the rows of the current one are mapped,
+     * by up to {@code mapThreadNum} threads if there are enough rows. The entities are returned in the order of the scan, and at most the limit of the scan.
+     * <br />
+     * Batch or partial results can't be set on the specified {@code scan}, because a row could be split into multiple {@code Result}s.
      *
      * @param <T>
      * @param targetClass
      * @param tableName
      * @param scan
+     * @param mapThreadNum the max number of threads to map the rows of a batch. {@code 1} to map on the consuming thread.
      * @return
      */
-    public <T> Stream<T> scan(final Class<T> targetClass, final String tableName, final Scan scan) {
-        return scan(tableName, scan).map(toEntity(targetClass));
+    public <T> Stream<T> adaptiveScan(final Class<T> targetClass, final String tableName, final Scan scan, final int mapThreadNum) {
+        N.checkArgNotNull(targetClass, "targetClass");
+        N.checkArgNotNull(tableName, "tableName");
+        N.checkArgNotNull(scan, "scan");
+        N.checkArgPositive(mapThreadNum, "mapThreadNum");
+
+        final ObjIteratorEx<T> lazyIter = ObjIteratorEx.of(new Supplier<ObjIteratorEx<T>>() {
+            private ObjIteratorEx<T> internalIter = null;
+
+            @Override
+            public ObjIteratorEx<T> get() {
+                if (internalIter == null) {
+                    internalIter = AdaptiveScan.iterate(HBaseExecutor.this, tableName, scan, targetClass, mapThreadNum, asyncExecutor);
+                }
+
+                return internalIter;
+            }
+        });
+
+        return Stream.of(lazyIter).onClose(new Runnable() {
+            @Override
+            public void run() {
+                lazyIter.close();
+            }
+        });
     }
 
     /**
@@ -1449,10 +1606,17 @@ public final class HBaseExecutor implements Closeable {
      * @return
      */
     private static <T> Function<Result, T> toEntity(final Class<T> targetClass) {
+        final Type<T> targetType = N.typeOf(targetClass);
+        final EntityResultMapper<T> entityMapper = targetType.isEntity() ? EntityResultMapper.of(targetClass) : null;
+
         return new Function<Result, T>() {
             @Override
             public T apply(Result t) {
-                return toEntity(targetClass, t);
+                try {
+                    return toValue(targetType, entityMapper, t);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
         };
     }
@@ -1581,6 +1745,142 @@ public final class HBaseExecutor implements Closeable {
         delete(tableName, AnyDelete.toDelete(anyDeletes));
     }
 
+    /**
+     * Adds the specified {@code put} to the write buffer of the table, which is sent in batch when the buffer is full,
+     * the periodic flush timeout is reached, or {@code flush} is called.
+     * The errors of the buffered mutations are thrown by the subsequent {@code bufferedPut/bufferedDelete/flush}.
+     *
+     * @param tableName
+     * @param put
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #flush(String)
+     */
+    public void bufferedPut(final String tableName, final Put put) throws UncheckedIOException {
+        try {
+            mutator(tableName).mutate(put);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param puts
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #bufferedPut(String, Put)
+     */
+    public void bufferedPut(final String tableName, final List<Put> puts) throws UncheckedIOException {
+        try {
+            mutator(tableName).mutate(puts);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param anyPut
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #bufferedPut(String, Put)
+     */
+    public void bufferedPut(final String tableName, final AnyPut anyPut) throws UncheckedIOException {
+        bufferedPut(tableName, anyPut.val());
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param anyPuts
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #bufferedPut(String, Put)
+     */
+    public void bufferedPut(final String tableName, final Collection<AnyPut> anyPuts) throws UncheckedIOException {
+        bufferedPut(tableName, AnyPut.toPut(anyPuts));
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param delete
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #bufferedPut(String, Put)
+     */
+    public void bufferedDelete(final String tableName, final Delete delete) throws UncheckedIOException {
+        try {
+            mutator(tableName).mutate(delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param deletes
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #bufferedPut(String, Put)
+     */
+    public void bufferedDelete(final String tableName, final List<Delete> deletes) throws UncheckedIOException {
+        try {
+            mutator(tableName).mutate(deletes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param anyDelete
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #bufferedPut(String, Put)
+     */
+    public void bufferedDelete(final String tableName, final AnyDelete anyDelete) throws UncheckedIOException {
+        bufferedDelete(tableName, anyDelete.val());
+    }
+
+    /**
+     *
+     * @param tableName
+     * @param anyDeletes
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see #bufferedPut(String, Put)
+     */
+    public void bufferedDelete(final String tableName, final Collection<AnyDelete> anyDeletes) throws UncheckedIOException {
+        bufferedDelete(tableName, AnyDelete.toDelete(anyDeletes));
+    }
+
+    /**
+     * Sends the buffered mutations of the specified table and waits until they're done.
+     *
+     * @param tableName
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    public void flush(final String tableName) throws UncheckedIOException {
+        final BufferedMutator mutator = mutatorPool.get(tableName);
+
+        if (mutator != null) {
+            try {
+                mutator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Sends the buffered mutations of all the tables and waits until they're done.
+     *
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    public void flush() throws UncheckedIOException {
+        for (String tableName : mutatorPool.keySet()) {
+            flush(tableName);
+        }
+    }
+
     /**
      *
      * @param tableName
@@ -1914,6 +2214,20 @@ public final class HBaseExecutor implements Closeable {
         return toValueBytes(rowKey);
     }
 
+    /**
+     * To row key bytes, which are salted if the row keys of the specified class are salted.
+     *
+     * @param targetClass
+     * @param rowKey
+     * @return
+     */
+    static byte[] toRowKeyBytes(final Class<?> targetClass, final Object rowKey) {
+        final byte[] bytes = toRowKeyBytes(rowKey);
+        final int buckets = getRowKeySaltBuckets(targetClass);
+
+        return buckets == 0 || bytes == null ? bytes : RowKeySalting.salt(bytes, buckets);
+    }
+
     /**
      * To row bytes.
      *
@@ -1936,7 +2250,7 @@ public final class HBaseExecutor implements Closeable {
         } else if (value instanceof byte[]) {
             return (byte[]) value;
         } else if (value instanceof ByteBuffer) {
-            return ((ByteBuffer) value).array();
+            return toBytes((ByteBuffer) value);
         } else if (value instanceof String) {
             return Bytes.toBytes((String) value);
         } else {
@@ -1944,6 +2258,18 @@ public final class HBaseExecutor implements Closeable {
         }
     }
 
+    /**
+     * Copies the remaining bytes of the specified buffer, which can be a direct or read-only buffer, without changing its position.
+     *
+     * @param buffer
+     * @return
+     */
+    static byte[] toBytes(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
     //
     //    static byte[] toBytes(final String str) {
     //        return str == null ? null : Bytes.toBytes(str);
@@ -2029,21 +2355,71 @@ public final class HBaseExecutor implements Closeable {
         return toValueString(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
     }
 
+    /**
+     * Gets the value decoded by the specified codec.
+     *
+     * @param <T>
+     * @param cell
+     * @param type
+     * @param codec
+     * @return
+     */
+    static <T> T getValue(final Cell cell, final Type<T> type, final HBaseValueCodec codec) {
+        return codec.decode(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength(), type);
+    }
+
     /**
      *
      * @throws IOException Signals that an I/O exception has occurred.
      */
     @Override
     public void close() throws IOException {
+        IOException ioe = null;
+
+        // flush the buffered mutations before the connection is closed.
+        synchronized (mutatorPool) {
+            for (BufferedMutator mutator : mutatorPool.values()) {
+                try {
+                    mutator.close();
+                } catch (IOException e) {
+                    if (ioe == null) {
+                        ioe = e;
+                    } else {
+                        ioe.addSuppressed(e);
+                    }
+                }
+            }
+
+            mutatorPool.clear();
+        }
+
+        try {
+            asyncHBaseExecutor.close();
+        } catch (IOException e) {
+            if (ioe == null) {
+                ioe = e;
+            } else {
+                ioe.addSuppressed(e);
+            }
+        }
+
         if (conn.isClosed() == false) {
             conn.close();
         }
+
+        if (ioe != null) {
+            throw ioe;
+        }
     }
 
     /**
+     * If the row keys of the target entity class are salted by {@code @SaltedRowKey} or {@code registerRowKeySalt},
+     * the row keys passed to/returned by the mapper are the unsalted ones and the salt is applied transparently,
+     * except for the {@code AnyGet/AnyDelete/AnyIncrement...} created by the caller, whose rows are used as they are.
      *
      * @param <T> target entity type.
      * @param <K> row key type
+     * @see SaltedRowKey
      */
     public static class HBaseMapper<T, K> {
         private final HBaseExecutor hbaseExecutor;
@@ -2082,7 +2458,7 @@ public final class HBaseExecutor implements Closeable {
          * @throws UncheckedIOException
          */
         public boolean exists(final K rowKey) throws UncheckedIOException {
-            return hbaseExecutor.exists(tableName, AnyGet.of(rowKey));
+            return hbaseExecutor.exists(tableName, AnyGet.of(rowKeyBytes(rowKey)));
         }
 
         /**
@@ -2092,7 +2468,7 @@ public final class HBaseExecutor implements Closeable {
          * @throws UncheckedIOException
          */
         public List<Boolean> exists(final Collection<? extends K> rowKeys) throws UncheckedIOException {
-            final List<AnyGet> anyGets = N.map(rowKeys, AnyGet::of);
+            final List<AnyGet> anyGets = N.map(rowKeys, rowKey -> AnyGet.of(rowKeyBytes(rowKey)));
 
             return hbaseExecutor.exists(tableName, anyGets);
         }
@@ -2104,7 +2480,7 @@ public final class HBaseExecutor implements Closeable {
          * @throws UncheckedIOException
          */
         public T get(final K rowKey) throws UncheckedIOException {
-            return hbaseExecutor.get(targetEntityClass, tableName, AnyGet.of(rowKey));
+            return hbaseExecutor.get(targetEntityClass, tableName, AnyGet.of(rowKeyBytes(rowKey)));
         }
 
         /**
@@ -2114,11 +2490,26 @@ public final class HBaseExecutor implements Closeable {
          * @throws UncheckedIOException
          */
         public List<T> get(final Collection<? extends K> rowKeys) throws UncheckedIOException {
-            final List<AnyGet> anyGets = N.map(rowKeys, AnyGet::of);
+            final List<AnyGet> anyGets = N.map(rowKeys, rowKey -> AnyGet.of(rowKeyBytes(rowKey)));
 
             return hbaseExecutor.get(targetEntityClass, tableName, anyGets);
         }
 
+        /**
+         *
+         * @param rowKeys
+         * @param chunkSize
+         * @param threadNum
+         * @param ordered
+         * @return
+         * @see HBaseExecutor#parallelGet(String, List, int, int, boolean)
+         */
+        public Stream<T> parallelGet(final Collection<? extends K> rowKeys, final int chunkSize, final int threadNum, final boolean ordered) {
+            final List<AnyGet> anyGets = N.map(rowKeys, rowKey -> AnyGet.of(rowKeyBytes(rowKey)));
+
+            return hbaseExecutor.parallelGet(targetEntityClass, tableName, anyGets, chunkSize, threadNum, ordered);
+        }
+
         /**
          *
          * @param entityToPut
@@ -2137,6 +2528,35 @@ public final class HBaseExecutor implements Closeable {
             hbaseExecutor.put(tableName, AnyPut.from(entitiesToPut, namingPolicy));
         }
 
+        /**
+         *
+         * @param entityToPut
+         * @throws UncheckedIOException
+         * @see HBaseExecutor#bufferedPut(String, Put)
+         */
+        public void bufferedPut(final T entityToPut) throws UncheckedIOException {
+            hbaseExecutor.bufferedPut(tableName, AnyPut.from(entityToPut, namingPolicy));
+        }
+
+        /**
+         *
+         * @param entitiesToPut
+         * @throws UncheckedIOException
+         * @see HBaseExecutor#bufferedPut(String, Put)
+         */
+        public void bufferedPut(final Collection<? extends T> entitiesToPut) throws UncheckedIOException {
+            hbaseExecutor.bufferedPut(tableName, AnyPut.from(entitiesToPut, namingPolicy));
+        }
+
+        /**
+         * Sends the buffered mutations of the table and waits until they're done.
+         *
+         * @throws UncheckedIOException
+         */
+        public void flush() throws UncheckedIOException {
+            hbaseExecutor.flush(tableName);
+        }
+
         /**
          *
          * @param entityToDelete
@@ -2161,7 +2581,7 @@ public final class HBaseExecutor implements Closeable {
          * @throws UncheckedIOException
          */
         public void deleteByRowKey(K rowKey) throws UncheckedIOException {
-            hbaseExecutor.delete(tableName, AnyDelete.of(rowKey));
+            hbaseExecutor.delete(tableName, AnyDelete.of(rowKeyBytes(rowKey)));
         }
 
         /**
@@ -2170,7 +2590,7 @@ public final class HBaseExecutor implements Closeable {
          * @throws UncheckedIOException
          */
         public void deleteByRowKey(final Collection<? extends K> rowKeys) throws UncheckedIOException {
-            final List<AnyDelete> anyDeletes = N.map(rowKeys, AnyDelete::of);
+            final List<AnyDelete> anyDeletes = N.map(rowKeys, rowKey -> AnyDelete.of(rowKeyBytes(rowKey)));
 
             hbaseExecutor.delete(tableName, anyDeletes);
         }
@@ -2192,25 +2612,65 @@ public final class HBaseExecutor implements Closeable {
         }
 
         public Stream<T> scan(final String family) {
-            return hbaseExecutor.scan(targetEntityClass, tableName, family);
+            return scan(AnyScan.create().addFamily(family));
         }
 
         public Stream<T> scan(final String family, final String qualifier) {
-            return hbaseExecutor.scan(targetEntityClass, tableName, family, qualifier);
+            return scan(AnyScan.create().addColumn(family, qualifier));
         }
 
         public Stream<T> scan(final byte[] family) {
-            return hbaseExecutor.scan(targetEntityClass, tableName, family);
+            return scan(AnyScan.create().addFamily(family));
         }
 
         public Stream<T> scan(final byte[] family, final byte[] qualifier) {
-            return hbaseExecutor.scan(targetEntityClass, tableName, family, qualifier);
+            return scan(AnyScan.create().addColumn(family, qualifier));
         }
 
+        /**
+         * If the row keys are salted, the buckets are scanned in parallel and the results are merged in the order of the unsalted row keys.
+         *
+         * @param anyScan the start/stop rows are the unsalted row keys.
+         * @return
+         */
         public Stream<T> scan(final AnyScan anyScan) {
+            final int buckets = getRowKeySaltBuckets(targetEntityClass);
+
+            if (buckets > 0) {
+                return hbaseExecutor.saltedScan(tableName, anyScan.val(), buckets).map(toEntity(targetEntityClass));
+            }
+
             return hbaseExecutor.scan(targetEntityClass, tableName, anyScan);
         }
 
+        /**
+         * If the row keys are salted, it's same as {@code scan(anyScan)}: all the buckets are scanned at the same time, regardless of {@code threadNum},
+         * and the results are always in the order of the unsalted row keys.
+         *
+         * @param anyScan
+         * @param threadNum
+         * @param ordered
+         * @return
+         */
+        public Stream<T> parallelScan(final AnyScan anyScan, final int threadNum, final boolean ordered) {
+            if (getRowKeySaltBuckets(targetEntityClass) > 0) {
+                return scan(anyScan);
+            }
+
+            return hbaseExecutor.parallelScan(targetEntityClass, tableName, anyScan, threadNum, ordered);
+        }
+
+        /**
+         * The start/stop rows of {@code anyScan} are used as they are, and the results are in the order of the salted row keys if the row keys are salted.
+         *
+         * @param anyScan
+         * @param mapThreadNum
+         * @return
+         */
+        public Stream<T> adaptiveScan(final AnyScan anyScan, final int mapThreadNum) {
+            return hbaseExecutor.adaptiveScan(targetEntityClass, tableName, anyScan, mapThreadNum);
+        }
+
         public void put(final AnyPut anyPut) throws UncheckedIOException {
             hbaseExecutor.put(tableName, anyPut);
         }
@@ -2240,25 +2700,25 @@ public final class HBaseExecutor implements Closeable {
         }
 
         public long incrementColumnValue(final Object rowKey, final String family, final String qualifier, final long amount) throws UncheckedIOException {
-            return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount);
+            return hbaseExecutor.incrementColumnValue(tableName, rowKeyBytes(rowKey), family, qualifier, amount);
         }
 
         public long incrementColumnValue(final Object rowKey, final String family, final String qualifier, final long amount, final Durability durability)
                 throws UncheckedIOException {
-            return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount, durability);
+            return hbaseExecutor.incrementColumnValue(tableName, rowKeyBytes(rowKey), family, qualifier, amount, durability);
         }
 
         public long incrementColumnValue(final Object rowKey, final byte[] family, final byte[] qualifier, final long amount) throws UncheckedIOException {
-            return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount);
+            return hbaseExecutor.incrementColumnValue(tableName, rowKeyBytes(rowKey), family, qualifier, amount);
         }
 
         public long incrementColumnValue(final Object rowKey, final byte[] family, final byte[] qualifier, final long amount, final Durability durability)
                 throws UncheckedIOException {
-            return hbaseExecutor.incrementColumnValue(tableName, rowKey, family, qualifier, amount, durability);
+            return hbaseExecutor.incrementColumnValue(tableName, rowKeyBytes(rowKey), family, qualifier, amount, durability);
         }
 
         public CoprocessorRpcChannel coprocessorService(final Object rowKey) {
-            return hbaseExecutor.coprocessorService(tableName, rowKey);
+            return hbaseExecutor.coprocessorService(tableName, rowKeyBytes(rowKey));
         }
 
         public <S extends Service, R> Map<byte[], R> coprocessorService(final Class<S> service, final Object startRowKey, final Object endRowKey,
@@ -2281,5 +2741,9 @@ public final class HBaseExecutor implements Closeable {
                 throws UncheckedIOException, Exception {
             hbaseExecutor.batchCoprocessorService(tableName, methodDescriptor, request, startRowKey, endRowKey, responsePrototype, callback);
         }
+
+        private byte[] rowKeyBytes(final Object rowKey) {
+            return toRowKeyBytes(targetEntityClass, rowKey);
+        }
     }
 }
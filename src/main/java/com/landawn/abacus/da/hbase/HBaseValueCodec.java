@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import com.landawn.abacus.type.Type;
+
+/**
+ * Encodes the column values to bytes written to HBase and decodes the cell values read from HBase.
+ * It can be specified for an entity class or a property by {@code @ValueCodec}. Row keys are always encoded by {@code StringValueCodec}.
+ * <br />
+ * The implementation must be thread-safe and have a public no-arg constructor.
+ *
+ * @see com.landawn.abacus.da.hbase.annotation.ValueCodec
+ * @see StringValueCodec
+ * @see BinaryValueCodec
+ */
+public interface HBaseValueCodec {
+
+    /** The default codec: values are encoded as the bytes of their String representation. */
+    HBaseValueCodec STRING = new StringValueCodec();
+
+    HBaseValueCodec BINARY = new BinaryValueCodec();
+
+    /**
+     *
+     * @param value
+     * @return
+     */
+    byte[] encode(Object value);
+
+    /**
+     *
+     * @param <T>
+     * @param bytes
+     * @param offset
+     * @param len
+     * @param type
+     * @return
+     */
+    <T> T decode(byte[] bytes, int offset, int len, Type<T> type);
+}
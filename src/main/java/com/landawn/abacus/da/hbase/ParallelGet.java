@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.util.AsyncExecutor;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.stream.ObjIteratorEx;
+
+/**
+ * Groups the {@code Get}s by the region servers hosting the rows, splits each group into chunks and gets the chunks by at most {@code threadNum} threads at the same time.
+ * The results are returned in the order of the {@code Get}s, or in the order the chunks are completed.
+ * At most {@code threadNum * 2} chunks are got ahead of the consumer of the results.
+ *
+ */
+final class ParallelGet {
+
+    private static final long POLL_INTERVAL = 100;
+
+    private ParallelGet() {
+        // singleton.
+    }
+
+    /**
+     * Splits the indexes of the specified {@code gets} into chunks with at most {@code chunkSize} gets of the same region server.
+     * The chunks of different servers are interleaved, so the chunks dispatched at the same time are spread over the servers.
+     *
+     * @param regionLocator
+     * @param gets
+     * @param chunkSize
+     * @return
+     * @throws IOException
+     */
+    static List<int[]> split(final RegionLocator regionLocator, final List<Get> gets, final int chunkSize) throws IOException {
+        final Map<ServerName, List<Integer>> serverGetIndexes = new LinkedHashMap<>();
+
+        for (int i = 0, size = gets.size(); i < size; i++) {
+            final ServerName serverName = regionLocator.getRegionLocation(gets.get(i).getRow()).getServerName();
+            List<Integer> indexes = serverGetIndexes.get(serverName);
+
+            if (indexes == null) {
+                indexes = new ArrayList<>();
+                serverGetIndexes.put(serverName, indexes);
+            }
+
+            indexes.add(i);
+        }
+
+        final List<List<int[]>> serverChunks = new ArrayList<>(serverGetIndexes.size());
+        int maxChunkCount = 0;
+
+        for (List<Integer> indexes : serverGetIndexes.values()) {
+            final List<int[]> chunks = new ArrayList<>((indexes.size() + chunkSize - 1) / chunkSize);
+
+            for (int from = 0, size = indexes.size(); from < size; from += chunkSize) {
+                final int[] chunk = new int[Math.min(chunkSize, size - from)];
+
+                for (int i = 0; i < chunk.length; i++) {
+                    chunk[i] = indexes.get(from + i);
+                }
+
+                chunks.add(chunk);
+            }
+
+            serverChunks.add(chunks);
+            maxChunkCount = Math.max(maxChunkCount, chunks.size());
+        }
+
+        final List<int[]> result = new ArrayList<>();
+
+        for (int i = 0; i < maxChunkCount; i++) {
+            for (List<int[]> chunks : serverChunks) {
+                if (i < chunks.size()) {
+                    result.add(chunks.get(i));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the chunks by at most {@code threadNum} workers, each of which gets the chunks by its own {@code Table} because {@code Table} is not thread-safe.
+     * A worker waits for a permit before getting the next chunk. The permit is released when the consumer starts reading the results of the chunk.
+     * <br />
+     * If {@code ordered} is {@code true}, the chunks are got in the order of their first gets, which is the order the consumer starts reading them,
+     * so the chunk of the next result always gets a permit.
+     *
+     * @param hbaseExecutor
+     * @param tableName
+     * @param gets
+     * @param chunkIndexes
+     * @param threadNum
+     * @param ordered
+     * @param asyncExecutor
+     * @return
+     */
+    static ObjIteratorEx<Result> iterate(final HBaseExecutor hbaseExecutor, final String tableName, final List<Get> gets, final List<int[]> chunkIndexes,
+            final int threadNum, final boolean ordered, final AsyncExecutor asyncExecutor) {
+        final List<Chunk> chunks = new ArrayList<>(chunkIndexes.size());
+
+        for (int[] indexes : chunkIndexes) {
+            chunks.add(new Chunk(indexes));
+        }
+
+        if (ordered) {
+            chunks.sort(new Comparator<Chunk>() {
+                @Override
+                public int compare(final Chunk a, final Chunk b) {
+                    return Integer.compare(a.firstIndex, b.firstIndex);
+                }
+            });
+        }
+
+        final int workerNum = Math.min(threadNum, chunks.size());
+        final MergedIterator iter = new MergedIterator(gets.size(), chunks, ordered, workerNum * 2);
+        final AtomicInteger nextChunkIndex = new AtomicInteger();
+
+        for (int i = 0; i < workerNum; i++) {
+            asyncExecutor.execute(new Callable<Void>() {
+                @Override
+                public Void call() throws InterruptedException {
+                    final Table table = hbaseExecutor.getTable(tableName);
+                    int chunkIndex = 0;
+
+                    try {
+                        while (!iter.isClosed) {
+                            while (!iter.chunkPermits.tryAcquire(POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+                                if (iter.isClosed) {
+                                    return null;
+                                }
+                            }
+
+                            if ((chunkIndex = nextChunkIndex.getAndIncrement()) >= chunks.size()) {
+                                iter.chunkPermits.release();
+                                return null;
+                            }
+
+                            final Chunk chunk = chunks.get(chunkIndex);
+                            final List<Get> chunkGets = new ArrayList<>(chunk.indexes.length);
+
+                            for (int index : chunk.indexes) {
+                                chunkGets.add(gets.get(index));
+                            }
+
+                            try {
+                                chunk.future.complete(table.get(chunkGets));
+                            } catch (Throwable e) {
+                                chunk.future.completeExceptionally(e);
+                            }
+
+                            if (!ordered) {
+                                iter.completedChunks.add(chunk);
+                            }
+                        }
+                    } finally {
+                        IOUtil.closeQuietly(table);
+                    }
+
+                    return null;
+                }
+            });
+        }
+
+        return iter;
+    }
+
+    static final class Chunk {
+        final int[] indexes;
+
+        /** The smallest index of the gets in the chunk, where the consumer starts reading it if it's ordered. */
+        final int firstIndex;
+
+        final CompletableFuture<Result[]> future = new CompletableFuture<>();
+
+        Chunk(final int[] indexes) {
+            this.indexes = indexes;
+
+            int min = Integer.MAX_VALUE;
+
+            for (int index : indexes) {
+                min = Math.min(min, index);
+            }
+
+            this.firstIndex = min;
+        }
+
+        Result[] get() {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the results of multi-get", e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+
+                if (cause instanceof IOException) {
+                    throw new UncheckedIOException((IOException) cause);
+                }
+
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+            }
+        }
+    }
+
+    static final class MergedIterator extends ObjIteratorEx<Result> {
+        final BlockingQueue<Chunk> completedChunks = new LinkedBlockingQueue<>();
+
+        /** Limits the chunks which are got (or being got) but not read by the consumer yet. */
+        final Semaphore chunkPermits;
+
+        private final List<Chunk> chunks;
+
+        private final boolean ordered;
+
+        /** The chunk and the position in the chunk of each get, for the results in the order of gets. */
+        private final Chunk[] chunkOfGets;
+
+        private final int[] positionOfGets;
+
+        private int cursor = 0;
+
+        private Result[] results = null;
+
+        private int consumedChunkCount = 0;
+
+        volatile boolean isClosed = false;
+
+        MergedIterator(final int getCount, final List<Chunk> chunks, final boolean ordered, final int maxChunksAhead) {
+            this.chunks = chunks;
+            this.ordered = ordered;
+            this.chunkPermits = new Semaphore(maxChunksAhead);
+
+            if (ordered) {
+                chunkOfGets = new Chunk[getCount];
+                positionOfGets = new int[getCount];
+
+                for (Chunk chunk : chunks) {
+                    for (int i = 0; i < chunk.indexes.length; i++) {
+                        chunkOfGets[chunk.indexes[i]] = chunk;
+                        positionOfGets[chunk.indexes[i]] = i;
+                    }
+                }
+            } else {
+                chunkOfGets = null;
+                positionOfGets = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (isClosed) {
+                return false;
+            }
+
+            if (ordered) {
+                return cursor < chunkOfGets.length;
+            }
+
+            while (results == null || cursor >= results.length) {
+                if (consumedChunkCount >= chunks.size()) {
+                    return false;
+                }
+
+                Chunk chunk = null;
+
+                try {
+                    while ((chunk = completedChunks.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS)) == null) {
+                        if (isClosed) {
+                            return false;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for the results of multi-get", e);
+                }
+
+                consumedChunkCount++;
+                chunkPermits.release();
+                results = chunk.get();
+                cursor = 0;
+            }
+
+            return true;
+        }
+
+        @Override
+        public Result next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+
+            if (ordered) {
+                final Chunk chunk = chunkOfGets[cursor];
+
+                if (cursor == chunk.firstIndex) {
+                    chunkPermits.release();
+                }
+
+                final Result result = chunk.get()[positionOfGets[cursor]];
+
+                // the results of a chunk can be collected by GC after all of them are returned.
+                chunkOfGets[cursor++] = null;
+
+                return result;
+            } else {
+                return results[cursor++];
+            }
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+
+            // the chunks not got yet will never be completed by the workers. Cancelled to stop the consumer which is waiting for them.
+            for (Chunk chunk : chunks) {
+                chunk.future.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.util.AsyncExecutor;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.stream.ObjIteratorEx;
+
+/**
+ * Splits a {@code Scan} along the region boundaries and runs the sub-scans by at most {@code threadNum} scanners at the same time.
+ * The results are merged in the order of the regions, or in the order they're received for higher throughput.
+ *
+ */
+final class ParallelScan {
+
+    /** The mark of the end of a sub-scan. */
+    private static final Result END = new Result();
+
+    private static final long POLL_INTERVAL = 100;
+
+    private ParallelScan() {
+        // singleton.
+    }
+
+    /**
+     * Splits the range of the specified {@code scan} by the region boundaries.
+     * The returned sub-scans are in the order of the specified {@code scan}: descending if it's reversed.
+     *
+     * @param scan
+     * @param regionStartKeys
+     * @param regionEndKeys
+     * @return
+     * @throws IOException
+     */
+    static List<Scan> split(final Scan scan, final byte[][] regionStartKeys, final byte[][] regionEndKeys) throws IOException {
+        final boolean isReversed = scan.isReversed();
+
+        // the range in ascending order. empty byte array means unbounded.
+        final byte[] lower = isReversed ? scan.getStopRow() : scan.getStartRow();
+        final boolean lowerInclusive = isReversed ? scan.includeStopRow() : scan.includeStartRow();
+        final byte[] upper = isReversed ? scan.getStartRow() : scan.getStopRow();
+        final boolean upperInclusive = isReversed ? scan.includeStartRow() : scan.includeStopRow();
+
+        final List<Scan> result = new ArrayList<>(regionStartKeys.length);
+
+        byte[] subLower = null;
+        boolean subLowerInclusive = false;
+        byte[] subUpper = null;
+        boolean subUpperInclusive = false;
+
+        for (int i = 0, len = regionStartKeys.length; i < len; i++) {
+            final byte[] regionStart = regionStartKeys[i];
+            final byte[] regionEnd = regionEndKeys[i];
+
+            if (regionStart.length > 0 && (lower.length == 0 || Bytes.compareTo(regionStart, lower) > 0)) {
+                subLower = regionStart;
+                subLowerInclusive = true;
+            } else {
+                subLower = lower;
+                subLowerInclusive = lowerInclusive;
+            }
+
+            if (regionEnd.length > 0 && (upper.length == 0 || Bytes.compareTo(regionEnd, upper) < 0)) {
+                subUpper = regionEnd;
+                subUpperInclusive = false;
+            } else {
+                subUpper = upper;
+                subUpperInclusive = upperInclusive;
+            }
+
+            if (subLower.length > 0 && subUpper.length > 0) {
+                final int cmp = Bytes.compareTo(subLower, subUpper);
+
+                if (cmp > 0 || (cmp == 0 && !(subLowerInclusive && subUpperInclusive))) {
+                    // the region is out of the range.
+                    continue;
+                }
+            }
+
+            final Scan subScan = new Scan(scan);
+
+            if (isReversed) {
+                subScan.withStartRow(subUpper, subUpperInclusive).withStopRow(subLower, subLowerInclusive);
+            } else {
+                subScan.withStartRow(subLower, subLowerInclusive).withStopRow(subUpper, subUpperInclusive);
+            }
+
+            result.add(subScan);
+        }
+
+        if (isReversed) {
+            Collections.reverse(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs the specified scans by at most {@code threadNum} scanners at the same time, on the specified {@code asyncExecutor}.
+     * The scanners are opened in the order of the scans. Each scanner buffers at most {@code bufferSize} results which are not consumed.
+     *
+     * @param hbaseExecutor
+     * @param tableName
+     * @param scans
+     * @param threadNum
+     * @param bufferSize
+     * @param ordered if {@code true}, the results are returned in the order of the scans. Otherwise, in the order they're received.
+     * @param asyncExecutor
+     * @return
+     */
+    static ObjIteratorEx<Result> iterate(final HBaseExecutor hbaseExecutor, final String tableName, final List<Scan> scans, final int threadNum,
+            final int bufferSize, final boolean ordered, final AsyncExecutor asyncExecutor) {
+        return new MergedIterator(hbaseExecutor, tableName, scans, threadNum, bufferSize, ordered, asyncExecutor);
+    }
+
+    private static final class MergedIterator extends ObjIteratorEx<Result> {
+        private final HBaseExecutor hbaseExecutor;
+        private final String tableName;
+        private final List<Scan> scans;
+        private final boolean ordered;
+
+        /** One queue for each scan if it's ordered, otherwise one queue shared by all the scans. */
+        private final List<BlockingQueue<Result>> queues;
+
+        /** Limits the scans which are started but not consumed, if it's ordered. Otherwise the shared queue is bounded. */
+        private final Semaphore startedScanPermits;
+
+        private final AtomicInteger nextScanIndex = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile boolean isClosed = false;
+
+        private int currentScanIndex = 0;
+        private int finishedScanCount = 0;
+        private Result next = null;
+
+        MergedIterator(final HBaseExecutor hbaseExecutor, final String tableName, final List<Scan> scans, final int threadNum, final int bufferSize,
+                final boolean ordered, final AsyncExecutor asyncExecutor) {
+            this.hbaseExecutor = hbaseExecutor;
+            this.tableName = tableName;
+            this.scans = scans;
+            this.ordered = ordered;
+
+            final int scannerNum = Math.min(threadNum, scans.size());
+
+            if (ordered) {
+                queues = new ArrayList<>(scans.size());
+
+                for (int i = 0, len = scans.size(); i < len; i++) {
+                    queues.add(new LinkedBlockingQueue<>(bufferSize));
+                }
+
+                startedScanPermits = new Semaphore(scannerNum * 2);
+            } else {
+                queues = Collections.<BlockingQueue<Result>> singletonList(new LinkedBlockingQueue<>(bufferSize * scannerNum));
+                startedScanPermits = null;
+            }
+
+            for (int i = 0; i < scannerNum; i++) {
+                asyncExecutor.execute(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        runScans();
+                        return null;
+                    }
+                });
+            }
+        }
+
+        private void runScans() {
+            int scanIndex = 0;
+
+            try {
+                while (!isClosed) {
+                    if (startedScanPermits != null) {
+                        while (!startedScanPermits.tryAcquire(POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+                            if (isClosed) {
+                                return;
+                            }
+                        }
+                    }
+
+                    if ((scanIndex = nextScanIndex.getAndIncrement()) >= scans.size()) {
+                        return;
+                    }
+
+                    final BlockingQueue<Result> queue = ordered ? queues.get(scanIndex) : queues.get(0);
+                    final Table table = hbaseExecutor.getTable(tableName);
+                    ResultScanner resultScanner = null;
+
+                    try {
+                        resultScanner = table.getScanner(scans.get(scanIndex));
+                        Result result = null;
+
+                        while (!isClosed && (result = resultScanner.next()) != null) {
+                            put(queue, result);
+                        }
+
+                        put(queue, END);
+                    } finally {
+                        try {
+                            IOUtil.closeQuietly(resultScanner);
+                        } finally {
+                            IOUtil.closeQuietly(table);
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+            }
+        }
+
+        private void put(final BlockingQueue<Result> queue, final Result result) throws InterruptedException {
+            while (!isClosed && !queue.offer(result, POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+                // wait for the consumer.
+            }
+        }
+
+        private Result take(final BlockingQueue<Result> queue) {
+            Result result = null;
+
+            try {
+                while ((result = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS)) == null) {
+                    throwIfError();
+
+                    if (isClosed) {
+                        throw new IllegalStateException("The scan has been closed");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+
+            return result;
+        }
+
+        private void throwIfError() {
+            final Throwable e = error.get();
+
+            if (e != null) {
+                if (e instanceof IOException) {
+                    throw new UncheckedIOException((IOException) e);
+                } else if (e instanceof RuntimeException) {
+                    throw (RuntimeException) e;
+                } else if (e instanceof Error) {
+                    throw (Error) e;
+                } else {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            Result result = null;
+
+            while (next == null) {
+                if (ordered) {
+                    if (currentScanIndex >= scans.size()) {
+                        return false;
+                    }
+
+                    result = take(queues.get(currentScanIndex));
+
+                    if (result == END) {
+                        queues.set(currentScanIndex++, null);
+                        startedScanPermits.release();
+                    } else {
+                        next = result;
+                    }
+                } else {
+                    if (finishedScanCount >= scans.size()) {
+                        return false;
+                    }
+
+                    result = take(queues.get(0));
+
+                    if (result == END) {
+                        finishedScanCount++;
+                    } else {
+                        next = result;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public Result next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Result result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+
+            for (BlockingQueue<Result> queue : queues) {
+                if (queue != null) {
+                    queue.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.util.AsyncExecutor;
+import com.landawn.abacus.util.ContinuableFuture;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.stream.ObjIteratorEx;
+
+/**
+ * The salted row key is the row key prefixed by one byte: {@code hash(row key) % buckets}. A scan of the salted rows is split into one scan for each bucket,
+ * the bucket scans are opened at the same time and prefetch their rows asynchronously, and the rows are merged by the row keys without the salt.
+ *
+ */
+final class RowKeySalting {
+
+    static final int MIN_BUCKETS = 2;
+
+    static final int MAX_BUCKETS = 256;
+
+    private RowKeySalting() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param buckets
+     * @return
+     */
+    static int checkBuckets(final int buckets) {
+        if (buckets < MIN_BUCKETS || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("The number of salt buckets must be between " + MIN_BUCKETS + " and " + MAX_BUCKETS + ". It can't be: " + buckets);
+        }
+
+        return buckets;
+    }
+
+    /**
+     *
+     * @param rowKey
+     * @param buckets
+     * @return
+     */
+    static byte[] salt(final byte[] rowKey, final int buckets) {
+        final byte[] saltedRowKey = new byte[rowKey.length + 1];
+        saltedRowKey[0] = (byte) ((Bytes.hashCode(rowKey) & Integer.MAX_VALUE) % buckets);
+        System.arraycopy(rowKey, 0, saltedRowKey, 1, rowKey.length);
+
+        return saltedRowKey;
+    }
+
+    /**
+     * Splits the specified {@code scan} with unsalted start/stop rows into the scans of each bucket.
+     * An empty start/stop row is replaced by the first/last row of the bucket.
+     *
+     * @param scan
+     * @param buckets
+     * @return
+     * @throws IOException
+     */
+    static List<Scan> split(final Scan scan, final int buckets) throws IOException {
+        final byte[] startRow = scan.getStartRow();
+        final byte[] stopRow = scan.getStopRow();
+        final boolean isReversed = scan.isReversed();
+        final List<Scan> scans = new ArrayList<>(buckets);
+
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            final Scan bucketScan = new Scan(scan);
+            // the first row of bucket and the first row after bucket, which is empty(the end of table) for the last possible bucket.
+            final byte[] bucketStartRow = new byte[] { (byte) bucket };
+            final byte[] bucketEndRow = bucket == MAX_BUCKETS - 1 ? HConstants.EMPTY_BYTE_ARRAY : new byte[] { (byte) (bucket + 1) };
+
+            if (isReversed) {
+                if (startRow.length == 0) {
+                    bucketScan.withStartRow(bucketEndRow, bucketEndRow.length == 0);
+                } else {
+                    bucketScan.withStartRow(prefix(bucketStartRow[0], startRow), scan.includeStartRow());
+                }
+
+                if (stopRow.length == 0) {
+                    bucketScan.withStopRow(bucketStartRow, true);
+                } else {
+                    bucketScan.withStopRow(prefix(bucketStartRow[0], stopRow), scan.includeStopRow());
+                }
+            } else {
+                if (startRow.length == 0) {
+                    bucketScan.withStartRow(bucketStartRow, true);
+                } else {
+                    bucketScan.withStartRow(prefix(bucketStartRow[0], startRow), scan.includeStartRow());
+                }
+
+                if (stopRow.length == 0) {
+                    bucketScan.withStopRow(bucketEndRow, false);
+                } else {
+                    bucketScan.withStopRow(prefix(bucketStartRow[0], stopRow), scan.includeStopRow());
+                }
+            }
+
+            bucketScan.setAsyncPrefetch(true);
+
+            scans.add(bucketScan);
+        }
+
+        return scans;
+    }
+
+    private static byte[] prefix(final byte salt, final byte[] row) {
+        final byte[] saltedRow = new byte[row.length + 1];
+        saltedRow[0] = salt;
+        System.arraycopy(row, 0, saltedRow, 1, row.length);
+
+        return saltedRow;
+    }
+
+    /**
+     *
+     * @param hbaseExecutor
+     * @param tableName
+     * @param bucketScans
+     * @param reversed
+     * @param asyncExecutor
+     * @return
+     */
+    static ObjIteratorEx<Result> iterate(final HBaseExecutor hbaseExecutor, final String tableName, final List<Scan> bucketScans, final boolean reversed,
+            final AsyncExecutor asyncExecutor) {
+        return new MergedIterator(hbaseExecutor, tableName, bucketScans, reversed, asyncExecutor);
+    }
+
+    /**
+     * The scanner of a bucket, the {@code Table} it's opened by, and its current row.
+     */
+    static final class Head {
+        final Table table;
+
+        final ResultScanner scanner;
+
+        Result result;
+
+        Head(final Table table, final ResultScanner scanner, final Result result) {
+            this.table = table;
+            this.scanner = scanner;
+            this.result = result;
+        }
+
+        void close() {
+            try {
+                IOUtil.closeQuietly(scanner);
+            } finally {
+                IOUtil.closeQuietly(table);
+            }
+        }
+    }
+
+    static final class MergedIterator extends ObjIteratorEx<Result> {
+        private final HBaseExecutor hbaseExecutor;
+
+        private final String tableName;
+
+        private final List<Scan> bucketScans;
+
+        private final AsyncExecutor asyncExecutor;
+
+        private final PriorityQueue<Head> queue;
+
+        private final List<Head> heads;
+
+        private boolean isInitialized = false;
+
+        MergedIterator(final HBaseExecutor hbaseExecutor, final String tableName, final List<Scan> bucketScans, final boolean reversed,
+                final AsyncExecutor asyncExecutor) {
+            this.hbaseExecutor = hbaseExecutor;
+            this.tableName = tableName;
+            this.bucketScans = bucketScans;
+            this.asyncExecutor = asyncExecutor;
+            this.heads = new ArrayList<>(bucketScans.size());
+
+            final Comparator<Head> cmp = new Comparator<Head>() {
+                @Override
+                public int compare(final Head a, final Head b) {
+                    final byte[] rowA = a.result.getRow();
+                    final byte[] rowB = b.result.getRow();
+
+                    // the rows are compared without the salt.
+                    return Bytes.compareTo(rowA, 1, rowA.length - 1, rowB, 1, rowB.length - 1);
+                }
+            };
+
+            this.queue = new PriorityQueue<>(bucketScans.size(), reversed ? cmp.reversed() : cmp);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (isInitialized == false) {
+                init();
+            }
+
+            return queue.size() > 0;
+        }
+
+        @Override
+        public Result next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+
+            final Head head = queue.poll();
+            final Result result = head.result;
+
+            try {
+                head.result = head.scanner.next();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (head.result != null) {
+                queue.add(head);
+            }
+
+            return result;
+        }
+
+        @Override
+        public void close() {
+            for (Head head : heads) {
+                head.close();
+            }
+
+            heads.clear();
+            queue.clear();
+        }
+
+        private void init() {
+            isInitialized = true;
+
+            final List<ContinuableFuture<Head>> futures = new ArrayList<>(bucketScans.size());
+
+            for (Scan bucketScan : bucketScans) {
+                futures.add(asyncExecutor.execute(new Callable<Head>() {
+                    @Override
+                    public Head call() throws Exception {
+                        // each bucket has its own Table because the scanners are opened at the same time and Table is not thread-safe.
+                        final Table table = hbaseExecutor.getTable(tableName);
+                        ResultScanner scanner = null;
+
+                        try {
+                            scanner = table.getScanner(bucketScan);
+
+                            return new Head(table, scanner, scanner.next());
+                        } catch (Exception e) {
+                            IOUtil.closeQuietly(scanner);
+                            IOUtil.closeQuietly(table);
+                            throw e;
+                        }
+                    }
+                }));
+            }
+
+            RuntimeException error = null;
+
+            for (ContinuableFuture<Head> future : futures) {
+                try {
+                    final Head head = AdaptiveScan.getUninterruptibly(future);
+
+                    heads.add(head);
+
+                    if (head.result != null) {
+                        queue.add(head);
+                    }
+                } catch (RuntimeException e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            }
+
+            if (error != null) {
+                close();
+                throw error;
+            }
+        }
+    }
+}
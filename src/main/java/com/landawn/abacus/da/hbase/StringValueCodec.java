@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2021 HaiYang Li
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.landawn.abacus.type.Type;
+
+/**
+ * Encodes the values as the UTF-8 bytes of their String representation, which is the default codec.
+ *
+ * @see HBaseValueCodec#STRING
+ */
+public class StringValueCodec implements HBaseValueCodec {
+
+    @Override
+    public byte[] encode(final Object value) {
+        return HBaseExecutor.toValueBytes(value);
+    }
+
+    @Override
+    public <T> T decode(final byte[] bytes, final int offset, final int len, final Type<T> type) {
+        return type.valueOf(Bytes.toString(bytes, offset, len));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.da.hbase.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies the row keys of the annotated entity class are salted by a prefix byte: {@code hash(row key) % buckets},
+ * so the monotonically increasing row keys are spread over {@code buckets} ranges of the table instead of a single region.
+ * The salt is added/removed by {@code HBaseMapper} and the entity mapping of {@code AnyPut}/{@code HBaseExecutor} transparently.
+ * <br />
+ * For example:
+ * <pre>
+    {@literal @}SaltedRowKey(buckets = 16)
+    public static class Event {
+        {@literal @}Id
+        private String id; // row key in HBase will be: [hash(id) % 16] + id
+        private String name;
+    }
+ * </pre>
+ *
+ * @see com.landawn.abacus.da.hbase.HBaseExecutor#registerRowKeySalt(Class, int)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+public @interface SaltedRowKey {
+
+    /**
+     * The number of buckets, from 2 to 256.
+     *
+     * @return
+     */
+    int buckets();
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.da.hbase.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.landawn.abacus.da.hbase.HBaseValueCodec;
+
+/**
+ * Specifies the codec of the column values mapped to the annotated entity class or property. The codec annotated on a property overrides the one
+ * annotated on its class. The properties of an entity typed property use the codec of the entity typed property if the entity class is not annotated.
+ * If it's not specified, the values are encoded/decoded by {@code StringValueCodec}.
+ * <br />
+ * For example:
+ * <pre>
+    {@literal @}ColumnFamily("columnFamily2B")
+    {@literal @}ValueCodec(BinaryValueCodec.class)
+    public static class Account {
+        {@literal @}Id
+        private String id;
+        private long balance; // encoded by Bytes.toBytes(long)
+        {@literal @}ValueCodec(StringValueCodec.class)
+        private int status; // encoded by Bytes.toBytes(String.valueOf(int))
+    }
+ * </pre>
+ *
+ * @see com.landawn.abacus.da.hbase.BinaryValueCodec
+ * @see com.landawn.abacus.da.hbase.StringValueCodec
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.TYPE })
+public @interface ValueCodec {
+    Class<? extends HBaseValueCodec> value();
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2021, Haiyang Li. All rights reserved.
+ */
+
+package com.datastax.driver.core;
+
+/**
+ * Creates the Murmur3 tokens and token ranges, which can only be created by the driver or cluster metadata, for the tests without cluster.
+ */
+public final class TestTokens {
+    private static final Token.Factory factory = Token.getFactory("org.apache.cassandra.dht.Murmur3Partitioner");
+
+    private TestTokens() {
+        // singleton.
+    }
+
+    public static Token token(final long value) {
+        return factory.fromString(String.valueOf(value));
+    }
+
+    public static Token minToken() {
+        return factory.minToken();
+    }
+
+    public static TokenRange range(final long start, final long end) {
+        return new TokenRange(token(start), token(end), factory);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021, Haiyang Li. All rights reserved.
+ */
+
+package com.landawn.abacus.da.canssandra;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.landawn.abacus.da.AbstractNoSQLTest;
+import com.landawn.abacus.util.N;
+
+public class PrimitiveColumnListTest extends AbstractNoSQLTest {
+
+    public void test_of() {
+        assertNotNull(PrimitiveColumnList.of(DataType.cint(), null, 0));
+        assertNotNull(PrimitiveColumnList.of(DataType.cint(), Object.class, 0));
+        assertNotNull(PrimitiveColumnList.of(DataType.cint(), int.class, 0));
+        assertNotNull(PrimitiveColumnList.of(DataType.cint(), Integer.class, 0));
+        assertNotNull(PrimitiveColumnList.of(DataType.counter(), long.class, 0));
+        assertNotNull(PrimitiveColumnList.of(DataType.cboolean(), Boolean.class, 0));
+
+        // the values need to be converted.
+        assertNull(PrimitiveColumnList.of(DataType.cint(), long.class, 0));
+        assertNull(PrimitiveColumnList.of(DataType.cint(), String.class, 0));
+
+        // not a primitive column.
+        assertNull(PrimitiveColumnList.of(DataType.text(), null, 0));
+        assertNull(PrimitiveColumnList.of(DataType.varint(), null, 0));
+    }
+
+    public void test_read() {
+        final List<Object> values = new ArrayList<>();
+
+        for (int i = 0; i < 25; i++) {
+            values.add(i % 3 == 0 ? null : Long.valueOf(i));
+        }
+
+        final PrimitiveColumnList list = read(DataType.bigint(), values);
+
+        assertEquals(25, list.size());
+        assertEquals(values, list);
+        assertNull(list.get(0));
+        assertEquals(Long.valueOf(1), list.get(1));
+
+        assertEquals(N.asList(true, null, false), read(DataType.cboolean(), N.asList(true, null, false)));
+        assertEquals(N.asList(1, null, 3), read(DataType.cint(), N.asList(1, null, 3)));
+        assertEquals(N.asList(1.5f, null), read(DataType.cfloat(), N.<Object> asList(1.5f, null)));
+        assertEquals(N.asList(null, 2.5d), read(DataType.cdouble(), N.<Object> asList(null, 2.5d)));
+
+        try {
+            list.get(25);
+            fail("Should throw IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected.
+        }
+    }
+
+    public void test_modify() {
+        PrimitiveColumnList list = read(DataType.cint(), N.asList(1, 2, 3));
+
+        // stored in the primitive array.
+        assertEquals(Integer.valueOf(2), list.set(1, 20));
+        assertEquals(Integer.valueOf(20), list.set(1, null));
+        assertNull(list.set(1, 2));
+        assertTrue(list.add(4));
+        list.add(null);
+        assertEquals(N.asList(1, 2, 3, 4, null), list);
+
+        // switched to the boxed list.
+        assertEquals(Integer.valueOf(1), list.set(0, "a"));
+        assertEquals(N.asList("a", 2, 3, 4, null), list);
+
+        list = read(DataType.cint(), N.asList(1, 2, 3));
+        list.add(0, 0);
+        assertEquals(N.asList(0, 1, 2, 3), list);
+
+        list = read(DataType.cint(), N.asList(1, 2, 3));
+        assertEquals(Integer.valueOf(2), list.remove(1));
+        assertEquals(N.asList(1, 3), list);
+
+        list = read(DataType.cint(), N.asList(1, 2, 3));
+        list.add(4L);
+        assertEquals(N.asList(1, 2, 3, 4L), list);
+    }
+
+    private static PrimitiveColumnList read(final DataType dataType, final List<?> values) {
+        final PrimitiveColumnList list = PrimitiveColumnList.of(dataType, null, 0);
+
+        for (int i = 0, size = values.size(); i < size; i++) {
+            list.read(row(values.get(i)), 0);
+        }
+
+        return list;
+    }
+
+    /**
+     * Creates a {@code Row} with one column, which only supports the getters by index.
+     */
+    private static Row row(final Object value) {
+        return (Row) Proxy.newProxyInstance(Row.class.getClassLoader(), new Class<?>[] { Row.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "isNull":
+                        return value == null;
+
+                    case "getObject":
+                        return value;
+
+                    case "getBool":
+                    case "getInt":
+                    case "getLong":
+                    case "getFloat":
+                    case "getDouble":
+                        if (value == null) {
+                            throw new IllegalStateException("The typed getter is called for null value");
+                        }
+
+                        return value;
+
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021, Haiyang Li. All rights reserved.
+ */
+
+package com.landawn.abacus.da.canssandra;
+
+import static com.datastax.driver.core.TestTokens.range;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.datastax.driver.core.TestTokens;
+import com.datastax.driver.core.TokenRange;
+import com.landawn.abacus.da.AbstractNoSQLTest;
+import com.landawn.abacus.util.N;
+
+/**
+ * Splits the token ranges of the ring created without cluster.
+ */
+public class TokenRangeTest extends AbstractNoSQLTest {
+
+    public void test_singleTokenRing() {
+        // the only range (t, t] of a single token ring is the whole ring.
+        List<TokenRange> tokenRanges = CassandraExecutor.getTokenRanges(new LinkedHashSet<>(N.asList(range(100, 100))), 1);
+        assertCoverRing(tokenRanges);
+
+        tokenRanges = CassandraExecutor.getTokenRanges(new LinkedHashSet<>(N.asList(range(Long.MIN_VALUE, Long.MIN_VALUE))), 1);
+        assertCoverRing(tokenRanges);
+
+        tokenRanges = CassandraExecutor.getTokenRanges(new LinkedHashSet<>(N.asList(range(100, 100))), 5);
+        assertTrue(tokenRanges.size() >= 5);
+        assertCoverRing(tokenRanges);
+    }
+
+    public void test_wrappedRange() {
+        final LinkedHashSet<TokenRange> ringRanges = new LinkedHashSet<>(N.asList(range(-100, 0), range(0, 100), range(100, -100)));
+
+        final List<TokenRange> tokenRanges = CassandraExecutor.getTokenRanges(ringRanges, 1);
+        assertEquals(4, tokenRanges.size());
+        assertCoverRing(tokenRanges);
+    }
+
+    public void test_split() {
+        final LinkedHashSet<TokenRange> ringRanges = new LinkedHashSet<>(N.asList(range(-100, 0), range(0, 100), range(100, -100)));
+
+        final List<TokenRange> tokenRanges = CassandraExecutor.getTokenRanges(ringRanges, 8);
+        assertTrue(tokenRanges.size() >= 9);
+        assertCoverRing(tokenRanges);
+    }
+
+    public void test_isUnbounded() {
+        assertTrue(CassandraExecutor.isUnbounded(range(100, Long.MIN_VALUE)));
+        assertFalse(CassandraExecutor.isUnbounded(range(Long.MIN_VALUE, 100)));
+        assertFalse(CassandraExecutor.isUnbounded(range(-100, 100)));
+    }
+
+    /**
+     * Verifies the ranges don't overlap with each other, cover the whole ring, and only the last one is unbounded.
+     */
+    private static void assertCoverRing(final List<TokenRange> tokenRanges) {
+        final List<TokenRange> sorted = new ArrayList<>(tokenRanges);
+
+        sorted.sort(new Comparator<TokenRange>() {
+            @Override
+            public int compare(final TokenRange a, final TokenRange b) {
+                return a.getStart().compareTo(b.getStart());
+            }
+        });
+
+        assertEquals(TestTokens.minToken(), sorted.get(0).getStart());
+
+        for (int i = 0, size = sorted.size(); i < size; i++) {
+            final TokenRange tokenRange = sorted.get(i);
+
+            assertFalse(tokenRange.toString(), tokenRange.getStart().equals(tokenRange.getEnd()));
+
+            if (i < size - 1) {
+                assertFalse(tokenRange.toString(), CassandraExecutor.isUnbounded(tokenRange));
+                assertEquals(sorted.get(i + 1).getStart(), tokenRange.getEnd());
+            } else {
+                assertTrue(tokenRange.toString(), CassandraExecutor.isUnbounded(tokenRange));
+                assertEquals(TestTokens.minToken(), tokenRange.getEnd());
+            }
+        }
+    }
+}
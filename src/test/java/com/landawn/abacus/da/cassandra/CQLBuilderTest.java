@@ -10,7 +10,9 @@ import org.junit.Test;
 
 import com.landawn.abacus.condition.ConditionFactory.CF;
 import com.landawn.abacus.da.AbstractNoSQLTest;
+import com.landawn.abacus.da.canssandra.CQLBuilder;
 import com.landawn.abacus.da.canssandra.CQLBuilder.ACCB;
+import com.landawn.abacus.da.canssandra.CQLBuilder.CP;
 import com.landawn.abacus.da.canssandra.CQLBuilder.LCCB;
 import com.landawn.abacus.da.canssandra.CQLBuilder.NAC;
 import com.landawn.abacus.da.canssandra.CQLBuilder.NLC;
@@ -71,6 +73,74 @@ public class CQLBuilderTest extends AbstractNoSQLTest {
         }).writeHtmlResult(System.out);
     }
 
+    @Test
+    public void test_reuseNext() {
+        final StringBuilder cqlBuffer = new StringBuilder();
+        final Object[] parameters = new Object[8];
+
+        for (int i = 0; i < 10; i++) {
+            cqlBuffer.setLength(0);
+
+            CQLBuilder.reuseNext();
+            final CQLBuilder builder = PSC.select("firstName", "lastName").from("account").where(CF.eq("id", i).and(CF.ne("firstName", "fn")));
+            final int parameterCount = builder.writeTo(cqlBuffer, parameters);
+
+            assertEquals(PSC.select("firstName", "lastName").from("account").where(CF.eq("id", i).and(CF.ne("firstName", "fn"))).cql(), cqlBuffer.toString());
+            assertEquals(2, parameterCount);
+            assertEquals(i, parameters[0]);
+            assertEquals("fn", parameters[1]);
+
+            // the same builder is reused.
+            CQLBuilder.reuseNext();
+            assertSame(builder, PSC.deleteFrom("account").where(CF.eq("id", i)));
+
+            // the reused builder is not closed yet, so a new one is created.
+            CQLBuilder.reuseNext();
+            final CP cp = PSC.update("account").set(N.asProps("firstName", "updatedFN")).where(CF.eq("id", i)).pair();
+            assertEquals("UPDATE account SET first_name = ? WHERE id = ?", cp.cql);
+            assertEquals(N.asList("updatedFN", i), cp.parameters);
+
+            assertEquals(1, builder.writeTo(cqlBuffer.append("; "), parameters));
+        }
+
+        // the reusable builder left open, for example by an exception thrown before cql()/pair()/writeTo(...), is replaced by a new one.
+        CQLBuilder.reuseNext();
+        final CQLBuilder abandonedBuilder = PSC.select("firstName").from("account");
+
+        CQLBuilder.reuseNext();
+        final CQLBuilder replacedBuilder = PSC.select("firstName").from("account").where(CF.eq("id", 1));
+        assertNotSame(abandonedBuilder, replacedBuilder);
+        assertEquals(1, replacedBuilder.writeTo(cqlBuffer, parameters));
+
+        CQLBuilder.reuseNext();
+        assertSame(replacedBuilder, PSC.deleteFrom("account").where(CF.eq("id", 1)));
+
+        Profiler.run(16, 100000, 3, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                final CP cp = NSC.select("gui", "firstName", "lastName", "lastUpdateTime", "createTime").from("account").where(CF.eq("id", 1)).pair();
+                assertEquals(1, cp.parameters.size());
+            }
+        }).printResult();
+
+        Profiler.run(16, 100000, 3, new Throwables.Runnable<RuntimeException>() {
+            // the runnable is shared by the threads of Profiler.
+            private final ThreadLocal<StringBuilder> cqlBuffers = ThreadLocal.withInitial(StringBuilder::new);
+            private final ThreadLocal<Object[]> parameterArrays = ThreadLocal.withInitial(() -> new Object[8]);
+
+            @Override
+            public void run() {
+                final StringBuilder cqlBuffer = cqlBuffers.get();
+                cqlBuffer.setLength(0);
+                CQLBuilder.reuseNext();
+                assertEquals(1, NSC.select("gui", "firstName", "lastName", "lastUpdateTime", "createTime")
+                        .from("account")
+                        .where(CF.eq("id", 1))
+                        .writeTo(cqlBuffer, parameterArrays.get()));
+            }
+        }).printResult();
+    }
+
     public void test_11() {
 
         N.println(NSC.update(Account.class).set("firstName", "lastName").iF(CF.eq("firstName", "123")).cql());
@@ -4,29 +4,41 @@
 
 package com.landawn.abacus.da.cassandra;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.TypeCodec;
 import com.datastax.driver.core.UDTValue;
 import com.landawn.abacus.DataSet;
 import com.landawn.abacus.da.AbstractNoSQLTest;
 import com.landawn.abacus.da.canssandra.CassandraExecutor;
+import com.landawn.abacus.da.canssandra.CQLBuilder.CP;
 import com.landawn.abacus.da.canssandra.CQLBuilder.LCCB;
 import com.landawn.abacus.da.canssandra.CQLBuilder.NLC;
 import com.landawn.abacus.da.canssandra.CQLBuilder.NSC;
 import com.landawn.abacus.da.canssandra.CQLBuilder.SCCB;
 import com.landawn.abacus.da.canssandra.CassandraExecutor.UDTCodec;
+import com.landawn.abacus.da.canssandra.EntityUDTCodec;
+import com.landawn.abacus.da.canssandra.InMemoryMetrics;
+import com.landawn.abacus.da.canssandra.LocalEntityCache;
 import com.landawn.abacus.da.entity.Song;
 import com.landawn.abacus.da.entity.Users;
 import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Profiler;
+import com.landawn.abacus.util.Throwables;
 
 /**
  *
@@ -129,6 +141,115 @@ public class CassandraExecutorTest extends AbstractNoSQLTest {
         assertEquals("fn", user2.getName().getFirstName());
     }
 
+    @Test
+    public void test_metrics() {
+        cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
+
+        cassandraExecutor.execute("CREATE TABLE IF NOT EXISTS simplex.song (" + "id uuid PRIMARY KEY," + "title text," + "album text," + "artist text,"
+                + "tags set<text>," + "data blob" + ");");
+
+        final InMemoryMetrics metrics = new InMemoryMetrics();
+        final CassandraExecutor songExecutor = new CassandraExecutor(cassandraExecutor.cluster().connect("simplex"), null, null, null, metrics, null);
+
+        final Song song = new Song();
+        song.setId(UUID.randomUUID());
+        song.setTitle("title");
+
+        for (int i = 0; i < 100; i++) {
+            songExecutor.insert(song);
+            songExecutor.gett(Song.class, song.getId());
+            songExecutor.list(Song.class, "SELECT * FROM song");
+        }
+
+        for (InMemoryMetrics.QueryStats queryStats : metrics.snapshot()) {
+            N.println(queryStats);
+        }
+
+        assertEquals(3, metrics.getQueryCount());
+        assertTrue(metrics.getStatementCacheHitCount() > metrics.getStatementCacheMissCount());
+
+        songExecutor.execute("TRUNCATE simplex.song");
+    }
+
+    @Test
+    public void test_preparedStatementCache() {
+        cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
+
+        cassandraExecutor.execute("CREATE TABLE IF NOT EXISTS simplex.song (" + "id uuid PRIMARY KEY," + "title text," + "album text," + "artist text,"
+                + "tags set<text>," + "data blob" + ");");
+
+        final CassandraExecutor songExecutor = new CassandraExecutor(cassandraExecutor.cluster().connect("simplex"));
+
+        final Song song1 = new Song();
+        song1.setId(UUID.randomUUID());
+        song1.setTitle("title1");
+        songExecutor.insert(song1);
+
+        final Song song2 = new Song();
+        song2.setId(UUID.randomUUID());
+        song2.setTitle("title2");
+        songExecutor.insert(song2);
+
+        final String query = "SELECT * FROM song WHERE id = ?";
+        final long loadCount = songExecutor.preparedStatementCacheStats().loadCount();
+        final long hitCount = songExecutor.preparedStatementCacheStats().hitCount();
+        final AtomicInteger counter = new AtomicInteger();
+
+        // the same query is executed by multiple threads with different parameters: it's prepared once and bound for each execution.
+        Profiler.run(8, 100, 1, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                final Song song = counter.incrementAndGet() % 2 == 0 ? song1 : song2;
+
+                assertEquals(song.getTitle(), songExecutor.findFirst(Song.class, query, song.getId()).get().getTitle());
+            }
+        });
+
+        assertEquals(loadCount + 1, songExecutor.preparedStatementCacheStats().loadCount());
+        assertEquals(hitCount + 799, songExecutor.preparedStatementCacheStats().hitCount());
+
+        songExecutor.execute("TRUNCATE simplex.song");
+    }
+
+    @Test
+    public void test_entity_udt_codec() {
+        final Cluster cluster = cassandraExecutor.cluster();
+        final ProtocolVersion protocolVersion = cluster.getConfiguration().getProtocolOptions().getProtocolVersion();
+        final TypeCodec<Users.Address> udtCodec = cluster.getConfiguration()
+                .getCodecRegistry()
+                .codecFor(cluster.getMetadata().getKeyspace("simplex").getUserType("address"), Users.Address.class);
+        final EntityUDTCodec<Users.Address> entityUDTCodec = EntityUDTCodec.of(cluster, "simplex", "address", Users.Address.class);
+
+        final Users.Address address = new Users.Address();
+        address.setCity("sunnyvale");
+        address.setStreet("1");
+        address.setZipCode(123);
+
+        final ByteBuffer bytes = entityUDTCodec.serialize(address, protocolVersion);
+        assertEquals(udtCodec.serialize(address, protocolVersion), bytes);
+
+        final Users.Address address2 = entityUDTCodec.deserialize(bytes, protocolVersion);
+        assertEquals(address.getCity(), address2.getCity());
+        assertEquals(address.getStreet(), address2.getStreet());
+        assertEquals(address.getZipCode(), address2.getZipCode());
+
+        // encode/decode by UDTValue.
+        Profiler.run(8, 10000, 3, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                udtCodec.deserialize(udtCodec.serialize(address, protocolVersion), protocolVersion);
+            }
+        }).printResult();
+
+        // encode/decode by the generated codec, without UDTValue.
+        Profiler.run(8, 10000, 3, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                entityUDTCodec.deserialize(entityUDTCodec.serialize(address, protocolVersion), protocolVersion);
+            }
+        }).printResult();
+    }
+
     @Test
     public void test_hello() {
         cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
@@ -279,6 +400,110 @@ public class CassandraExecutorTest extends AbstractNoSQLTest {
         assertFalse(cassandraExecutor.exists("SELECT * FROM simplex.songs WHERE id = ?", song.getId()));
     }
 
+    @Test
+    public void test_toEntity_performance() {
+        cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
+
+        cassandraExecutor.execute("CREATE TABLE IF NOT EXISTS simplex.songs (" + "id uuid PRIMARY KEY," + "title text," + "album text," + "artist text,"
+                + "tags set<text>," + "data blob" + ");");
+
+        for (int i = 0; i < 100; i++) {
+            cassandraExecutor.execute("INSERT INTO simplex.songs (id, title, album, artist, tags) " + "VALUES (?, ?, ?, ?, ?)", UUID.randomUUID(), "title" + i,
+                    "album" + i, "artist" + i, N.asSet("jazz", "2013"));
+        }
+
+        final List<Row> rows = cassandraExecutor.execute("SELECT * FROM simplex.songs LIMIT 100").all();
+        assertEquals(100, rows.size());
+
+        Profiler.run(8, 1000, 3, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                for (Row row : rows) {
+                    assertNotNull(CassandraExecutor.toEntity(Song.class, row).getId());
+                }
+            }
+        }).printResult();
+
+        cassandraExecutor.execute("TRUNCATE simplex.songs");
+    }
+
+    @Test
+    public void test_insert_performance() {
+        cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
+
+        cassandraExecutor.execute("CREATE TABLE IF NOT EXISTS simplex.song (" + "id uuid PRIMARY KEY," + "title text," + "album text," + "artist text,"
+                + "tags set<text>," + "data blob" + ");");
+
+        final CassandraExecutor songExecutor = new CassandraExecutor(cassandraExecutor.cluster().connect("simplex"));
+
+        final Song song = new Song();
+        song.setId(UUID.randomUUID());
+        song.setTitle("title");
+        song.setAlbum("album");
+        song.setArtist("artist");
+        song.setTags(N.asSet("jazz", "2013"));
+
+        // the CQL is generated by CQLBuilder and parsed for each call.
+        Profiler.run(8, 1000, 3, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                final CP cp = NSC.insert(song).into(Song.class).pair();
+                songExecutor.execute(cp.cql, cp.parameters.toArray());
+            }
+        }).printResult();
+
+        // the CQL and PreparedStatement are created once by the template, only the values are bound.
+        Profiler.run(8, 1000, 3, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                songExecutor.insert(song);
+            }
+        }).printResult();
+
+        assertEquals(song, songExecutor.gett(Song.class, song.getId()));
+
+        songExecutor.execute("TRUNCATE simplex.song");
+    }
+
+    @Test
+    public void test_entity_cache() {
+        cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
+
+        cassandraExecutor.execute("CREATE TABLE IF NOT EXISTS simplex.song (" + "id uuid PRIMARY KEY," + "title text," + "album text," + "artist text,"
+                + "tags set<text>," + "data blob" + ");");
+
+        final LocalEntityCache entityCache = new LocalEntityCache(10000, 60 * 1000);
+        final CassandraExecutor songExecutor = new CassandraExecutor(cassandraExecutor.cluster().connect("simplex"), null, null, null, null, entityCache);
+
+        final Song song = new Song();
+        song.setId(UUID.randomUUID());
+        song.setTitle("title");
+        song.setAlbum("album");
+        song.setArtist("artist");
+        songExecutor.insert(song);
+
+        Profiler.run(8, 1000, 3, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                assertEquals(song.getTitle(), songExecutor.gett(Song.class, song.getId()).getTitle());
+            }
+        }).printResult();
+
+        N.println(entityCache.stats());
+        assertEquals(1, entityCache.stats().loadCount());
+
+        // invalidated by update.
+        song.setTitle("new title");
+        songExecutor.update(song);
+        assertEquals("new title", songExecutor.gett(Song.class, song.getId()).getTitle());
+
+        // invalidated by delete.
+        songExecutor.delete(Song.class, song.getId());
+        assertFalse(songExecutor.get(Song.class, song.getId()).isPresent());
+
+        songExecutor.execute("TRUNCATE simplex.song");
+    }
+
     @Test
     public void test_query_async() throws InterruptedException, ExecutionException {
         cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
@@ -330,6 +555,75 @@ public class CassandraExecutorTest extends AbstractNoSQLTest {
         assertFalse(cassandraExecutor.asyncExists("SELECT * FROM simplex.songs WHERE id = ?", song.getId()).get());
     }
 
+    @Test
+    public void test_asyncForEachPage() throws InterruptedException, ExecutionException {
+        cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
+
+        cassandraExecutor.execute("CREATE TABLE IF NOT EXISTS simplex.song (" + "id uuid PRIMARY KEY," + "title text," + "album text," + "artist text,"
+                + "tags set<text>," + "data blob" + ");");
+
+        final CassandraExecutor songExecutor = new CassandraExecutor(cassandraExecutor.cluster().connect("simplex"));
+        songExecutor.execute("TRUNCATE simplex.song");
+
+        for (int i = 0; i < 25; i++) {
+            final Song song = new Song();
+            song.setId(UUID.randomUUID());
+            song.setTitle("title" + i);
+            songExecutor.insert(song);
+        }
+
+        // all the pages are consumed, and each page is bounded by the fetch size.
+        final List<List<Song>> pages = new CopyOnWriteArrayList<>();
+
+        songExecutor.asyncForEachPage(Song.class, new SimpleStatement("SELECT * FROM song").setFetchSize(10),
+                new Throwables.Predicate<List<Song>, RuntimeException>() {
+                    @Override
+                    public boolean test(List<Song> page) {
+                        pages.add(page);
+                        return true;
+                    }
+                })
+                .get();
+
+        assertEquals(3, pages.size());
+        assertEquals(10, pages.get(0).size());
+        assertEquals(10, pages.get(1).size());
+        assertEquals(5, pages.get(2).size());
+
+        // the following pages are not read after the consumer returns false.
+        pages.clear();
+
+        songExecutor.asyncForEachPage(Song.class, new SimpleStatement("SELECT * FROM song").setFetchSize(10),
+                new Throwables.Predicate<List<Song>, RuntimeException>() {
+                    @Override
+                    public boolean test(List<Song> page) {
+                        pages.add(page);
+                        return false;
+                    }
+                })
+                .get();
+
+        assertEquals(1, pages.size());
+
+        // the error thrown by the consumer completes the future.
+        try {
+            songExecutor.asyncForEachPage(Song.class, new SimpleStatement("SELECT * FROM song").setFetchSize(10),
+                    new Throwables.Predicate<List<Song>, Exception>() {
+                        @Override
+                        public boolean test(List<Song> page) throws Exception {
+                            throw new Exception("stop");
+                        }
+                    })
+                    .get();
+
+            fail("Should throw ExecutionException");
+        } catch (ExecutionException e) {
+            assertEquals("stop", e.getCause().getMessage());
+        }
+
+        songExecutor.execute("TRUNCATE simplex.song");
+    }
+
     @Test
     public void test_parameterized() {
         cassandraExecutor.execute("CREATE KEYSPACE IF NOT EXISTS simplex WITH replication " + "= {'class':'SimpleStrategy', 'replication_factor':3};");
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021, Haiyang Li. All rights reserved.
+ */
+
+package com.landawn.abacus.da.cassandra;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.landawn.abacus.da.AbstractNoSQLTest;
+import com.landawn.abacus.da.canssandra.LocalEntityCache;
+import com.landawn.abacus.da.entity.Song;
+import com.landawn.abacus.da.entity.Users;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.u.Optional;
+
+public class LocalEntityCacheTest extends AbstractNoSQLTest {
+    public void test_get() {
+        final LocalEntityCache entityCache = new LocalEntityCache(100, 60 * 1000);
+        final List<Object> ids = N.<Object> asList("1");
+
+        assertEquals("a", entityCache.get(String.class, ids, loader("a")).get());
+        assertEquals("a", entityCache.get(String.class, ids, loader("b")).get());
+        assertEquals(1, entityCache.stats().loadCount());
+
+        entityCache.invalidate(String.class, ids);
+        assertEquals("b", entityCache.get(String.class, ids, loader("b")).get());
+    }
+
+    public void test_invalidate_duringLoading() throws Exception {
+        final LocalEntityCache entityCache = new LocalEntityCache(100, 60 * 1000);
+        final List<Object> ids = N.<Object> asList("1");
+
+        assertInvalidatedDuringLoading(entityCache, new Runnable() {
+            @Override
+            public void run() {
+                entityCache.invalidate(Song.class, ids);
+            }
+        });
+
+        assertInvalidatedDuringLoading(entityCache, new Runnable() {
+            @Override
+            public void run() {
+                entityCache.invalidateAll(Song.class);
+            }
+        });
+
+        assertInvalidatedDuringLoading(entityCache, new Runnable() {
+            @Override
+            public void run() {
+                entityCache.invalidateAll();
+            }
+        });
+    }
+
+    public void test_copy() {
+        final LocalEntityCache entityCache = new LocalEntityCache(100, 60 * 1000);
+
+        // the blob read by the driver is a slice of a larger direct buffer.
+        final ByteBuffer data = ByteBuffer.allocateDirect(8);
+        data.put(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        data.position(2);
+        data.limit(5);
+
+        final Song song = new Song();
+        song.setId(UUID.randomUUID());
+        song.setTitle("title");
+        song.setTags(N.asSet("jazz", "2013"));
+        song.setData(data.slice());
+
+        final Song copy = entityCache.copy(song);
+
+        assertNotSame(song, copy);
+        assertEquals(song.getId(), copy.getId());
+        assertEquals(song.getTitle(), copy.getTitle());
+        assertEquals(song.getTags(), copy.getTags());
+        assertNotSame(song.getTags(), copy.getTags());
+        assertEquals(song.getData(), copy.getData());
+
+        copy.getData().put(0, (byte) 0);
+        copy.getTags().add("blues");
+        assertEquals(3, song.getData().get(0));
+        assertEquals(2, song.getTags().size());
+
+        // the nested entities mapped from UDT.
+        final Users.Address address = new Users.Address();
+        address.setCity("sunnyvale");
+        address.setZipCode(123);
+
+        final Users.Name name = new Users.Name();
+        name.setFirstName("fn");
+
+        final Users user = new Users();
+        user.setId(UUID.randomUUID());
+        user.setName(name);
+        user.setAddresses(N.asMap("home", address));
+
+        final Users userCopy = entityCache.copy(user);
+
+        assertEquals("fn", userCopy.getName().getFirstName());
+        assertEquals("sunnyvale", userCopy.getAddresses().get("home").getCity());
+        assertEquals(123, userCopy.getAddresses().get("home").getZipCode());
+
+        userCopy.getName().setFirstName("fn2");
+        userCopy.getAddresses().get("home").setCity("la");
+        assertEquals("fn", user.getName().getFirstName());
+        assertEquals("sunnyvale", user.getAddresses().get("home").getCity());
+    }
+
+    /**
+     * The loading reads the old record and is blocked until the record is updated and invalidated.
+     * The old record must not be returned or cached.
+     */
+    private static void assertInvalidatedDuringLoading(final LocalEntityCache entityCache, final Runnable invalidation) throws Exception {
+        final List<Object> ids = N.<Object> asList("1");
+        final AtomicReference<String> record = new AtomicReference<>("old");
+        final CountDownLatch loadingStarted = new CountDownLatch(1);
+        final CountDownLatch recordUpdated = new CountDownLatch(1);
+
+        entityCache.invalidateAll();
+
+        final Callable<Optional<Song>> loader = new Callable<Optional<Song>>() {
+            @Override
+            public Optional<Song> call() throws Exception {
+                final Song song = new Song();
+                song.setTitle(record.get());
+
+                loadingStarted.countDown();
+                recordUpdated.await();
+
+                return Optional.of(song);
+            }
+        };
+
+        final FutureTask<Optional<Song>> future = new FutureTask<>(new Callable<Optional<Song>>() {
+            @Override
+            public Optional<Song> call() {
+                return entityCache.get(Song.class, ids, loader);
+            }
+        });
+
+        new Thread(future).start();
+
+        loadingStarted.await();
+
+        record.set("new");
+        invalidation.run();
+        recordUpdated.countDown();
+
+        assertEquals("new", future.get().get().getTitle());
+        assertEquals("new", entityCache.get(Song.class, ids, loader).get().getTitle());
+    }
+
+    private static Callable<Optional<String>> loader(final String value) {
+        return new Callable<Optional<String>>() {
+            @Override
+            public Optional<String> call() {
+                return Optional.of(value);
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021, Haiyang Li. All rights reserved.
+ */
+
+package com.landawn.abacus.da.cassandra;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.landawn.abacus.da.AbstractNoSQLTest;
+import com.landawn.abacus.da.canssandra.ParsedCql;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Profiler;
+import com.landawn.abacus.util.Throwables;
+
+public class ParsedCqlTest extends AbstractNoSQLTest {
+
+    public void test_parse() {
+        final ParsedCql parsedCql = ParsedCql.parse("SELECT * FROM account WHERE id = :id AND name = #{name}", null);
+
+        assertEquals("SELECT * FROM account WHERE id = ? AND name = ?", parsedCql.getParameterizedCql());
+        assertEquals(2, parsedCql.getParameterCount());
+        assertEquals(N.asMap(0, "id", 1, "name"), parsedCql.getNamedParameters());
+    }
+
+    public void test_cache() {
+        final String cql = "SELECT * FROM account_" + N.guid() + " WHERE id = ?";
+        final long hitCount = ParsedCql.cacheStats().hitCount();
+        final long loadCount = ParsedCql.cacheStats().loadCount();
+
+        final ParsedCql parsedCql = ParsedCql.parse(cql, null);
+        assertSame(parsedCql, ParsedCql.parse(cql, null));
+
+        assertEquals(loadCount + 1, ParsedCql.cacheStats().loadCount());
+        assertEquals(hitCount + 1, ParsedCql.cacheStats().hitCount());
+    }
+
+    public void test_cache_concurrentParse() {
+        final String cql = "SELECT * FROM account_" + N.guid() + " WHERE id = ?";
+        final long loadCount = ParsedCql.cacheStats().loadCount();
+        final List<ParsedCql> result = new CopyOnWriteArrayList<>();
+
+        // the cql is parsed only once even if it's requested by multiple threads at the same time.
+        Profiler.run(16, 1, 1, new Throwables.Runnable<RuntimeException>() {
+            @Override
+            public void run() {
+                result.add(ParsedCql.parse(cql, null));
+            }
+        });
+
+        assertEquals(16, result.size());
+        assertEquals(loadCount + 1, ParsedCql.cacheStats().loadCount());
+
+        for (ParsedCql parsedCql : result) {
+            assertSame(result.get(0), parsedCql);
+        }
+    }
+
+    public void test_cache_bounded() {
+        final String prefix = "SELECT * FROM account_" + N.guid() + " WHERE id = ? AND seq = ";
+
+        for (int i = 0; i < 12000; i++) {
+            ParsedCql.parse(prefix + i, null);
+        }
+
+        assertTrue(ParsedCql.cacheSize() <= 10000);
+        assertTrue(ParsedCql.cacheStats().evictionCount() >= 2000);
+    }
+
+    public void test_cache_error() {
+        final String cql = "SELECT * FROM account WHERE id = :id AND name = ?";
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                ParsedCql.parse(cql, null);
+                fail("Should throw RuntimeException");
+            } catch (RuntimeException e) {
+                // the error is not cached, and thrown as it is.
+                assertTrue(e.getMessage().contains("can't mix"));
+            }
+        }
+    }
+}
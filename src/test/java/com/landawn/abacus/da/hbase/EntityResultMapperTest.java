@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021, Haiyang Li. All rights reserved.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Test;
+
+import com.landawn.abacus.annotation.Column;
+import com.landawn.abacus.annotation.Id;
+import com.landawn.abacus.da.entity.Account;
+import com.landawn.abacus.da.hbase.annotation.ColumnFamily;
+import com.landawn.abacus.util.HBaseColumn;
+import com.landawn.abacus.util.N;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps the cells created in memory, without HBase cluster.
+ */
+public class EntityResultMapperTest {
+
+    @Data
+    @NoArgsConstructor
+    public static class Profile {
+        @Id
+        private String id;
+        private String name;
+        private HBaseColumn<Integer> score;
+        private List<HBaseColumn<String>> tags;
+        private Map<Long, HBaseColumn<String>> emails;
+        private Address address;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Address {
+        private String city;
+        @Column("zip")
+        private String zipCode;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @ColumnFamily("cf")
+    public static class FlatProfile {
+        @Id
+        private String id;
+        private String name;
+    }
+
+    @Test
+    public void test_propMappingKinds() {
+        final Result result = Result.create(N.<Cell> asList(cell("p1", "name", "", 1, "Tom"), //
+                cell("p1", "score", "", 5, "90"), //
+                cell("p1", "tags", "", 3, "a"), //
+                cell("p1", "tags", "", 2, "b"), //
+                cell("p1", "emails", "", 7, "new@x.com"), //
+                cell("p1", "emails", "", 6, "old@x.com")));
+
+        final Profile profile = EntityResultMapper.of(Profile.class).map(result);
+
+        assertEquals("p1", profile.getId());
+
+        // VALUE
+        assertEquals("Tom", profile.getName());
+
+        // COLUMN
+        assertEquals(Integer.valueOf(90), profile.getScore().value());
+        assertEquals(5L, profile.getScore().version());
+
+        // COLUMN_COLLECTION
+        assertEquals(2, profile.getTags().size());
+        assertEquals("a", profile.getTags().get(0).value());
+        assertEquals(3L, profile.getTags().get(0).version());
+        assertEquals("b", profile.getTags().get(1).value());
+
+        // COLUMN_MAP
+        assertEquals(2, profile.getEmails().size());
+        assertEquals("new@x.com", profile.getEmails().get(7L).value());
+        assertEquals("old@x.com", profile.getEmails().get(6L).value());
+    }
+
+    @Test
+    public void test_containers_createdForEachRow() {
+        final EntityResultMapper<Profile> mapper = EntityResultMapper.of(Profile.class);
+
+        final Profile profile1 = mapper.map(Result.create(N.<Cell> asList(cell("p1", "tags", "", 1, "a"), cell("p1", "emails", "", 1, "a@x.com"))));
+        final Profile profile2 = mapper.map(Result.create(N.<Cell> asList(cell("p2", "tags", "", 1, "b"), cell("p2", "emails", "", 1, "b@x.com"))));
+
+        assertEquals(1, profile1.getTags().size());
+        assertEquals(1, profile2.getTags().size());
+        assertEquals("b", profile2.getTags().get(0).value());
+        assertEquals("b@x.com", profile2.getEmails().get(1L).value());
+    }
+
+    @Test
+    public void test_nestedEntity() {
+        final Result result = Result.create(N.<Cell> asList(cell("p1", "address", "city", 1, "Sunnyvale"), //
+                cell("p1", "address", "zip", 1, "94086")));
+
+        final Profile profile = EntityResultMapper.of(Profile.class).map(result);
+
+        assertEquals("Sunnyvale", profile.getAddress().getCity());
+        assertEquals("94086", profile.getAddress().getZipCode());
+    }
+
+    @Test
+    public void test_defaultQualifier() {
+        // the qualifiers which are not mapped are mapped to the property of the family, as the empty qualifier.
+        final Result result = Result.create(N.<Cell> asList(cell("p1", "name", "anyQualifier", 1, "Tom")));
+
+        assertEquals("Tom", EntityResultMapper.of(Profile.class).map(result).getName());
+    }
+
+    @Test
+    public void test_unknownFamilyAndQualifier() {
+        final Result result = Result.create(N.<Cell> asList(cell("p1", "unknownFamily", "", 1, "x"), //
+                cell("p1", "address", "unknownQualifier", 1, "x"), //
+                cell("p1", "address", "city", 1, "Sunnyvale"), //
+                cell("p1", "name", "", 1, "Tom")));
+
+        final Profile profile = EntityResultMapper.of(Profile.class).map(result);
+
+        assertEquals("Tom", profile.getName());
+        assertEquals("Sunnyvale", profile.getAddress().getCity());
+        assertNull(profile.getAddress().getZipCode());
+
+        // no default qualifier for the family annotated on the class.
+        final FlatProfile flatProfile = EntityResultMapper.of(FlatProfile.class)
+                .map(Result.create(N.<Cell> asList(cell("p1", "cf", "unknownQualifier", 1, "x"), cell("p1", "cf", "name", 1, "Tom"))));
+
+        assertEquals("p1", flatProfile.getId());
+        assertEquals("Tom", flatProfile.getName());
+    }
+
+    @Test
+    public void test_dirtyMarker() {
+        final Result result = Result.create(N.<Cell> asList(cell("1", "emailAddress", "", 1, "tom@x.com"), //
+                cell("1", "firstName", "", 1, "Tom")));
+
+        final Account account = EntityResultMapper.of(Account.class).map(result);
+
+        assertEquals("tom@x.com", account.getEmailAddress());
+        assertEquals("Tom", account.getFirstName());
+        assertFalse(account.isDirty());
+    }
+
+    @Test
+    public void test_emptyResult() {
+        assertNull(EntityResultMapper.of(Profile.class).map(Result.create(N.<Cell> emptyList())));
+        assertSame(EntityResultMapper.of(Profile.class), EntityResultMapper.of(Profile.class));
+    }
+
+    static Cell cell(final String row, final String family, final String qualifier, final long timestamp, final String value) {
+        return new KeyValue(Bytes.toBytes(row), Bytes.toBytes(family), Bytes.toBytes(qualifier), timestamp, Bytes.toBytes(value));
+    }
+}
@@ -5,6 +5,7 @@
 package com.landawn.abacus.da.hbase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -28,6 +29,7 @@ import com.landawn.abacus.annotation.Id;
 import com.landawn.abacus.annotation.Table;
 import com.landawn.abacus.da.hbase.HBaseExecutor.HBaseMapper;
 import com.landawn.abacus.da.hbase.annotation.ColumnFamily;
+import com.landawn.abacus.da.hbase.annotation.SaltedRowKey;
 import com.landawn.abacus.exception.UncheckedIOException;
 import com.landawn.abacus.util.DateUtil;
 import com.landawn.abacus.util.HBaseColumn;
@@ -115,6 +117,19 @@ public class HBaseExecutorTest {
         private String lastName;
     }
 
+    @Builder
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Table("account")
+    @ColumnFamily("columnFamily2B")
+    @SaltedRowKey(buckets = 8)
+    public static class SaltedAccount {
+        @Id
+        private String id;
+        private String emailAddress;
+    }
+
     @Builder
     @Data
     @NoArgsConstructor
@@ -239,6 +254,148 @@ public class HBaseExecutorTest {
         assertTrue(accountMapper.exists(N.map(accounts, it -> it.getId())).stream().allMatch(it -> it.booleanValue() == false));
     }
 
+    @Test
+    public void test_parallelScan() {
+        List<Account> accounts = Stream.range(1000, 1099)
+                .map(it -> Account.builder()
+                        .id(String.valueOf(it))
+                        .gui(N.uuid())
+                        .emailAddress(it + "abc@email.com")
+                        .name(Name.builder().firstName(it + "fn").middleName(it + "mn").lastName(it + "ln").build())
+                        .contact(Contact.builder().city(it + "San Jose").state("CA").build())
+                        .build())
+                .toList();
+
+        accountMapper.delete(accounts);
+        accountMapper.put(accounts);
+
+        assertEquals(accounts, accountMapper.parallelScan(AnyScan.create(), 4, true).toList());
+        assertEquals(N.newHashSet(accounts), accountMapper.parallelScan(AnyScan.create(), 4, false).toSet());
+        assertEquals(accounts.subList(10, 20), accountMapper.parallelScan(AnyScan.create().withStartRow("1010").withStopRow("1020"), 4, true).toList());
+
+        N.println(hbaseExecutor.splitByRegions("account", AnyScan.create().val()));
+
+        accountMapper.delete(accounts);
+    }
+
+    @Test
+    public void test_parallelGet() {
+        List<Account> accounts = Stream.range(1000, 1200)
+                .map(it -> Account.builder()
+                        .id(String.valueOf(it))
+                        .gui(N.uuid())
+                        .emailAddress(it + "abc@email.com")
+                        .name(Name.builder().firstName(it + "fn").lastName(it + "ln").build())
+                        .build())
+                .toList();
+
+        accountMapper.delete(accounts);
+        accountMapper.put(accounts);
+
+        final List<String> rowKeys = N.map(accounts, Account::getId);
+
+        assertEquals(accounts, accountMapper.parallelGet(rowKeys, 16, 4, true).toList());
+        assertEquals(N.newHashSet(accounts), accountMapper.parallelGet(rowKeys, 16, 4, false).toSet());
+        assertEquals(accounts.subList(0, 10), accountMapper.parallelGet(N.concat(rowKeys.subList(0, 10), N.asList("not-found")), 3, 2, true).toList());
+
+        accountMapper.delete(accounts);
+    }
+
+    @Test
+    public void test_adaptiveScan() {
+        List<Account> accounts = Stream.range(1000, 1500)
+                .map(it -> Account.builder()
+                        .id(String.valueOf(it))
+                        .gui(N.uuid())
+                        .emailAddress(it + "abc@email.com")
+                        .name(Name.builder().firstName(it + "fn").middleName(it + "mn").lastName(it + "ln").build())
+                        .build())
+                .toList();
+
+        accountMapper.delete(accounts);
+        accountMapper.put(accounts);
+
+        assertEquals(accounts, accountMapper.adaptiveScan(AnyScan.create(), 1).toList());
+        assertEquals(accounts, accountMapper.adaptiveScan(AnyScan.create().setCaching(20), 4).toList());
+        assertEquals(accounts.subList(10, 30), accountMapper.adaptiveScan(AnyScan.create().withStartRow("1010").setLimit(20), 4).toList());
+
+        accountMapper.delete(accounts);
+    }
+
+    @Test
+    public void test_saltedRowKey() {
+        final HBaseMapper<SaltedAccount, String> saltedAccountMapper = hbaseExecutor.mapper(SaltedAccount.class);
+
+        List<SaltedAccount> accounts = Stream.range(3000, 3100)
+                .map(it -> SaltedAccount.builder().id(String.valueOf(it)).emailAddress(it + "abc@email.com").build())
+                .toList();
+
+        saltedAccountMapper.delete(accounts);
+        saltedAccountMapper.put(accounts);
+
+        assertEquals(accounts.get(0), saltedAccountMapper.get("3000"));
+        assertEquals(accounts, saltedAccountMapper.get(N.map(accounts, SaltedAccount::getId)));
+        assertTrue(saltedAccountMapper.exists("3000"));
+        assertFalse(hbaseExecutor.exists("account", AnyGet.of("3000")));
+
+        assertEquals(accounts, saltedAccountMapper.scan(AnyScan.create().withStartRow("3000").withStopRow("3100")).toList());
+        assertEquals(accounts.subList(10, 30), saltedAccountMapper.scan(AnyScan.create().withStartRow("3010").withStopRow("3100").setLimit(20)).toList());
+
+        final List<SaltedAccount> reversedAccounts = N.newArrayList(accounts.subList(0, 99));
+        N.reverse(reversedAccounts);
+
+        assertEquals(reversedAccounts,
+                saltedAccountMapper.parallelScan(AnyScan.create().withStartRow("3099", false).withStopRow("3000", true).setReversed(true), 4, true).toList());
+
+        saltedAccountMapper.delete(accounts);
+
+        assertNull(saltedAccountMapper.get("3000"));
+    }
+
+    @Test
+    public void test_bufferedPut() {
+        List<Account> accounts = Stream.range(2000, 2050)
+                .map(it -> Account.builder()
+                        .id(String.valueOf(it))
+                        .gui(N.uuid())
+                        .emailAddress(it + "abc@email.com")
+                        .name(Name.builder().firstName(it + "fn").lastName(it + "ln").build())
+                        .build())
+                .toList();
+
+        accountMapper.delete(accounts);
+
+        accounts.forEach(accountMapper::bufferedPut);
+        accountMapper.flush();
+
+        assertEquals(accounts, accountMapper.scan(AnyScan.create().withStartRow("2000").withStopRow("2050")).toList());
+
+        accountMapper.delete(accounts);
+    }
+
+    @Test
+    public void test_async() throws Exception {
+        List<Account> accounts = Stream.range(3000, 3010)
+                .map(it -> Account.builder()
+                        .id(String.valueOf(it))
+                        .gui(N.uuid())
+                        .emailAddress(it + "abc@email.com")
+                        .name(Name.builder().firstName(it + "fn").lastName(it + "ln").build())
+                        .build())
+                .toList();
+
+        final AsyncHBaseExecutor asyncHBaseExecutor = hbaseExecutor.async();
+
+        asyncHBaseExecutor.put("account", AnyPut.from(accounts)).get();
+
+        assertEquals(accounts.get(0), asyncHBaseExecutor.get(Account.class, "account", AnyGet.of("3000")).get());
+        assertEquals(accounts, asyncHBaseExecutor.get(Account.class, "account", N.map(accounts, it -> AnyGet.of(it.getId()))).get());
+
+        asyncHBaseExecutor.delete("account", N.map(accounts, it -> AnyDelete.of(it.getId()))).get();
+
+        assertNull(asyncHBaseExecutor.get(Account.class, "account", AnyGet.of("3000")).get());
+    }
+
     @Test
     public void test_HBaseColumn() throws IOException {
         final long ts = System.currentTimeMillis() + 10000;
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021, Haiyang Li. All rights reserved.
+ */
+
+package com.landawn.abacus.da.hbase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Test;
+
+import com.landawn.abacus.annotation.Id;
+import com.landawn.abacus.da.hbase.annotation.ColumnFamily;
+import com.landawn.abacus.da.hbase.annotation.ValueCodec;
+import com.landawn.abacus.parser.ParserUtil;
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.HBaseColumn;
+import com.landawn.abacus.util.N;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class HBaseValueCodecTest {
+
+    static final long NOW = 1609459200123L;
+
+    @Data
+    @NoArgsConstructor
+    @ColumnFamily("cf")
+    @ValueCodec(BinaryValueCodec.class)
+    public static class BinaryAccount {
+        @Id
+        private String id;
+        private long balance;
+        @ValueCodec(StringValueCodec.class)
+        private int status;
+        @ColumnFamily("contact")
+        private Contact contact;
+        @ColumnFamily("stringContact")
+        private StringContact stringContact;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Contact {
+        private long zipCode;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @ValueCodec(StringValueCodec.class)
+    public static class StringContact {
+        private long zipCode;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class VersionedAccount {
+        @Id
+        private String id;
+        private Map<Long, HBaseColumn<String>> emailAddress;
+    }
+
+    @Test
+    public void test_binary_roundTrip() {
+        final Calendar calendar = new GregorianCalendar();
+        calendar.setTimeInMillis(NOW);
+
+        final List<Object> values = N.asList("abc", 123, -1L, 1.5d, 2.5f, true, (short) 7, (byte) 8, 'c', new BigDecimal("123.456"),
+                new BigInteger("-123456789012345678901234567890"), new Date(NOW), new java.sql.Date(NOW), new Time(NOW), new Timestamp(NOW), calendar);
+
+        for (Object value : values) {
+            assertRoundTrip(HBaseValueCodec.BINARY, value);
+        }
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, HBaseValueCodec.BINARY.encode(new byte[] { 1, 2, 3 }));
+        assertEquals(Bytes.SIZEOF_LONG, HBaseValueCodec.BINARY.encode(NOW).length);
+    }
+
+    @Test
+    public void test_binary_primitiveTypes() {
+        assertEquals(Long.valueOf(-1L), decode(HBaseValueCodec.BINARY, HBaseValueCodec.BINARY.encode(-1L), long.class));
+        assertEquals(Integer.valueOf(123), decode(HBaseValueCodec.BINARY, HBaseValueCodec.BINARY.encode(123), int.class));
+        assertEquals(Double.valueOf(1.5d), decode(HBaseValueCodec.BINARY, HBaseValueCodec.BINARY.encode(1.5d), double.class));
+        assertEquals(Boolean.TRUE, decode(HBaseValueCodec.BINARY, HBaseValueCodec.BINARY.encode(true), boolean.class));
+
+        // the empty value is decoded to the default value of the type.
+        assertEquals(Integer.valueOf(0), decode(HBaseValueCodec.BINARY, new byte[0], int.class));
+    }
+
+    @Test
+    public void test_string_roundTrip() {
+        final List<Object> values = N.asList("abc", 123, -1L, 1.5d, 2.5f, true, (short) 7, (byte) 8, 'c', new BigDecimal("123.456"),
+                new BigInteger("-123456789012345678901234567890"), new Date(NOW), new Timestamp(NOW));
+
+        for (Object value : values) {
+            assertRoundTrip(HBaseValueCodec.STRING, value);
+        }
+
+        assertArrayEquals(Bytes.toBytes("123"), HBaseValueCodec.STRING.encode(123));
+    }
+
+    @Test
+    public void test_encode_byteBuffer() {
+        final ByteBuffer directBuffer = ByteBuffer.allocateDirect(8);
+        directBuffer.put(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        directBuffer.position(2);
+        directBuffer.limit(6);
+
+        final ByteBuffer readOnlyBuffer = ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5 }, 1, 3).asReadOnlyBuffer();
+
+        for (HBaseValueCodec codec : N.asList(HBaseValueCodec.BINARY, HBaseValueCodec.STRING)) {
+            assertArrayEquals(new byte[] { 3, 4, 5, 6 }, codec.encode(directBuffer));
+            assertArrayEquals(new byte[] { 2, 3, 4 }, codec.encode(readOnlyBuffer));
+
+            // the position of the buffer is not changed.
+            assertEquals(2, directBuffer.position());
+            assertEquals(1, readOnlyBuffer.position());
+        }
+    }
+
+    @Test
+    public void test_valueCodec_precedence() {
+        final EntityInfo accountInfo = ParserUtil.getEntityInfo(BinaryAccount.class);
+        final EntityInfo contactInfo = ParserUtil.getEntityInfo(Contact.class);
+        final EntityInfo stringContactInfo = ParserUtil.getEntityInfo(StringContact.class);
+
+        // property > class > parent/default.
+        assertSame(HBaseValueCodec.STRING, HBaseExecutor.getValueCodec(accountInfo, accountInfo.getPropInfo("status"), HBaseValueCodec.STRING));
+        assertSame(HBaseValueCodec.BINARY, HBaseExecutor.getValueCodec(accountInfo, accountInfo.getPropInfo("balance"), HBaseValueCodec.STRING));
+        assertSame(HBaseValueCodec.BINARY, HBaseExecutor.getValueCodec(contactInfo, contactInfo.getPropInfo("zipCode"), HBaseValueCodec.BINARY));
+        assertSame(HBaseValueCodec.STRING, HBaseExecutor.getValueCodec(contactInfo, contactInfo.getPropInfo("zipCode"), HBaseValueCodec.STRING));
+        assertSame(HBaseValueCodec.STRING,
+                HBaseExecutor.getValueCodec(stringContactInfo, stringContactInfo.getPropInfo("zipCode"), HBaseValueCodec.BINARY));
+
+        final Result result = Result.create(N.<Cell> asList(cell("1", "cf", "balance", 1, Bytes.toBytes(100L)), //
+                cell("1", "cf", "status", 1, Bytes.toBytes("3")), //
+                cell("1", "contact", "zipCode", 1, Bytes.toBytes(94105L)), //
+                cell("1", "stringContact", "zipCode", 1, Bytes.toBytes("94105"))));
+
+        final BinaryAccount account = HBaseExecutor.toEntity(BinaryAccount.class, result);
+
+        assertEquals("1", account.getId());
+        assertEquals(100L, account.getBalance());
+        assertEquals(3, account.getStatus());
+        assertEquals(94105L, account.getContact().getZipCode());
+        assertEquals(94105L, account.getStringContact().getZipCode());
+    }
+
+    @Test
+    public void test_columnMap_multipleVersions() {
+        final Result result = Result.create(N.<Cell> asList(cell("1", "emailAddress", "", 2, Bytes.toBytes("b@x.com")),
+                cell("1", "emailAddress", "", 1, Bytes.toBytes("a@x.com"))));
+
+        final VersionedAccount account = HBaseExecutor.toEntity(VersionedAccount.class, result);
+
+        assertEquals("1", account.getId());
+        assertEquals(2, account.getEmailAddress().size());
+        assertEquals("b@x.com", account.getEmailAddress().get(2L).value());
+        assertEquals("a@x.com", account.getEmailAddress().get(1L).value());
+    }
+
+    static Cell cell(final String row, final String family, final String qualifier, final long timestamp, final byte[] value) {
+        return new KeyValue(Bytes.toBytes(row), Bytes.toBytes(family), Bytes.toBytes(qualifier), timestamp, value);
+    }
+
+    private static void assertRoundTrip(final HBaseValueCodec codec, final Object value) {
+        assertEquals(value.getClass().getSimpleName(), value, decode(codec, codec.encode(value), value.getClass()));
+    }
+
+    private static Object decode(final HBaseValueCodec codec, final byte[] bytes, final Class<?> cls) {
+        // decoded from the middle of a larger array, to verify the offset/length are respected.
+        final byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+
+        final Type<Object> type = N.typeOf(cls);
+
+        return codec.decode(padded, 2, bytes.length, type);
+    }
+}